@@ -0,0 +1,107 @@
+package KuHub.config.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Costo de decidir la autorización de una petición: trie de RouteAuthorizationManager contra
+ * la cadena de requestMatchers anterior, recorriendo en ronda todos los métodos HTTP × las
+ * rutas de CadenaAnterior.PATHS (las de todas las reglas registradas, con sus variantes)
+ *
+ * La cadena se mide como corría en la aplicación: con la caché por petición del
+ * HandlerMappingIntrospector (el filtro que instala MVC), incluida la búsqueda del handler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouteAuthorizationBenchmark {
+
+    private static final Supplier<Authentication> ADMINISTRADOR = () -> UsernamePasswordAuthenticationToken
+            .authenticated("usuario", null, AuthorityUtils.createAuthorityList("ROLE_ADMINISTRADOR"));
+
+    private CadenaAnterior anterior;
+    private AuthorizationManager<HttpServletRequest> cadena;
+    private HandlerMappingIntrospector introspector;
+    private RouteAuthorizationManager trie;
+    private MockHttpServletRequest[] requests;
+    private RequestAuthorizationContext[] contextos;
+    private int siguiente;
+
+    @Setup
+    public void setup() {
+        anterior = new CadenaAnterior();
+        cadena = anterior.manager();
+        introspector = anterior.introspector();
+        trie = new SpringSecurityConfig().routeAuthorizationManager();
+
+        List<MockHttpServletRequest> todas = new ArrayList<>();
+        for (HttpMethod method : HttpMethod.values()) {
+            for (String path : CadenaAnterior.PATHS) {
+                todas.add(CadenaAnterior.request(method, path));
+            }
+        }
+        requests = todas.toArray(MockHttpServletRequest[]::new);
+        contextos = new RequestAuthorizationContext[requests.length];
+        for (int i = 0; i < requests.length; i++) {
+            contextos[i] = new RequestAuthorizationContext(requests[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        anterior.close();
+    }
+
+    @Benchmark
+    public AuthorizationResult cadenaDeRequestMatchers() {
+        MockHttpServletRequest request = requests[avanzar()];
+        // Sin los atributos que MVC deja en la petición, como en una petición nueva
+        request.clearAttributes();
+        HandlerMappingIntrospector.CachedResult previo = introspector.setCache(request);
+        try {
+            return cadena.authorize(ADMINISTRADOR, request);
+        } finally {
+            introspector.resetCache(request, previo);
+        }
+    }
+
+    @Benchmark
+    public AuthorizationResult trie() {
+        int i = avanzar();
+        requests[i].clearAttributes();
+        return trie.authorize(ADMINISTRADOR, contextos[i]);
+    }
+
+    private int avanzar() {
+        int i = siguiente;
+        siguiente = i + 1 == requests.length ? 0 : i + 1;
+        return i;
+    }
+}
@@ -0,0 +1,142 @@
+package KuHub.config.security.filter;
+
+import KuHub.config.security.JwtKeyRing;
+import KuHub.config.security.SimpleGrantedAuthorityJsonCreator;
+import KuHub.config.security.VerifiedTokenCache;
+import KuHub.config.security.service.TokenRevocationService;
+import KuHub.modules.gestionusuario.repository.TokenRevocacionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static KuHub.config.security.TokenJwtConfig.HEADER_STRING;
+import static KuHub.config.security.TokenJwtConfig.JWT_TOKEN_PREFIX;
+
+/**
+ * Costo por petición de validar el token en JwtValidationFilter
+ *
+ * - antes: réplica del filtro original (parser y ObjectMapper nuevos en cada petición)
+ * - parserCompartido: filtro actual sin caché de tokens (VerifiedTokenCache de tamaño 0)
+ * - conCache: filtro actual con el caché de tokens verificados
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtValidationBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private JwtKeyRing keyRing;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private JwtValidationFilter parserCompartido;
+    private JwtValidationFilter conCache;
+
+    @Setup
+    public void setup() throws Exception {
+        keyRing = new JwtKeyRing("", "", "", 60, 60);
+
+        long emitido = System.currentTimeMillis();
+        Claims claims = Jwts.claims()
+                .add("authorities", "[{\"authority\":\"ROLE_ADMINISTRADOR\"}]")
+                .add("idUsuario", 1)
+                .add("idRol", 1)
+                .add("nombreRol", "ADMINISTRADOR")
+                .add("iatMs", emitido)
+                .build();
+        token = Jwts.builder()
+                .header().keyId(keyRing.activeKid()).and()
+                .subject("admin@kuhub.cl")
+                .claims(claims)
+                .expiration(new Date(emitido + 3600000))
+                .issuedAt(new Date(emitido))
+                .signWith(keyRing.activeKey())
+                .compact();
+
+        request = new MockHttpServletRequest("GET", "/api/v1/productos");
+        request.addHeader(HEADER_STRING, JWT_TOKEN_PREFIX + token);
+        response = new MockHttpServletResponse();
+
+        TokenRevocationService revocationService = sinRevocaciones();
+        parserCompartido = new JwtValidationFilter(authentication -> authentication, keyRing,
+                new VerifiedTokenCache(0), revocationService);
+        conCache = new JwtValidationFilter(authentication -> authentication, keyRing,
+                new VerifiedTokenCache(10_000), revocationService);
+    }
+
+    @Benchmark
+    public Authentication antes() throws Exception {
+        String header = request.getHeader(HEADER_STRING);
+        Claims claims = Jwts.parser()
+                .verifyWith(keyRing.activeKey())
+                .build()
+                .parseSignedClaims(header.replace(JWT_TOKEN_PREFIX, ""))
+                .getPayload();
+        List<SimpleGrantedAuthority> authorities = Arrays.asList(new ObjectMapper()
+                .addMixIn(SimpleGrantedAuthority.class, SimpleGrantedAuthorityJsonCreator.class)
+                .readValue(claims.get("authorities").toString().getBytes(StandardCharsets.UTF_8),
+                        SimpleGrantedAuthority[].class));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(claims.getSubject(), null, authorities));
+        return autenticacion();
+    }
+
+    @Benchmark
+    public Authentication parserCompartido() throws Exception {
+        parserCompartido.doFilterInternal(request, response, CHAIN);
+        return autenticacion();
+    }
+
+    @Benchmark
+    public Authentication conCache() throws Exception {
+        conCache.doFilterInternal(request, response, CHAIN);
+        return autenticacion();
+    }
+
+    private static Authentication autenticacion() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    /**
+     * Servicio de revocación sin BD ni revocaciones registradas (el caso común)
+     */
+    private static TokenRevocationService sinRevocaciones() {
+        TokenRevocationService service = new TokenRevocationService();
+        ReflectionTestUtils.setField(service, "tokenRevocacionRepository", Mockito.mock(TokenRevocacionRepository.class));
+        ReflectionTestUtils.setField(service, "expectedEntries", 10_000);
+        ReflectionTestUtils.setField(service, "exactCacheSize", 1024);
+        service.load();
+        return service;
+    }
+}
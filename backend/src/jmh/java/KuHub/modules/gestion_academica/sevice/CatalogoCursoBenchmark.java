@@ -0,0 +1,174 @@
+package KuHub.modules.gestion_academica.sevice;
+
+import KuHub.config.JacksonConfig;
+import KuHub.modules.gestion_academica.dtos.dtomodel.BookTImeBlocksRequestDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.CourserAnswerDTGOD;
+import KuHub.modules.gestion_academica.dtos.dtomodel.SectionAnswerUpdateDTO;
+import KuHub.modules.gestion_academica.entity.ReservaSala;
+import KuHub.modules.gestion_academica.entity.Seccion;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Cuerpo de la respuesta del catálogo de asignaturas activas (200 asignaturas × 10 secciones
+ * × 10 bloques), desde el JSON que entrega la BD hasta los bytes que se escriben
+ *
+ * - antes: réplica del servicio original (JSON de secciones a List&lt;Map&gt;, mapeo a mano a
+ *   los DTOs y serialización de la lista)
+ * - dtoDirecto: findAllCourserActiveTrueWithSeccion (ObjectReader directo a los DTOs) y
+ *   serialización, como en el endpoint HAL
+ * - passThrough: findAllCourserActiveTrueJson escrito tal cual, como en el endpoint v1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogoCursoBenchmark {
+
+    @Param("200")
+    public int asignaturas;
+
+    @Param("10")
+    public int secciones;
+
+    @Param("10")
+    public int bloques;
+
+    private ObjectMapper objectMapper;
+    private List<Object[]> filas;
+    private AsignaturaServiceImp asignaturaService;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = new JacksonConfig().objectMapper();
+        // La BD no emite claves nulas (crearSala es solo de entrada)
+        ObjectMapper bd = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        List<CourserAnswerDTGOD> catalogo = catalogo();
+        filas = new ArrayList<>(catalogo.size());
+        for (CourserAnswerDTGOD curso : catalogo) {
+            filas.add(new Object[]{curso.getIdAsignatura(), curso.getCodAsignatura(), curso.getNombreAsignatura(),
+                    curso.getIdCompletoProfesor(), curso.getNombreProfesor(), curso.getDescripcionAsignatura(),
+                    bd.writeValueAsString(curso.getSecciones())});
+        }
+
+        CatalogoCursoService catalogoCursoService = Mockito.mock(CatalogoCursoService.class);
+        when(catalogoCursoService.findAllJson()).thenReturn(bd.writeValueAsString(catalogo));
+        asignaturaService = new AsignaturaServiceImp(objectMapper);
+        ReflectionTestUtils.setField(asignaturaService, "catalogoCursoService", catalogoCursoService);
+    }
+
+    @Benchmark
+    public byte[] antes() throws Exception {
+        List<CourserAnswerDTGOD> coursers = new ArrayList<>();
+        for (Object[] row : filas) {
+            CourserAnswerDTGOD courser = new CourserAnswerDTGOD();
+            courser.setIdAsignatura((Integer) row[0]);
+            courser.setCodAsignatura((String) row[1]);
+            courser.setNombreAsignatura((String) row[2]);
+            courser.setIdCompletoProfesor((Integer) row[3]);
+            courser.setNombreProfesor((String) row[4]);
+            courser.setDescripcionAsignatura((String) row[5]);
+
+            List<Map<String, Object>> seccionesMap = objectMapper.readValue(
+                    (String) row[6], new TypeReference<List<Map<String, Object>>>() {});
+            List<SectionAnswerUpdateDTO> lista = new ArrayList<>();
+            for (Map<String, Object> seccionMap : seccionesMap) {
+                SectionAnswerUpdateDTO seccion = new SectionAnswerUpdateDTO();
+                seccion.setIdSeccion((Integer) seccionMap.get("idSeccion"));
+                seccion.setIdAsignatura((Integer) seccionMap.get("idAsignatura"));
+                seccion.setNombreSeccion((String) seccionMap.get("nombreSeccion"));
+                String estadoStr = (String) seccionMap.get("estadoSeccion");
+                if (estadoStr != null) {
+                    seccion.setEstadoSeccion(Seccion.EstadoSeccion.valueOf(estadoStr));
+                }
+                seccion.setIdDocente((Integer) seccionMap.get("idDocente"));
+                seccion.setNombreCompletoDocente((String) seccionMap.get("nombreCompletoDocente"));
+                seccion.setCapacidadMaxInscritos((Integer) seccionMap.get("capacidadMaxInscritos"));
+                seccion.setCantInscritos((Integer) seccionMap.get("cantInscritos"));
+
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> bloquesMap = (List<Map<String, Object>>) seccionMap.get("bloquesHorarios");
+                List<BookTImeBlocksRequestDTO> listaBloques = new ArrayList<>();
+                if (bloquesMap != null) {
+                    for (Map<String, Object> bloqueMap : bloquesMap) {
+                        BookTImeBlocksRequestDTO bloque = new BookTImeBlocksRequestDTO();
+                        bloque.setNumeroBloque((Integer) bloqueMap.get("numeroBloque"));
+                        bloque.setHoraInicio((String) bloqueMap.get("horaInicio"));
+                        bloque.setHoraFin((String) bloqueMap.get("horaFin"));
+                        String diaStr = (String) bloqueMap.get("diaSemana");
+                        if (diaStr != null) {
+                            bloque.setDiaSemana(ReservaSala.DiaSemana.valueOf(diaStr));
+                        }
+                        bloque.setIdSala((Integer) bloqueMap.get("idSala"));
+                        bloque.setCodSala((String) bloqueMap.get("codSala"));
+                        bloque.setNombreSala((String) bloqueMap.get("nombreSala"));
+                        listaBloques.add(bloque);
+                    }
+                }
+                seccion.setBloquesHorarios(listaBloques);
+                lista.add(seccion);
+            }
+            courser.setSecciones(lista);
+            coursers.add(courser);
+        }
+        return objectMapper.writeValueAsBytes(coursers);
+    }
+
+    @Benchmark
+    public byte[] dtoDirecto() throws Exception {
+        return objectMapper.writeValueAsBytes(asignaturaService.findAllCourserActiveTrueWithSeccion());
+    }
+
+    @Benchmark
+    public byte[] passThrough() {
+        return asignaturaService.findAllCourserActiveTrueJson().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<CourserAnswerDTGOD> catalogo() {
+        ReservaSala.DiaSemana[] dias = ReservaSala.DiaSemana.values();
+        List<CourserAnswerDTGOD> catalogo = new ArrayList<>(asignaturas);
+        int idSeccion = 0;
+        for (int a = 1; a <= asignaturas; a++) {
+            List<SectionAnswerUpdateDTO> lista = new ArrayList<>(secciones);
+            for (int s = 1; s <= secciones; s++) {
+                List<BookTImeBlocksRequestDTO> listaBloques = new ArrayList<>(bloques);
+                for (int b = 1; b <= bloques; b++) {
+                    int sala = (a * secciones + s) % 40 + 1;
+                    listaBloques.add(new BookTImeBlocksRequestDTO(b, String.format("%02d:00", 7 + b),
+                            String.format("%02d:00", 8 + b), dias[(s + b) % dias.length], sala,
+                            "S-" + sala, "Cocina " + sala));
+                }
+                lista.add(new SectionAnswerUpdateDTO(++idSeccion, a, "Sección " + s, Seccion.EstadoSeccion.ACTIVA,
+                        s % 30 + 1, "Docente Número " + (s % 30 + 1), 25, 20, listaBloques, null));
+            }
+            catalogo.add(new CourserAnswerDTGOD(a, "ASG-" + a, "Asignatura " + a, a % 50 + 1,
+                    "Profesor Número " + (a % 50 + 1), "Descripción de la asignatura " + a, lista));
+        }
+        return catalogo;
+    }
+}
@@ -0,0 +1,103 @@
+package KuHub.modules.gestion_academica.sevice;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HorarioSolver sobre una instancia sintética de 300 secciones (2 a 4 bloques cada una, unos
+ * 900 eventos), 25 salas, 5 días × 12 bloques y 100 docentes; una de cada diez secciones
+ * no tiene docente
+ *
+ * Cada operación es un cálculo completo: termina al llegar a puntaje 0 o al agotar el
+ * presupuesto, así que el tiempo medido es lo que tarda en encontrar un plan perfecto (o el
+ * presupuesto). Los contadores muestran la calidad del mejor plan y las iteraciones hechas.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HorarioSolverBenchmark {
+
+    private static final int DIAS = 5;
+    private static final int BLOQUES_POR_DIA = 12;
+    private static final int SALAS = 25;
+    private static final int SECCIONES = 300;
+    private static final int DOCENTES = 100;
+
+    @Param({"1", "4"})
+    public int hilos;
+
+    @Param("2000")
+    public long presupuestoMs;
+
+    private HorarioSolver solver;
+    private ExecutorService executor;
+    private long semilla;
+
+    /**
+     * Resultado del último cálculo; con SingleShotTime hay una operación por iteración
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Resultado {
+
+        public long puntaje;
+        public long choques;
+        public long cambiosDeSala;
+        public long bloquesAislados;
+        public long iteraciones;
+
+        @Setup(Level.Iteration)
+        public void limpiar() {
+            puntaje = choques = cambiosDeSala = bloquesAislados = iteraciones = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        int[] demanda = new int[SECCIONES];
+        int[] docenteDe = new int[SECCIONES];
+        for (int s = 0; s < SECCIONES; s++) {
+            demanda[s] = 2 + random.nextInt(3);
+            docenteDe[s] = s % 10 == 0 ? -1 : random.nextInt(DOCENTES);
+        }
+        solver = new HorarioSolver(DIAS, BLOQUES_POR_DIA, SALAS, demanda, docenteDe, DOCENTES);
+        executor = Executors.newFixedThreadPool(hilos);
+    }
+
+    @TearDown
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public HorarioSolver.Plan resolver(Resultado resultado) {
+        HorarioSolver.Plan plan = solver.resolver(executor, hilos, presupuestoMs * 1_000_000L, ++semilla);
+        resultado.puntaje = plan.puntaje();
+        resultado.choques = plan.choques();
+        resultado.cambiosDeSala = plan.cambiosDeSala();
+        resultado.bloquesAislados = plan.bloquesAislados();
+        resultado.iteraciones = plan.iteraciones();
+        return plan;
+    }
+}
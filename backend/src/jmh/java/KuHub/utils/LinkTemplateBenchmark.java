@@ -0,0 +1,92 @@
+package KuHub.utils;
+
+import KuHub.modules.producto.assemblers.ProductoModelAssembler;
+import KuHub.modules.producto.controller.ProductoControllerV2;
+import KuHub.modules.producto.entity.Producto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Costo de armar los links de un listado de productos (5.000 por defecto), una petición por operación
+ *
+ * - linkToMethodOn: el assembler anterior (linkTo(methodOn(...)) por elemento y por link)
+ * - linkTemplate: ProductoModelAssembler actual con LinkTemplate
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LinkTemplateBenchmark {
+
+    @Param("5000")
+    private int elementos;
+
+    private List<Producto> productos;
+
+    private ProductoModelAssembler assembler;
+
+    @Setup
+    public void setup() {
+        productos = new ArrayList<>(elementos);
+        for (int i = 1; i <= elementos; i++) {
+            productos.add(new Producto(i, "P" + i, "Descripción " + i, "Producto " + i,
+                    "Abarrotes", "KG", i % 5 != 0, null, null));
+        }
+        assembler = new ProductoModelAssembler();
+    }
+
+    @Benchmark
+    public List<EntityModel<Producto>> linkToMethodOn() {
+        return enPeticion(producto -> EntityModel.of(
+                producto,
+                linkTo(methodOn(ProductoControllerV2.class).findProductById(producto.getIdProducto())).withSelfRel(),
+                linkTo(methodOn(ProductoControllerV2.class).findAllProducts(null, null, null, null, null)).withRel("productos"),
+                linkTo(methodOn(ProductoControllerV2.class).findByActive(producto.getActivo())).withRel("productos-por-estado")
+        ));
+    }
+
+    @Benchmark
+    public List<EntityModel<Producto>> linkTemplate() {
+        return enPeticion(assembler::toModel);
+    }
+
+    /**
+     * Arma el listado dentro de una petición nueva (la base de los links se calcula una vez por petición)
+     */
+    private List<EntityModel<Producto>> enPeticion(Function<Producto, EntityModel<Producto>> toModel) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v2/productos");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            List<EntityModel<Producto>> modelos = new ArrayList<>(productos.size());
+            for (Producto producto : productos) {
+                modelos.add(toModel.apply(producto));
+            }
+            return modelos;
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
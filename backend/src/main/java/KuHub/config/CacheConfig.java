@@ -0,0 +1,83 @@
+package KuHub.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Caché de datos de referencia (cambian pocas veces por semestre)
+ *
+ * Cada región es un caché Caffeine acotado por tamaño y con expiración, como red de
+ * seguridad para cambios hechos directo en la BD. Los servicios leen con @Cacheable y
+ * vacían la región con @CacheEvict en sus métodos de escritura; el vaciado se aplica
+ * recién al confirmar la transacción (TransactionAwareCacheDecorator), así nadie vuelve a
+ * cachear el valor anterior mientras la escritura no se ha confirmado.
+ *
+ * Lo cacheado se comparte entre peticiones: se guardan DTOs o copias desligadas de la
+ * sesión, nunca entidades administradas de la transacción que las leyó.
+ *
+ * Propiedades por región (ej: kuhub.cache.salas.*):
+ * - enabled: false reemplaza la región por un caché que nunca guarda (para medir la ganancia)
+ * - max-size: cantidad máxima de entradas
+ * - ttl: tiempo de vida de cada entrada (Duration, ej: 1h)
+ *
+ * Aciertos, fallos y desalojos se publican en /actuator/metrics/cache.gets y cache.evictions
+ * (etiqueta cache=región) y las regiones se listan en /actuator/caches.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheConfig.class);
+
+    /** Salas: por id, activas y todas */
+    public static final String SALAS = "salas";
+    /** Bloques horarios: por id, por número y todos */
+    public static final String BLOQUES_HORARIO = "bloques-horario";
+    /** Roles: DTOs por id/nombre y listados */
+    public static final String ROLES = "roles";
+    /** Categorías y unidades de medida de productos activos */
+    public static final String CATALOGOS_PRODUCTO = "catalogos-producto";
+
+    private static final List<String> REGIONES = List.of(SALAS, BLOQUES_HORARIO, ROLES, CATALOGOS_PRODUCTO);
+
+    @Bean
+    public CacheManager cacheManager(Environment env) {
+        List<Cache> caches = new ArrayList<>();
+        for (String region : REGIONES) {
+            String prefijo = "kuhub.cache." + region + ".";
+            boolean enabled = env.getProperty(prefijo + "enabled", Boolean.class, true);
+            if (!enabled) {
+                log.info("Caché '{}' desactivado", region);
+                caches.add(new NoOpCache(region));
+                continue;
+            }
+            long maxSize = env.getProperty(prefijo + "max-size", Long.class, 1000L);
+            Duration ttl = env.getProperty(prefijo + "ttl", Duration.class, Duration.ofHours(1));
+            caches.add(new TransactionAwareCacheDecorator(new CaffeineCache(region,
+                    Caffeine.newBuilder()
+                            .maximumSize(maxSize)
+                            .expireAfterWrite(ttl)
+                            .recordStats()
+                            .build(),
+                    false)));
+        }
+        SimpleCacheManager manager = new SimpleCacheManager();
+        manager.setCaches(caches);
+        return manager;
+    }
+}
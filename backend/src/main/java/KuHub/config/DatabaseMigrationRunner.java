@@ -0,0 +1,70 @@
+package KuHub.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Aplica al iniciar los scripts SQL de classpath:db/kuhub/*.sql en orden de nombre
+ *
+ * El esquema principal se administra fuera de la aplicación (ddl-auto=none), pero las
+ * tablas, índices y restricciones de soporte que agrega el backend viven en estos scripts.
+ * Todos deben ser idempotentes (IF NOT EXISTS, ON CONFLICT, etc.) porque se ejecutan en
+ * cada arranque. Se desactiva con kuhub.db.migrations.enabled=false.
+ *
+ * Los beans que leen esas tablas al arrancar deben declarar @DependsOn("databaseMigrationRunner").
+ * El EntityManagerFactory ya espera a este runner (ver EntityManagerFactoryDespuesDeMigraciones).
+ */
+@Component
+public class DatabaseMigrationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseMigrationRunner.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${kuhub.db.migrations.enabled:true}")
+    private boolean enabled;
+
+    @PostConstruct
+    public void migrate() throws Exception {
+        if (!enabled) {
+            log.info("Migraciones de soporte desactivadas (kuhub.db.migrations.enabled=false)");
+            return;
+        }
+
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources("classpath*:db/kuhub/*.sql");
+        Arrays.sort(scripts, Comparator.comparing(Resource::getFilename));
+
+        for (Resource script : scripts) {
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(script);
+            populator.setSqlScriptEncoding("UTF-8");
+            populator.execute(dataSource);
+            log.info("Script aplicado: {}", script.getFilename());
+        }
+    }
+
+    /**
+     * Hibernate compara el allocationSize de cada @SequenceGenerator con el INCREMENT BY de la
+     * secuencia al construir el EntityManagerFactory: tiene que construirse después de que
+     * 003_pooled_lo_sequences.sql las dejó en 50, no cuando el primer repositorio lo pida
+     */
+    @Component
+    static class EntityManagerFactoryDespuesDeMigraciones extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDespuesDeMigraciones() {
+            super("databaseMigrationRunner");
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package KuHub.config;
 
+import KuHub.config.security.PasswordHashingRejectedException;
+import KuHub.modules.gestion_academica.exceptions.AgendaDocenteConflictException;
 import KuHub.modules.gestion_academica.exceptions.GestionAcademicaException;
+import KuHub.modules.gestion_academica.exceptions.ReservaSalaConflictException;
 import KuHub.modules.gestionusuario.exceptions.*;
 import KuHub.modules.producto.exceptions.ProductoException;
 import KuHub.modules.producto.exceptions.ProductoNotFoundException;
@@ -127,6 +130,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
     }
 
+    /**
+     * Maneja PasswordHashingRejectedException (cola de BCrypt llena)
+     */
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handlePasswordHashingRejected(PasswordHashingRejectedException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.put("error", "Servicio temporalmente saturado");
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
     /**
      * Maneja IllegalArgumentException
      */
@@ -215,6 +234,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * Maneja ReservaSalaConflictException
+     * El bloque ya está reservado para la sala (otra sección lo tomó antes).
+     */
+    @ExceptionHandler(ReservaSalaConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleReservaSalaConflict(ReservaSalaConflictException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("error", "Conflicto de reserva");
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * Maneja AgendaDocenteConflictException
+     * El docente ya dicta otra sección en el mismo día y bloque.
+     */
+    @ExceptionHandler(AgendaDocenteConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleAgendaDocenteConflict(AgendaDocenteConflictException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("error", "Conflicto de horario del docente");
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
 
 
 
@@ -0,0 +1,78 @@
+package KuHub.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Caché de segundo nivel de Hibernate (JCache con Caffeine, local a cada nodo)
+ *
+ * Guarda el estado de entidades pequeñas que se leen por id una y otra vez (productos en
+ * las recetas, salas y bloques por cada bloque de una sección, asignaturas, roles).
+ * Cada entidad declara su región y estrategia con @Cache:
+ * - READ_ONLY: BloqueHorario, la aplicación nunca lo modifica.
+ * - NONSTRICT_READ_WRITE: Sala, Rol y Asignatura; cambian muy poco y la entrada se
+ *   invalida al confirmar la transacción.
+ * - READ_WRITE: Producto, se edita seguido desde inventario; usa bloqueos suaves para que
+ *   ninguna lectura concurrente deje en caché el estado anterior.
+ *
+ * Las regiones se crean aquí (tamaño y expiración por región) y se entregan a Hibernate
+ * como CacheManager ya armado.
+ *
+ * Propiedades por región (ej: kuhub.hibernate-cache.producto.*):
+ * - max-size: cantidad máxima de entidades
+ * - ttl: tiempo de vida de cada entrada (Duration, ej: 1h)
+ *
+ * Con hibernate.generate_statistics=true las métricas quedan en
+ * /actuator/metrics/hibernate.second.level.cache.requests (etiquetas region y result).
+ *
+ * Las sentencias nativas de escritura deben declarar las tablas que tocan
+ * (HibernateHints.HINT_NATIVE_SPACES); sin eso Hibernate vacía todas las regiones.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String PRODUCTO = "producto";
+    public static final String SALA = "sala";
+    public static final String BLOQUE_HORARIO = "bloque-horario";
+    public static final String ROL = "rol";
+    public static final String ASIGNATURA = "asignatura";
+
+    private static final List<String> REGIONES = List.of(PRODUCTO, SALA, BLOQUE_HORARIO, ROL, ASIGNATURA);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment env) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager manager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        for (String region : REGIONES) {
+            String prefijo = "kuhub.hibernate-cache." + region + ".";
+            long maxSize = env.getProperty(prefijo + "max-size", Long.class, 1000L);
+            Duration ttl = env.getProperty(prefijo + "ttl", Duration.class, Duration.ofHours(1));
+
+            CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>();
+            configuracion.setStoreByValue(false);
+            configuracion.setMaximumSize(OptionalLong.of(maxSize));
+            configuracion.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            if (manager.getCache(region) == null) {
+                manager.createCache(region, configuracion);
+            }
+        }
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,35 @@
+package KuHub.config;
+
+import KuHub.config.security.CurrentUserArgumentResolver;
+import KuHub.config.version.ConditionalGetInterceptor;
+import KuHub.config.version.ResourceVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    /**
+     * Registra el resolver de @CurrentUser para los controladores
+     */
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new CurrentUserArgumentResolver());
+    }
+
+    /**
+     * ETag y 304 para los GET de catálogo marcados con @ConditionalGet
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConditionalGetInterceptor(resourceVersionService));
+    }
+}
@@ -0,0 +1,19 @@
+package KuHub.config.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Inyecta en un parámetro de controlador el UsuarioActual construido desde los claims del JWT
+ *
+ * Ejemplo:
+ * public ResponseEntity<?> misSecciones(@CurrentUser UsuarioActual usuario)
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
@@ -0,0 +1,39 @@
+package KuHub.config.security;
+
+import KuHub.modules.gestionusuario.exceptions.InvalidCredentialsException;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resuelve los parámetros @CurrentUser UsuarioActual desde la autenticación
+ * que dejó JwtValidationFilter en el SecurityContext (sin consultar la BD)
+ */
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && UsuarioActual.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter,
+                                  ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !(authentication.getPrincipal() instanceof UsuarioActual usuario)) {
+            throw new InvalidCredentialsException("Debe iniciar sesión para acceder a este recurso");
+        }
+        if (!usuario.tieneIdentidad()) {
+            throw new InvalidCredentialsException("El token no contiene la identidad del usuario, vuelva a iniciar sesión");
+        }
+        return usuario;
+    }
+}
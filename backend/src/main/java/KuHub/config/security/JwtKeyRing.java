@@ -0,0 +1,254 @@
+package KuHub.config.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.KeyException;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Anillo de claves HMAC para firmar y validar los JWT
+ *
+ * Las claves se cargan desde un keystore PKCS12 local; el alias de cada entrada es
+ * su "kid" (se agrega al header del token). Así todos los nodos del backend que
+ * compartan el mismo archivo pueden validar los tokens emitidos por los demás y un
+ * reinicio ya no invalida las sesiones.
+ *
+ * Rotación:
+ * - La clave activa (firma) es la indicada en kuhub.security.jwt.active-kid,
+ *   o la más reciente del keystore si no se indica
+ * - Las claves más nuevas que la activa ya se aceptan para validar (pre-publicación)
+ * - Una clave reemplazada se sigue aceptando durante la ventana de solapamiento
+ *   contada desde que la clave que la reemplazó pasó a ser la activa, no desde su
+ *   creación: una clave pre-publicada puede activarse días después de creada
+ * - El keystore no guarda cuándo se activó cada clave: cada nodo anota el instante en
+ *   que una clave pasa a ser su activa (al arrancar o al recargar). Si una clave ya
+ *   estaba reemplazada cuando el nodo arrancó, se toma la activación de la siguiente
+ *   (el límite más tardío posible). El cambio de clave activa debe llegar a todos los
+ *   nodos dentro de la ventana de solapamiento
+ * - El archivo se vuelve a leer cuando cambia su fecha de modificación
+ *
+ * Crear/rotar una clave:
+ * keytool -genseckey -alias k2025-2 -keyalg HmacSHA256 -keysize 256 -storetype PKCS12 -keystore jwt-keys.p12
+ *
+ * Si no se configura keystore se usa una clave efímera en memoria (comportamiento anterior).
+ */
+@Component
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    /**
+     * Estado inmutable del anillo en un momento dado
+     */
+    private record Snapshot(String activeKid, SecretKey activeKey, List<KeyEntry> keys, long lastModified) { }
+
+    /**
+     * Clave del keystore junto al instante hasta el cual se acepta para validar
+     * (Long.MAX_VALUE = sin vencimiento)
+     */
+    private record KeyEntry(String kid, SecretKey key, long liveUntil) { }
+
+    private final Path keystorePath;
+    private final char[] keystorePassword;
+    private final String configuredActiveKid;
+    private final Duration overlap;
+    private final long reloadIntervalMillis;
+
+    /**
+     * Instante en que este nodo empezó a firmar con cada kid (la última vez que pasó a ser la activa)
+     */
+    private final Map<String, Long> activatedAt = new ConcurrentHashMap<>();
+
+    private volatile Snapshot snapshot;
+    private volatile long nextReloadCheck;
+
+    public JwtKeyRing(
+            @Value("${kuhub.security.jwt.keystore.path:}") String keystorePath,
+            @Value("${kuhub.security.jwt.keystore.password:}") String keystorePassword,
+            @Value("${kuhub.security.jwt.active-kid:}") String activeKid,
+            @Value("${kuhub.security.jwt.overlap-minutes:60}") long overlapMinutes,
+            @Value("${kuhub.security.jwt.reload-seconds:60}") long reloadSeconds) {
+        this.keystorePath = keystorePath.isBlank() ? null : Path.of(keystorePath);
+        this.keystorePassword = keystorePassword.toCharArray();
+        this.configuredActiveKid = activeKid.isBlank() ? null : activeKid;
+        this.overlap = Duration.ofMinutes(overlapMinutes);
+        this.reloadIntervalMillis = Duration.ofSeconds(reloadSeconds).toMillis();
+
+        if (this.keystorePath == null) {
+            log.warn("kuhub.security.jwt.keystore.path no configurado: se usa una clave efímera, " +
+                    "los tokens no sobreviven reinicios ni son válidos entre nodos");
+            this.snapshot = ephemeral();
+        } else {
+            this.snapshot = load();
+        }
+        this.nextReloadCheck = System.currentTimeMillis() + reloadIntervalMillis;
+    }
+
+    /**
+     * kid de la clave con la que se firman los tokens nuevos
+     */
+    public String activeKid() {
+        return current().activeKid();
+    }
+
+    /**
+     * Clave con la que se firman los tokens nuevos
+     */
+    public SecretKey activeKey() {
+        return current().activeKey();
+    }
+
+    /**
+     * Indica si la clave con ese kid todavía se acepta para validar tokens
+     */
+    public boolean isLive(String kid) {
+        return find(current(), kid) != null;
+    }
+
+    /**
+     * Usado por el JwtParser: resuelve la clave de verificación a partir del "kid" del header
+     */
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            throw new KeyException("El token no contiene el header 'kid'");
+        }
+        SecretKey key = find(current(), kid);
+        if (key == null) {
+            throw new KeyException(String.format("La clave '%s' no existe o ya no es válida", kid));
+        }
+        return key;
+    }
+
+    private SecretKey find(Snapshot s, String kid) {
+        long now = System.currentTimeMillis();
+        for (KeyEntry entry : s.keys()) {
+            if (entry.kid().equals(kid)) {
+                return now < entry.liveUntil() ? entry.key() : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Devuelve el snapshot vigente, recargando el keystore si el archivo cambió
+     */
+    private Snapshot current() {
+        if (keystorePath != null && System.currentTimeMillis() >= nextReloadCheck) {
+            reloadIfModified();
+        }
+        return snapshot;
+    }
+
+    private synchronized void reloadIfModified() {
+        long now = System.currentTimeMillis();
+        if (now < nextReloadCheck) {
+            return;
+        }
+        nextReloadCheck = now + reloadIntervalMillis;
+        try {
+            long lastModified = Files.getLastModifiedTime(keystorePath).toMillis();
+            if (lastModified != snapshot.lastModified()) {
+                snapshot = load();
+                log.info("Keystore JWT recargado, clave activa: {}", snapshot.activeKid());
+            }
+        } catch (Exception e) {
+            // Se conservan las claves anteriores: un archivo a medio copiar no debe tumbar la validación
+            log.error("No se pudo recargar el keystore JWT {}: {}", keystorePath, e.getMessage());
+        }
+    }
+
+    private Snapshot load() {
+        try (InputStream in = Files.newInputStream(keystorePath)) {
+            long lastModified = Files.getLastModifiedTime(keystorePath).toMillis();
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(in, keystorePassword);
+
+            record Loaded(String kid, SecretKey key, Date created) { }
+            List<Loaded> loaded = new ArrayList<>();
+            for (String alias : Collections.list(keyStore.aliases())) {
+                Key key = keyStore.getKey(alias, keystorePassword);
+                if (key instanceof SecretKey secretKey) {
+                    loaded.add(new Loaded(alias, Keys.hmacShaKeyFor(secretKey.getEncoded()), keyStore.getCreationDate(alias)));
+                }
+            }
+            if (loaded.isEmpty()) {
+                throw new IllegalStateException("El keystore no contiene claves secretas");
+            }
+            loaded.sort(Comparator.comparing(Loaded::created));
+
+            int activeIndex = loaded.size() - 1;
+            if (configuredActiveKid != null) {
+                activeIndex = -1;
+                for (int i = 0; i < loaded.size(); i++) {
+                    if (loaded.get(i).kid().equals(configuredActiveKid)) {
+                        activeIndex = i;
+                    }
+                }
+                if (activeIndex < 0) {
+                    throw new IllegalStateException(
+                            String.format("La clave activa '%s' no existe en el keystore", configuredActiveKid));
+                }
+            }
+
+            Loaded active = loaded.get(activeIndex);
+            if (snapshot == null || !snapshot.activeKid().equals(active.kid())) {
+                activatedAt.put(active.kid(), System.currentTimeMillis());
+            }
+
+            // Se recorre desde la activa hacia atrás: cada clave vence "overlap" después de
+            // la activación de la que la reemplazó
+            KeyEntry[] entries = new KeyEntry[loaded.size()];
+            long successorActivation = Long.MAX_VALUE;
+            for (int i = loaded.size() - 1; i >= 0; i--) {
+                Loaded l = loaded.get(i);
+                long liveUntil = Long.MAX_VALUE;
+                if (i < activeIndex) {
+                    liveUntil = successorActivation + overlap.toMillis();
+                }
+                if (i <= activeIndex) {
+                    successorActivation = activatedAt.getOrDefault(l.kid(), successorActivation);
+                }
+                entries[i] = new KeyEntry(l.kid(), l.key(), liveUntil);
+            }
+
+            Map<String, KeyEntry> keys = new LinkedHashMap<>();
+            for (KeyEntry entry : entries) {
+                keys.put(entry.kid(), entry);
+            }
+
+            return new Snapshot(active.kid(), active.key(), List.copyOf(keys.values()), lastModified);
+        } catch (Exception e) {
+            throw new IllegalStateException("No se pudo cargar el keystore JWT " + keystorePath, e);
+        }
+    }
+
+    private static Snapshot ephemeral() {
+        String kid = "ephemeral-" + UUID.randomUUID();
+        SecretKey key = Jwts.SIG.HS256.key().build();
+        return new Snapshot(kid, key, List.of(new KeyEntry(kid, key, Long.MAX_VALUE)), 0L);
+    }
+}
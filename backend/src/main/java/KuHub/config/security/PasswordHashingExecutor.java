@@ -0,0 +1,134 @@
+package KuHub.config.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecutor dedicado para el hashing de contraseñas (BCrypt)
+ *
+ * BCrypt consume CPU a propósito; ejecutarlo en el hilo de la petición hace que una
+ * ráfaga de logins ocupe todos los núcleos y deje sin CPU al resto de la API.
+ * Este ejecutor limita los hashes simultáneos a la cantidad de núcleos disponibles
+ * (o kuhub.security.password-hashing.threads) y encola como máximo
+ * kuhub.security.password-hashing.queue-capacity tareas; si la cola está llena
+ * rechaza de inmediato con PasswordHashingRejectedException (503 + Retry-After).
+ *
+ * Métricas publicadas (actuator):
+ * - kuhub.password.hash.queue.depth   tareas esperando en la cola
+ * - kuhub.password.hash.active        hashes en ejecución
+ * - kuhub.password.hash.latency       duración de cada hash (tag operation=encode|matches)
+ * - kuhub.password.hash.rejected      peticiones rechazadas por cola llena
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final int retryAfterSeconds;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${kuhub.security.password-hashing.threads:0}") int threads,
+            @Value("${kuhub.security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${kuhub.security.password-hashing.retry-after-seconds:2}") int retryAfterSeconds) {
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        Gauge.builder("kuhub.password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("Hashes de contraseña esperando en la cola")
+                .register(meterRegistry);
+        Gauge.builder("kuhub.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashes de contraseña en ejecución")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("kuhub.password.hash.latency")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("kuhub.password.hash.latency")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("kuhub.password.hash.rejected")
+                .description("Peticiones rechazadas por cola de hashing llena")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indica si la cola todavía admite trabajo; permite rechazar un login antes de ir a la BD
+     */
+    public boolean hasCapacity() {
+        return executor.getQueue().remainingCapacity() > 0;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public String encode(Callable<String> task) {
+        return submitAndWait(encodeTimer.wrap(task));
+    }
+
+    public boolean matches(Callable<Boolean> task) {
+        return submitAndWait(matchesTimer.wrap(task));
+    }
+
+    private <T> T submitAndWait(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hash de contraseña interrumpido", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("Error al procesar la contraseña", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
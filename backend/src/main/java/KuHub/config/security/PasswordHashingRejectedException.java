@@ -0,0 +1,19 @@
+package KuHub.config.security;
+
+/**
+ * Se lanza cuando la cola del PasswordHashingExecutor está llena
+ * Se responde con 503 Service Unavailable y el header Retry-After
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public PasswordHashingRejectedException(int retryAfterSeconds) {
+        super("El servidor está procesando demasiados inicios de sesión, intente nuevamente en unos segundos");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
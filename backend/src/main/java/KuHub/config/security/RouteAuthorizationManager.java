@@ -0,0 +1,276 @@
+package KuHub.config.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Autorización por rutas precompilada en un trie (método HTTP + segmentos del path)
+ *
+ * Las reglas se declaran en el mismo orden que antes tenía la cadena de requestMatchers
+ * y conservan su semántica: gana la PRIMERA regla que coincide y, si ninguna coincide,
+ * se aplica la regla por defecto (autenticado).
+ *
+ * Al construirse, cada patrón se descompone en segmentos y se inserta en el trie del
+ * método (las reglas sin método se insertan en todos). En cada petición se recorre el
+ * trie una sola vez por segmento, en lugar de evaluar los patrones uno por uno.
+ *
+ * Segmentos soportados (los usados en SpringSecurityConfig):
+ * - literal:    "usuarios"
+ * - comodín:    "*" o "v*" (un solo '*' dentro del segmento, no cruza '/')
+ * - "**":       solo al final; coincide con cero o más segmentos
+ *
+ * El path se compara igual que lo hacía MvcRequestMatcher: por segmentos decodificados y sin
+ * parámetros de matriz (";jsessionid=..."), así "/api/v1/us%75arios/5" cae en las reglas de
+ * usuarios y no en la regla por defecto.
+ */
+public final class RouteAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final AuthorizationManager<RequestAuthorizationContext> PERMIT_ALL =
+            (authentication, context) -> new AuthorizationDecision(true);
+
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    /**
+     * Regla compilada: su posición en la declaración y el manager que decide
+     */
+    private record Rule(int order, String method, String pattern,
+                        AuthorizationManager<RequestAuthorizationContext> manager) { }
+
+    /**
+     * Segmento con comodín: prefijo*sufijo
+     */
+    private record Glob(String prefix, String suffix, Node next) {
+
+        boolean matches(String segment) {
+            return segment.length() >= prefix.length() + suffix.length()
+                    && segment.startsWith(prefix)
+                    && segment.endsWith(suffix);
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private final List<Glob> globs = new ArrayList<>();
+        /** Regla más prioritaria que termina exactamente en este nodo */
+        private int terminal = NO_MATCH;
+        /** Regla más prioritaria con "**" colgando de este nodo */
+        private int tail = NO_MATCH;
+    }
+
+    private final Map<HttpMethod, Node> roots;
+    private final List<Rule> rules;
+    private final AuthorizationManager<RequestAuthorizationContext> defaultManager;
+
+    private RouteAuthorizationManager(Map<HttpMethod, Node> roots, List<Rule> rules,
+                                      AuthorizationManager<RequestAuthorizationContext> defaultManager) {
+        this.roots = roots;
+        this.rules = rules;
+        this.defaultManager = defaultManager;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return resolve(context.getRequest()).authorize(authentication, context);
+    }
+
+    /**
+     * Solo porque la interfaz aún lo declara abstracto: Spring Security llama a authorize(...)
+     */
+    @Deprecated
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        AuthorizationResult result = authorize(authentication, context);
+        return result == null || result instanceof AuthorizationDecision
+                ? (AuthorizationDecision) result
+                : new AuthorizationDecision(result.isGranted());
+    }
+
+    /**
+     * Devuelve el manager de la primera regla que coincide con la petición
+     */
+    AuthorizationManager<RequestAuthorizationContext> resolve(HttpServletRequest request) {
+        Node root = roots.get(HttpMethod.valueOf(request.getMethod()));
+        if (root == null) {
+            return defaultManager;
+        }
+        int order = match(root, segments(request), 0);
+        return order == NO_MATCH ? defaultManager : rules.get(order).manager();
+    }
+
+    /**
+     * Cantidad de reglas compiladas (para diagnóstico)
+     */
+    public int size() {
+        return rules.size();
+    }
+
+    private static int match(Node node, String[] segments, int index) {
+        int best = node.tail;
+        if (index == segments.length) {
+            return Math.min(best, node.terminal);
+        }
+
+        String segment = segments[index];
+        Node literal = node.literals.get(segment);
+        if (literal != null) {
+            best = Math.min(best, match(literal, segments, index + 1));
+        }
+        for (Glob glob : node.globs) {
+            if (glob.matches(segment)) {
+                best = Math.min(best, match(glob.next(), segments, index + 1));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Segmentos del path dentro de la aplicación, decodificados ("%75" → "u") y sin parámetros
+     * de matriz; "/api/v1/usuarios/" → [api, v1, usuarios, ""]
+     */
+    private static String[] segments(HttpServletRequest request) {
+        PathContainer path = RequestPath.parse(request.getRequestURI(), request.getContextPath()).pathWithinApplication();
+        List<String> segments = new ArrayList<>();
+        boolean separator = false;
+        for (PathContainer.Element element : path.elements()) {
+            if (element instanceof PathContainer.PathSegment segment) {
+                segments.add(segment.valueToMatch());
+                separator = false;
+            } else {
+                if (separator) {
+                    // "//": segmento vacío intermedio, igual que en PathPattern
+                    segments.add("");
+                }
+                separator = true;
+            }
+        }
+        if (separator && !segments.isEmpty()) {
+            // Barra final: segmento vacío para que "/usuarios" no coincida con "/usuarios/"
+            segments.add("");
+        }
+        return segments.toArray(String[]::new);
+    }
+
+    private static String[] split(String path) {
+        if (path.isEmpty() || "/".equals(path)) {
+            return new String[0];
+        }
+        String trimmed = path.charAt(0) == '/' ? path.substring(1) : path;
+        return trimmed.split("/", -1);
+    }
+
+    /**
+     * Acumula las reglas en orden de declaración y las compila en build()
+     */
+    public static final class Builder {
+
+        private final List<Rule> rules = new ArrayList<>();
+        private AuthorizationManager<RequestAuthorizationContext> defaultManager = AuthenticatedAuthorizationManager.authenticated();
+
+        private Builder() { }
+
+        public Builder permitAll(HttpMethod method, String... patterns) {
+            return add(method, PERMIT_ALL, patterns);
+        }
+
+        public Builder authenticated(HttpMethod method, String... patterns) {
+            return add(method, AuthenticatedAuthorizationManager.authenticated(), patterns);
+        }
+
+        public Builder hasRole(HttpMethod method, String role, String... patterns) {
+            return add(method, AuthorityAuthorizationManager.hasRole(role), patterns);
+        }
+
+        public Builder hasAnyRole(HttpMethod method, String[] roles, String... patterns) {
+            return add(method, AuthorityAuthorizationManager.hasAnyRole(roles), patterns);
+        }
+
+        /**
+         * Regla aplicada cuando ninguna otra coincide (por defecto: autenticado)
+         */
+        public Builder anyRequest(AuthorizationManager<RequestAuthorizationContext> manager) {
+            this.defaultManager = manager;
+            return this;
+        }
+
+        /**
+         * @param method método HTTP, o null para cualquier método
+         */
+        public Builder add(HttpMethod method, AuthorizationManager<RequestAuthorizationContext> manager, String... patterns) {
+            for (String pattern : patterns) {
+                rules.add(new Rule(rules.size(), method == null ? null : method.name(), pattern, manager));
+            }
+            return this;
+        }
+
+        public RouteAuthorizationManager build() {
+            Map<HttpMethod, Node> roots = new HashMap<>();
+            for (HttpMethod method : HttpMethod.values()) {
+                roots.put(method, new Node());
+            }
+            for (Rule rule : rules) {
+                for (Map.Entry<HttpMethod, Node> root : roots.entrySet()) {
+                    if (rule.method() == null || rule.method().equals(root.getKey().name())) {
+                        insert(root.getValue(), rule);
+                    }
+                }
+            }
+            return new RouteAuthorizationManager(Map.copyOf(roots), List.copyOf(rules), defaultManager);
+        }
+
+        private static void insert(Node root, Rule rule) {
+            String[] segments = split(rule.pattern());
+            Node node = root;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if ("**".equals(segment)) {
+                    if (i != segments.length - 1) {
+                        throw new IllegalArgumentException("'**' solo se admite al final del patrón: " + rule.pattern());
+                    }
+                    node.tail = Math.min(node.tail, rule.order());
+                    return;
+                }
+                node = child(node, segment, rule.pattern());
+            }
+            node.terminal = Math.min(node.terminal, rule.order());
+        }
+
+        private static Node child(Node node, String segment, String pattern) {
+            int star = segment.indexOf('*');
+            if (star < 0) {
+                return node.literals.computeIfAbsent(segment, s -> new Node());
+            }
+            if (segment.indexOf('*', star + 1) >= 0) {
+                throw new IllegalArgumentException("Solo se admite un '*' por segmento: " + pattern);
+            }
+            String prefix = segment.substring(0, star);
+            String suffix = segment.substring(star + 1);
+            for (Glob glob : node.globs) {
+                if (glob.prefix().equals(prefix) && glob.suffix().equals(suffix)) {
+                    return glob.next();
+                }
+            }
+            Glob glob = new Glob(prefix, suffix, new Node());
+            node.globs.add(glob);
+            return glob.next();
+        }
+    }
+}
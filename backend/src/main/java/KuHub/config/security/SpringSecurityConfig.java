@@ -2,13 +2,16 @@ package KuHub.config.security;
 
 import KuHub.config.security.filter.JwtAuthenticationFilter;
 import KuHub.config.security.filter.JwtValidationFilter;
-import KuHub.modules.gestionusuario.repository.UsuarioRepository;
+import KuHub.config.security.service.TokenRevocationService;
+import KuHub.modules.gestionusuario.service.UltimoAccesoBuffer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -34,17 +37,38 @@ public class SpringSecurityConfig {
     private AuthenticationConfiguration authenticationConfiguration;
 
     @Autowired
-    private UsuarioRepository usuarioRepository;
+    private UltimoAccesoBuffer ultimoAccesoBuffer;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JwtKeyRing jwtKeyRing;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     /**
      * Bean que proporciona el codificador de contraseñas BCrypt
+     * Los hashes se ejecutan en el PasswordHashingExecutor (acotado a los núcleos disponibles)
+     * y no en el hilo de la petición; lo usan el /login y UsuarioServiceImpl
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor);
+    }
+
+    /**
+     * Caché de tokens JWT ya verificados usado por JwtValidationFilter
+     * El tamaño máximo se configura con kuhub.security.token-cache.max-size
+     */
+    @Bean
+    public VerifiedTokenCache verifiedTokenCache(
+            @Value("${kuhub.security.token-cache.max-size:10000}") int maxSize) {
+        return new VerifiedTokenCache(maxSize);
     }
 
     /**
@@ -55,109 +79,148 @@ public class SpringSecurityConfig {
         return this.authenticationConfiguration.getAuthenticationManager();
     }
 
+    /**
+     * Reglas de autorización por endpoint
+     * Se compilan al arrancar en un trie (método + segmentos del path) y se evalúan
+     * en una sola pasada por petición; gana la primera regla que coincide
+     */
+    @Bean
+    public RouteAuthorizationManager routeAuthorizationManager() {
+        String[] bodega = {"ADMINISTRADOR", "ENCARGADO_BODEGA"};
+        String[] docentes = {"DOCENTE", "PROFESOR_A_CARGO"};
+        String[] administracion = {"ADMINISTRADOR", "CO_ADMINISTRADOR"};
+
+        return RouteAuthorizationManager.builder()
+                // ========================================
+                // ENDPOINTS PÚBLICOS (sin autenticación)
+                // ========================================
+                // Login - manejado por JwtAuthenticationFilter
+                .permitAll(HttpMethod.POST, "/login")
+
+                // Preflight requests de CORS (OPTIONS)
+                .permitAll(HttpMethod.OPTIONS, "/**")
+
+                // ========================================
+                // 📚 SWAGGER UI - PÚBLICO PARA DESARROLLO
+                // ========================================
+                .permitAll(null,
+                        "/swagger-ui/**",
+                        "/swagger-ui.html",
+                        "/v3/api-docs/**",
+                        "/v3/api-docs.yaml",
+                        "/swagger-resources/**",
+                        "/swagger-resources",
+                        "/configuration/ui",
+                        "/configuration/security",
+                        "/webjars/**",
+                        "/api-docs/**"
+                )
+
+                // ⚠️ PRODUCCIÓN: Comentar las líneas de arriba o restringir por IP/rol
+                // .hasRole(null, "ADMINISTRADOR", "/swagger-ui/**")
+
+                // ========================================
+                // ENDPOINTS DE ROLES
+                // ========================================
+                // Endpoints de roles v1 (lectura pública)
+                .permitAll(HttpMethod.GET, "/api/v1/roles", "/api/v1/roles/**")
+
+                // Endpoints de roles v2 con HATEOAS (lectura pública)
+                .permitAll(HttpMethod.GET, "/api/v2/roles", "/api/v2/roles/**")
+
+                // Solo ADMINISTRADOR puede crear/modificar roles
+                .hasRole(HttpMethod.POST, "ADMINISTRADOR", "/api/v*/roles")
+                .hasRole(HttpMethod.PUT, "ADMINISTRADOR", "/api/v*/roles/**")
+                .hasRole(HttpMethod.DELETE, "ADMINISTRADOR", "/api/v*/roles/**")
+                .hasRole(HttpMethod.PATCH, "ADMINISTRADOR", "/api/v*/roles/**")
+
+                // ========================================
+                // ENDPOINTS DE USUARIOS
+                // ========================================
+                // Identidad y perfil propios: cualquier usuario autenticado
+                .authenticated(HttpMethod.GET, "/api/v*/usuarios/me", "/api/v*/usuarios/me/**")
+
+                // ADMINISTRADOR tiene acceso total (v1 y v2)
+                .hasRole(HttpMethod.GET, "ADMINISTRADOR", "/api/v*/usuarios", "/api/v*/usuarios/**")
+
+                // ⚠️ TEMPORAL: Creador de Usuarios sin ROL (para desarrollo)
+                // En producción, cambiar a .hasRole(HttpMethod.POST, "ADMINISTRADOR", ...)
+                .permitAll(HttpMethod.POST, "/api/v*/usuarios")
+
+                .hasRole(HttpMethod.PUT, "ADMINISTRADOR", "/api/v*/usuarios/**")
+                .hasRole(HttpMethod.DELETE, "ADMINISTRADOR", "/api/v*/usuarios/**")
+                .hasRole(HttpMethod.PATCH, "ADMINISTRADOR", "/api/v*/usuarios/**")
+
+                // ========================================
+                // ENDPOINTS DE PRODUCTOS
+                // ========================================
+                // Productos - lectura pública, modificación restringida
+                .permitAll(HttpMethod.GET, "/api/v*/producto/**", "/api/v*/productos/**")
+
+                .hasAnyRole(HttpMethod.POST, bodega, "/api/v*/producto", "/api/v*/productos")
+                .hasAnyRole(HttpMethod.PUT, bodega, "/api/v*/producto/**", "/api/v*/productos/**")
+
+                .hasRole(HttpMethod.DELETE, "ADMINISTRADOR", "/api/v*/producto/**", "/api/v*/productos/**")
+
+                // ========================================
+                // ENDPOINTS DE INVENTARIO
+                // ========================================
+                // Inventario - lectura pública, modificación restringida
+                .permitAll(HttpMethod.GET, "/api/v*/inventario/**")
+
+                .hasAnyRole(HttpMethod.POST, bodega, "/api/v*/inventario/**")
+                .hasAnyRole(HttpMethod.PUT, bodega, "/api/v*/inventario/**")
+                .hasRole(HttpMethod.DELETE, "ADMINISTRADOR", "/api/v*/inventario/**")
+
+                // ========================================
+                // MEDIOS (fotos direccionadas por contenido)
+                // ========================================
+                // Fotos de perfil: solo con sesión (el frontend las pide con el token)
+                .authenticated(HttpMethod.GET, "/api/v*/media/usuario/*")
+                .authenticated(HttpMethod.HEAD, "/api/v*/media/usuario/*")
+                // Fotos de productos y recetas: lectura pública, las etiquetas <img> no envían el JWT
+                // (MediaController no entrega por aquí las fotos de perfil)
+                .permitAll(HttpMethod.GET, "/api/v*/media/*")
+                .permitAll(HttpMethod.HEAD, "/api/v*/media/*")
+
+                // ========================================
+                // SECCIONES
+                // ========================================
+                // Horario semanal propio: solo quienes dictan secciones
+                .hasAnyRole(HttpMethod.GET, docentes, "/api/v*/seccion/my-schedule/")
+
+                // Cálculo automático de horario: ocupa todos los núcleos, solo administración
+                .hasAnyRole(HttpMethod.POST, administracion, "/api/v*/seccion/solve-timetable/")
+
+                // ========================================
+                // MANTENIMIENTO
+                // ========================================
+                // Reparación de secuencias de recetas
+                .hasRole(HttpMethod.POST, "ADMINISTRADOR", "/api/v*/receta/sync-sequences/")
+
+                // ========================================
+                // RESTO DE ENDPOINTS
+                // ========================================
+                // Cualquier otra petición requiere autenticación (sin importar el rol)
+                .anyRequest(AuthenticatedAuthorizationManager.authenticated())
+                .build();
+    }
+
     /**
      * Configuración principal de seguridad
-     * Define qué endpoints son públicos y cuáles requieren autenticación
+     * Las reglas por endpoint viven en routeAuthorizationManager()
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           VerifiedTokenCache verifiedTokenCache,
+                                           RouteAuthorizationManager routeAuthorizationManager) throws Exception {
         return http
                 .authorizeHttpRequests((authz) -> authz
-                        // ========================================
-                        // ENDPOINTS PÚBLICOS (sin autenticación)
-                        // ========================================
-                        // Login - manejado por JwtAuthenticationFilter
-                        .requestMatchers(HttpMethod.POST, "/login").permitAll()
-
-                        // Preflight requests de CORS (OPTIONS)
-                        .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-
-                        // ========================================
-                        // 📚 SWAGGER UI - PÚBLICO PARA DESARROLLO
-                        // ========================================
-                        .requestMatchers(
-                                "/swagger-ui/**",
-                                "/swagger-ui.html",
-                                "/v3/api-docs/**",
-                                "/v3/api-docs.yaml",
-                                "/swagger-resources/**",
-                                "/swagger-resources",
-                                "/configuration/ui",
-                                "/configuration/security",
-                                "/webjars/**",
-                                "/api-docs/**"
-                        ).permitAll()
-
-                        // ⚠️ PRODUCCIÓN: Comentar las líneas de arriba o restringir por IP/rol
-                        // .requestMatchers("/swagger-ui/**").hasRole("ADMINISTRADOR")
-
-                        // ========================================
-                        // ENDPOINTS DE ROLES
-                        // ========================================
-                        // Endpoints de roles v1 (lectura pública)
-                        .requestMatchers(HttpMethod.GET, "/api/v1/roles").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/v1/roles/**").permitAll()
-
-                        // Endpoints de roles v2 con HATEOAS (lectura pública)
-                        .requestMatchers(HttpMethod.GET, "/api/v2/roles").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/v2/roles/**").permitAll()
-
-                        // Solo ADMINISTRADOR puede crear/modificar roles
-                        .requestMatchers(HttpMethod.POST, "/api/v*/roles").hasRole("ADMINISTRADOR")
-                        .requestMatchers(HttpMethod.PUT, "/api/v*/roles/**").hasRole("ADMINISTRADOR")
-                        .requestMatchers(HttpMethod.DELETE, "/api/v*/roles/**").hasRole("ADMINISTRADOR")
-                        .requestMatchers(HttpMethod.PATCH, "/api/v*/roles/**").hasRole("ADMINISTRADOR")
-
-                        // ========================================
-                        // ENDPOINTS DE USUARIOS
-                        // ========================================
-                        // ADMINISTRADOR tiene acceso total (v1 y v2)
-                        .requestMatchers(HttpMethod.GET, "/api/v*/usuarios").hasRole("ADMINISTRADOR")
-                        .requestMatchers(HttpMethod.GET, "/api/v*/usuarios/**").hasRole("ADMINISTRADOR")
-
-                        // ⚠️ TEMPORAL: Creador de Usuarios sin ROL (para desarrollo)
-                        // En producción, cambiar a .hasRole("ADMINISTRADOR")
-                        .requestMatchers(HttpMethod.POST, "/api/v*/usuarios").permitAll()
-
-                        .requestMatchers(HttpMethod.PUT, "/api/v*/usuarios/**").hasRole("ADMINISTRADOR")
-                        .requestMatchers(HttpMethod.DELETE, "/api/v*/usuarios/**").hasRole("ADMINISTRADOR")
-                        .requestMatchers(HttpMethod.PATCH, "/api/v*/usuarios/**").hasRole("ADMINISTRADOR")
-
-                        // ========================================
-                        // ENDPOINTS DE PRODUCTOS
-                        // ========================================
-                        // Productos - lectura pública, modificación restringida
-                        .requestMatchers(HttpMethod.GET, "/api/v*/producto/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/v*/productos/**").permitAll()
-
-                        .requestMatchers(HttpMethod.POST, "/api/v*/producto").hasAnyRole("ADMINISTRADOR", "ENCARGADO_BODEGA")
-                        .requestMatchers(HttpMethod.POST, "/api/v*/productos").hasAnyRole("ADMINISTRADOR", "ENCARGADO_BODEGA")
-
-                        .requestMatchers(HttpMethod.PUT, "/api/v*/producto/**").hasAnyRole("ADMINISTRADOR", "ENCARGADO_BODEGA")
-                        .requestMatchers(HttpMethod.PUT, "/api/v*/productos/**").hasAnyRole("ADMINISTRADOR", "ENCARGADO_BODEGA")
-
-                        .requestMatchers(HttpMethod.DELETE, "/api/v*/producto/**").hasRole("ADMINISTRADOR")
-                        .requestMatchers(HttpMethod.DELETE, "/api/v*/productos/**").hasRole("ADMINISTRADOR")
-
-                        // ========================================
-                        // ENDPOINTS DE INVENTARIO
-                        // ========================================
-                        // Inventario - lectura pública, modificación restringida
-                        .requestMatchers(HttpMethod.GET, "/api/v*/inventario/**").permitAll()
-
-                        .requestMatchers(HttpMethod.POST, "/api/v*/inventario/**").hasAnyRole("ADMINISTRADOR", "ENCARGADO_BODEGA")
-                        .requestMatchers(HttpMethod.PUT, "/api/v*/inventario/**").hasAnyRole("ADMINISTRADOR", "ENCARGADO_BODEGA")
-                        .requestMatchers(HttpMethod.DELETE, "/api/v*/inventario/**").hasRole("ADMINISTRADOR")
-
-                        // ========================================
-                        // RESTO DE ENDPOINTS
-                        // ========================================
-                        // Cualquier otra petición requiere autenticación (sin importar el rol)
-                        .anyRequest().authenticated()
+                        .anyRequest().access(routeAuthorizationManager)
                 )
                 // Agregar filtros JWT EN ORDEN - inyectando ObjectMapper configurado
-                .addFilter(new JwtAuthenticationFilter(authenticationManager(), usuarioRepository, objectMapper))
-                .addFilter(new JwtValidationFilter(authenticationManager()))
+                .addFilter(new JwtAuthenticationFilter(authenticationManager(), ultimoAccesoBuffer, objectMapper, jwtKeyRing, passwordHashingExecutor))
+                .addFilter(new JwtValidationFilter(authenticationManager(), jwtKeyRing, verifiedTokenCache, tokenRevocationService))
 
                 // Desactivar CSRF (no necesario con JWT)
                 .csrf(config -> config.disable())
@@ -232,7 +295,8 @@ public class SpringSecurityConfig {
         // Headers que el frontend puede leer de la respuesta
         configuration.setExposedHeaders(Arrays.asList(
                 "Authorization",     // Para que el frontend lea el token
-                "Content-Type"
+                "Content-Type",
+                "Retry-After"        // Segundos de espera en los 429/503 (límite de peticiones, cola de login)
         ));
 
         // ========================================
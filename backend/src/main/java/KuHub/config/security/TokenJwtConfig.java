@@ -1,21 +1,26 @@
 package KuHub.config.security;
 
-import io.jsonwebtoken.Jwts;
-import javax.crypto.SecretKey;
-
 /**
  * Configuración de constantes para JWT
- * Este archivo se copia TAL CUAL del código del profesor
- * NO requiere adaptaciones
+ * Basado en el código del profesor
+ *
+ * La clave de firma ya no vive aquí: la administra JwtKeyRing
+ * (keystore compartido entre nodos, con rotación por "kid")
  */
 public class TokenJwtConfig {
-    
+
     /**
-     * Clave secreta para firmar los tokens JWT
-     * Se genera automáticamente usando el algoritmo HS256
+     * Versión de los claims del token
+     * 2 = incluye idUsuario, idRol y nombreRol (identidad para @CurrentUser)
+     * 3 = incluye iatMs, la emisión en milisegundos epoch (para la revocación)
      */
-    public static final SecretKey SECRET_KEY = Jwts.SIG.HS256.key().build();
-    
+    public static final int CLAIMS_VERSION = 3;
+
+    /**
+     * Vigencia del token desde su emisión (1 hora)
+     */
+    public static final long TOKEN_LIFETIME_MS = 3600000;
+
     /**
      * Prefijo que se agrega al token en el header Authorization
      * Ejemplo: "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
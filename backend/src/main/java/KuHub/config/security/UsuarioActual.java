@@ -0,0 +1,39 @@
+package KuHub.config.security;
+
+import java.security.Principal;
+
+/**
+ * Principal liviano del usuario autenticado, construido solo a partir de los claims
+ * ya validados del JWT (sin consultar la BD)
+ *
+ * Se obtiene en los controladores con un parámetro anotado con @CurrentUser
+ *
+ * @param idUsuario  claim "idUsuario"
+ * @param email      subject del token
+ * @param idRol      claim "idRol"
+ * @param nombreRol  claim "nombreRol" (nombre ENUM de la BD, ej: DOCENTE)
+ */
+public record UsuarioActual(Integer idUsuario,
+                            String email,
+                            Integer idRol,
+                            String nombreRol) implements Principal {
+
+    /**
+     * Spring Security usa getName() como username de la autenticación
+     */
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    /**
+     * Indica si el token trae los claims de identidad (los tokens anteriores a la versión 2 no los traen)
+     */
+    public boolean tieneIdentidad() {
+        return idUsuario != null && idRol != null;
+    }
+
+    public boolean tieneRol(String rol) {
+        return nombreRol != null && nombreRol.equalsIgnoreCase(rol);
+    }
+}
@@ -0,0 +1,118 @@
+package KuHub.config.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché acotado de tokens JWT ya verificados
+ *
+ * La clave es el digest SHA-256 del token (nunca el token en claro) y cada
+ * entrada expira en el mismo instante que el claim "exp" del token, de modo
+ * que un token vencido jamás se acepta desde el caché.
+ *
+ * Un acierto evita volver a verificar la firma HMAC y a decodificar el claim
+ * "authorities" en cada petición.
+ */
+public class VerifiedTokenCache {
+
+    /**
+     * Datos ya validados de un token
+     * @param kid          clave del JwtKeyRing con la que se verificó la firma
+     * @param usuario      identidad del usuario construida desde los claims
+     * @param authorities  roles decodificados del claim "authorities"
+     * @param issuedAt     emisión en milisegundos epoch (claim "iatMs"; en tokens anteriores, "iat")
+     * @param expiresAt    instante de expiración del token en milisegundos
+     */
+    public record VerifiedToken(String kid,
+                                UsuarioActual usuario,
+                                List<GrantedAuthority> authorities,
+                                long issuedAt,
+                                long expiresAt) {
+
+        public boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Obtiene el token verificado asociado al digest, o null si no existe o ya expiró
+     */
+    public VerifiedToken get(String key) {
+        VerifiedToken verified = entries.get(key);
+        if (verified == null) {
+            return null;
+        }
+        if (verified.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, verified);
+            return null;
+        }
+        return verified;
+    }
+
+    /**
+     * Guarda un token verificado respetando el tamaño máximo del caché
+     */
+    public void put(String key, VerifiedToken verified) {
+        if (maxSize <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(key, verified);
+    }
+
+    /**
+     * Elimina todas las entradas (útil al rotar claves o revocar tokens)
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Primero descarta las entradas vencidas; si el caché sigue lleno,
+     * libera entradas arbitrarias hasta dejar espacio para una nueva
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(v -> v.isExpired(now));
+
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    /**
+     * Calcula la clave del caché: SHA-256 del token codificado en Base64 URL-safe
+     */
+    public static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible en la JVM", e);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package KuHub.config.security.filter;
 
-import KuHub.modules.gestionusuario.entity.Usuario;
-import KuHub.modules.gestionusuario.repository.UsuarioRepository;
+import KuHub.config.security.JwtKeyRing;
+import KuHub.config.security.PasswordHashingExecutor;
+import KuHub.config.security.PasswordHashingRejectedException;
+import KuHub.config.security.service.LoginUserDetails;
+import KuHub.modules.media.controller.MediaController;
+import KuHub.modules.gestionusuario.service.UltimoAccesoBuffer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
@@ -28,24 +32,33 @@ import static KuHub.config.security.TokenJwtConfig.*;
 /**
  * Filtro que maneja el proceso de autenticación (login)
  * ✅ VERSIÓN CON OBJECTMAPPER INYECTADO
- * ✅ Actualiza ultimoAcceso automáticamente en el backend
+ * ✅ Actualiza ultimoAcceso automáticamente en el backend (diferido vía UltimoAccesoBuffer)
+ * ✅ Reutiliza el usuario cargado por JpaUserDetailsService (una sola consulta por login)
+ * ✅ Control de admisión: si la cola de hashing está llena responde 503 + Retry-After
  */
 public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
     private final AuthenticationManager authenticationManager;
-    private final UsuarioRepository usuarioRepository;
+    private final UltimoAccesoBuffer ultimoAccesoBuffer;
     private final ObjectMapper objectMapper;
+    private final JwtKeyRing keyRing;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     /**
-     * Constructor que recibe ObjectMapper configurado
+     * Constructor que recibe ObjectMapper configurado, el anillo de claves de firma
+     * y el ejecutor de hashing (para el control de admisión)
      */
     public JwtAuthenticationFilter(
             AuthenticationManager authenticationManager,
-            UsuarioRepository usuarioRepository,
-            ObjectMapper objectMapper) {
+            UltimoAccesoBuffer ultimoAccesoBuffer,
+            ObjectMapper objectMapper,
+            JwtKeyRing keyRing,
+            PasswordHashingExecutor passwordHashingExecutor) {
         this.authenticationManager = authenticationManager;
-        this.usuarioRepository = usuarioRepository;
+        this.ultimoAccesoBuffer = ultimoAccesoBuffer;
         this.objectMapper = objectMapper;
+        this.keyRing = keyRing;
+        this.passwordHashingExecutor = passwordHashingExecutor;
         System.out.println("✅ JwtAuthenticationFilter inicializado con ObjectMapper configurado");
     }
 
@@ -76,6 +89,13 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
             throw new RuntimeException("Error al leer las credenciales del request", e);
         }
 
+        // Control de admisión: si no hay capacidad para hashear, rechazamos antes de consultar la BD
+        if (!passwordHashingExecutor.hasCapacity()) {
+            writeServiceUnavailable(response, new PasswordHashingRejectedException(
+                    passwordHashingExecutor.getRetryAfterSeconds()));
+            return null;
+        }
+
         System.out.println("🔍 [4] Creando token de autenticación...");
         UsernamePasswordAuthenticationToken authenticationToken =
                 new UsernamePasswordAuthenticationToken(email, contrasena);
@@ -85,6 +105,9 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
             Authentication result = authenticationManager.authenticate(authenticationToken);
             System.out.println("✅ [6] Autenticación exitosa!");
             return result;
+        } catch (PasswordHashingRejectedException e) {
+            writeServiceUnavailable(response, e);
+            return null;
         } catch (Exception e) {
             System.err.println("❌ [ERROR] Autenticación fallida: " + e.getMessage());
             throw e;
@@ -101,8 +124,8 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
         try {
             System.out.println("✅ [7] Entrando a successfulAuthentication...");
 
-            org.springframework.security.core.userdetails.User user =
-                    (org.springframework.security.core.userdetails.User) authResult.getPrincipal();
+            // Datos del usuario ya cargados durante la autenticación (sin volver a la BD)
+            LoginUserDetails user = (LoginUserDetails) authResult.getPrincipal();
 
             String username = user.getUsername();
             Collection<? extends GrantedAuthority> roles = authResult.getAuthorities();
@@ -110,64 +133,66 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
             System.out.println("✅ [8] Username: " + username);
             System.out.println("✅ [9] Roles: " + roles);
 
-            // Crear claims
+            // Crear claims (iatMs: el "iat" estándar solo tiene segundos y la revocación compara en ms)
             System.out.println("✅ [10] Creando claims...");
+            long emitido = System.currentTimeMillis();
             Claims claims = Jwts.claims()
                     .add("authorities", objectMapper.writeValueAsString(roles))
                     .add("username", username)
+                    .add("idUsuario", user.getIdUsuario())
+                    .add("idRol", user.getIdRol())
+                    .add("nombreRol", user.getNombreRol())
+                    .add("iatMs", emitido)
+                    .add("ver", CLAIMS_VERSION)
                     .build();
 
-            // Generar token
+            // Generar token firmado con la clave activa del anillo (el "kid" viaja en el header)
             System.out.println("✅ [11] Generando token JWT...");
             String token = Jwts.builder()
+                    .header().keyId(keyRing.activeKid()).and()
                     .subject(username)
                     .claims(claims)
-                    .expiration(new Date(System.currentTimeMillis() + 3600000))
-                    .issuedAt(new Date())
-                    .signWith(SECRET_KEY)
+                    .expiration(new Date(emitido + TOKEN_LIFETIME_MS))
+                    .issuedAt(new Date(emitido))
+                    .signWith(keyRing.activeKey())
                     .compact();
 
             System.out.println("✅ [12] Token generado: " + token.substring(0, 20) + "...");
 
-            // Buscar usuario en BD
-            System.out.println("✅ [13] Buscando usuario en BD con email: " + username);
-
-            if (usuarioRepository == null) {
-                System.err.println("❌ [ERROR] UsuarioRepository es NULL!");
-                throw new RuntimeException("UsuarioRepository no está inyectado");
-            }
-
-            Usuario usuario = usuarioRepository.findByEmailIgnoreCase(username)
-                    .orElseThrow(() -> {
-                        System.err.println("❌ [ERROR] Usuario no encontrado en BD: " + username);
-                        return new RuntimeException("Usuario no encontrado");
-                    });
-
-            System.out.println("✅ [14] Usuario encontrado: ID=" + usuario.getIdUsuario());
-
-            // ⭐ ACTUALIZAR ULTIMO ACCESO AUTOMÁTICAMENTE
-            System.out.println("✅ [14.1] Actualizando ultimoAcceso...");
+            // ⭐ ACTUALIZAR ULTIMO ACCESO (se escribe en lote, sin save() de la entidad completa)
             LocalDateTime ahora = LocalDateTime.now();
-            usuario.setUltimoAcceso(ahora);
-            usuarioRepository.save(usuario);
-            System.out.println("✅ [14.2] ultimoAcceso actualizado a: " + ahora);
+            ultimoAccesoBuffer.registrar(user.getIdUsuario(), ahora);
 
             // Crear objeto usuario
             System.out.println("✅ [15] Creando objeto usuario para respuesta...");
             Map<String, Object> usuarioData = new HashMap<>();
-            usuarioData.put("idUsuario", usuario.getIdUsuario());
-            usuarioData.put("nombreCompleto", usuario.getNombreCompleto());
-            usuarioData.put("email", usuario.getEmail());
+            usuarioData.put("idUsuario", user.getIdUsuario());
+            usuarioData.put("nombreCompleto", user.getNombreCompleto());
+            usuarioData.put("email", user.getUsername());
 
-            String nombreRol = convertirNombreRolEnumALegible(usuario.getRol().getNombreRol());
+            String nombreRol = convertirNombreRolEnumALegible(user.getNombreRol());
             System.out.println("✅ [16] Rol convertido: " + nombreRol);
 
             usuarioData.put("nombreRol", nombreRol);
-            usuarioData.put("fotoPerfil", usuario.getFotoPerfil());
-            usuarioData.put("activo", usuario.getActivo());
-            usuarioData.put("fechaCreacion", usuario.getFechaCreacion());
+            usuarioData.put("activo", user.isEnabled());
+            usuarioData.put("fechaCreacion", user.getFechaCreacion());
             usuarioData.put("ultimoAcceso", ahora); // ⭐ Usar la fecha actualizada
 
+            // Foto como URL del almacén de medios (no los bytes), con el mismo criterio que
+            // UsuarioServiceImpl.convertirADTO: solo si al guardarla se validó como imagen
+            String fotoUrl = null;
+            String miniaturaUrl = null;
+            if (user.getFotoPerfilHash() != null
+                    && user.getFotoPerfilTipo() != null
+                    && user.getFotoPerfilTipo().startsWith("image/")) {
+                fotoUrl = MediaController.urlUsuario(user.getFotoPerfilHash());
+                miniaturaUrl = user.getFotoPerfilMiniaturaHash() != null
+                        ? MediaController.urlUsuario(user.getFotoPerfilMiniaturaHash())
+                        : fotoUrl;
+            }
+            usuarioData.put("fotoPerfil", fotoUrl);
+            usuarioData.put("fotoPerfilMiniatura", miniaturaUrl);
+
             System.out.println("✅ [17] Agregando token al header...");
             response.addHeader(HEADER_STRING, JWT_TOKEN_PREFIX + token);
 
@@ -217,6 +242,25 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
         response.setContentType(CONTENT_TYPE);
     }
 
+    /**
+     * Responde 503 con Retry-After; devolver null desde attemptAuthentication corta la cadena
+     */
+    private void writeServiceUnavailable(HttpServletResponse response, PasswordHashingRejectedException e) {
+        System.err.println("⚠️ [LOGIN RECHAZADO] Cola de hashing llena");
+        try {
+            Map<String, String> body = new HashMap<>();
+            body.put("message", e.getMessage());
+            body.put("error", "Servicio temporalmente saturado");
+
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", String.valueOf(e.getRetryAfterSeconds()));
+            response.setContentType(CONTENT_TYPE);
+            response.getWriter().write(objectMapper.writeValueAsString(body));
+        } catch (IOException io) {
+            throw new RuntimeException("Error al escribir la respuesta 503", io);
+        }
+    }
+
     private String convertirNombreRolEnumALegible(String nombreEnum) {
         switch (nombreEnum.toUpperCase()) {
             case "ADMINISTRADOR":
@@ -1,9 +1,17 @@
 package KuHub.config.security.filter;
 
+import KuHub.config.security.JwtKeyRing;
 import KuHub.config.security.SimpleGrantedAuthorityJsonCreator;
+import KuHub.config.security.UsuarioActual;
+import KuHub.config.security.VerifiedTokenCache;
+import KuHub.config.security.VerifiedTokenCache.VerifiedToken;
+import KuHub.config.security.service.TokenRevocationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -17,9 +25,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.Collection;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static KuHub.config.security.TokenJwtConfig.*;
@@ -28,16 +36,48 @@ import static KuHub.config.security.TokenJwtConfig.*;
  * Filtro que valida el token JWT en cada petición
  * Se ejecuta en TODOS los endpoints protegidos
  * 
- * Este archivo se copia TAL CUAL del código del profesor
- * NO requiere adaptaciones porque no depende de la estructura de tus modelos
+ * Basado en el código del profesor, con dos optimizaciones:
+ * - El parser JWT y el lector de authorities se construyen una sola vez
+ * - Los tokens ya verificados se guardan en un VerifiedTokenCache hasta su "exp"
+ *
+ * La firma se valida contra cualquier clave vigente del JwtKeyRing según el "kid" del token
+ * y se rechazan los tokens revocados (TokenRevocationService, sin consultar la BD en el caso común)
  */
 public class JwtValidationFilter extends BasicAuthenticationFilter {
 
     /**
-     * Constructor que recibe el AuthenticationManager
+     * Parser compartido (es inmutable y thread-safe)
      */
-    public JwtValidationFilter(AuthenticationManager authenticationManager) {
+    private final JwtParser jwtParser;
+
+    /**
+     * Lector de authorities preconfigurado con el mixin (ObjectReader es thread-safe)
+     */
+    private static final ObjectReader AUTHORITIES_READER = new ObjectMapper()
+            .addMixIn(SimpleGrantedAuthority.class, SimpleGrantedAuthorityJsonCreator.class)
+            .readerFor(SimpleGrantedAuthority[].class);
+
+    private static final ObjectMapper ERROR_WRITER = new ObjectMapper();
+
+    private final JwtKeyRing keyRing;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationService revocationService;
+
+    /**
+     * Constructor que recibe el AuthenticationManager, el anillo de claves, el caché de tokens
+     * verificados y el servicio de revocación
+     */
+    public JwtValidationFilter(AuthenticationManager authenticationManager,
+                               JwtKeyRing keyRing,
+                               VerifiedTokenCache tokenCache,
+                               TokenRevocationService revocationService) {
         super(authenticationManager);
+        this.keyRing = keyRing;
+        this.tokenCache = tokenCache;
+        this.revocationService = revocationService;
+        this.jwtParser = Jwts.parser()
+                .keyLocator(keyRing)
+                .build();
     }
 
     /**
@@ -60,45 +100,79 @@ public class JwtValidationFilter extends BasicAuthenticationFilter {
         String token = header.replace(JWT_TOKEN_PREFIX, "");
 
         try {
-            // Parseamos y validamos el token usando la SECRET_KEY
-            Claims claims = Jwts.parser()
-                    .verifyWith(SECRET_KEY)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            
-            // Extraemos el username (en tu caso será el email)
-            String username = claims.getSubject();
-
-            // Obtenemos los roles del claim "authorities"
-            Object authoritiesClaim = claims.get("authorities");
-
-            // Convertimos el JSON de authorities a una colección de GrantedAuthority
-            Collection<? extends GrantedAuthority> authorities = Arrays.asList(
-                    new ObjectMapper()
-                            .addMixIn(SimpleGrantedAuthority.class, SimpleGrantedAuthorityJsonCreator.class)
-                            .readValue(authoritiesClaim.toString().getBytes(), SimpleGrantedAuthority[].class)
-            );
+            VerifiedToken verified = resolve(token);
+
+            // Token revocado (usuario desactivado, cambio de rol o de contraseña)
+            if (revocationService.isRevoked(verified.usuario().idUsuario(), verified.issuedAt())) {
+                writeUnauthorized(response, "The Token has been revoked");
+                return;
+            }
 
             // Creamos el objeto de autenticación de Spring Security
-            UsernamePasswordAuthenticationToken authenticationToken = 
-                    new UsernamePasswordAuthenticationToken(username, null, authorities);
-            
+            // El principal es el UsuarioActual (disponible en los controladores con @CurrentUser)
+            UsernamePasswordAuthenticationToken authenticationToken =
+                    new UsernamePasswordAuthenticationToken(verified.usuario(), null, verified.authorities());
+
             // Lo guardamos en el contexto de seguridad
             SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-            
+
             // Continuamos con la cadena de filtros
             chain.doFilter(request, response);
 
         } catch (JwtException e) {
             // Si el token es inválido, expirado, o manipulado, respondemos con error 401
-            Map<String, String> body = new HashMap<>();
-            body.put("message", "The Token is not valid");
-            body.put("error", e.getMessage());
+            writeUnauthorized(response, e.getMessage());
+        }
+    }
+
+    private void writeUnauthorized(HttpServletResponse response, String error) throws IOException {
+        Map<String, String> body = new HashMap<>();
+        body.put("message", "The Token is not valid");
+        body.put("error", error);
 
-            response.getWriter().write(new ObjectMapper().writeValueAsString(body));
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.setContentType(CONTENT_TYPE);
+        response.getWriter().write(ERROR_WRITER.writeValueAsString(body));
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(CONTENT_TYPE);
+    }
+
+    /**
+     * Devuelve el token verificado desde el caché o, si no está, verifica la firma
+     * con el parser compartido y lo guarda hasta su expiración
+     */
+    private VerifiedToken resolve(String token) throws IOException {
+        String key = VerifiedTokenCache.digest(token);
+        VerifiedToken cached = tokenCache.get(key);
+        if (cached != null && keyRing.isLive(cached.kid())) {
+            return cached;
         }
+
+        // Parseamos y validamos el token con la clave del anillo que indica su "kid"
+        Jws<Claims> jws = jwtParser.parseSignedClaims(token);
+        Claims claims = jws.getPayload();
+
+        // Construimos la identidad del usuario con los claims (username = email)
+        UsuarioActual usuario = new UsuarioActual(
+                claims.get("idUsuario", Integer.class),
+                claims.getSubject(),
+                claims.get("idRol", Integer.class),
+                claims.get("nombreRol", String.class)
+        );
+
+        // Convertimos el JSON del claim "authorities" a una lista de GrantedAuthority
+        Object authoritiesClaim = claims.get("authorities");
+        SimpleGrantedAuthority[] authorities =
+                AUTHORITIES_READER.readValue(authoritiesClaim.toString().getBytes(StandardCharsets.UTF_8));
+
+        // Emisión en ms; los tokens anteriores a "iatMs" solo traen el "iat" en segundos
+        Long issuedAtMillis = claims.get("iatMs", Long.class);
+        VerifiedToken verified = new VerifiedToken(
+                jws.getHeader().getKeyId(),
+                usuario,
+                List.<GrantedAuthority>of(authorities),
+                issuedAtMillis != null ? issuedAtMillis : claims.getIssuedAt().getTime(),
+                claims.getExpiration().getTime()
+        );
+        tokenCache.put(key, verified);
+        return verified;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,6 @@
 package KuHub.config.security.service;
 
-import KuHub.modules.gestionusuario.entity.Usuario;
+import KuHub.modules.gestionusuario.dtos.projection.UsuarioLoginProjection;
 import KuHub.modules.gestionusuario.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
@@ -24,6 +24,8 @@ import java.util.List;
  * - Usa usuario.getActivo() en vez de user.getEnabled()
  * - Usa usuario.getRol() (singular) en vez de user.getRoles() (lista)
  * - Agrega prefijo "ROLE_" porque tu BD no lo tiene
+ * - Carga una proyección liviana (sin foto) y la devuelve dentro de LoginUserDetails
+ *   para que el filtro de login no tenga que volver a buscar al usuario
  */
 @Service
 public class JpaUserDetailsService implements UserDetailsService {
@@ -42,7 +44,7 @@ public class JpaUserDetailsService implements UserDetailsService {
         
         // ADAPTACIÓN 1: Buscamos por EMAIL en vez de username
         // El parámetro "username" de Spring Security en tu caso contiene el email
-        Usuario usuario = usuarioRepository.findByEmailIgnoreCase(username)
+        UsuarioLoginProjection usuario = usuarioRepository.findLoginByEmailIgnoreCase(username)
                 .orElseThrow(() -> new UsernameNotFoundException(
                         String.format("No se encontró usuario con email '%s'", username)
                 ));
@@ -53,18 +55,10 @@ public class JpaUserDetailsService implements UserDetailsService {
         
         // ADAPTACIÓN 3: Agregamos el prefijo "ROLE_" porque tu BD no lo tiene
         // Tu BD tiene: "ADMINISTRADOR" → Spring Security necesita: "ROLE_ADMINISTRADOR"
-        String nombreRolConPrefijo = "ROLE_" + usuario.getRol().getNombreRol().toUpperCase();
+        String nombreRolConPrefijo = "ROLE_" + usuario.getNombreRol().toUpperCase();
         grantedAuthorities.add(new SimpleGrantedAuthority(nombreRolConPrefijo));
 
-        // ADAPTACIÓN 4: Retornamos el UserDetails usando los campos de tu entidad Usuario
-        return new org.springframework.security.core.userdetails.User(
-                usuario.getEmail(),           // username (en tu caso es el email)
-                usuario.getContrasena(),      // password (en tu caso es "contrasena")
-                usuario.getActivo(),          // enabled (en tu caso es "activo")
-                true,                         // accountNonExpired
-                true,                         // credentialsNonExpired
-                true,                         // accountNonLocked
-                grantedAuthorities           // authorities (roles)
-        );
+        // ADAPTACIÓN 4: Retornamos el UserDetails con los datos ya cargados del usuario
+        return new LoginUserDetails(usuario, grantedAuthorities);
     }
-}
\ No newline at end of file
+}
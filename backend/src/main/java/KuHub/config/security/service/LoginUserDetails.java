@@ -0,0 +1,88 @@
+package KuHub.config.security.service;
+
+import KuHub.modules.gestionusuario.dtos.projection.UsuarioLoginProjection;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * UserDetails que conserva los datos del usuario cargados durante la autenticación
+ * Permite que JwtAuthenticationFilter arme la respuesta del login sin volver a consultar la BD
+ */
+public class LoginUserDetails extends User {
+
+    private final Integer idUsuario;
+    private final Integer idRol;
+    private final String nombreRol;
+    private final String nombreCompleto;
+    private final LocalDateTime fechaCreacion;
+    private final String fotoPerfilHash;
+    private final String fotoPerfilTipo;
+    private final String fotoPerfilMiniaturaHash;
+
+    public LoginUserDetails(UsuarioLoginProjection usuario, Collection<? extends GrantedAuthority> authorities) {
+        super(
+                usuario.getEmail(),           // username (en tu caso es el email)
+                usuario.getContrasena(),      // password (en tu caso es "contrasena")
+                usuario.getActivo(),          // enabled (en tu caso es "activo")
+                true,                         // accountNonExpired
+                true,                         // credentialsNonExpired
+                true,                         // accountNonLocked
+                authorities                   // authorities (roles)
+        );
+        this.idUsuario = usuario.getIdUsuario();
+        this.idRol = usuario.getIdRol();
+        this.nombreRol = usuario.getNombreRol();
+        this.nombreCompleto = nombreCompleto(usuario);
+        this.fechaCreacion = usuario.getFechaCreacion();
+        this.fotoPerfilHash = usuario.getFotoPerfilHash();
+        this.fotoPerfilTipo = usuario.getFotoPerfilTipo();
+        this.fotoPerfilMiniaturaHash = usuario.getFotoPerfilMiniaturaHash();
+    }
+
+    public Integer getIdUsuario() {
+        return idUsuario;
+    }
+
+    public Integer getIdRol() {
+        return idRol;
+    }
+
+    public String getNombreRol() {
+        return nombreRol;
+    }
+
+    public String getNombreCompleto() {
+        return nombreCompleto;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public String getFotoPerfilHash() {
+        return fotoPerfilHash;
+    }
+
+    public String getFotoPerfilTipo() {
+        return fotoPerfilTipo;
+    }
+
+    public String getFotoPerfilMiniaturaHash() {
+        return fotoPerfilMiniaturaHash;
+    }
+
+    /**
+     * Mismo formato que Usuario.getNombreCompleto()
+     */
+    private static String nombreCompleto(UsuarioLoginProjection u) {
+        StringBuilder nombre = new StringBuilder();
+        if (u.getPrimerNombre() != null) nombre.append(u.getPrimerNombre()).append(" ");
+        if (u.getSegundoNombre() != null) nombre.append(u.getSegundoNombre()).append(" ");
+        if (u.getApellidoPaterno() != null) nombre.append(u.getApellidoPaterno()).append(" ");
+        if (u.getApellidoMaterno() != null) nombre.append(u.getApellidoMaterno());
+        return nombre.toString().trim();
+    }
+}
@@ -0,0 +1,212 @@
+package KuHub.config.security.service;
+
+import KuHub.modules.gestionusuario.entity.TokenRevocacion;
+import KuHub.modules.gestionusuario.repository.TokenRevocacionRepository;
+import KuHub.utils.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static KuHub.config.security.TokenJwtConfig.TOKEN_LIFETIME_MS;
+
+/**
+ * Revocación de tokens JWT por usuario ("epoch" de usuario)
+ *
+ * Al desactivar un usuario, cambiar su rol o su contraseña se registra en la tabla
+ * token_revocacion el instante desde el cual sus tokens dejan de valer. Se compara en
+ * milisegundos contra el claim "iatMs" del token: queda revocado todo token emitido en o
+ * antes de revocado_desde, así un token pedido justo después (el mismo segundo) sigue valiendo.
+ *
+ * En el camino de cada petición:
+ * - Un filtro de Bloom con los id de usuario revocados descarta en O(1) a casi todos
+ * - Solo ante un positivo se consulta un mapa exacto acotado (LRU) y, si el usuario
+ *   no está ahí, la BD; el resultado (incluso "no revocado") queda en el mapa exacto
+ *
+ * Las revocaciones hechas por otros nodos se incorporan cada kuhub.security.revocation.refresh-ms.
+ * revocado_desde lo fija la aplicación antes del commit, así que una transacción que confirma
+ * tarde puede traer un valor anterior al último ya leído: cada lectura repite los últimos
+ * kuhub.security.revocation.refresh-overlap-ms (aplicar dos veces la misma revocación no cambia nada).
+ *
+ * Una revocación más antigua que la vigencia del token ya no afecta a ningún token: cada
+ * kuhub.security.revocation.purge-ms se borran y el filtro se vuelve a armar con las que quedan,
+ * para que no crezca más allá de expected-entries ni suba su tasa de falsos positivos.
+ */
+@Service
+@DependsOn("databaseMigrationRunner")
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    /**
+     * Marca en el mapa exacto de un usuario consultado en BD sin revocación (falso positivo del Bloom)
+     */
+    private static final long NOT_REVOKED = Long.MIN_VALUE;
+
+    private static final LocalDateTime SIN_REVOCACIONES = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private TokenRevocacionRepository tokenRevocacionRepository;
+
+    @Value("${kuhub.security.revocation.expected-entries:10000}")
+    private int expectedEntries;
+
+    @Value("${kuhub.security.revocation.exact-cache-size:1024}")
+    private int exactCacheSize;
+
+    @Value("${kuhub.security.revocation.refresh-overlap-ms:60000}")
+    private long refreshOverlapMs;
+
+    private volatile BloomFilter bloomFilter;
+
+    /**
+     * id_usuario → revocado_desde en milisegundos epoch (o NOT_REVOKED)
+     */
+    private Map<Integer, Long> exact;
+
+    private volatile LocalDateTime lastSync;
+
+    @PostConstruct
+    public void load() {
+        this.exact = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Long> eldest) {
+                return size() > exactCacheSize;
+            }
+        };
+
+        this.lastSync = SIN_REVOCACIONES;
+        log.info("Revocaciones de token cargadas: {}", reconstruirFiltro());
+    }
+
+    /**
+     * Arma un filtro nuevo con todas las revocaciones de la tabla y lo reemplaza
+     * @return cantidad de revocaciones cargadas
+     */
+    private int reconstruirFiltro() {
+        BloomFilter filter = new BloomFilter(expectedEntries, 0.01);
+        LocalDateTime max = lastSync;
+        int count = 0;
+        for (TokenRevocacion revocacion : tokenRevocacionRepository.findAll()) {
+            filter.put(revocacion.getIdUsuario());
+            if (revocacion.getRevocadoDesde().isAfter(max)) {
+                max = revocacion.getRevocadoDesde();
+            }
+            count++;
+        }
+        this.bloomFilter = filter;
+        this.lastSync = max;
+        return count;
+    }
+
+    /**
+     * Indica si un token del usuario emitido en issuedAtMillis (ms epoch) está revocado
+     * Los tokens sin idUsuario (emitidos antes de esta versión) no se pueden revocar
+     */
+    public boolean isRevoked(Integer idUsuario, long issuedAtMillis) {
+        if (idUsuario == null || !bloomFilter.mightContain(idUsuario)) {
+            return false;
+        }
+
+        Long revokedSince;
+        synchronized (exact) {
+            revokedSince = exact.get(idUsuario);
+        }
+        if (revokedSince == null) {
+            revokedSince = tokenRevocacionRepository.findById(idUsuario)
+                    .map(r -> toEpochMillis(r.getRevocadoDesde()))
+                    .orElse(NOT_REVOKED);
+            remember(idUsuario, revokedSince);
+        }
+        return revokedSince != NOT_REVOKED && issuedAtMillis <= revokedSince;
+    }
+
+    /**
+     * Revoca todos los tokens emitidos hasta ahora para el usuario
+     * Se persiste en la transacción actual y se refleja en memoria al confirmarse
+     */
+    @Transactional
+    public void revokeAll(Integer idUsuario) {
+        LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        tokenRevocacionRepository.upsert(idUsuario, ahora);
+
+        Runnable apply = () -> {
+            bloomFilter.put(idUsuario);
+            remember(idUsuario, toEpochMillis(ahora));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /**
+     * Incorpora las revocaciones registradas por otros nodos, releyendo con margen las ya vistas
+     */
+    @Scheduled(fixedDelayString = "${kuhub.security.revocation.refresh-ms:10000}")
+    public void refresh() {
+        LocalDateTime max = lastSync;
+        LocalDateTime desde = max.minus(refreshOverlapMs, ChronoUnit.MILLIS);
+        for (TokenRevocacion revocacion : tokenRevocacionRepository.findByRevocadoDesdeGreaterThanEqual(desde)) {
+            bloomFilter.put(revocacion.getIdUsuario());
+            remember(revocacion.getIdUsuario(), toEpochMillis(revocacion.getRevocadoDesde()));
+            if (revocacion.getRevocadoDesde().isAfter(max)) {
+                max = revocacion.getRevocadoDesde();
+            }
+        }
+        lastSync = max;
+    }
+
+    /**
+     * Borra las revocaciones que ya no pueden afectar a un token vigente y rearma el filtro
+     *
+     * El filtro se rearma aunque este nodo no borre nada, porque otro nodo pudo haber borrado
+     * filas. Una revocación confirmada mientras se leía la tabla pudo quedar solo en el filtro
+     * anterior: el refresh() del final la vuelve a leer con el mismo margen que entre nodos.
+     */
+    @Scheduled(fixedDelayString = "${kuhub.security.revocation.purge-ms:3600000}",
+            initialDelayString = "${kuhub.security.revocation.purge-ms:3600000}")
+    public void purge() {
+        LocalDateTime limite = LocalDateTime.now().minus(TOKEN_LIFETIME_MS + refreshOverlapMs, ChronoUnit.MILLIS);
+        int borradas = tokenRevocacionRepository.deleteByRevocadoDesdeBefore(limite);
+
+        long limiteMs = toEpochMillis(limite);
+        synchronized (exact) {
+            exact.values().removeIf(revokedSince -> revokedSince != NOT_REVOKED && revokedSince < limiteMs);
+        }
+        int vigentes = reconstruirFiltro();
+        refresh();
+        if (borradas > 0) {
+            log.info("Revocaciones de token vencidas borradas: {} (quedan {})", borradas, vigentes);
+        }
+    }
+
+    private void remember(Integer idUsuario, long revokedSince) {
+        synchronized (exact) {
+            exact.merge(idUsuario, revokedSince, Math::max);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime fecha) {
+        return fecha.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
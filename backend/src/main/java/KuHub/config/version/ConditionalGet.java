@@ -0,0 +1,25 @@
+package KuHub.config.version;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un GET de catálogo cuyo contenido depende solo de los recursos indicados
+ *
+ * ConditionalGetInterceptor responde 304 si If-None-Match coincide con la versión
+ * actual, antes de ejecutar el controlador (sin consultar la BD).
+ *
+ * Ejemplo:
+ * @ConditionalGet({VersionedResource.RECETAS, VersionedResource.PRODUCTOS})
+ * public ResponseEntity<List<RecipeWithDetailsAnswerUpdateDTO>> findAllRecipeWithDetailsActive()
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalGet {
+
+    VersionedResource[] value();
+}
@@ -0,0 +1,71 @@
+package KuHub.config.version;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Consultas condicionales para los GET marcados con @ConditionalGet
+ *
+ * El ETag se calcula con las versiones en memoria antes de ejecutar el controlador:
+ * si coincide con If-None-Match se responde 304 sin tocar la BD. Si una escritura se
+ * confirma entre el cálculo y la consulta, el cliente recibe datos más nuevos que su
+ * ETag y solo repite la descarga en la siguiente petición; nunca al revés.
+ *
+ * Cache-Control "private, no-cache": el navegador guarda la respuesta pero siempre
+ * revalida, y ningún caché compartido la guarda (las respuestas requieren JWT).
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private final ResourceVersionService resourceVersionService;
+
+    public ConditionalGetInterceptor(ResourceVersionService resourceVersionService) {
+        this.resourceVersionService = resourceVersionService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        ConditionalGet conditionalGet = method.getMethodAnnotation(ConditionalGet.class);
+        if (conditionalGet == null
+                || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+            return true;
+        }
+
+        String etag = resourceVersionService.etag(conditionalGet.value());
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+
+        if (coincideEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Comparación débil (RFC 9110): se ignora el prefijo W/ en ambos lados
+     */
+    private static boolean coincideEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String actual = etag.substring(2);
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals("*") || valor.equals(actual)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
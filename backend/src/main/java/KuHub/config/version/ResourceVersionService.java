@@ -0,0 +1,182 @@
+package KuHub.config.version;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Versión de cada catálogo, para ETags débiles sin consultar la BD
+ *
+ * La versión vive en la tabla version_recurso. bump() solo anota los recursos en la
+ * transacción de negocio; al confirmarse, se incrementan una vez cada uno en una transacción
+ * propia y corta (REQUIRES_NEW). Así la fila de version_recurso no queda bloqueada durante la
+ * escritura de negocio y dos escrituras sobre el mismo catálogo no se serializan por ella;
+ * además nunca se publica una versión nueva antes de que sus datos estén confirmados. Si el
+ * nodo cae entre el commit y el incremento, la versión queda atrasada hasta la próxima
+ * escritura de ese catálogo (los ETag no cambian, pero tampoco anuncian datos sin confirmar).
+ * Cada nodo guarda una copia en memoria: la actualiza al incrementar y lee las de otros
+ * nodos cada kuhub.versiones.refresh-ms.
+ *
+ * Una fila nueva parte del instante actual en milisegundos (no de 0): si la tabla se
+ * recrea, ningún ETag que un cliente tenga guardado vuelve a coincidir por accidente.
+ */
+@Service
+@DependsOn("databaseMigrationRunner")
+public class ResourceVersionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceVersionService.class);
+
+    private static final VersionedResource[] RECURSOS = VersionedResource.values();
+
+    private static final String PENDIENTES = ResourceVersionService.class.getName() + ".pendientes";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLongArray versiones = new AtomicLongArray(RECURSOS.length);
+
+    private TransactionTemplate transaccionPropia;
+
+    @PostConstruct
+    public void load() {
+        transaccionPropia = new TransactionTemplate(transactionManager);
+        transaccionPropia.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (VersionedResource recurso : RECURSOS) {
+            jdbcTemplate.update("""
+                    INSERT INTO version_recurso (recurso, version)
+                    VALUES (?, CAST(EXTRACT(EPOCH FROM clock_timestamp()) * 1000 AS BIGINT))
+                    ON CONFLICT (recurso) DO NOTHING
+                    """, recurso.name());
+        }
+        refresh();
+        log.info("Versiones de recursos cargadas: {}", versiones);
+    }
+
+    /**
+     * Versión actual (en memoria) del recurso
+     */
+    public long current(VersionedResource recurso) {
+        return versiones.get(recurso.ordinal());
+    }
+
+    /**
+     * ETag débil con las versiones de los recursos indicados, ej: W/"18c3a1f02b1.18c3a1f02b4"
+     */
+    public String etag(VersionedResource... recursos) {
+        StringBuilder etag = new StringBuilder("W/\"");
+        for (int i = 0; i < recursos.length; i++) {
+            if (i > 0) {
+                etag.append('.');
+            }
+            etag.append(Long.toHexString(current(recursos[i])));
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * Incrementa la versión de los recursos al confirmarse la transacción actual (una vez por
+     * recurso aunque se llame varias veces); fuera de una transacción, en el momento
+     */
+    public void bump(VersionedResource... recursos) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Set<VersionedResource> ahora = EnumSet.noneOf(VersionedResource.class);
+            ahora.addAll(Arrays.asList(recursos));
+            incrementar(ahora);
+            return;
+        }
+        pendientes().addAll(Arrays.asList(recursos));
+    }
+
+    /**
+     * Recursos anotados en la transacción actual; la primera anotación registra el incremento
+     */
+    @SuppressWarnings("unchecked")
+    private Set<VersionedResource> pendientes() {
+        Set<VersionedResource> pendientes = (Set<VersionedResource>) TransactionSynchronizationManager.getResource(PENDIENTES);
+        if (pendientes == null) {
+            Set<VersionedResource> nuevos = EnumSet.noneOf(VersionedResource.class);
+            TransactionSynchronizationManager.bindResource(PENDIENTES, nuevos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementar(nuevos);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDIENTES);
+                }
+            });
+            pendientes = nuevos;
+        }
+        return pendientes;
+    }
+
+    /**
+     * Un UPDATE por recurso, en orden del enum (dos incrementos concurrentes no se cruzan),
+     * dentro de una transacción propia que solo dura esos UPDATE; la copia en memoria cambia
+     * cuando esa transacción se confirma
+     */
+    private void incrementar(Set<VersionedResource> recursos) {
+        if (recursos.isEmpty()) {
+            return;
+        }
+        try {
+            Map<VersionedResource, Long> nuevas = transaccionPropia.execute(status -> {
+                Map<VersionedResource, Long> leidas = new EnumMap<>(VersionedResource.class);
+                for (VersionedResource recurso : recursos) {
+                    Long nueva = jdbcTemplate.queryForObject(
+                            "UPDATE version_recurso SET version = version + 1 WHERE recurso = ? RETURNING version",
+                            Long.class, recurso.name());
+                    if (nueva != null) {
+                        leidas.put(recurso, nueva);
+                    }
+                }
+                return leidas;
+            });
+            nuevas.forEach((recurso, nueva) -> versiones.accumulateAndGet(recurso.ordinal(), nueva, Math::max));
+        } catch (DataAccessException | TransactionException e) {
+            // Los datos ya están confirmados: no se revierte la escritura por la versión
+            log.warn("No se pudo incrementar la versión de {}: {}", recursos, e.getMessage());
+        }
+    }
+
+    /**
+     * Incorpora las versiones escritas por otros nodos
+     */
+    @Scheduled(fixedDelayString = "${kuhub.versiones.refresh-ms:5000}")
+    public void refresh() {
+        jdbcTemplate.query("SELECT recurso, version FROM version_recurso", rs -> {
+            VersionedResource recurso;
+            try {
+                recurso = VersionedResource.valueOf(rs.getString("recurso"));
+            } catch (IllegalArgumentException e) {
+                // Recurso que ya no existe en esta versión de la aplicación
+                return;
+            }
+            versiones.accumulateAndGet(recurso.ordinal(), rs.getLong("version"), Math::max);
+        });
+    }
+}
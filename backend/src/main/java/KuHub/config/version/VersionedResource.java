@@ -0,0 +1,22 @@
+package KuHub.config.version;
+
+/**
+ * Conjuntos de datos con versión propia
+ *
+ * Cada servicio que escribe en las tablas de un recurso llama a
+ * ResourceVersionService.bump(...) en la misma transacción.
+ */
+public enum VersionedResource {
+    /** producto: también categorías y unidades de medida */
+    PRODUCTOS,
+    /** inventario (stock) */
+    INVENTARIO,
+    /** receta y detalle_receta */
+    RECETAS,
+    /** asignatura, seccion, docente_seccion y reserva_sala */
+    ASIGNATURAS,
+    /** sala */
+    SALAS,
+    /** usuario (nombres que aparecen en el catálogo de cursos) */
+    USUARIOS
+}
@@ -2,22 +2,25 @@ package KuHub.modules.gestion_academica.assemblers;
 
 import KuHub.modules.gestion_academica.controller.AsignaturaControllerV2;
 import KuHub.modules.gestion_academica.dtos.dtomodel.CourserAnswerDTGOD;
+import KuHub.utils.LinkTemplate;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
 public class AsignaturaModelAssembler implements RepresentationModelAssembler<CourserAnswerDTGOD, EntityModel<CourserAnswerDTGOD>> {
 
+    private static final LinkTemplate FIND_BY_ID = LinkTemplate.of(AsignaturaControllerV2.class, "findById");
+    private static final LinkTemplate FIND_ALL = LinkTemplate.of(AsignaturaControllerV2.class, "findAll");
+    private static final LinkTemplate FIND_ALL_COURSES_ACTIVE_TRUE = LinkTemplate.of(AsignaturaControllerV2.class, "findAllCoursesActiveTrue");
+
     @Override
     public EntityModel<CourserAnswerDTGOD> toModel(CourserAnswerDTGOD entity) {
         return EntityModel.of(
                 entity,
-                linkTo(methodOn(AsignaturaControllerV2.class).findById(entity.getIdAsignatura())).withSelfRel(),
-                linkTo(methodOn(AsignaturaControllerV2.class).findAll()).withRel("asignaturas"),
-                linkTo(methodOn(AsignaturaControllerV2.class).findAllCoursesActiveTrue()).withRel("asignaturas-activas")
+                FIND_BY_ID.withSelfRel(entity.getIdAsignatura()),
+                FIND_ALL.withRel("asignaturas"),
+                FIND_ALL_COURSES_ACTIVE_TRUE.withRel("asignaturas-activas")
         );
     }
 }
\ No newline at end of file
@@ -2,21 +2,23 @@ package KuHub.modules.gestion_academica.assemblers;
 
 import KuHub.modules.gestion_academica.controller.BloqueHorarioControllerV2;
 import KuHub.modules.gestion_academica.entity.BloqueHorario;
+import KuHub.utils.LinkTemplate;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
 public class BloqueHorarioModelAssembler implements RepresentationModelAssembler<BloqueHorario, EntityModel<BloqueHorario>> {
 
+    private static final LinkTemplate FIND_BY_ID = LinkTemplate.of(BloqueHorarioControllerV2.class, "findById");
+    private static final LinkTemplate FIND_ALL = LinkTemplate.of(BloqueHorarioControllerV2.class, "findAll");
+
     @Override
     public EntityModel<BloqueHorario> toModel(BloqueHorario entity) {
         return EntityModel.of(
                 entity,
-                linkTo(methodOn(BloqueHorarioControllerV2.class).findById(entity.getIdBloque())).withSelfRel(),
-                linkTo(methodOn(BloqueHorarioControllerV2.class).findAll()).withRel("bloques-horarios")
+                FIND_BY_ID.withSelfRel(entity.getIdBloque()),
+                FIND_ALL.withRel("bloques-horarios")
         );
     }
 }
\ No newline at end of file
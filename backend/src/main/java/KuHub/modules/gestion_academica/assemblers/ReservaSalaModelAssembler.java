@@ -2,21 +2,23 @@ package KuHub.modules.gestion_academica.assemblers;
 
 import KuHub.modules.gestion_academica.controller.ReservaSalaControllerV2;
 import KuHub.modules.gestion_academica.dtos.dtoentity.ReservaSalaEntityResponseDTO;
+import KuHub.utils.LinkTemplate;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
 public class ReservaSalaModelAssembler implements RepresentationModelAssembler<ReservaSalaEntityResponseDTO, EntityModel<ReservaSalaEntityResponseDTO>> {
 
+    private static final LinkTemplate FIND_BY_ID = LinkTemplate.of(ReservaSalaControllerV2.class, "findById");
+    private static final LinkTemplate FIND_ALL = LinkTemplate.of(ReservaSalaControllerV2.class, "findAll");
+
     @Override
     public EntityModel<ReservaSalaEntityResponseDTO> toModel(ReservaSalaEntityResponseDTO entity) {
         return EntityModel.of(
                 entity,
-                linkTo(methodOn(ReservaSalaControllerV2.class).findById(entity.getIdReservaSala())).withSelfRel(),
-                linkTo(methodOn(ReservaSalaControllerV2.class).findAll()).withRel("reservas")
+                FIND_BY_ID.withSelfRel(entity.getIdReservaSala()),
+                FIND_ALL.withRel("reservas")
         );
     }
 }
\ No newline at end of file
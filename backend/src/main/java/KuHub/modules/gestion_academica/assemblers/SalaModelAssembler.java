@@ -2,22 +2,25 @@ package KuHub.modules.gestion_academica.assemblers;
 
 import KuHub.modules.gestion_academica.controller.SalaControllerV2;
 import KuHub.modules.gestion_academica.entity.Sala;
+import KuHub.utils.LinkTemplate;
+import KuHub.utils.pagination.KeysetModelAssembler;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
-public class SalaModelAssembler implements RepresentationModelAssembler<Sala, EntityModel<Sala>> {
+public class SalaModelAssembler implements KeysetModelAssembler<Sala, EntityModel<Sala>> {
+
+    private static final LinkTemplate FIND_BY_ID = LinkTemplate.of(SalaControllerV2.class, "findById");
+    private static final LinkTemplate FIND_ALL = LinkTemplate.of(SalaControllerV2.class, "findAll");
+    private static final LinkTemplate FIND_ALL_ACTIVE_ROOMS_TRUE = LinkTemplate.of(SalaControllerV2.class, "findAllActiveRoomsTrue");
 
     @Override
     public EntityModel<Sala> toModel(Sala entity) {
         return EntityModel.of(
                 entity,
-                linkTo(methodOn(SalaControllerV2.class).findById(entity.getIdSala())).withSelfRel(),
-                linkTo(methodOn(SalaControllerV2.class).findAll()).withRel("salas"),
-                linkTo(methodOn(SalaControllerV2.class).findAllActiveRoomsTrue()).withRel("salas-activas")
+                FIND_BY_ID.withSelfRel(entity.getIdSala()),
+                FIND_ALL.withRel("salas"),
+                FIND_ALL_ACTIVE_ROOMS_TRUE.withRel("salas-activas")
         );
     }
 }
\ No newline at end of file
@@ -2,23 +2,27 @@ package KuHub.modules.gestion_academica.assemblers;
 
 import KuHub.modules.gestion_academica.controller.SeccionControllerV2;
 import KuHub.modules.gestion_academica.dtos.dtoentity.SeccionEntityResponseDTO;
+import KuHub.utils.LinkTemplate;
+import KuHub.utils.pagination.KeysetModelAssembler;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
-public class SeccionModelAssembler implements RepresentationModelAssembler<SeccionEntityResponseDTO, EntityModel<SeccionEntityResponseDTO>> {
+public class SeccionModelAssembler implements KeysetModelAssembler<SeccionEntityResponseDTO, EntityModel<SeccionEntityResponseDTO>> {
+
+    private static final LinkTemplate FIND_BY_ID = LinkTemplate.of(SeccionControllerV2.class, "findById");
+    private static final LinkTemplate FIND_ALL = LinkTemplate.of(SeccionControllerV2.class, "findAll");
+    private static final LinkTemplate FIND_ALL_BY_ACTIVO_TRUE = LinkTemplate.of(SeccionControllerV2.class, "findAllByActivoTrue");
+    private static final LinkTemplate FIND_BY_ID_AND_SECCION_ACTIVE_IS_TRUE = LinkTemplate.of(SeccionControllerV2.class, "findByIdAndSeccionActiveIsTrue");
 
     @Override
     public EntityModel<SeccionEntityResponseDTO> toModel(SeccionEntityResponseDTO entity) {
         return EntityModel.of(
                 entity,
-                linkTo(methodOn(SeccionControllerV2.class).findById(entity.getIdSeccion())).withSelfRel(),
-                linkTo(methodOn(SeccionControllerV2.class).findAll()).withRel("secciones"),
-                linkTo(methodOn(SeccionControllerV2.class).findAllByActivoTrue()).withRel("secciones-activas"),
-                linkTo(methodOn(SeccionControllerV2.class).findByIdAndSeccionActiveIsTrue(entity.getIdSeccion())).withRel("seccion-activa")
+                FIND_BY_ID.withSelfRel(entity.getIdSeccion()),
+                FIND_ALL.withRel("secciones"),
+                FIND_ALL_BY_ACTIVO_TRUE.withRel("secciones-activas"),
+                FIND_BY_ID_AND_SECCION_ACTIVE_IS_TRUE.withRel("seccion-activa", entity.getIdSeccion())
         );
     }
 }
\ No newline at end of file
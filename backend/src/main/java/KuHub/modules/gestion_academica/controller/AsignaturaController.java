@@ -1,12 +1,14 @@
 package KuHub.modules.gestion_academica.controller;
 
+import KuHub.config.version.ConditionalGet;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.gestion_academica.dtos.dtomodel.CourseCreateDTO;
 import KuHub.modules.gestion_academica.dtos.dtomodel.CourseUpdateDTO;
-import KuHub.modules.gestion_academica.dtos.dtomodel.CourserAnswerDTGOD;
 import KuHub.modules.gestion_academica.entity.Asignatura;
 import KuHub.modules.gestion_academica.exceptions.GestionAcademicaException;
 import KuHub.modules.gestion_academica.sevice.AsignaturaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -36,10 +38,13 @@ public class AsignaturaController {
     }
 
     @GetMapping( "/find-all-courses-active-true/")
-    public ResponseEntity<List<CourserAnswerDTGOD>> findAllCourserActiveTrueWithSeccion(){
+    @ConditionalGet({VersionedResource.ASIGNATURAS, VersionedResource.SALAS, VersionedResource.USUARIOS})
+    public ResponseEntity<String> findAllCourserActiveTrueWithSeccion(){
+        // JSON armado por la BD (mismas claves que CourserAnswerDTGOD), sin pasar por DTOs
         return ResponseEntity
                 .status(200)
-                .body(asignaturaService.findAllCourserActiveTrueWithSeccion());
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(asignaturaService.findAllCourserActiveTrueJson());
     }
 
     @PostMapping("/create-asignatura/")
@@ -1,5 +1,7 @@
 package KuHub.modules.gestion_academica.controller;
 
+import KuHub.config.version.ConditionalGet;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.gestion_academica.assemblers.AsignaturaModelAssembler;
 import KuHub.modules.gestion_academica.dtos.dtomodel.CourseCreateDTO;
 import KuHub.modules.gestion_academica.dtos.dtomodel.CourseUpdateDTO;
@@ -90,6 +92,7 @@ public class AsignaturaControllerV2 {
     }
 
     @GetMapping("/find-all-courses-active-true/")
+    @ConditionalGet({VersionedResource.ASIGNATURAS, VersionedResource.SALAS, VersionedResource.USUARIOS})
     @Operation(
             summary = "Obtener cursos activos con secciones",
             description = "Retorna únicamente los cursos activos con sus secciones asociadas"
@@ -1,8 +1,12 @@
 package KuHub.modules.gestion_academica.controller;
 
+import KuHub.modules.gestion_academica.dtos.dtomodel.AvailabilitySearchRequestDTO;
 import KuHub.modules.gestion_academica.dtos.dtomodel.FilterTimeBlockRequestDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.FreeSlotResponseDTO;
 import KuHub.modules.gestion_academica.entity.BloqueHorario;
 import KuHub.modules.gestion_academica.sevice.BloqueHorarioService;
+import KuHub.modules.gestion_academica.sevice.DisponibilidadSalaService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +20,9 @@ public class BloqueHorarioController {
     @Autowired
     private BloqueHorarioService bloqueHorarioService;
 
+    @Autowired
+    private DisponibilidadSalaService disponibilidadSalaService;
+
     @GetMapping("/find-by-id/{id}")
     public ResponseEntity<BloqueHorario> findById(
             @PathVariable Integer id
@@ -50,4 +57,13 @@ public class BloqueHorarioController {
                 .status(200)
                 .body(bloqueHorarioService.filterBlocksByDayWeekAndIdRoom(filterTimeBlockRequestDTO));
     }
+
+    @PostMapping( "/search-availability/")
+    public ResponseEntity<List<FreeSlotResponseDTO>> searchAvailability(
+            @Valid @RequestBody AvailabilitySearchRequestDTO availabilitySearchRequestDTO
+            ){
+        return ResponseEntity
+                .status(200)
+                .body(disponibilidadSalaService.searchAvailability(availabilitySearchRequestDTO));
+    }
 }
@@ -1,9 +1,12 @@
 package KuHub.modules.gestion_academica.controller;
 
 import KuHub.modules.gestion_academica.assemblers.BloqueHorarioModelAssembler;
+import KuHub.modules.gestion_academica.dtos.dtomodel.AvailabilitySearchRequestDTO;
 import KuHub.modules.gestion_academica.dtos.dtomodel.FilterTimeBlockRequestDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.FreeSlotResponseDTO;
 import KuHub.modules.gestion_academica.entity.BloqueHorario;
 import KuHub.modules.gestion_academica.sevice.BloqueHorarioService;
+import KuHub.modules.gestion_academica.sevice.DisponibilidadSalaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -35,6 +38,9 @@ public class BloqueHorarioControllerV2 {
     @Autowired
     private BloqueHorarioModelAssembler bloqueHorarioModelAssembler;
 
+    @Autowired
+    private DisponibilidadSalaService disponibilidadSalaService;
+
     @GetMapping("/find-by-id/{id}")
     @Operation(
             summary = "Obtener bloque horario por ID",
@@ -169,4 +175,43 @@ public class BloqueHorarioControllerV2 {
 
         return ResponseEntity.ok(collectionModel);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/search-availability/")
+    @Operation(
+            summary = "Buscar tramos libres en todas las salas",
+            description = "Retorna cada tramo de bloques consecutivos libres (sala, día, bloque inicial y final) " +
+                    "dentro del rango de días, opcionalmente limitado a ciertas salas"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tramos libres encontrados",
+                    content = @Content(
+                            mediaType = MediaTypes.HAL_JSON_VALUE,
+                            schema = @Schema(implementation = FreeSlotResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Rango de días o cantidad de bloques inválidos"
+            )
+    })
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Rango de días, bloques consecutivos y filtros de sala",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = AvailabilitySearchRequestDTO.class)
+            )
+    )
+    public ResponseEntity<CollectionModel<FreeSlotResponseDTO>> searchAvailability(
+            @Valid @RequestBody AvailabilitySearchRequestDTO availabilitySearchRequestDTO) {
+
+        CollectionModel<FreeSlotResponseDTO> collectionModel = CollectionModel.of(
+                disponibilidadSalaService.searchAvailability(availabilitySearchRequestDTO),
+                linkTo(methodOn(BloqueHorarioControllerV2.class).searchAvailability(availabilitySearchRequestDTO)).withSelfRel(),
+                linkTo(methodOn(BloqueHorarioControllerV2.class).findAll()).withRel("todos-bloques")
+        );
+
+        return ResponseEntity.ok(collectionModel);
+    }
+}
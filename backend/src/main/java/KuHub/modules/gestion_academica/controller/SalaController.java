@@ -1,5 +1,7 @@
 package KuHub.modules.gestion_academica.controller;
 
+import KuHub.config.version.ConditionalGet;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.gestion_academica.entity.Sala;
 import KuHub.modules.gestion_academica.exceptions.GestionAcademicaException;
 import KuHub.modules.gestion_academica.sevice.SalaService;
@@ -33,6 +35,7 @@ public class SalaController {
     }
 
     @GetMapping( "/find-all-active-rooms-true/")
+    @ConditionalGet(VersionedResource.SALAS)
     public ResponseEntity<List<Sala>> findAllActiveRoomsTrue (){
         return ResponseEntity
                 .status(200)
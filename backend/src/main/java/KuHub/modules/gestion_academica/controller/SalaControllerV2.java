@@ -1,5 +1,7 @@
 package KuHub.modules.gestion_academica.controller;
 
+import KuHub.config.version.ConditionalGet;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.gestion_academica.assemblers.SalaModelAssembler;
 import KuHub.modules.gestion_academica.entity.Sala;
 import KuHub.modules.gestion_academica.exceptions.GestionAcademicaException;
@@ -68,7 +70,7 @@ public class SalaControllerV2 {
     @GetMapping("/find-all/")
     @Operation(
             summary = "Obtener todas las salas",
-            description = "Retorna lista completa de todas las salas del sistema"
+            description = "Retorna las salas del sistema paginadas por cursor (links next/prev)"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -80,15 +82,18 @@ public class SalaControllerV2 {
                     )
             )
     })
-    public ResponseEntity<CollectionModel<EntityModel<Sala>>> findAll() {
-        List<EntityModel<Sala>> salas = salaService.findAll()
-                .stream()
-                .map(salaModelAssembler::toModel)
-                .toList();
+    public ResponseEntity<CollectionModel<EntityModel<Sala>>> findAll(
+            @Parameter(description = "Cursor opaco devuelto en los links next/prev (vacío = primera página)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (1-500, por defecto 50)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Orden: id; opcional \",asc\" o \",desc\"")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Filtrar por estado activo")
+            @RequestParam(required = false) Boolean activo) {
 
-        CollectionModel<EntityModel<Sala>> collectionModel = CollectionModel.of(
-                salas,
-                linkTo(methodOn(SalaControllerV2.class).findAll()).withSelfRel(),
+        CollectionModel<EntityModel<Sala>> collectionModel = salaModelAssembler.toPagedModel(
+                salaService.findPage(cursor, size, sort, activo),
                 linkTo(methodOn(SalaControllerV2.class).findAllActiveRoomsTrue()).withRel("salas-activas")
         );
 
@@ -96,6 +101,7 @@ public class SalaControllerV2 {
     }
 
     @GetMapping("/find-all-active-rooms-true/")
+    @ConditionalGet(VersionedResource.SALAS)
     @Operation(
             summary = "Obtener salas activas",
             description = "Retorna únicamente las salas con estado activo"
@@ -119,7 +125,7 @@ public class SalaControllerV2 {
         CollectionModel<EntityModel<Sala>> collectionModel = CollectionModel.of(
                 salas,
                 linkTo(methodOn(SalaControllerV2.class).findAllActiveRoomsTrue()).withSelfRel(),
-                linkTo(methodOn(SalaControllerV2.class).findAll()).withRel("todas-salas")
+                linkTo(methodOn(SalaControllerV2.class).findAll(null, null, null, null)).withRel("todas-salas")
         );
 
         return ResponseEntity.ok(collectionModel);
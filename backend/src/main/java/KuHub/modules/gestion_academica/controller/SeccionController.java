@@ -1,11 +1,19 @@
 package KuHub.modules.gestion_academica.controller;
 
+import KuHub.config.security.CurrentUser;
+import KuHub.config.security.UsuarioActual;
 import KuHub.modules.gestion_academica.dtos.dtoentity.SeccionEntityResponseDTO;
 import KuHub.modules.gestion_academica.dtos.dtomodel.SectionAnswerUpdateDTO;
 import KuHub.modules.gestion_academica.dtos.dtomodel.SectionCreateDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.TeacherScheduleResponseDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.TimetablePlanResponseDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.TimetableSolveRequestDTO;
 import KuHub.modules.gestion_academica.entity.Seccion;
 import KuHub.modules.gestion_academica.exceptions.GestionAcademicaException;
+import KuHub.modules.gestion_academica.sevice.AgendaDocenteService;
+import KuHub.modules.gestion_academica.sevice.HorarioSolverService;
 import KuHub.modules.gestion_academica.sevice.SeccionService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,6 +27,12 @@ public class SeccionController {
     @Autowired
     private SeccionService seccionService;
 
+    @Autowired
+    private AgendaDocenteService agendaDocenteService;
+
+    @Autowired
+    private HorarioSolverService horarioSolverService;
+
     @GetMapping( "/find-by-id/{id}")
     public ResponseEntity<SeccionEntityResponseDTO> findById(
             @PathVariable Integer id
@@ -46,6 +60,15 @@ public class SeccionController {
                 .body(seccionService.findBySectionByIdSeccion(idSeccion));
     }*/
 
+    @GetMapping( "/my-schedule/")
+    public ResponseEntity<List<TeacherScheduleResponseDTO>> findMySchedule(
+            @CurrentUser UsuarioActual usuario
+    ){
+        return ResponseEntity
+                .status(200)
+                .body(agendaDocenteService.findWeeklySchedule(usuario.idUsuario()));
+    }
+
     @GetMapping( "/find-all/")
     public ResponseEntity<List<SeccionEntityResponseDTO>> findAll(){
         return ResponseEntity
@@ -76,6 +99,15 @@ public class SeccionController {
                 .body(seccionService.createSection(sectionCreateDTO));
     }
 
+    @PostMapping( "/solve-timetable/")
+    public ResponseEntity<TimetablePlanResponseDTO> solveTimetable(
+            @Valid @RequestBody TimetableSolveRequestDTO solicitud
+    ){
+        return ResponseEntity
+                .status(200)
+                .body(horarioSolverService.solve(solicitud));
+    }
+
     @PutMapping( "/update-seccion-frontend/")
     public ResponseEntity<SectionAnswerUpdateDTO> updateSectionFrontend(
             @RequestBody SectionAnswerUpdateDTO sectionAnswerUpdateDTO
@@ -1,11 +1,18 @@
 package KuHub.modules.gestion_academica.controller;
 
+import KuHub.config.security.CurrentUser;
+import KuHub.config.security.UsuarioActual;
 import KuHub.modules.gestion_academica.assemblers.SeccionModelAssembler;
 import KuHub.modules.gestion_academica.dtos.dtoentity.SeccionEntityResponseDTO;
 import KuHub.modules.gestion_academica.dtos.dtomodel.SectionAnswerUpdateDTO;
 import KuHub.modules.gestion_academica.dtos.dtomodel.SectionCreateDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.TeacherScheduleResponseDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.TimetablePlanResponseDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.TimetableSolveRequestDTO;
 import KuHub.modules.gestion_academica.entity.Seccion;
 import KuHub.modules.gestion_academica.exceptions.GestionAcademicaException;
+import KuHub.modules.gestion_academica.sevice.AgendaDocenteService;
+import KuHub.modules.gestion_academica.sevice.HorarioSolverService;
 import KuHub.modules.gestion_academica.sevice.SeccionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -39,6 +46,12 @@ public class SeccionControllerV2 {
     @Autowired
     private SeccionModelAssembler seccionModelAssembler;
 
+    @Autowired
+    private AgendaDocenteService agendaDocenteService;
+
+    @Autowired
+    private HorarioSolverService horarioSolverService;
+
     @GetMapping("/find-by-id/{id}")
     @Operation(
             summary = "Obtener sección por ID",
@@ -100,7 +113,7 @@ public class SeccionControllerV2 {
     @GetMapping("/find-all/")
     @Operation(
             summary = "Obtener todas las secciones",
-            description = "Retorna lista completa de todas las secciones del sistema"
+            description = "Retorna las secciones del sistema paginadas por cursor (links next/prev)"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -112,15 +125,20 @@ public class SeccionControllerV2 {
                     )
             )
     })
-    public ResponseEntity<CollectionModel<EntityModel<SeccionEntityResponseDTO>>> findAll() {
-        List<EntityModel<SeccionEntityResponseDTO>> secciones = seccionService.findAll()
-                .stream()
-                .map(seccionModelAssembler::toModel)
-                .toList();
+    public ResponseEntity<CollectionModel<EntityModel<SeccionEntityResponseDTO>>> findAll(
+            @Parameter(description = "Cursor opaco devuelto en los links next/prev (vacío = primera página)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (1-500, por defecto 50)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Orden: id, nombre; opcional \",asc\" o \",desc\"")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Filtrar por estado activo")
+            @RequestParam(required = false) Boolean activo,
+            @Parameter(description = "Filtrar por ID de asignatura")
+            @RequestParam(required = false) Integer idAsignatura) {
 
-        CollectionModel<EntityModel<SeccionEntityResponseDTO>> collectionModel = CollectionModel.of(
-                secciones,
-                linkTo(methodOn(SeccionControllerV2.class).findAll()).withSelfRel(),
+        CollectionModel<EntityModel<SeccionEntityResponseDTO>> collectionModel = seccionModelAssembler.toPagedModel(
+                seccionService.findPage(cursor, size, sort, activo, idAsignatura),
                 linkTo(methodOn(SeccionControllerV2.class).findAllByActivoTrue()).withRel("secciones-activas")
         );
 
@@ -151,7 +169,78 @@ public class SeccionControllerV2 {
         CollectionModel<EntityModel<SeccionEntityResponseDTO>> collectionModel = CollectionModel.of(
                 secciones,
                 linkTo(methodOn(SeccionControllerV2.class).findAllByActivoTrue()).withSelfRel(),
-                linkTo(methodOn(SeccionControllerV2.class).findAll()).withRel("todas-secciones")
+                linkTo(methodOn(SeccionControllerV2.class).findAll(null, null, null, null, null)).withRel("todas-secciones")
+        );
+
+        return ResponseEntity.ok(collectionModel);
+    }
+
+    @GetMapping("/my-sections/")
+    @Operation(
+            summary = "Obtener mis secciones",
+            description = "Retorna las secciones activas asignadas al docente autenticado (identificado por el token)"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Lista de secciones del docente obtenida exitosamente",
+                    content = @Content(
+                            mediaType = MediaTypes.HAL_JSON_VALUE,
+                            schema = @Schema(implementation = SeccionEntityResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Token ausente o sin identidad (volver a iniciar sesión)"
+            )
+    })
+    public ResponseEntity<CollectionModel<EntityModel<SeccionEntityResponseDTO>>> findMySections(
+            @Parameter(hidden = true) @CurrentUser UsuarioActual usuario) {
+        List<EntityModel<SeccionEntityResponseDTO>> secciones = seccionService.findAllActiveByDocente(usuario.idUsuario())
+                .stream()
+                .map(seccionModelAssembler::toModel)
+                .toList();
+
+        CollectionModel<EntityModel<SeccionEntityResponseDTO>> collectionModel = CollectionModel.of(
+                secciones,
+                linkTo(methodOn(SeccionControllerV2.class).findMySections(null)).withSelfRel(),
+                linkTo(methodOn(SeccionControllerV2.class).findAllByActivoTrue()).withRel("secciones-activas")
+        );
+
+        return ResponseEntity.ok(collectionModel);
+    }
+
+    @GetMapping("/my-schedule/")
+    @Operation(
+            summary = "Obtener mi horario semanal",
+            description = "Retorna los bloques que dicta el docente autenticado (identificado por el token), " +
+                    "ordenados por día y bloque, con sección, asignatura y sala. " +
+                    "Los bloques en que tiene dos secciones a la vez vienen marcados con conflicto = true"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Horario del docente obtenido exitosamente",
+                    content = @Content(
+                            mediaType = MediaTypes.HAL_JSON_VALUE,
+                            schema = @Schema(implementation = TeacherScheduleResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Token ausente o sin identidad (volver a iniciar sesión)"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Solo disponible para DOCENTE y PROFESOR_A_CARGO"
+            )
+    })
+    public ResponseEntity<CollectionModel<TeacherScheduleResponseDTO>> findMySchedule(
+            @Parameter(hidden = true) @CurrentUser UsuarioActual usuario) {
+        CollectionModel<TeacherScheduleResponseDTO> collectionModel = CollectionModel.of(
+                agendaDocenteService.findWeeklySchedule(usuario.idUsuario()),
+                linkTo(methodOn(SeccionControllerV2.class).findMySchedule(null)).withSelfRel(),
+                linkTo(methodOn(SeccionControllerV2.class).findMySections(null)).withRel("mis-secciones")
         );
 
         return ResponseEntity.ok(collectionModel);
@@ -220,6 +309,49 @@ public class SeccionControllerV2 {
         return ResponseEntity.ok(seccionService.createSection(sectionCreateDTO));
     }
 
+    @PostMapping("/solve-timetable/")
+    @Operation(
+            summary = "Calcular horario automáticamente",
+            description = "Asigna sala, día y bloque a cada bloque semanal de las secciones activas sin choques de sala, " +
+                    "docente ni sección (recocido simulado en paralelo dentro del presupuesto de tiempo). " +
+                    "Devuelve el mejor plan con el desglose del puntaje; no guarda reservas"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Plan calculado (factible = false si quedaron choques)",
+                    content = @Content(
+                            mediaType = MediaTypes.HAL_JSON_VALUE,
+                            schema = @Schema(implementation = TimetablePlanResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Parámetros inválidos, sin secciones/salas/bloques o cálculo ya en curso"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Solo disponible para ADMINISTRADOR y CO_ADMINISTRADOR"
+            )
+    })
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Días, bloques por semana, secciones y salas a considerar, y presupuesto de tiempo",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = TimetableSolveRequestDTO.class)
+            )
+    )
+    public ResponseEntity<EntityModel<TimetablePlanResponseDTO>> solveTimetable(
+            @Valid @RequestBody TimetableSolveRequestDTO solicitud) {
+        EntityModel<TimetablePlanResponseDTO> entityModel = EntityModel.of(
+                horarioSolverService.solve(solicitud),
+                linkTo(methodOn(SeccionControllerV2.class).solveTimetable(solicitud)).withSelfRel(),
+                linkTo(methodOn(SeccionControllerV2.class).findAllByActivoTrue()).withRel("secciones-activas")
+        );
+
+        return ResponseEntity.ok(entityModel);
+    }
+
     @PutMapping("/update-seccion-frontend/")
     @Operation(
             summary = "Actualizar sección desde frontend",
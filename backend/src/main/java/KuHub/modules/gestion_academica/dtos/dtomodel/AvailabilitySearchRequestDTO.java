@@ -0,0 +1,27 @@
+package KuHub.modules.gestion_academica.dtos.dtomodel;
+
+import KuHub.modules.gestion_academica.entity.ReservaSala;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class AvailabilitySearchRequestDTO {
+    @NotNull
+    private ReservaSala.DiaSemana diaDesde;
+    /** Si no se indica, se busca solo en diaDesde */
+    private ReservaSala.DiaSemana diaHasta;
+    @NotNull
+    @Min(1)
+    private Integer bloquesConsecutivos;
+    /** Opcional: limitar la búsqueda a estas salas */
+    private List<Integer> idsSala;
+    /** Opcional: texto contenido en el código o nombre de la sala */
+    private String textoSala;
+}
@@ -0,0 +1,20 @@
+package KuHub.modules.gestion_academica.dtos.dtomodel;
+
+import KuHub.modules.gestion_academica.entity.ReservaSala;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class FreeSlotResponseDTO {
+    private Integer idSala;
+    private String codSala;
+    private String nombreSala;
+    private ReservaSala.DiaSemana diaSemana;
+    private Integer bloqueInicio;
+    private Integer bloqueFin;
+    private String horaInicio;
+    private String horaFin;
+}
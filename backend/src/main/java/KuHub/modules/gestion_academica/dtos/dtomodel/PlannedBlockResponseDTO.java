@@ -0,0 +1,22 @@
+package KuHub.modules.gestion_academica.dtos.dtomodel;
+
+import KuHub.modules.gestion_academica.entity.ReservaSala;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class PlannedBlockResponseDTO {
+    private Integer idSeccion;
+    private String nombreSeccion;
+    private Integer idDocente;
+    private Integer idSala;
+    private String codSala;
+    private String nombreSala;
+    private ReservaSala.DiaSemana diaSemana;
+    private Integer numeroBloque;
+    private String horaInicio;
+    private String horaFin;
+}
@@ -0,0 +1,26 @@
+package KuHub.modules.gestion_academica.dtos.dtomodel;
+
+import KuHub.modules.gestion_academica.entity.ReservaSala;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TeacherScheduleResponseDTO {
+    private ReservaSala.DiaSemana diaSemana;
+    private Integer numeroBloque;
+    private String horaInicio;
+    private String horaFin;
+    private Integer idSeccion;
+    private String nombreSeccion;
+    private Integer idAsignatura;
+    private String codAsignatura;
+    private String nombreAsignatura;
+    private Integer idSala;
+    private String codSala;
+    private String nombreSala;
+    /** true si el docente tiene otra sección en el mismo día y bloque */
+    private Boolean conflicto;
+}
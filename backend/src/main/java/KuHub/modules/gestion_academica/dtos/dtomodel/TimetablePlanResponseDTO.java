@@ -0,0 +1,30 @@
+package KuHub.modules.gestion_academica.dtos.dtomodel;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TimetablePlanResponseDTO {
+    /** true si el plan no tiene choques de sala, docente ni sección */
+    private Boolean factible;
+    /** Puntaje total (menor es mejor): choques * 1000 + cambiosDeSala * 2 + bloquesAislados */
+    private Integer puntaje;
+    private Integer choquesSala;
+    private Integer choquesDocente;
+    private Integer choquesSeccion;
+    /** Salas distintas de cada sección, menos una, sumadas */
+    private Integer cambiosDeSala;
+    /** Bloques de una sección sin otro de la misma sección pegado ese día */
+    private Integer bloquesAislados;
+    private Integer secciones;
+    private Integer bloquesAsignados;
+    private Integer hilos;
+    private Long iteraciones;
+    private Long duracionMs;
+    private List<PlannedBlockResponseDTO> reservas;
+}
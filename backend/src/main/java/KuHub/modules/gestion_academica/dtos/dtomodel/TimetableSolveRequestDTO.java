@@ -0,0 +1,34 @@
+package KuHub.modules.gestion_academica.dtos.dtomodel;
+
+import KuHub.modules.gestion_academica.entity.ReservaSala;
+import jakarta.validation.constraints.Min;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TimetableSolveRequestDTO {
+    /** Primer día disponible (LUNES si no se indica) */
+    private ReservaSala.DiaSemana diaDesde;
+    /** Último día disponible (VIERNES si no se indica) */
+    private ReservaSala.DiaSemana diaHasta;
+    /** Bloques por semana de cada sección; si no se indica, los que reserva hoy */
+    @Min(1)
+    private Integer bloquesPorSemana;
+    /** Opcional: bloques por semana de secciones puntuales (idSeccion -> bloques) */
+    private Map<Integer, Integer> bloquesPorSeccion;
+    /** Opcional: planificar solo estas secciones activas */
+    private List<Integer> idsSeccion;
+    /** Opcional: usar solo estas salas activas */
+    private List<Integer> idsSala;
+    /** Tiempo de cálculo en ms (kuhub.horario.solver.presupuesto-ms si no se indica) */
+    @Min(1)
+    private Long presupuestoMs;
+    /** Semilla del azar, para repetir un cálculo */
+    private Long semilla;
+}
@@ -0,0 +1,7 @@
+package KuHub.modules.gestion_academica.dtos.projection;
+
+public interface RoomBlockProjection {
+    Integer getIdSala();
+    String getDiaSemana();
+    Integer getNumeroBloque();
+}
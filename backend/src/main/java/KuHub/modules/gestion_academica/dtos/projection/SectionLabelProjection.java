@@ -0,0 +1,9 @@
+package KuHub.modules.gestion_academica.dtos.projection;
+
+public interface SectionLabelProjection {
+    Integer getIdSeccion();
+    String getNombreSeccion();
+    Integer getIdAsignatura();
+    String getCodAsignatura();
+    String getNombreAsignatura();
+}
@@ -0,0 +1,8 @@
+package KuHub.modules.gestion_academica.dtos.projection;
+
+public interface SectionPlanningProjection {
+    Integer getIdSeccion();
+    String getNombreSeccion();
+    Integer getIdDocente();
+    Long getBloquesActuales();
+}
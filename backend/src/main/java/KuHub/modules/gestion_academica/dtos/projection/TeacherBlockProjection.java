@@ -0,0 +1,9 @@
+package KuHub.modules.gestion_academica.dtos.projection;
+
+public interface TeacherBlockProjection {
+    Integer getIdUsuario();
+    Integer getIdSeccion();
+    Integer getIdSala();
+    String getDiaSemana();
+    Integer getNumeroBloque();
+}
@@ -1,10 +1,15 @@
 package KuHub.modules.gestion_academica.entity;
 
+import KuHub.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "asignatura")
+@Cacheable
+@Cache(region = HibernateCacheConfig.ASIGNATURA, usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @Getter@Setter@NoArgsConstructor@AllArgsConstructor@ToString
 public class Asignatura {
 
@@ -1,12 +1,17 @@
 package KuHub.modules.gestion_academica.entity;
 
+import KuHub.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalTime;
 
 @Entity
 @Table(name = "bloque_horario")
+@Cacheable
+@Cache(region = HibernateCacheConfig.BLOQUE_HORARIO, usage = CacheConcurrencyStrategy.READ_ONLY)
 @Getter@Setter@NoArgsConstructor@AllArgsConstructor@ToString
 public class BloqueHorario {
 
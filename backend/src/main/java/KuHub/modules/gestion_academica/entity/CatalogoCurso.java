@@ -0,0 +1,30 @@
+package KuHub.modules.gestion_academica.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila del catálogo de asignaturas activas (modelo de lectura)
+ *
+ * Solo se escribe con las sentencias nativas de CatalogoCursoRepository; el documento
+ * tiene las claves de CourserAnswerDTGOD.
+ */
+@Entity
+@Immutable
+@Table(name = "catalogo_curso")
+@Getter@Setter@NoArgsConstructor@AllArgsConstructor@ToString
+public class CatalogoCurso {
+
+    @Id
+    @Column(name = "id_asignatura")
+    private Integer idAsignatura;
+
+    @Column(name = "documento", columnDefinition = "json", nullable = false)
+    private String documento;
+
+    @Column(name = "actualizado", nullable = false)
+    private LocalDateTime actualizado;
+}
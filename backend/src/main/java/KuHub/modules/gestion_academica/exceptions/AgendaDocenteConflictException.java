@@ -0,0 +1,10 @@
+package KuHub.modules.gestion_academica.exceptions;
+
+/**
+ * El docente ya dicta otra sección en ese día y bloque (HTTP 409)
+ */
+public class AgendaDocenteConflictException extends GestionAcademicaException {
+    public AgendaDocenteConflictException(String message) {
+        super(message);
+    }
+}
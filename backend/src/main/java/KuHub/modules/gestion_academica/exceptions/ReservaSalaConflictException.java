@@ -0,0 +1,10 @@
+package KuHub.modules.gestion_academica.exceptions;
+
+/**
+ * El bloque pedido ya está reservado para esa sala y día (HTTP 409)
+ */
+public class ReservaSalaConflictException extends GestionAcademicaException {
+    public ReservaSalaConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,198 @@
+package KuHub.modules.gestion_academica.repository;
+
+import KuHub.modules.gestion_academica.entity.CatalogoCurso;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CatalogoCursoRepository extends JpaRepository<CatalogoCurso, Integer> {
+
+    /**
+     * Documento JSON de cada asignatura activa (con las claves de CourserAnswerDTGOD):
+     * profesor a cargo y secciones activas con su docente y bloques reservados.
+     * Se completa con un WHERE sobre "a" y con DOCUMENTO_GROUP_BY.
+     */
+    String DOCUMENTO_SELECT = """
+        SELECT
+            a.id_asignatura,
+            json_build_object(
+                'idAsignatura', a.id_asignatura,
+                'codAsignatura', a.cod_asignatura,
+                'nombreAsignatura', a.nombre_asignatura,
+                'idCompletoProfesor', u.id_usuario,
+                'nombreProfesor', u.p_nombre ||' '|| u.s_nombre ||' '|| u.app_paterno ||' '|| u.app_materno,
+                'descripcionAsignatura', a.descripcion,
+                'secciones', COALESCE(
+                    json_agg(
+                        DISTINCT jsonb_build_object(
+                            'idSeccion', s.id_seccion,
+                            'idAsignatura', s.id_asignatura,
+                            'nombreSeccion', s.nombre_seccion,
+                            'estadoSeccion', s.estado_seccion,
+                            'idDocente', u_docente.id_usuario,
+                            'nombreCompletoDocente', u_docente.p_nombre ||' '|| u_docente.s_nombre ||' '|| u_docente.app_paterno ||' '|| u_docente.app_materno,
+                            'capacidadMaxInscritos', s.capacidad_max,
+                            'cantInscritos', s.cant_inscritos,
+                            'bloquesHorarios', COALESCE((
+                                SELECT json_agg(
+                                    json_build_object(
+                                        'numeroBloque', b.id_bloque,
+                                        'horaInicio', to_char(b.hora_inicio, 'HH24:MI:SS'),
+                                        'horaFin', to_char(b.hora_fin, 'HH24:MI:SS'),
+                                        'diaSemana', rs.dia_semana,
+                                        'idSala', sa.id_sala,
+                                        'codSala', sa.cod_sala,
+                                        'nombreSala', sa.nombre_sala
+                                    )
+                                    ORDER BY b.id_bloque, rs.dia_semana
+                                )
+                                FROM reserva_sala rs
+                                JOIN bloque_horario b ON b.id_bloque = rs.id_bloque
+                                JOIN sala sa ON sa.id_sala = rs.id_sala
+                                WHERE rs.id_seccion = s.id_seccion
+                            ), '[]'::json)
+                        )
+                    ) FILTER (WHERE s.id_seccion IS NOT NULL),
+                    '[]'::json
+                )
+            ) AS documento
+        FROM asignatura a
+        JOIN asignatura_profesor_cargo apc
+            ON apc.id_asignatura = a.id_asignatura
+        JOIN usuario u
+            ON u.id_usuario = apc.id_usuario
+        LEFT JOIN seccion s
+            ON s.id_asignatura = a.id_asignatura
+            AND s.activo = TRUE
+        LEFT JOIN docente_seccion dc
+            ON dc.id_seccion = s.id_seccion
+        LEFT JOIN usuario u_docente
+            ON u_docente.id_usuario = dc.id_usuario
+        """;
+
+    String DOCUMENTO_GROUP_BY = """
+        GROUP BY
+            a.id_asignatura,
+            a.cod_asignatura,
+            a.nombre_asignatura,
+            u.id_usuario,
+            u.p_nombre,
+            u.s_nombre,
+            u.app_paterno,
+            u.app_materno,
+            a.descripcion
+        """;
+
+    String UPSERT = """
+        INSERT INTO catalogo_curso (id_asignatura, documento, actualizado)
+        SELECT d.id_asignatura, d.documento, now()
+        FROM (
+        """;
+
+    String ON_CONFLICT = """
+        ) d
+        ON CONFLICT (id_asignatura) DO UPDATE
+            SET documento = EXCLUDED.documento,
+                actualizado = EXCLUDED.actualizado
+        """;
+
+    /**
+     * Asignaturas que ya no aparecen en el catálogo (inactivas o sin profesor a cargo)
+     */
+    String SIN_DOCUMENTO = """
+        NOT EXISTS (
+            SELECT 1
+            FROM asignatura a
+            JOIN asignatura_profesor_cargo apc ON apc.id_asignatura = a.id_asignatura
+            WHERE a.id_asignatura = cc.id_asignatura
+              AND a.activo = TRUE
+        )
+        """;
+
+    /**
+     * Catálogo completo como un único arreglo JSON, listo para enviarlo tal cual
+     */
+    @Query(value = """
+        SELECT COALESCE(json_agg(cc.documento ORDER BY cc.id_asignatura), '[]'::json)::text
+        FROM catalogo_curso cc
+        """, nativeQuery = true)
+    String findAllDocumentosJson();
+
+    /**
+     * Bloquea las filas de las asignaturas (en orden de id) hasta el fin de la transacción,
+     * así dos refrescos de la misma asignatura no se cruzan. FOR NO KEY UPDATE no choca con
+     * los FOR KEY SHARE que toman las llaves foráneas de secciones nuevas.
+     */
+    @Query(value = """
+        SELECT a.id_asignatura
+        FROM asignatura a
+        WHERE a.id_asignatura IN (:ids)
+        ORDER BY a.id_asignatura
+        FOR NO KEY UPDATE
+        """, nativeQuery = true)
+    List<Integer> lockAsignaturas(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "catalogo_curso"))
+    @Query(value = UPSERT + DOCUMENTO_SELECT + """
+        WHERE a.activo = TRUE
+          AND a.id_asignatura IN (:ids)
+        """ + DOCUMENTO_GROUP_BY + ON_CONFLICT, nativeQuery = true)
+    int upsertDocumentos(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "catalogo_curso"))
+    @Query(value = """
+        DELETE FROM catalogo_curso cc
+        WHERE cc.id_asignatura IN (:ids)
+          AND
+        """ + SIN_DOCUMENTO, nativeQuery = true)
+    int deleteSinDocumento(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "catalogo_curso"))
+    @Query(value = UPSERT + DOCUMENTO_SELECT + """
+        WHERE a.activo = TRUE
+        """ + DOCUMENTO_GROUP_BY + ON_CONFLICT, nativeQuery = true)
+    int upsertTodos();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "catalogo_curso"))
+    @Query(value = "DELETE FROM catalogo_curso cc WHERE " + SIN_DOCUMENTO, nativeQuery = true)
+    int deleteTodosSinDocumento();
+
+    /**
+     * Asignaturas con alguna sección que reserva la sala (su nombre y código van en el documento)
+     */
+    @Query(value = """
+        SELECT DISTINCT s.id_asignatura
+        FROM reserva_sala rs
+        JOIN seccion s ON s.id_seccion = rs.id_seccion
+        WHERE rs.id_sala = :idSala
+        """, nativeQuery = true)
+    List<Integer> findIdsAsignaturaBySala(@Param("idSala") Integer idSala);
+
+    /**
+     * Asignaturas donde el usuario es profesor a cargo o docente de alguna sección
+     */
+    @Query(value = """
+        SELECT apc.id_asignatura
+        FROM asignatura_profesor_cargo apc
+        WHERE apc.id_usuario = :idUsuario
+        UNION
+        SELECT s.id_asignatura
+        FROM docente_seccion dc
+        JOIN seccion s ON s.id_seccion = dc.id_seccion
+        WHERE dc.id_usuario = :idUsuario
+        """, nativeQuery = true)
+    List<Integer> findIdsAsignaturaByUsuario(@Param("idUsuario") Integer idUsuario);
+}
@@ -1,14 +1,77 @@
 package KuHub.modules.gestion_academica.repository;
 
+import KuHub.modules.gestion_academica.dtos.projection.SectionLabelProjection;
+import KuHub.modules.gestion_academica.dtos.projection.TeacherBlockProjection;
 import KuHub.modules.gestion_academica.entity.DocenteSeccion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DocenteSeccionRepository extends JpaRepository <DocenteSeccion, Integer>{
 
+    /**
+     * Bloques que dicta cada docente: docente_seccion × reserva_sala de las secciones activas.
+     * Se completa con un WHERE opcional sobre "dc".
+     */
+    String TEACHER_BLOCKS_SELECT = """
+        SELECT dc.id_usuario AS idUsuario,
+               s.id_seccion AS idSeccion,
+               r.id_sala AS idSala,
+               CAST(r.dia_semana AS text) AS diaSemana,
+               b.numero_bloque AS numeroBloque
+        FROM docente_seccion dc
+        JOIN seccion s ON s.id_seccion = dc.id_seccion
+        JOIN reserva_sala r ON r.id_seccion = s.id_seccion
+        JOIN bloque_horario b ON b.id_bloque = r.id_bloque
+        WHERE s.activo = TRUE
+        """;
+
     Optional<DocenteSeccion> findByUsuario_IdUsuarioAndSeccion_IdSeccion(Integer docenteIdDocente, Integer seccionIdSeccion);
     Optional<DocenteSeccion> findBySeccion_IdSeccion(Integer idSeccion);
+
+    /**
+     * Bloqueo consultivo del docente hasta el fin de la transacción: dos secciones que asignan
+     * al mismo docente se validan de a una
+     */
+    @Query(value = "SELECT CAST(pg_advisory_xact_lock(hashtext('docente_seccion'), :idUsuario) AS varchar)", nativeQuery = true)
+    String lockDocente(@Param("idUsuario") Integer idUsuario);
+
+    /**
+     * Bloques de todos los docentes, para cargar AgendaDocenteIndex
+     */
+    @Query(value = TEACHER_BLOCKS_SELECT, nativeQuery = true)
+    List<TeacherBlockProjection> findAllTeacherBlocks();
+
+    @Query(value = TEACHER_BLOCKS_SELECT + """
+          AND dc.id_usuario IN (:idsUsuario)
+        """, nativeQuery = true)
+    List<TeacherBlockProjection> findTeacherBlocksByIdUsuarioIn(@Param("idsUsuario") Collection<Integer> idsUsuario);
+
+    @Query(value = """
+        SELECT DISTINCT dc.id_usuario
+        FROM docente_seccion dc
+        WHERE dc.id_seccion IN (:idsSeccion)
+        """, nativeQuery = true)
+    List<Integer> findIdsUsuarioByIdSeccionIn(@Param("idsSeccion") Collection<Integer> idsSeccion);
+
+    /**
+     * Nombre de la sección y de su asignatura, para armar el horario del docente
+     */
+    @Query(value = """
+        SELECT s.id_seccion AS idSeccion,
+               s.nombre_seccion AS nombreSeccion,
+               a.id_asignatura AS idAsignatura,
+               a.cod_asignatura AS codAsignatura,
+               a.nombre_asignatura AS nombreAsignatura
+        FROM seccion s
+        JOIN asignatura a ON a.id_asignatura = s.id_asignatura
+        WHERE s.id_seccion IN (:idsSeccion)
+        """, nativeQuery = true)
+    List<SectionLabelProjection> findSectionLabelsByIdSeccionIn(@Param("idsSeccion") Collection<Integer> idsSeccion);
 }
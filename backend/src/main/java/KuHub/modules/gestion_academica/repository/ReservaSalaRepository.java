@@ -1,12 +1,14 @@
 package KuHub.modules.gestion_academica.repository;
 
 import KuHub.modules.gestion_academica.dtos.projection.NumberBlockProjection;
+import KuHub.modules.gestion_academica.dtos.projection.RoomBlockProjection;
 import KuHub.modules.gestion_academica.entity.ReservaSala;
 import feign.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -43,5 +45,57 @@ public interface ReservaSalaRepository extends JpaRepository<ReservaSala, Intege
 
     List<ReservaSala> findBySeccion_IdSeccion(Integer idSeccion);
 
+    /**
+     * Bloqueo consultivo de la sala hasta el fin de la transacción (pg_advisory_xact_lock):
+     * las reservas sobre una misma sala se atienden de a una, las de salas distintas no se esperan
+     */
+    @Query(value = "SELECT CAST(pg_advisory_xact_lock(hashtext('reserva_sala'), :idSala) AS varchar)", nativeQuery = true)
+    String lockSala(@Param("idSala") Integer idSala);
+
+    /**
+     * Bloques reservados (sala, día, número de bloque) de todas las salas activas,
+     * para cargar OcupacionSalaIndex
+     */
+    @Query(value = """
+        SELECT r.id_sala AS idSala,
+               CAST(r.dia_semana AS text) AS diaSemana,
+               b.numero_bloque AS numeroBloque
+        FROM reserva_sala r
+        JOIN sala s ON s.id_sala = r.id_sala
+        JOIN bloque_horario b ON b.id_bloque = r.id_bloque
+        WHERE s.activo = TRUE
+""", nativeQuery = true)
+    List<RoomBlockProjection> findAllOccupiedBlocks();
+
+    /**
+     * Bloques reservados de las salas indicadas (solo salas activas), en una sola consulta
+     */
+    @Query(value = """
+        SELECT r.id_sala AS idSala,
+               CAST(r.dia_semana AS text) AS diaSemana,
+               b.numero_bloque AS numeroBloque
+        FROM reserva_sala r
+        JOIN sala s ON s.id_sala = r.id_sala
+        JOIN bloque_horario b ON b.id_bloque = r.id_bloque
+        WHERE r.id_sala IN (:idsSala)
+          AND s.activo = TRUE
+""", nativeQuery = true)
+    List<RoomBlockProjection> findOccupiedBlocksByIdSalaIn(@Param("idsSala") Collection<Integer> idsSala);
+
+    /**
+     * Bloques reservados por las secciones indicadas (solo salas activas): las reservas que el
+     * cálculo de horario va a reemplazar y que no cuentan como ocupación fija
+     */
+    @Query(value = """
+        SELECT r.id_sala AS idSala,
+               CAST(r.dia_semana AS text) AS diaSemana,
+               b.numero_bloque AS numeroBloque
+        FROM reserva_sala r
+        JOIN sala s ON s.id_sala = r.id_sala
+        JOIN bloque_horario b ON b.id_bloque = r.id_bloque
+        WHERE r.id_seccion IN (:idsSeccion)
+          AND s.activo = TRUE
+""", nativeQuery = true)
+    List<RoomBlockProjection> findOccupiedBlocksByIdSeccionIn(@Param("idsSeccion") Collection<Integer> idsSeccion);
 
 }
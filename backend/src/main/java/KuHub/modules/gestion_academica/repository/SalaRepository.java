@@ -3,12 +3,13 @@ package KuHub.modules.gestion_academica.repository;
 import KuHub.modules.gestion_academica.entity.Sala;
 import jdk.dynalink.linker.LinkerServices;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface SalaRepository extends JpaRepository <Sala, Integer> {
+public interface SalaRepository extends JpaRepository <Sala, Integer>, JpaSpecificationExecutor<Sala> {
 
     Boolean existsByCodSala(String codSala);
     Boolean existsByNombreSalaAndCodSala(String nombreSala, String codSala);
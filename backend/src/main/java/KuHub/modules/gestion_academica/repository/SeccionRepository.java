@@ -1,8 +1,10 @@
 package KuHub.modules.gestion_academica.repository;
 
+import KuHub.modules.gestion_academica.dtos.projection.SectionPlanningProjection;
 import KuHub.modules.gestion_academica.entity.Seccion;
 import feign.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -10,7 +12,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SeccionRepository extends JpaRepository <Seccion, Integer> {
+public interface SeccionRepository extends JpaRepository <Seccion, Integer>, JpaSpecificationExecutor<Seccion> {
 
     /**
      * Comprueba si existe una sección activa para una asignatura activa,
@@ -59,9 +61,36 @@ public interface SeccionRepository extends JpaRepository <Seccion, Integer> {
 
 
     Boolean existsByIdSeccionAndActivoTrue(Integer idSeccion);
+
+    /**
+     * Secciones activas asignadas a un docente (por id, sin cargar la entidad Usuario)
+     */
+    @Query("""
+        SELECT s FROM Seccion s
+        WHERE s.activo = TRUE
+          AND EXISTS (SELECT 1 FROM DocenteSeccion d
+                      WHERE d.seccion = s AND d.usuario.idUsuario = :idUsuario)
+        ORDER BY s.idSeccion
+        """)
+    List<Seccion> findAllActiveByDocente(@Param("idUsuario") Integer idUsuario);
     Optional<Seccion> findByIdSeccionAndActivoTrue(Integer idSeccion);
     List<Seccion> findAllByActivoTrue();
 
+    /**
+     * Secciones activas con su docente y la cantidad de bloques que reservan hoy,
+     * en una sola consulta (entrada del cálculo automático de horario)
+     */
+    @Query(value = """
+        SELECT s.id_seccion AS idSeccion,
+               s.nombre_seccion AS nombreSeccion,
+               (SELECT MIN(dc.id_usuario) FROM docente_seccion dc WHERE dc.id_seccion = s.id_seccion) AS idDocente,
+               (SELECT COUNT(*) FROM reserva_sala r WHERE r.id_seccion = s.id_seccion) AS bloquesActuales
+        FROM seccion s
+        WHERE s.activo = TRUE
+        ORDER BY s.id_seccion
+        """, nativeQuery = true)
+    List<SectionPlanningProjection> findAllActiveForPlanning();
+
 
     /**
      * Obtiene una sección con todas sus reservas en bloques horarios
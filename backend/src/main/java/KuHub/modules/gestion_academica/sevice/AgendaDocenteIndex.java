@@ -0,0 +1,258 @@
+package KuHub.modules.gestion_academica.sevice;
+
+import KuHub.modules.gestion_academica.dtos.projection.TeacherBlockProjection;
+import KuHub.modules.gestion_academica.entity.ReservaSala;
+import KuHub.modules.gestion_academica.repository.DocenteSeccionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Agenda semanal de cada docente en memoria (docente_seccion × reserva_sala de las secciones
+ * activas): un BitSet por día con los bloques que dicta y la lista de esos bloques con su
+ * sección y sala
+ *
+ * Sirve para el horario del docente autenticado sin la consulta de varios JOIN, y como pista
+ * al validar que un docente no quede en dos secciones a la misma hora (la validación siempre
+ * confirma con leerBloques). La agenda de cada docente es inmutable y se reemplaza completa,
+ * así las lecturas no necesitan bloqueo.
+ *
+ * Las escrituras marcan docentes o secciones; justo antes del commit se releen las agendas
+ * afectadas (una vez por transacción) y se publican al confirmarse. Cada
+ * kuhub.agenda-docentes.resync-ms se vuelve a leer completa para incorporar las de otros nodos.
+ */
+@Slf4j
+@Component
+public class AgendaDocenteIndex {
+
+    private static final String PENDIENTES = AgendaDocenteIndex.class.getName() + ".pendientes";
+
+    private static final ReservaSala.DiaSemana[] DIAS = ReservaSala.DiaSemana.values();
+
+    private static final Comparator<BloqueDocente> ORDEN = Comparator
+            .comparing(BloqueDocente::dia)
+            .thenComparingInt(BloqueDocente::numeroBloque)
+            .thenComparingInt(BloqueDocente::idSeccion)
+            .thenComparingInt(BloqueDocente::idSala);
+
+    /**
+     * Un bloque que dicta el docente: día, número de bloque, sección y sala
+     */
+    public record BloqueDocente(ReservaSala.DiaSemana dia, int numeroBloque, int idSeccion, int idSala) {
+    }
+
+    private record Agenda(BitSet[] dias, List<BloqueDocente> bloques) {
+    }
+
+    private record Pendientes(Set<Integer> docentes, Set<Integer> secciones) {
+    }
+
+    @Autowired
+    private DocenteSeccionRepository docenteSeccionRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Map<Integer, Agenda> docentes = new ConcurrentHashMap<>();
+
+    private volatile boolean cargado;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        Map<Integer, Agenda> nuevas = new ConcurrentHashMap<>(armar(docenteSeccionRepository.findAllTeacherBlocks()));
+        docentes = nuevas;
+        cargado = true;
+        log.info("Agenda de docentes cargada: {} docentes con bloques", nuevas.size());
+    }
+
+    @Scheduled(fixedDelayString = "${kuhub.agenda-docentes.resync-ms:60000}",
+            initialDelayString = "${kuhub.agenda-docentes.resync-ms:60000}")
+    public void resincronizar() {
+        if (cargado) {
+            cargar();
+        }
+    }
+
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * Sección (distinta de idSeccionExcluida) que el docente ya dicta en ese día y bloque, o null
+     */
+    public Integer seccionEnConflicto(Integer idUsuario, ReservaSala.DiaSemana dia, Integer numeroBloque,
+                                      Integer idSeccionExcluida) {
+        Agenda agenda = docentes.get(idUsuario);
+        if (agenda == null || !agenda.dias()[dia.ordinal()].get(numeroBloque)) {
+            return null;
+        }
+        return buscarConflicto(agenda.bloques(), dia, numeroBloque, idSeccionExcluida);
+    }
+
+    /**
+     * Bloques del docente ordenados por día y número de bloque (lista vacía si no dicta ninguno)
+     */
+    public List<BloqueDocente> bloques(Integer idUsuario) {
+        Agenda agenda = docentes.get(idUsuario);
+        return agenda == null ? List.of() : agenda.bloques();
+    }
+
+    /**
+     * Agenda del docente leída directamente de la BD (sin pasar por el índice)
+     */
+    public List<BloqueDocente> leerBloques(Integer idUsuario) {
+        Agenda agenda = armar(docenteSeccionRepository.findTeacherBlocksByIdUsuarioIn(List.of(idUsuario))).get(idUsuario);
+        return agenda == null ? List.of() : agenda.bloques();
+    }
+
+    /**
+     * Relee la agenda del docente al confirmarse la transacción (ej: deja de dictar una sección)
+     */
+    public void recargarDocenteAlConfirmar(Integer idUsuario) {
+        if (idUsuario != null) {
+            marcar(List.of(idUsuario), List.of());
+        }
+    }
+
+    /**
+     * Relee la agenda de los docentes de la sección al confirmarse la transacción
+     * (reservas, docente asignado o estado de la sección cambiaron)
+     */
+    public void recargarSeccionAlConfirmar(Integer idSeccion) {
+        if (idSeccion != null) {
+            marcar(List.of(), List.of(idSeccion));
+        }
+    }
+
+    static Integer buscarConflicto(List<BloqueDocente> bloques, ReservaSala.DiaSemana dia, int numeroBloque,
+                                   Integer idSeccionExcluida) {
+        for (BloqueDocente bloque : bloques) {
+            if (bloque.dia() == dia && bloque.numeroBloque() == numeroBloque
+                    && (idSeccionExcluida == null || bloque.idSeccion() != idSeccionExcluida)) {
+                return bloque.idSeccion();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fuera de una transacción la agenda se relee en el momento
+     */
+    private void marcar(Collection<Integer> idsUsuario, Collection<Integer> idsSeccion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Set<Integer> ids = idsUsuario(new Pendientes(new TreeSet<>(idsUsuario), new TreeSet<>(idsSeccion)));
+            aplicar(ids, leer(ids));
+            return;
+        }
+        Pendientes pendientes = pendientes();
+        pendientes.docentes().addAll(idsUsuario);
+        pendientes.secciones().addAll(idsSeccion);
+    }
+
+    /**
+     * Docentes y secciones marcados en la transacción actual; la primera marca registra la relectura
+     */
+    private Pendientes pendientes() {
+        Pendientes pendientes = (Pendientes) TransactionSynchronizationManager.getResource(PENDIENTES);
+        if (pendientes == null) {
+            Pendientes nuevas = new Pendientes(new TreeSet<>(), new TreeSet<>());
+            TransactionSynchronizationManager.bindResource(PENDIENTES, nuevas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private Set<Integer> idsUsuario;
+                private Map<Integer, Agenda> leidas;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    entityManager.flush();
+                    idsUsuario = idsUsuario(nuevas);
+                    leidas = leer(idsUsuario);
+                }
+
+                @Override
+                public void afterCommit() {
+                    aplicar(idsUsuario, leidas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDIENTES);
+                }
+            });
+            pendientes = nuevas;
+        }
+        return pendientes;
+    }
+
+    private Set<Integer> idsUsuario(Pendientes pendientes) {
+        Set<Integer> idsUsuario = new TreeSet<>(pendientes.docentes());
+        if (!pendientes.secciones().isEmpty()) {
+            idsUsuario.addAll(docenteSeccionRepository.findIdsUsuarioByIdSeccionIn(pendientes.secciones()));
+        }
+        return idsUsuario;
+    }
+
+    private Map<Integer, Agenda> leer(Collection<Integer> idsUsuario) {
+        if (idsUsuario.isEmpty()) {
+            return Map.of();
+        }
+        return armar(docenteSeccionRepository.findTeacherBlocksByIdUsuarioIn(idsUsuario));
+    }
+
+    private void aplicar(Collection<Integer> idsUsuario, Map<Integer, Agenda> leidas) {
+        if (!cargado) {
+            return;
+        }
+        for (Integer idUsuario : idsUsuario) {
+            Agenda agenda = leidas.get(idUsuario);
+            if (agenda == null) {
+                docentes.remove(idUsuario);
+            } else {
+                docentes.put(idUsuario, agenda);
+            }
+        }
+        log.debug("Agenda de docentes recargada para {}", idsUsuario);
+    }
+
+    private static Map<Integer, Agenda> armar(List<TeacherBlockProjection> filas) {
+        Map<Integer, List<BloqueDocente>> porDocente = new HashMap<>();
+        for (TeacherBlockProjection fila : filas) {
+            porDocente.computeIfAbsent(fila.getIdUsuario(), id -> new ArrayList<>()).add(new BloqueDocente(
+                    ReservaSala.DiaSemana.valueOf(fila.getDiaSemana()),
+                    fila.getNumeroBloque(),
+                    fila.getIdSeccion(),
+                    fila.getIdSala()
+            ));
+        }
+        Map<Integer, Agenda> agendas = new HashMap<>();
+        porDocente.forEach((idUsuario, bloques) -> {
+            BitSet[] dias = new BitSet[DIAS.length];
+            for (int d = 0; d < dias.length; d++) {
+                dias[d] = new BitSet();
+            }
+            for (BloqueDocente bloque : bloques) {
+                dias[bloque.dia().ordinal()].set(bloque.numeroBloque());
+            }
+            bloques.sort(ORDEN);
+            agendas.put(idUsuario, new Agenda(dias, List.copyOf(bloques)));
+        });
+        return agendas;
+    }
+}
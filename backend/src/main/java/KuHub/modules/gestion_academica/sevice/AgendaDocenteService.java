@@ -0,0 +1,16 @@
+package KuHub.modules.gestion_academica.sevice;
+
+import KuHub.modules.gestion_academica.dtos.dtomodel.BookTImeBlocksRequestDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.TeacherScheduleResponseDTO;
+
+import java.util.List;
+
+public interface AgendaDocenteService {
+
+    /** Bloquea al docente hasta el fin de la transacción actual, antes de validar y asignar sus bloques */
+    void lockTeacher(Integer idUsuario);
+    /** Bloques pedidos en que el docente ya dicta otra sección (idSeccion se excluye, null al crear) */
+    List<BookTImeBlocksRequestDTO> findBlocksInConflict(Integer idUsuario, Integer idSeccion, List<BookTImeBlocksRequestDTO> bloques);
+    /** Horario semanal del docente ordenado por día y bloque, marcando los choques entre secciones */
+    List<TeacherScheduleResponseDTO> findWeeklySchedule(Integer idUsuario);
+}
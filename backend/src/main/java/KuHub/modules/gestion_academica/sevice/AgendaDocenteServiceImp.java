@@ -0,0 +1,162 @@
+package KuHub.modules.gestion_academica.sevice;
+
+import KuHub.modules.gestion_academica.dtos.dtomodel.BookTImeBlocksRequestDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.TeacherScheduleResponseDTO;
+import KuHub.modules.gestion_academica.dtos.projection.SectionLabelProjection;
+import KuHub.modules.gestion_academica.entity.BloqueHorario;
+import KuHub.modules.gestion_academica.entity.Sala;
+import KuHub.modules.gestion_academica.repository.DocenteSeccionRepository;
+import KuHub.modules.gestion_academica.sevice.AgendaDocenteIndex.BloqueDocente;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Choques de horario de los docentes y horario semanal del docente, sobre AgendaDocenteIndex
+ *
+ * La validación sigue el mismo camino que la de salas: primero el índice y, si no encuentra
+ * choques, la agenda del docente leída de la BD en una sola consulta (la BD tiene la última
+ * palabra). El horario sale del índice; las salas y los bloques horarios vienen de la caché
+ * de datos de referencia y los nombres de sección y asignatura de una consulta por llave.
+ */
+@Service
+public class AgendaDocenteServiceImp implements AgendaDocenteService {
+
+    private static final DateTimeFormatter HORA = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    @Autowired
+    private AgendaDocenteIndex agendaDocenteIndex;
+
+    @Autowired
+    private DocenteSeccionRepository docenteSeccionRepository;
+
+    @Autowired
+    private SalaService salaService;
+
+    @Autowired
+    private BloqueHorarioService bloqueHorarioService;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void lockTeacher(Integer idUsuario) {
+        docenteSeccionRepository.lockDocente(idUsuario);
+    }
+
+    /**
+     * La agenda del docente se lee siempre de la BD (bajo el bloqueo de lockTeacher): el índice
+     * puede no ver lo que otro nodo cambió hace poco, así que solo se compara con él y, si no
+     * coincide, la agenda del docente se relee al confirmarse
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookTImeBlocksRequestDTO> findBlocksInConflict(Integer idUsuario, Integer idSeccion,
+                                                               List<BookTImeBlocksRequestDTO> bloques) {
+        List<BookTImeBlocksRequestDTO> conflictos = new ArrayList<>();
+        if (bloques.isEmpty()) {
+            return conflictos;
+        }
+
+        boolean indiceDesactualizado = false;
+        List<BloqueDocente> actuales = agendaDocenteIndex.leerBloques(idUsuario);
+        for (BookTImeBlocksRequestDTO B : bloques) {
+            boolean enConflicto = AgendaDocenteIndex.buscarConflicto(
+                    actuales, B.getDiaSemana(), B.getNumeroBloque(), idSeccion) != null;
+            if (enConflicto) {
+                conflictos.add(B);
+            }
+            if (agendaDocenteIndex.isCargado()) {
+                boolean enIndice = agendaDocenteIndex.seccionEnConflicto(
+                        idUsuario, B.getDiaSemana(), B.getNumeroBloque(), idSeccion) != null;
+                indiceDesactualizado |= enIndice != enConflicto;
+            }
+        }
+        if (indiceDesactualizado) {
+            agendaDocenteIndex.recargarDocenteAlConfirmar(idUsuario);
+        }
+        return conflictos;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<TeacherScheduleResponseDTO> findWeeklySchedule(Integer idUsuario) {
+        List<BloqueDocente> bloques = agendaDocenteIndex.isCargado()
+                ? agendaDocenteIndex.bloques(idUsuario)
+                : agendaDocenteIndex.leerBloques(idUsuario);
+        if (bloques.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Integer> idsSeccion = new TreeSet<>();
+        for (BloqueDocente bloque : bloques) {
+            idsSeccion.add(bloque.idSeccion());
+        }
+        Map<Integer, SectionLabelProjection> secciones = new HashMap<>();
+        for (SectionLabelProjection seccion : docenteSeccionRepository.findSectionLabelsByIdSeccionIn(idsSeccion)) {
+            secciones.put(seccion.getIdSeccion(), seccion);
+        }
+        Map<Integer, Sala> salas = new HashMap<>();
+        for (Sala sala : salaService.findAllActiveRoomsTrue()) {
+            salas.put(sala.getIdSala(), sala);
+        }
+        Map<Integer, BloqueHorario> bloquesPorNumero = new HashMap<>();
+        for (BloqueHorario bloque : bloqueHorarioService.findAll()) {
+            bloquesPorNumero.put(bloque.getNumeroBloque(), bloque);
+        }
+
+        List<TeacherScheduleResponseDTO> horario = new ArrayList<>(bloques.size());
+        for (int i = 0; i < bloques.size(); i++) {
+            BloqueDocente bloque = bloques.get(i);
+            SectionLabelProjection seccion = secciones.get(bloque.idSeccion());
+            Sala sala = salas.get(bloque.idSala());
+            BloqueHorario bloqueHorario = bloquesPorNumero.get(bloque.numeroBloque());
+            horario.add(new TeacherScheduleResponseDTO(
+                    bloque.dia(),
+                    bloque.numeroBloque(),
+                    bloqueHorario != null ? bloqueHorario.getHoraInicio().format(HORA) : null,
+                    bloqueHorario != null ? bloqueHorario.getHoraFin().format(HORA) : null,
+                    bloque.idSeccion(),
+                    seccion != null ? seccion.getNombreSeccion() : null,
+                    seccion != null ? seccion.getIdAsignatura() : null,
+                    seccion != null ? seccion.getCodAsignatura() : null,
+                    seccion != null ? seccion.getNombreAsignatura() : null,
+                    bloque.idSala(),
+                    sala != null ? sala.getCodSala() : null,
+                    sala != null ? sala.getNombreSala() : null,
+                    chocaConVecino(bloques, i)
+            ));
+        }
+        return horario;
+    }
+
+    /**
+     * La lista viene ordenada por día y bloque: un choque es un vecino en el mismo día y
+     * bloque con otra sección
+     */
+    private static boolean chocaConVecino(List<BloqueDocente> bloques, int i) {
+        BloqueDocente actual = bloques.get(i);
+        for (int j = i - 1; j >= 0 && mismoBloque(bloques.get(j), actual); j--) {
+            if (bloques.get(j).idSeccion() != actual.idSeccion()) {
+                return true;
+            }
+        }
+        for (int j = i + 1; j < bloques.size() && mismoBloque(bloques.get(j), actual); j++) {
+            if (bloques.get(j).idSeccion() != actual.idSeccion()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean mismoBloque(BloqueDocente a, BloqueDocente b) {
+        return a.dia() == b.dia() && a.numeroBloque() == b.numeroBloque();
+    }
+}
@@ -13,6 +13,8 @@ public interface AsignaturaService {
     Boolean existsByIdAsignatura(Integer id);
     Boolean existsByIdAsignaturaAndTrue(Integer id);
     List<CourserAnswerDTGOD> findAllCourserActiveTrueWithSeccion();
+    /** El mismo catálogo como JSON generado por la BD, listo para escribirse en la respuesta */
+    String findAllCourserActiveTrueJson();
     List<Asignatura> findAll();
     Asignatura save (Asignatura asignatura);
     CourseUpdateDTO updateCourser (CourseUpdateDTO co);
@@ -1,27 +1,26 @@
 package KuHub.modules.gestion_academica.sevice;
 
+import KuHub.config.version.ResourceVersionService;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.gestion_academica.dtos.dtomodel.*;
 import KuHub.modules.gestion_academica.entity.Asignatura;
 import KuHub.modules.gestion_academica.entity.AsignaturaProfesorCargo;
-import KuHub.modules.gestion_academica.entity.ReservaSala;
-import KuHub.modules.gestion_academica.entity.Seccion;
 import KuHub.modules.gestion_academica.exceptions.GestionAcademicaException;
 import KuHub.modules.gestion_academica.repository.AsignaturaProfesorCargoRepository;
 import KuHub.modules.gestion_academica.repository.AsignaturaRepository;
 import KuHub.modules.gestionusuario.entity.Usuario;
 import KuHub.modules.gestionusuario.service.UsuarioService;
 import KuHub.utils.StringUtils;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 @Slf4j
 @Service
@@ -39,12 +38,20 @@ public class AsignaturaServiceImp implements AsignaturaService{
     @Autowired
     private AsignaturaProfesorCargoRepository asignaturaProfesorCargoRepository;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private CatalogoCursoService catalogoCursoService;
 
-    private final ObjectMapper objectMapper;
+    /**
+     * Lector del catálogo: enlaza el JSON directo a los DTOs, sin mapas intermedios
+     */
+    private final ObjectReader cursosReader;
 
     @Autowired
     public AsignaturaServiceImp(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+        this.cursosReader = objectMapper.readerForListOf(CourserAnswerDTGOD.class);
     }
 
     @Transactional(readOnly = true)
@@ -79,101 +86,28 @@ public class AsignaturaServiceImp implements AsignaturaService{
     public List<CourserAnswerDTGOD> findAllCourserActiveTrueWithSeccion() {
         log.info("Iniciando búsqueda de todas las asignaturas activas con sus secciones y horarios");
 
-        List<Object[]> rawResults = asignaturaRepository.findAllCourserActiveTrueRaw();
-        List<CourserAnswerDTGOD> coursers = new ArrayList<>();
-
-        for (Object[] row : rawResults) {
-            try {
-                CourserAnswerDTGOD courser = new CourserAnswerDTGOD();
-
-                // Mapeo de campos simples
-                courser.setIdAsignatura((Integer) row[0]);
-                courser.setCodAsignatura((String) row[1]);
-                courser.setNombreAsignatura((String) row[2]);
-                courser.setIdCompletoProfesor((Integer) row[3]);
-                courser.setNombreProfesor((String) row[4]);
-                courser.setDescripcionAsignatura((String) row[5]);
-
-                // Procesamiento del JSON de secciones
-                String seccionesJson = (String) row[6];
-
-                if (seccionesJson != null && !seccionesJson.equals("[]")) {
-                    // Convertir JSON a lista de mapas
-                    List<Map<String, Object>> seccionesMap = objectMapper.readValue(
-                            seccionesJson,
-                            new TypeReference<List<Map<String, Object>>>() {}
-                    );
-
-                    List<SectionAnswerUpdateDTO> secciones = new ArrayList<>();
-
-                    for (Map<String, Object> seccionMap : seccionesMap) {
-                        SectionAnswerUpdateDTO seccion = new SectionAnswerUpdateDTO();
-
-                        // Mapeo de campos de sección
-                        seccion.setIdSeccion((Integer) seccionMap.get("idSeccion"));
-                        seccion.setIdAsignatura((Integer) seccionMap.get("idAsignatura"));
-                        seccion.setNombreSeccion((String) seccionMap.get("nombreSeccion"));
-
-                        // Mapeo del enum EstadoSeccion
-                        String estadoStr = (String) seccionMap.get("estadoSeccion");
-                        if (estadoStr != null) {
-                            seccion.setEstadoSeccion(Seccion.EstadoSeccion.valueOf(estadoStr));
-                        }
-
-                        seccion.setIdDocente((Integer) seccionMap.get("idDocente"));
-                        seccion.setNombreCompletoDocente((String) seccionMap.get("nombreCompletoDocente"));
-                        seccion.setCapacidadMaxInscritos((Integer) seccionMap.get("capacidadMaxInscritos"));
-                        seccion.setCantInscritos((Integer) seccionMap.get("cantInscritos"));
-
-                        // Procesamiento de bloques horarios
-                        @SuppressWarnings("unchecked")
-                        List<Map<String, Object>> bloquesMap = (List<Map<String, Object>>) seccionMap.get("bloquesHorarios");
-
-                        List<BookTImeBlocksRequestDTO> bloques = new ArrayList<>();
-
-                        if (bloquesMap != null) {
-                            for (Map<String, Object> bloqueMap : bloquesMap) {
-                                BookTImeBlocksRequestDTO bloque = new BookTImeBlocksRequestDTO();
-
-                                bloque.setNumeroBloque((Integer) bloqueMap.get("numeroBloque"));
-                                bloque.setHoraInicio((String) bloqueMap.get("horaInicio"));
-                                bloque.setHoraFin((String) bloqueMap.get("horaFin"));
-
-                                // Mapeo del enum DiaSemana
-                                String diaStr = (String) bloqueMap.get("diaSemana");
-                                if (diaStr != null) {
-                                    bloque.setDiaSemana(ReservaSala.DiaSemana.valueOf(diaStr));
-                                }
-
-                                bloque.setIdSala((Integer) bloqueMap.get("idSala"));
-                                bloque.setCodSala((String) bloqueMap.get("codSala"));
-                                bloque.setNombreSala((String) bloqueMap.get("nombreSala"));
-
-                                bloques.add(bloque);
-                            }
-                        }
-
-                        seccion.setBloquesHorarios(bloques);
-                        secciones.add(seccion);
-                    }
-
-                    courser.setSecciones(secciones);
-                } else {
-                    courser.setSecciones(new ArrayList<>());
-                }
-
-                coursers.add(courser);
-
-            } catch (Exception e) {
-                log.error("Error al procesar asignatura: {}", e.getMessage(), e);
-                throw new RuntimeException("Error al procesar los datos de asignaturas", e);
-            }
+        List<CourserAnswerDTGOD> coursers;
+        try {
+            coursers = cursosReader.readValue(catalogoCursoService.findAllJson());
+        } catch (IOException e) {
+            log.error("Error al procesar asignaturas: {}", e.getMessage(), e);
+            throw new RuntimeException("Error al procesar los datos de asignaturas", e);
         }
 
         log.info("Se encontraron {} asignaturas activas", coursers.size());
         return coursers;
     }
 
+    /**
+     * Catálogo de asignaturas activas como texto JSON, leído de la tabla catalogo_curso
+     * No se deserializa ni se vuelve a serializar: el texto va directo al cuerpo de la respuesta.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public String findAllCourserActiveTrueJson() {
+        return catalogoCursoService.findAllJson();
+    }
+
     @Transactional
     @Override
     public Asignatura save (Asignatura asignatura){
@@ -190,7 +124,10 @@ public class AsignaturaServiceImp implements AsignaturaService{
         asignatura.setNombreAsignatura(parsearNombre);
         asignatura.setCodAsignatura(parsearCod);
         asignatura.setActivo(true);
-        return asignaturaRepository.save(asignatura);
+        Asignatura guardada = asignaturaRepository.save(asignatura);
+        catalogoCursoService.refrescarAsignatura(guardada.getIdAsignatura());
+        resourceVersionService.bump(VersionedResource.ASIGNATURAS);
+        return guardada;
     }
 
     /** Método para crear una asignatura con su profesor asignado */
@@ -242,6 +179,8 @@ public class AsignaturaServiceImp implements AsignaturaService{
         c.setNombreProfesor(usuarioService.formatearNombreCompleto(usuario));
         c.setCodAsignatura(StringUtils.normalizeSpaces(c.getCodAsignatura()));
         c.setNombreAsignatura(StringUtils.capitalizarPalabras(c.getNombreAsignatura()));
+        catalogoCursoService.refrescarAsignatura(asignatura.getIdAsignatura());
+        resourceVersionService.bump(VersionedResource.ASIGNATURAS);
         return c;
     }
 
@@ -305,6 +244,8 @@ public class AsignaturaServiceImp implements AsignaturaService{
         // pendiente co.getNombreCompletoProfesor(usuarioService.formatearNombreCompleto(profesor));
         co.setCodAsignatura(StringUtils.normalizeSpaces(co.getCodAsignatura()));
         co.setNombreAsignatura(StringUtils.capitalizarPalabras(co.getNombreAsignatura()));
+        catalogoCursoService.refrescarAsignatura(asignatura.getIdAsignatura());
+        resourceVersionService.bump(VersionedResource.ASIGNATURAS);
         return co;
     }
 
@@ -315,5 +256,7 @@ public class AsignaturaServiceImp implements AsignaturaService{
         Asignatura asignatura = findById(id);
         asignatura.setActivo(false);
         asignaturaRepository.save(asignatura);
+        catalogoCursoService.refrescarAsignatura(id);
+        resourceVersionService.bump(VersionedResource.ASIGNATURAS);
     }
 }
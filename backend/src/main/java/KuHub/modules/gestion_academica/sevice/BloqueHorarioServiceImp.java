@@ -1,15 +1,21 @@
 package KuHub.modules.gestion_academica.sevice;
 
+import KuHub.config.CacheConfig;
 import KuHub.modules.gestion_academica.dtos.dtomodel.FilterTimeBlockRequestDTO;
 import KuHub.modules.gestion_academica.entity.BloqueHorario;
 import KuHub.modules.gestion_academica.exceptions.GestionAcademicaException;
 import KuHub.modules.gestion_academica.repository.BloqueHorarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+/**
+ * Las lecturas cacheadas devuelven copias desligadas de la sesión (nunca la entidad
+ * administrada); para asociar un bloque a una reserva se usa una referencia del repositorio.
+ */
 @Service
 public class BloqueHorarioServiceImp implements BloqueHorarioService{
 
@@ -19,26 +25,29 @@ public class BloqueHorarioServiceImp implements BloqueHorarioService{
     @Autowired
     private ReservaSalaService reservaSalaService;
 
+    @Cacheable(cacheNames = CacheConfig.BLOQUES_HORARIO, key = "'id:' + #id")
     @Transactional(readOnly = true)
     @Override
     public BloqueHorario findById(Integer id) {
-        return bloqueHorarioRepository.findById(id).orElseThrow(
+        return copia(bloqueHorarioRepository.findById(id).orElseThrow(
                 ()-> new GestionAcademicaException("El bloque de horario con el id: " + id + " no existe")
-        );
+        ));
     }
 
+    @Cacheable(cacheNames = CacheConfig.BLOQUES_HORARIO, key = "'numero:' + #numberBlock")
     @Transactional(readOnly = true)
     @Override
     public BloqueHorario findByNumberBlock (Integer numberBlock){
-        return bloqueHorarioRepository.findByNumeroBloque(numberBlock).orElseThrow(
+        return copia(bloqueHorarioRepository.findByNumeroBloque(numberBlock).orElseThrow(
                 ()-> new GestionAcademicaException("El bloque de horario con el numero: " + numberBlock + " no existe")
-        );
+        ));
     }
 
+    @Cacheable(cacheNames = CacheConfig.BLOQUES_HORARIO, key = "'todos'")
     @Transactional(readOnly = true)
     @Override
     public List<BloqueHorario> findAll() {
-        return bloqueHorarioRepository.findAll();
+        return bloqueHorarioRepository.findAll().stream().map(BloqueHorarioServiceImp::copia).toList();
     }
 
     @Transactional
@@ -46,7 +55,7 @@ public class BloqueHorarioServiceImp implements BloqueHorarioService{
     public List<BloqueHorario> filterBlocksByNumbersBlocks(List<Integer> numbersBlocksFilter){
         if (numbersBlocksFilter == null || numbersBlocksFilter.isEmpty()) {
 
-            return bloqueHorarioRepository.findAll();
+            return List.copyOf(bloqueHorarioRepository.findAll());
         }
          return bloqueHorarioRepository.findByNumeroBloqueNotIn(numbersBlocksFilter);
     }
@@ -59,6 +68,10 @@ public class BloqueHorarioServiceImp implements BloqueHorarioService{
         return filterBlocksByNumbersBlocks(numbersBlocksFilter);
     }
 
+    private static BloqueHorario copia(BloqueHorario bloque) {
+        return new BloqueHorario(bloque.getIdBloque(), bloque.getNumeroBloque(), bloque.getHoraInicio(), bloque.getHoraFin());
+    }
+
 
 
 
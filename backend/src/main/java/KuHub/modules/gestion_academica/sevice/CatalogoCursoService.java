@@ -0,0 +1,13 @@
+package KuHub.modules.gestion_academica.sevice;
+
+public interface CatalogoCursoService {
+
+    /** Catálogo de asignaturas activas como arreglo JSON, leído de la tabla catalogo_curso */
+    String findAllJson();
+    /** Marca la asignatura para refrescar su documento al confirmar la transacción actual */
+    void refrescarAsignatura(Integer idAsignatura);
+    void refrescarPorSala(Integer idSala);
+    void refrescarPorUsuario(Integer idUsuario);
+    /** Vuelve a armar el catálogo completo */
+    void reconstruir();
+}
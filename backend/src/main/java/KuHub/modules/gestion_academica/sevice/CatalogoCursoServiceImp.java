@@ -0,0 +1,135 @@
+package KuHub.modules.gestion_academica.sevice;
+
+import KuHub.modules.gestion_academica.repository.CatalogoCursoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Mantiene la tabla catalogo_curso: un documento JSON por asignatura activa
+ *
+ * Las escrituras sobre asignaturas, secciones, reservas, docentes, salas o usuarios solo
+ * marcan las asignaturas afectadas; justo antes del commit se rearman esos documentos,
+ * una vez por asignatura aunque la transacción la haya tocado varias veces (crear una
+ * sección con diez bloques refresca una sola fila). Así el catálogo se confirma junto
+ * con los datos, y la lectura del endpoint es un recorrido de la tabla por su llave.
+ *
+ * Al iniciar se reconstruye completo para recoger cambios hechos fuera de la aplicación
+ * (se desactiva con kuhub.catalogo-cursos.reconstruir-al-iniciar=false).
+ */
+@Slf4j
+@Service
+public class CatalogoCursoServiceImp implements CatalogoCursoService {
+
+    private static final String PENDIENTES = CatalogoCursoServiceImp.class.getName() + ".pendientes";
+
+    @Autowired
+    private CatalogoCursoRepository catalogoCursoRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${kuhub.catalogo-cursos.reconstruir-al-iniciar:true}")
+    private boolean reconstruirAlIniciar;
+
+    @Transactional(readOnly = true)
+    @Override
+    public String findAllJson() {
+        return catalogoCursoRepository.findAllDocumentosJson();
+    }
+
+    @Override
+    public void refrescarAsignatura(Integer idAsignatura) {
+        if (idAsignatura != null) {
+            pendientes().add(idAsignatura);
+        }
+    }
+
+    @Override
+    public void refrescarPorSala(Integer idSala) {
+        marcar(catalogoCursoRepository.findIdsAsignaturaBySala(idSala));
+    }
+
+    @Override
+    public void refrescarPorUsuario(Integer idUsuario) {
+        marcar(catalogoCursoRepository.findIdsAsignaturaByUsuario(idUsuario));
+    }
+
+    @Transactional
+    @Override
+    public void reconstruir() {
+        int borrados = catalogoCursoRepository.deleteTodosSinDocumento();
+        int escritos = catalogoCursoRepository.upsertTodos();
+        log.info("Catálogo de asignaturas reconstruido: {} documentos, {} eliminados", escritos, borrados);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void reconstruirAlIniciar() {
+        if (reconstruirAlIniciar) {
+            reconstruir();
+        }
+    }
+
+    private void marcar(Collection<Integer> idsAsignatura) {
+        if (!idsAsignatura.isEmpty()) {
+            pendientes().addAll(idsAsignatura);
+        }
+    }
+
+    /**
+     * Asignaturas marcadas en la transacción actual; la primera marca registra el refresco
+     */
+    @SuppressWarnings("unchecked")
+    private Set<Integer> pendientes() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("El catálogo de asignaturas solo se refresca dentro de una transacción");
+        }
+        Set<Integer> pendientes = (Set<Integer>) TransactionSynchronizationManager.getResource(PENDIENTES);
+        if (pendientes == null) {
+            Set<Integer> nuevas = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(PENDIENTES, nuevas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    refrescar(nuevas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDIENTES);
+                }
+            });
+            pendientes = nuevas;
+        }
+        return pendientes;
+    }
+
+    /**
+     * Rearma los documentos dentro de la transacción que escribió los datos
+     *
+     * Antes se envían a la BD los cambios pendientes de la sesión (las sentencias nativas
+     * solo declaran catalogo_curso, así que Hibernate no lo haría solo) y se bloquean las
+     * asignaturas: si otra transacción refresca la misma, la segunda espera y, al
+     * continuar, su sentencia ya ve lo que confirmó la primera.
+     */
+    private void refrescar(Set<Integer> idsAsignatura) {
+        entityManager.flush();
+        catalogoCursoRepository.lockAsignaturas(idsAsignatura);
+        catalogoCursoRepository.deleteSinDocumento(idsAsignatura);
+        catalogoCursoRepository.upsertDocumentos(idsAsignatura);
+        log.debug("Catálogo de asignaturas refrescado para {}", idsAsignatura);
+    }
+}
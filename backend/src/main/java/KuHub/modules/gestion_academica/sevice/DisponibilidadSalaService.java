@@ -0,0 +1,12 @@
+package KuHub.modules.gestion_academica.sevice;
+
+import KuHub.modules.gestion_academica.dtos.dtomodel.AvailabilitySearchRequestDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.FreeSlotResponseDTO;
+
+import java.util.List;
+
+public interface DisponibilidadSalaService {
+
+    /** Todos los tramos de bloques consecutivos libres (sala, día, bloque inicial y final) que cumplen el filtro */
+    List<FreeSlotResponseDTO> searchAvailability(AvailabilitySearchRequestDTO filtro);
+}
@@ -0,0 +1,175 @@
+package KuHub.modules.gestion_academica.sevice;
+
+import KuHub.modules.gestion_academica.dtos.dtomodel.AvailabilitySearchRequestDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.FreeSlotResponseDTO;
+import KuHub.modules.gestion_academica.entity.BloqueHorario;
+import KuHub.modules.gestion_academica.entity.ReservaSala;
+import KuHub.modules.gestion_academica.entity.Sala;
+import KuHub.modules.gestion_academica.exceptions.GestionAcademicaException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Búsqueda de tramos libres en todas las salas a la vez, sin consultar la BD
+ *
+ * Por cada sala y día se toman las palabras de ocupación de OcupacionSalaIndex (bit n =
+ * bloque número n) y se calculan los libres como existentes & ~ocupados. Un tramo de k
+ * bloques empieza en n si los bits n..n+k-1 están libres: se obtiene haciendo AND de la
+ * máscara con ella misma desplazada, duplicando el largo cubierto en cada paso (log k
+ * pasos). Los bits que quedan encendidos son los bloques de inicio.
+ *
+ * Las salas se reparten entre hilos (parallelStream) cuando son muchas; las salas y los
+ * bloques horarios vienen de la caché de datos de referencia.
+ */
+@Service
+public class DisponibilidadSalaServiceImp implements DisponibilidadSalaService {
+
+    /** Con menos salas que esto el reparto entre hilos cuesta más de lo que ahorra */
+    private static final int SALAS_PARA_PARALELO = 64;
+
+    private static final ReservaSala.DiaSemana[] DIAS = ReservaSala.DiaSemana.values();
+
+    private static final DateTimeFormatter HORA = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    @Autowired
+    private SalaService salaService;
+
+    @Autowired
+    private BloqueHorarioService bloqueHorarioService;
+
+    @Autowired
+    private OcupacionSalaIndex ocupacionSalaIndex;
+
+    @Override
+    public List<FreeSlotResponseDTO> searchAvailability(AvailabilitySearchRequestDTO filtro) {
+        ReservaSala.DiaSemana desde = filtro.getDiaDesde();
+        ReservaSala.DiaSemana hasta = filtro.getDiaHasta() != null ? filtro.getDiaHasta() : desde;
+        if (desde == null || hasta.ordinal() < desde.ordinal()) {
+            throw new GestionAcademicaException("El rango de días no es válido: " + desde + " a " + hasta);
+        }
+        int consecutivos = filtro.getBloquesConsecutivos() != null ? filtro.getBloquesConsecutivos() : 0;
+        if (consecutivos < 1) {
+            throw new GestionAcademicaException("La cantidad de bloques consecutivos debe ser al menos 1");
+        }
+
+        Map<Integer, BloqueHorario> bloquesPorNumero = new HashMap<>();
+        int maxBloque = 0;
+        for (BloqueHorario bloque : bloqueHorarioService.findAll()) {
+            bloquesPorNumero.put(bloque.getNumeroBloque(), bloque);
+            maxBloque = Math.max(maxBloque, bloque.getNumeroBloque());
+        }
+        long[] existentes = new long[maxBloque / 64 + 1];
+        for (Integer numero : bloquesPorNumero.keySet()) {
+            existentes[numero >>> 6] |= 1L << numero;
+        }
+
+        if (!ocupacionSalaIndex.isCargado()) {
+            ocupacionSalaIndex.cargar();
+        }
+
+        List<Sala> salas = salasFiltradas(filtro);
+        Stream<Sala> stream = salas.size() >= SALAS_PARA_PARALELO ? salas.parallelStream() : salas.stream();
+        return stream
+                .flatMap(sala -> tramosLibres(sala, desde, hasta, consecutivos, existentes, bloquesPorNumero).stream())
+                .toList();
+    }
+
+    private List<Sala> salasFiltradas(AvailabilitySearchRequestDTO filtro) {
+        Set<Integer> ids = filtro.getIdsSala() == null || filtro.getIdsSala().isEmpty()
+                ? null
+                : new HashSet<>(filtro.getIdsSala());
+        String texto = filtro.getTextoSala() == null || filtro.getTextoSala().isBlank()
+                ? null
+                : filtro.getTextoSala().trim().toLowerCase(Locale.ROOT);
+
+        return salaService.findAllActiveRoomsTrue().stream()
+                .filter(sala -> ids == null || ids.contains(sala.getIdSala()))
+                .filter(sala -> texto == null || contiene(sala.getCodSala(), texto) || contiene(sala.getNombreSala(), texto))
+                .sorted(Comparator.comparing(Sala::getIdSala))
+                .toList();
+    }
+
+    private List<FreeSlotResponseDTO> tramosLibres(Sala sala, ReservaSala.DiaSemana desde, ReservaSala.DiaSemana hasta,
+                                                   int consecutivos, long[] existentes,
+                                                   Map<Integer, BloqueHorario> bloquesPorNumero) {
+        List<FreeSlotResponseDTO> tramos = new ArrayList<>();
+        for (int d = desde.ordinal(); d <= hasta.ordinal(); d++) {
+            ReservaSala.DiaSemana dia = DIAS[d];
+            long[] ocupados = ocupacionSalaIndex.palabras(sala.getIdSala(), dia);
+
+            long[] inicios = new long[existentes.length];
+            for (int i = 0; i < existentes.length; i++) {
+                inicios[i] = existentes[i] & ~(i < ocupados.length ? ocupados[i] : 0L);
+            }
+            iniciosDeTramos(inicios, consecutivos);
+
+            for (int i = 0; i < inicios.length; i++) {
+                long palabra = inicios[i];
+                while (palabra != 0) {
+                    int inicio = (i << 6) + Long.numberOfTrailingZeros(palabra);
+                    int fin = inicio + consecutivos - 1;
+                    tramos.add(new FreeSlotResponseDTO(
+                            sala.getIdSala(),
+                            sala.getCodSala(),
+                            sala.getNombreSala(),
+                            dia,
+                            inicio,
+                            fin,
+                            bloquesPorNumero.get(inicio).getHoraInicio().format(HORA),
+                            bloquesPorNumero.get(fin).getHoraFin().format(HORA)
+                    ));
+                    palabra &= palabra - 1;
+                }
+            }
+        }
+        return tramos;
+    }
+
+    /**
+     * Deja encendidos solo los bits n que inician k bits libres seguidos
+     * Invariante: tras cada paso, bit n = los bits n..n+cubiertos-1 estaban libres.
+     */
+    static void iniciosDeTramos(long[] libres, int k) {
+        int cubiertos = 1;
+        while (cubiertos < k) {
+            int paso = Math.min(cubiertos, k - cubiertos);
+            long[] desplazada = desplazarDerecha(libres, paso);
+            for (int i = 0; i < libres.length; i++) {
+                libres[i] &= desplazada[i];
+            }
+            cubiertos += paso;
+        }
+    }
+
+    /**
+     * libres >>> n sobre varias palabras (el bit n+j pasa a ser el bit j)
+     */
+    private static long[] desplazarDerecha(long[] palabras, int n) {
+        long[] resultado = new long[palabras.length];
+        int saltoPalabras = n >>> 6;
+        int saltoBits = n & 63;
+        for (int i = 0; i + saltoPalabras < palabras.length; i++) {
+            long baja = palabras[i + saltoPalabras] >>> saltoBits;
+            long alta = saltoBits == 0 || i + saltoPalabras + 1 >= palabras.length
+                    ? 0L
+                    : palabras[i + saltoPalabras + 1] << (64 - saltoBits);
+            resultado[i] = baja | alta;
+        }
+        return resultado;
+    }
+
+    private static boolean contiene(String valor, String texto) {
+        return valor != null && valor.toLowerCase(Locale.ROOT).contains(texto);
+    }
+}
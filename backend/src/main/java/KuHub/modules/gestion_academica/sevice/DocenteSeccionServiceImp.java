@@ -1,5 +1,7 @@
 package KuHub.modules.gestion_academica.sevice;
 
+import KuHub.config.version.ResourceVersionService;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.gestion_academica.dtos.dtoentity.DocenteSeccionEntityDTO;
 import KuHub.modules.gestion_academica.entity.DocenteSeccion;
 import KuHub.modules.gestion_academica.exceptions.GestionAcademicaException;
@@ -22,6 +24,15 @@ public class DocenteSeccionServiceImp implements DocenteSeccionService{
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private CatalogoCursoService catalogoCursoService;
+
+    @Autowired
+    private AgendaDocenteIndex agendaDocenteIndex;
+
     @Transactional(readOnly = true)
     @Override
     public DocenteSeccionEntityDTO findByIdDocenteSeccion (Integer idDocenteSeccion){
@@ -74,6 +85,10 @@ public class DocenteSeccionServiceImp implements DocenteSeccionService{
     @Transactional
     @Override
     public DocenteSeccion save(DocenteSeccion docenteSeccion){
+        catalogoCursoService.refrescarAsignatura(docenteSeccion.getSeccion().getAsignatura().getIdAsignatura());
+        agendaDocenteIndex.recargarDocenteAlConfirmar(docenteSeccion.getUsuario().getIdUsuario());
+        agendaDocenteIndex.recargarSeccionAlConfirmar(docenteSeccion.getSeccion().getIdSeccion());
+        resourceVersionService.bump(VersionedResource.ASIGNATURAS);
         return docenteSeccionRepository.save(docenteSeccion);
     }
 
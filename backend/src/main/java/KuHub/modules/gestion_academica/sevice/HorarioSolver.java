@@ -0,0 +1,382 @@
+package KuHub.modules.gestion_academica.sevice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recocido simulado para asignar a cada bloque semanal de cada sección un horario
+ * (día y bloque) y una sala
+ *
+ * Todo el estado es de arreglos de enteros: un evento por bloque pedido (seccionDe[e]) con
+ * su horario slot[e] = día * bloquesPorDia + bloque y su sala sala[e], más los contadores
+ * de ocupación por sala, docente y sección en cada horario. Un movimiento (cambiar de
+ * horario, cambiar de sala o intercambiar dos eventos) actualiza solo los contadores que
+ * toca, así el puntaje se recalcula en tiempo constante.
+ *
+ * Las reservas que no se planifican (otras secciones activas) entran como ocupación fija
+ * de salas y docentes: los contadores de cada cadena parten de ella, así poner un evento
+ * encima cuenta como choque igual que con otro evento del plan.
+ *
+ * Puntaje (menor es mejor):
+ * - choques: misma sala, mismo docente o misma sección dos veces en un horario, o sala o docente
+ *   sobre una reserva fija (PESO_CHOQUE c/u)
+ * - cambiosDeSala: salas distintas de una sección, menos una
+ * - bloquesAislados: bloques de una sección sin otro de la misma sección pegado ese día
+ *   (solo para secciones de más de un bloque)
+ *
+ * Cada hilo corre una cadena independiente con su propia semilla hasta agotar el
+ * presupuesto de tiempo (o hasta que alguna llegue a puntaje 0) y gana el mejor plan.
+ */
+final class HorarioSolver {
+
+    static final int PESO_CHOQUE = 1000;
+    static final int PESO_CAMBIO_SALA = 2;
+    static final int PESO_BLOQUE_AISLADO = 1;
+
+    private static final double TEMPERATURA_INICIAL = PESO_CHOQUE / 2.0;
+    private static final double TEMPERATURA_FINAL = 0.05;
+
+    /** Cada cuántas iteraciones se revisa el reloj y se enfría */
+    private static final int ITERACIONES_POR_PASO = 4096;
+
+    private final int bloquesPorDia;
+    private final int slots;
+    private final int salas;
+    private final int secciones;
+    private final int docentes;
+    private final int eventos;
+    private final int[] demanda;
+    private final int[] docenteDe;
+    private final int[] seccionDe;
+    private final int[] fijoSala;
+    private final int[] fijoDocente;
+
+    HorarioSolver(int dias, int bloquesPorDia, int salas, int[] demanda, int[] docenteDe, int docentes) {
+        this(dias, bloquesPorDia, salas, demanda, docenteDe, docentes,
+                new int[salas * dias * bloquesPorDia], new int[docentes * dias * bloquesPorDia]);
+    }
+
+    /**
+     * @param dias           días disponibles
+     * @param bloquesPorDia  bloques horarios por día (consecutivos en ese orden)
+     * @param salas          salas disponibles
+     * @param demanda        bloques por semana de cada sección
+     * @param docenteDe      docente de cada sección (0..docentes-1) o -1 si no tiene
+     * @param docentes       cantidad de docentes distintos
+     * @param fijoSala       reservas fijas por sala y horario (sala * slots + slot)
+     * @param fijoDocente    bloques fijos por docente y horario (docente * slots + slot)
+     */
+    HorarioSolver(int dias, int bloquesPorDia, int salas, int[] demanda, int[] docenteDe, int docentes,
+                  int[] fijoSala, int[] fijoDocente) {
+        this.bloquesPorDia = bloquesPorDia;
+        this.slots = dias * bloquesPorDia;
+        this.salas = salas;
+        this.secciones = demanda.length;
+        this.docentes = docentes;
+        this.demanda = demanda;
+        this.docenteDe = docenteDe;
+        if (fijoSala.length != salas * slots || fijoDocente.length != docentes * slots) {
+            throw new IllegalArgumentException("La ocupación fija no coincide con salas/docentes × horarios");
+        }
+        this.fijoSala = fijoSala;
+        this.fijoDocente = fijoDocente;
+
+        int total = 0;
+        for (int d : demanda) {
+            total += d;
+        }
+        this.eventos = total;
+        this.seccionDe = new int[total];
+        for (int s = 0, e = 0; s < secciones; s++) {
+            for (int k = 0; k < demanda[s]; k++) {
+                seccionDe[e++] = s;
+            }
+        }
+    }
+
+    int eventos() {
+        return eventos;
+    }
+
+    int[] seccionDe() {
+        return seccionDe;
+    }
+
+    /**
+     * Mejor plan encontrado por las cadenas en paralelo dentro del presupuesto
+     */
+    Plan resolver(ExecutorService executor, int hilos, long presupuestoNanos, long semilla) {
+        long fin = System.nanoTime() + presupuestoNanos;
+        AtomicBoolean parar = new AtomicBoolean();
+        List<Future<Plan>> cadenas = new ArrayList<>(hilos);
+        SplittableRandom semillas = new SplittableRandom(semilla);
+        for (int i = 0; i < hilos; i++) {
+            Cadena cadena = new Cadena(semillas.split());
+            cadenas.add(executor.submit(() -> cadena.correr(fin, presupuestoNanos, parar)));
+        }
+
+        Plan mejor = null;
+        long iteraciones = 0;
+        try {
+            for (Future<Plan> futuro : cadenas) {
+                Plan plan = futuro.get();
+                iteraciones += plan.iteraciones();
+                if (mejor == null || plan.puntaje() < mejor.puntaje()) {
+                    mejor = plan;
+                }
+            }
+        } catch (InterruptedException e) {
+            parar.set(true);
+            cadenas.forEach(futuro -> futuro.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cálculo de horario interrumpido", e);
+        } catch (ExecutionException e) {
+            parar.set(true);
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("Error en el cálculo de horario", e.getCause());
+        }
+        return mejor.conIteraciones(iteraciones);
+    }
+
+    /**
+     * Plan: horario y sala de cada evento, con el desglose del puntaje
+     */
+    record Plan(int[] slot, int[] sala, int choquesSala, int choquesDocente, int choquesSeccion,
+                int cambiosDeSala, int bloquesAislados, long iteraciones) {
+
+        int choques() {
+            return choquesSala + choquesDocente + choquesSeccion;
+        }
+
+        int puntaje() {
+            return PESO_CHOQUE * choques()
+                    + PESO_CAMBIO_SALA * cambiosDeSala
+                    + PESO_BLOQUE_AISLADO * bloquesAislados;
+        }
+
+        Plan conIteraciones(long total) {
+            return new Plan(slot, sala, choquesSala, choquesDocente, choquesSeccion,
+                    cambiosDeSala, bloquesAislados, total);
+        }
+    }
+
+    /**
+     * Una cadena de recocido: su propio estado, sin nada compartido salvo la bandera de parada
+     */
+    private final class Cadena {
+
+        private final SplittableRandom rnd;
+        private final int[] slot = new int[eventos];
+        private final int[] sala = new int[eventos];
+        private final int[] ocupacionSala = fijoSala.clone();
+        private final int[] ocupacionDocente = fijoDocente.clone();
+        private final int[] ocupacionSeccion = new int[secciones * slots];
+        private final int[] usoSala = new int[secciones * salas];
+        private final int[] salasDistintas = new int[secciones];
+
+        private int choquesSala;
+        private int choquesDocente;
+        private int choquesSeccion;
+        private int cambiosDeSala;
+        private int bloquesAislados;
+
+        private Cadena(SplittableRandom rnd) {
+            this.rnd = rnd;
+        }
+
+        Plan correr(long fin, long presupuestoNanos, AtomicBoolean parar) {
+            inicial();
+            int puntaje = puntaje();
+            Plan mejor = foto();
+            int mejorPuntaje = puntaje;
+
+            long iteraciones = 0;
+            double temperatura = TEMPERATURA_INICIAL;
+            while (mejorPuntaje > 0 && !parar.get()) {
+                for (int i = 0; i < ITERACIONES_POR_PASO; i++) {
+                    int delta = moverAlAzar(temperatura);
+                    if (delta != 0) {
+                        puntaje += delta;
+                        if (puntaje < mejorPuntaje) {
+                            mejorPuntaje = puntaje;
+                            mejor = foto();
+                        }
+                    }
+                }
+                iteraciones += ITERACIONES_POR_PASO;
+
+                long restante = fin - System.nanoTime();
+                if (restante <= 0) {
+                    break;
+                }
+                double avance = 1.0 - (double) restante / presupuestoNanos;
+                temperatura = TEMPERATURA_INICIAL * Math.pow(TEMPERATURA_FINAL / TEMPERATURA_INICIAL, avance);
+            }
+            if (mejorPuntaje == 0) {
+                parar.set(true);
+            }
+            return mejor.conIteraciones(iteraciones);
+        }
+
+        /**
+         * Cada sección parte en una sala al azar y sus bloques en horarios al azar
+         */
+        private void inicial() {
+            int salaSeccion = -1;
+            for (int e = 0; e < eventos; e++) {
+                if (e == 0 || seccionDe[e] != seccionDe[e - 1]) {
+                    salaSeccion = rnd.nextInt(salas);
+                }
+                poner(e, rnd.nextInt(slots), salaSeccion);
+            }
+        }
+
+        /**
+         * Aplica un movimiento al azar y lo deshace si no se acepta (Metropolis)
+         *
+         * @return cambio del puntaje (0 si se deshizo)
+         */
+        private int moverAlAzar(double temperatura) {
+            int e = rnd.nextInt(eventos);
+            int slotAnterior = slot[e];
+            int salaAnterior = sala[e];
+            int antes = puntaje();
+            int tipo = rnd.nextInt(10);
+
+            if (tipo < 8) {
+                int nuevoSlot = tipo < 5 ? rnd.nextInt(slots) : slotAnterior;
+                int nuevaSala = tipo < 5 ? salaAnterior : rnd.nextInt(salas);
+                if (nuevoSlot == slotAnterior && nuevaSala == salaAnterior) {
+                    return 0;
+                }
+                quitar(e);
+                poner(e, nuevoSlot, nuevaSala);
+                int delta = puntaje() - antes;
+                if (acepta(delta, temperatura)) {
+                    return delta;
+                }
+                quitar(e);
+                poner(e, slotAnterior, salaAnterior);
+                return 0;
+            }
+
+            int otro = rnd.nextInt(eventos);
+            int slotOtro = slot[otro];
+            int salaOtro = sala[otro];
+            if (otro == e || (slotOtro == slotAnterior && salaOtro == salaAnterior)) {
+                return 0;
+            }
+            quitar(e);
+            quitar(otro);
+            poner(e, slotOtro, salaOtro);
+            poner(otro, slotAnterior, salaAnterior);
+            int delta = puntaje() - antes;
+            if (acepta(delta, temperatura)) {
+                return delta;
+            }
+            quitar(e);
+            quitar(otro);
+            poner(e, slotAnterior, salaAnterior);
+            poner(otro, slotOtro, salaOtro);
+            return 0;
+        }
+
+        private boolean acepta(int delta, double temperatura) {
+            return delta <= 0 || rnd.nextDouble() < Math.exp(-delta / temperatura);
+        }
+
+        private void quitar(int e) {
+            int s = seccionDe[e];
+            int t = slot[e];
+            int r = sala[e];
+
+            bloquesAislados -= aisladosAlrededor(s, t);
+            if (--ocupacionSeccion[s * slots + t] >= 1) {
+                choquesSeccion--;
+            }
+            bloquesAislados += aisladosAlrededor(s, t);
+
+            if (--ocupacionSala[r * slots + t] >= 1) {
+                choquesSala--;
+            }
+            int d = docenteDe[s];
+            if (d >= 0 && --ocupacionDocente[d * slots + t] >= 1) {
+                choquesDocente--;
+            }
+            if (--usoSala[s * salas + r] == 0) {
+                cambiarSalasDistintas(s, -1);
+            }
+        }
+
+        private void poner(int e, int t, int r) {
+            int s = seccionDe[e];
+            slot[e] = t;
+            sala[e] = r;
+
+            bloquesAislados -= aisladosAlrededor(s, t);
+            if (ocupacionSeccion[s * slots + t]++ >= 1) {
+                choquesSeccion++;
+            }
+            bloquesAislados += aisladosAlrededor(s, t);
+
+            if (ocupacionSala[r * slots + t]++ >= 1) {
+                choquesSala++;
+            }
+            int d = docenteDe[s];
+            if (d >= 0 && ocupacionDocente[d * slots + t]++ >= 1) {
+                choquesDocente++;
+            }
+            if (usoSala[s * salas + r]++ == 0) {
+                cambiarSalasDistintas(s, 1);
+            }
+        }
+
+        private void cambiarSalasDistintas(int s, int cambio) {
+            cambiosDeSala -= Math.max(0, salasDistintas[s] - 1);
+            salasDistintas[s] += cambio;
+            cambiosDeSala += Math.max(0, salasDistintas[s] - 1);
+        }
+
+        /**
+         * Bloques aislados de la sección en t y sus vecinos del mismo día (los únicos que
+         * cambian cuando cambia la ocupación en t)
+         */
+        private int aisladosAlrededor(int s, int t) {
+            if (demanda[s] < 2) {
+                return 0;
+            }
+            int base = s * slots;
+            int inicioDia = t - t % bloquesPorDia;
+            int desde = Math.max(inicioDia, t - 1);
+            int hasta = Math.min(inicioDia + bloquesPorDia - 1, t + 1);
+            int aislados = 0;
+            for (int p = desde; p <= hasta; p++) {
+                int cantidad = ocupacionSeccion[base + p];
+                if (cantidad > 0
+                        && (p == inicioDia || ocupacionSeccion[base + p - 1] == 0)
+                        && (p == inicioDia + bloquesPorDia - 1 || ocupacionSeccion[base + p + 1] == 0)) {
+                    aislados += cantidad;
+                }
+            }
+            return aislados;
+        }
+
+        private int puntaje() {
+            return PESO_CHOQUE * (choquesSala + choquesDocente + choquesSeccion)
+                    + PESO_CAMBIO_SALA * cambiosDeSala
+                    + PESO_BLOQUE_AISLADO * bloquesAislados;
+        }
+
+        private Plan foto() {
+            return new Plan(slot.clone(), sala.clone(), choquesSala, choquesDocente, choquesSeccion,
+                    cambiosDeSala, bloquesAislados, 0);
+        }
+    }
+}
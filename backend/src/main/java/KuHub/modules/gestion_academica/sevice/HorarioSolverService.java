@@ -0,0 +1,10 @@
+package KuHub.modules.gestion_academica.sevice;
+
+import KuHub.modules.gestion_academica.dtos.dtomodel.TimetablePlanResponseDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.TimetableSolveRequestDTO;
+
+public interface HorarioSolverService {
+
+    /** Plan de reservas (sección, sala, día y bloque) sin choques, calculado dentro del presupuesto de tiempo; no guarda nada */
+    TimetablePlanResponseDTO solve(TimetableSolveRequestDTO solicitud);
+}
@@ -0,0 +1,331 @@
+package KuHub.modules.gestion_academica.sevice;
+
+import KuHub.modules.gestion_academica.dtos.dtomodel.PlannedBlockResponseDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.TimetablePlanResponseDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.TimetableSolveRequestDTO;
+import KuHub.modules.gestion_academica.dtos.projection.SectionPlanningProjection;
+import KuHub.modules.gestion_academica.entity.BloqueHorario;
+import KuHub.modules.gestion_academica.entity.ReservaSala;
+import KuHub.modules.gestion_academica.entity.Sala;
+import KuHub.modules.gestion_academica.dtos.projection.RoomBlockProjection;
+import KuHub.modules.gestion_academica.exceptions.GestionAcademicaException;
+import KuHub.modules.gestion_academica.repository.ReservaSalaRepository;
+import KuHub.modules.gestion_academica.repository.SeccionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cálculo automático del horario del semestre con HorarioSolver
+ *
+ * Lee en una consulta las secciones activas con su docente y sus bloques actuales, toma las
+ * salas y los bloques horarios de la caché de datos de referencia y arma las entradas del
+ * solver como arreglos de enteros. El cálculo corre fuera de toda transacción (no retiene
+ * conexiones) en un pool propio de kuhub.horario.solver.hilos hilos (0 = un hilo por
+ * núcleo), y se atiende un cálculo a la vez: ocupa todos los núcleos durante el presupuesto.
+ *
+ * Cuando idsSeccion o idsSala acotan el cálculo, las reservas de las demás secciones siguen
+ * en pie: la ocupación de salas (OcupacionSalaIndex) y la agenda de los docentes
+ * (AgendaDocenteIndex), sin las reservas de las secciones que se planifican, entran al solver
+ * como ocupación fija. Si un índice aún no está cargado se lee de la BD.
+ *
+ * El plan no se guarda: se devuelve para revisarlo y crear las reservas con los endpoints
+ * de secciones, que vuelven a validar salas y docentes.
+ */
+@Slf4j
+@Service
+public class HorarioSolverServiceImp implements HorarioSolverService {
+
+    private static final ReservaSala.DiaSemana[] DIAS = ReservaSala.DiaSemana.values();
+
+    private static final DateTimeFormatter HORA = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    @Autowired
+    private SeccionRepository seccionRepository;
+
+    @Autowired
+    private ReservaSalaRepository reservaSalaRepository;
+
+    @Autowired
+    private SalaService salaService;
+
+    @Autowired
+    private BloqueHorarioService bloqueHorarioService;
+
+    @Autowired
+    private OcupacionSalaIndex ocupacionSalaIndex;
+
+    @Autowired
+    private AgendaDocenteIndex agendaDocenteIndex;
+
+    private final ExecutorService executor;
+
+    private final int hilos;
+
+    private final long presupuestoMs;
+
+    private final long presupuestoMaxMs;
+
+    private final ReentrantLock enCurso = new ReentrantLock();
+
+    public HorarioSolverServiceImp(
+            @Value("${kuhub.horario.solver.hilos:0}") int hilos,
+            @Value("${kuhub.horario.solver.presupuesto-ms:5000}") long presupuestoMs,
+            @Value("${kuhub.horario.solver.presupuesto-max-ms:60000}") long presupuestoMaxMs) {
+        this.hilos = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        this.presupuestoMs = presupuestoMs;
+        this.presupuestoMaxMs = presupuestoMaxMs;
+        this.executor = Executors.newFixedThreadPool(this.hilos, threadFactory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public TimetablePlanResponseDTO solve(TimetableSolveRequestDTO solicitud) {
+        ReservaSala.DiaSemana desde = solicitud.getDiaDesde() != null ? solicitud.getDiaDesde() : ReservaSala.DiaSemana.LUNES;
+        ReservaSala.DiaSemana hasta = solicitud.getDiaHasta() != null ? solicitud.getDiaHasta() : ReservaSala.DiaSemana.VIERNES;
+        if (hasta.ordinal() < desde.ordinal()) {
+            throw new GestionAcademicaException("El rango de días no es válido: " + desde + " a " + hasta);
+        }
+        int dias = hasta.ordinal() - desde.ordinal() + 1;
+
+        List<BloqueHorario> bloques = bloqueHorarioService.findAll().stream()
+                .sorted(Comparator.comparing(BloqueHorario::getNumeroBloque))
+                .toList();
+        if (bloques.isEmpty()) {
+            throw new GestionAcademicaException("No hay bloques horarios registrados");
+        }
+
+        Set<Integer> idsSala = solicitud.getIdsSala() == null || solicitud.getIdsSala().isEmpty()
+                ? null
+                : new HashSet<>(solicitud.getIdsSala());
+        List<Sala> salas = salaService.findAllActiveRoomsTrue().stream()
+                .filter(sala -> idsSala == null || idsSala.contains(sala.getIdSala()))
+                .sorted(Comparator.comparing(Sala::getIdSala))
+                .toList();
+        if (salas.isEmpty()) {
+            throw new GestionAcademicaException("No hay salas activas para planificar");
+        }
+
+        List<SectionPlanningProjection> secciones = seccionesAPlanificar(solicitud);
+        int slots = dias * bloques.size();
+        int[] demanda = new int[secciones.size()];
+        int[] docenteDe = new int[secciones.size()];
+        Map<Integer, Integer> indiceDocente = new HashMap<>();
+        for (int s = 0; s < secciones.size(); s++) {
+            SectionPlanningProjection seccion = secciones.get(s);
+            demanda[s] = demanda(seccion, solicitud);
+            if (demanda[s] > slots) {
+                throw new GestionAcademicaException("La sección " + seccion.getNombreSeccion() + " pide " + demanda[s]
+                        + " bloques y la semana solo tiene " + slots);
+            }
+            docenteDe[s] = seccion.getIdDocente() == null
+                    ? -1
+                    : indiceDocente.computeIfAbsent(seccion.getIdDocente(), id -> indiceDocente.size());
+        }
+
+        Set<Integer> idsPlanificadas = new HashSet<>();
+        secciones.forEach(seccion -> idsPlanificadas.add(seccion.getIdSeccion()));
+        Map<Integer, Integer> posicionBloque = new HashMap<>();
+        for (int b = 0; b < bloques.size(); b++) {
+            posicionBloque.put(bloques.get(b).getNumeroBloque(), b);
+        }
+        int[] fijoSala = ocupacionFijaSalas(salas, idsPlanificadas, desde, dias, posicionBloque);
+        int[] fijoDocente = ocupacionFijaDocentes(indiceDocente, idsPlanificadas, desde, dias, posicionBloque);
+
+        HorarioSolver solver = new HorarioSolver(dias, bloques.size(), salas.size(), demanda, docenteDe, indiceDocente.size(),
+                fijoSala, fijoDocente);
+        long presupuesto = Math.min(solicitud.getPresupuestoMs() != null ? solicitud.getPresupuestoMs() : presupuestoMs, presupuestoMaxMs);
+        long semilla = solicitud.getSemilla() != null ? solicitud.getSemilla() : System.nanoTime();
+
+        if (!enCurso.tryLock()) {
+            throw new GestionAcademicaException("Ya hay un cálculo de horario en curso, intente nuevamente en unos segundos");
+        }
+        long inicio = System.nanoTime();
+        HorarioSolver.Plan plan;
+        try {
+            plan = solver.resolver(executor, hilos, presupuesto * 1_000_000L, semilla);
+        } finally {
+            enCurso.unlock();
+        }
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000L;
+        log.info("Horario calculado: {} secciones, {} bloques, puntaje {} ({} choques), {} iteraciones en {} ms",
+                secciones.size(), solver.eventos(), plan.puntaje(), plan.choques(), plan.iteraciones(), duracionMs);
+
+        List<PlannedBlockResponseDTO> reservas = new ArrayList<>(solver.eventos());
+        int[] seccionDe = solver.seccionDe();
+        for (int e = 0; e < seccionDe.length; e++) {
+            SectionPlanningProjection seccion = secciones.get(seccionDe[e]);
+            Sala sala = salas.get(plan.sala()[e]);
+            BloqueHorario bloque = bloques.get(plan.slot()[e] % bloques.size());
+            reservas.add(new PlannedBlockResponseDTO(
+                    seccion.getIdSeccion(),
+                    seccion.getNombreSeccion(),
+                    seccion.getIdDocente(),
+                    sala.getIdSala(),
+                    sala.getCodSala(),
+                    sala.getNombreSala(),
+                    DIAS[desde.ordinal() + plan.slot()[e] / bloques.size()],
+                    bloque.getNumeroBloque(),
+                    bloque.getHoraInicio().format(HORA),
+                    bloque.getHoraFin().format(HORA)
+            ));
+        }
+
+        return new TimetablePlanResponseDTO(
+                plan.choques() == 0,
+                plan.puntaje(),
+                plan.choquesSala(),
+                plan.choquesDocente(),
+                plan.choquesSeccion(),
+                plan.cambiosDeSala(),
+                plan.bloquesAislados(),
+                secciones.size(),
+                solver.eventos(),
+                hilos,
+                plan.iteraciones(),
+                duracionMs,
+                reservas
+        );
+    }
+
+    /**
+     * Secciones activas pedidas que tienen al menos un bloque por asignar
+     */
+    private List<SectionPlanningProjection> seccionesAPlanificar(TimetableSolveRequestDTO solicitud) {
+        Set<Integer> idsSeccion = solicitud.getIdsSeccion() == null || solicitud.getIdsSeccion().isEmpty()
+                ? null
+                : new HashSet<>(solicitud.getIdsSeccion());
+        List<SectionPlanningProjection> secciones = seccionRepository.findAllActiveForPlanning().stream()
+                .filter(seccion -> idsSeccion == null || idsSeccion.contains(seccion.getIdSeccion()))
+                .filter(seccion -> demanda(seccion, solicitud) > 0)
+                .toList();
+        if (secciones.isEmpty()) {
+            throw new GestionAcademicaException("No hay secciones activas con bloques por asignar");
+        }
+        return secciones;
+    }
+
+    /**
+     * Reservas por sala y horario que el plan debe respetar: la ocupación de las salas sin
+     * las reservas de las secciones que se planifican (esas se reemplazan con el plan)
+     */
+    private int[] ocupacionFijaSalas(List<Sala> salas, Set<Integer> idsPlanificadas, ReservaSala.DiaSemana desde,
+                                     int dias, Map<Integer, Integer> posicionBloque) {
+        int slots = dias * posicionBloque.size();
+        int[] fijo = new int[salas.size() * slots];
+        Map<Integer, Integer> indiceSala = new HashMap<>();
+        for (int r = 0; r < salas.size(); r++) {
+            indiceSala.put(salas.get(r).getIdSala(), r);
+        }
+
+        if (ocupacionSalaIndex.isCargado()) {
+            for (int r = 0; r < salas.size(); r++) {
+                for (int d = 0; d < dias; d++) {
+                    ReservaSala.DiaSemana dia = DIAS[desde.ordinal() + d];
+                    for (Map.Entry<Integer, Integer> bloque : posicionBloque.entrySet()) {
+                        if (ocupacionSalaIndex.ocupado(salas.get(r).getIdSala(), dia, bloque.getKey())) {
+                            fijo[r * slots + d * posicionBloque.size() + bloque.getValue()]++;
+                        }
+                    }
+                }
+            }
+        } else {
+            for (RoomBlockProjection reserva : reservaSalaRepository.findOccupiedBlocksByIdSalaIn(indiceSala.keySet())) {
+                int indice = indiceFijo(indiceSala.get(reserva.getIdSala()), reserva.getDiaSemana(),
+                        reserva.getNumeroBloque(), desde, dias, posicionBloque);
+                if (indice >= 0) {
+                    fijo[indice]++;
+                }
+            }
+        }
+
+        for (RoomBlockProjection reserva : reservaSalaRepository.findOccupiedBlocksByIdSeccionIn(idsPlanificadas)) {
+            int indice = indiceFijo(indiceSala.get(reserva.getIdSala()), reserva.getDiaSemana(),
+                    reserva.getNumeroBloque(), desde, dias, posicionBloque);
+            if (indice >= 0 && fijo[indice] > 0) {
+                fijo[indice]--;
+            }
+        }
+        return fijo;
+    }
+
+    /**
+     * Bloques por docente y horario que el plan debe respetar: los que el docente dicta en
+     * secciones que no se planifican
+     */
+    private int[] ocupacionFijaDocentes(Map<Integer, Integer> indiceDocente, Set<Integer> idsPlanificadas,
+                                        ReservaSala.DiaSemana desde, int dias, Map<Integer, Integer> posicionBloque) {
+        int[] fijo = new int[indiceDocente.size() * dias * posicionBloque.size()];
+        indiceDocente.forEach((idUsuario, d) -> {
+            List<AgendaDocenteIndex.BloqueDocente> agenda = agendaDocenteIndex.isCargado()
+                    ? agendaDocenteIndex.bloques(idUsuario)
+                    : agendaDocenteIndex.leerBloques(idUsuario);
+            for (AgendaDocenteIndex.BloqueDocente bloque : agenda) {
+                if (idsPlanificadas.contains(bloque.idSeccion())) {
+                    continue;
+                }
+                int indice = indiceFijo(d, bloque.dia().name(), bloque.numeroBloque(), desde, dias, posicionBloque);
+                if (indice >= 0) {
+                    fijo[indice]++;
+                }
+            }
+        });
+        return fijo;
+    }
+
+    /**
+     * Posición (fila * slots + slot) de una reserva en los contadores fijos, o -1 si la fila,
+     * el día o el bloque quedan fuera del cálculo
+     */
+    private static int indiceFijo(Integer fila, String diaSemana, Integer numeroBloque, ReservaSala.DiaSemana desde,
+                                  int dias, Map<Integer, Integer> posicionBloque) {
+        Integer bloque = posicionBloque.get(numeroBloque);
+        int dia = ReservaSala.DiaSemana.valueOf(diaSemana).ordinal() - desde.ordinal();
+        if (fila == null || bloque == null || dia < 0 || dia >= dias) {
+            return -1;
+        }
+        return fila * dias * posicionBloque.size() + dia * posicionBloque.size() + bloque;
+    }
+
+    private static int demanda(SectionPlanningProjection seccion, TimetableSolveRequestDTO solicitud) {
+        if (solicitud.getBloquesPorSeccion() != null) {
+            Integer puntual = solicitud.getBloquesPorSeccion().get(seccion.getIdSeccion());
+            if (puntual != null) {
+                return Math.max(0, puntual);
+            }
+        }
+        if (solicitud.getBloquesPorSemana() != null) {
+            return solicitud.getBloquesPorSemana();
+        }
+        return seccion.getBloquesActuales() != null ? seccion.getBloquesActuales().intValue() : 0;
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "horario-solver-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,175 @@
+package KuHub.modules.gestion_academica.sevice;
+
+import KuHub.modules.gestion_academica.dtos.projection.RoomBlockProjection;
+import KuHub.modules.gestion_academica.entity.ReservaSala;
+import KuHub.modules.gestion_academica.repository.ReservaSalaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ocupación de las salas activas en memoria: un BitSet por sala y día de la semana,
+ * con un bit encendido por cada número de bloque reservado
+ *
+ * Sirve para buscar salas libres sin ir a la BD (DisponibilidadSalaService). Al reservar
+ * es solo una pista: ReservaSalaService.findBlocksAlreadyReserved siempre confirma con la BD.
+ * Se carga al iniciar, se actualiza al confirmarse las reservas de este nodo y se vuelve a
+ * leer completo cada kuhub.ocupacion-salas.resync-ms para incorporar las de otros nodos.
+ */
+@Slf4j
+@Component
+public class OcupacionSalaIndex {
+
+    private static final ReservaSala.DiaSemana[] DIAS = ReservaSala.DiaSemana.values();
+
+    @Autowired
+    private ReservaSalaRepository reservaSalaRepository;
+
+    private volatile Map<Integer, BitSet[]> salas = new ConcurrentHashMap<>();
+
+    private volatile boolean cargado;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        Map<Integer, BitSet[]> nuevas = new ConcurrentHashMap<>();
+        for (RoomBlockProjection bloque : reservaSalaRepository.findAllOccupiedBlocks()) {
+            encender(nuevas, bloque);
+        }
+        salas = nuevas;
+        cargado = true;
+        log.info("Ocupación de salas cargada: {} salas con reservas", nuevas.size());
+    }
+
+    @Scheduled(fixedDelayString = "${kuhub.ocupacion-salas.resync-ms:60000}",
+            initialDelayString = "${kuhub.ocupacion-salas.resync-ms:60000}")
+    public void resincronizar() {
+        if (cargado) {
+            cargar();
+        }
+    }
+
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    public boolean ocupado(Integer idSala, ReservaSala.DiaSemana dia, Integer numeroBloque) {
+        BitSet[] dias = salas.get(idSala);
+        if (dias == null) {
+            return false;
+        }
+        synchronized (dias) {
+            BitSet bloques = dias[dia.ordinal()];
+            return bloques != null && bloques.get(numeroBloque);
+        }
+    }
+
+    /**
+     * Copia de la ocupación de la sala ese día en palabras de 64 bits (bit n = bloque número n)
+     */
+    public long[] palabras(Integer idSala, ReservaSala.DiaSemana dia) {
+        BitSet[] dias = salas.get(idSala);
+        if (dias == null) {
+            return new long[0];
+        }
+        synchronized (dias) {
+            BitSet bloques = dias[dia.ordinal()];
+            return bloques == null ? new long[0] : bloques.toLongArray();
+        }
+    }
+
+    /**
+     * Registra un bloque reservado; se aplica al confirmarse la transacción actual
+     */
+    public void marcarAlConfirmar(Integer idSala, ReservaSala.DiaSemana dia, Integer numeroBloque) {
+        alConfirmar(() -> marcar(idSala, dia, numeroBloque));
+    }
+
+    /**
+     * Relee de la BD la ocupación de la sala (reserva eliminada, sala desactivada o
+     * reactivada). La lectura se hace justo antes del commit, dentro de la transacción, y
+     * el resultado se aplica al confirmarse.
+     */
+    public void recargarAlConfirmar(Integer idSala) {
+        List<Integer> idsSala = List.of(idSala);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aplicar(idsSala, leer(idsSala));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private Map<Integer, BitSet[]> leidas;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                leidas = leer(idsSala);
+            }
+
+            @Override
+            public void afterCommit() {
+                aplicar(idsSala, leidas);
+            }
+        });
+    }
+
+    void marcar(Integer idSala, ReservaSala.DiaSemana dia, Integer numeroBloque) {
+        BitSet[] dias = salas.computeIfAbsent(idSala, id -> new BitSet[DIAS.length]);
+        synchronized (dias) {
+            if (dias[dia.ordinal()] == null) {
+                dias[dia.ordinal()] = new BitSet();
+            }
+            dias[dia.ordinal()].set(numeroBloque);
+        }
+    }
+
+    private Map<Integer, BitSet[]> leer(Collection<Integer> idsSala) {
+        Map<Integer, BitSet[]> leidas = new HashMap<>();
+        for (RoomBlockProjection bloque : reservaSalaRepository.findOccupiedBlocksByIdSalaIn(idsSala)) {
+            encender(leidas, bloque);
+        }
+        return leidas;
+    }
+
+    private void aplicar(Collection<Integer> idsSala, Map<Integer, BitSet[]> leidas) {
+        for (Integer idSala : idsSala) {
+            BitSet[] dias = leidas.get(idSala);
+            if (dias == null) {
+                salas.remove(idSala);
+            } else {
+                salas.put(idSala, dias);
+            }
+        }
+    }
+
+    private static void encender(Map<Integer, BitSet[]> destino, RoomBlockProjection bloque) {
+        BitSet[] dias = destino.computeIfAbsent(bloque.getIdSala(), id -> new BitSet[DIAS.length]);
+        int dia = ReservaSala.DiaSemana.valueOf(bloque.getDiaSemana()).ordinal();
+        if (dias[dia] == null) {
+            dias[dia] = new BitSet();
+        }
+        dias[dia].set(bloque.getNumeroBloque());
+    }
+
+    private static void alConfirmar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package KuHub.modules.gestion_academica.sevice;
 
 import KuHub.modules.gestion_academica.dtos.dtoentity.ReservaSalaEntityResponseDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.BookTImeBlocksRequestDTO;
 import KuHub.modules.gestion_academica.entity.ReservaSala;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ReservaSalaService {
@@ -13,5 +15,9 @@ public interface ReservaSalaService {
     ReservaSalaEntityResponseDTO save(ReservaSala reservaSala);
     List<Integer> findReservedBlocksByIdSalaAndDayWeek(Integer idSala, String diaSemana);
     Boolean validatedThatTheBlockIsNotReserved(Integer idSala, String diaSemana, Integer numeroBloque);
+    /** Bloques pedidos que ya están reservados (o repetidos en la misma lista), validados en una sola pasada */
+    List<BookTImeBlocksRequestDTO> findBlocksAlreadyReserved(List<BookTImeBlocksRequestDTO> bloques);
+    /** Bloquea las salas hasta el fin de la transacción actual, antes de validar y reservar sus bloques */
+    void lockRooms(Collection<Integer> idsSala);
     void deleteReserveById(Integer idReservaSala);
 }
@@ -1,22 +1,49 @@
 package KuHub.modules.gestion_academica.sevice;
 
+import KuHub.config.version.ResourceVersionService;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.gestion_academica.dtos.dtoentity.ReservaSalaEntityResponseDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.BookTImeBlocksRequestDTO;
 import KuHub.modules.gestion_academica.dtos.projection.NumberBlockProjection;
+import KuHub.modules.gestion_academica.dtos.projection.RoomBlockProjection;
 import KuHub.modules.gestion_academica.entity.ReservaSala;
+import KuHub.modules.gestion_academica.exceptions.ReservaSalaConflictException;
 import KuHub.modules.gestion_academica.repository.ReservaSalaRepository;
 import KuHub.modules.receta.exceptions.RecetaException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Service
 public class ReservaSalaServiceImp implements ReservaSalaService{
 
+    private static final String UQ_SALA_DIA_BLOQUE = "uq_reserva_sala_sala_dia_bloque";
+
     @Autowired
     private ReservaSalaRepository reservaSalaRepository;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private CatalogoCursoService catalogoCursoService;
+
+    @Autowired
+    private OcupacionSalaIndex ocupacionSalaIndex;
+
+    @Autowired
+    private AgendaDocenteIndex agendaDocenteIndex;
+
 
     @Transactional(readOnly = true)
     @Override
@@ -57,27 +84,122 @@ public class ReservaSalaServiceImp implements ReservaSalaService{
     @Override
     public Boolean validatedThatTheBlockIsNotReserved(Integer idSala, String diaSemana, Integer numeroBloque){
         ReservaSala.DiaSemana enumDia = ReservaSala.DiaSemana.valueOf(diaSemana.toUpperCase());
-        List<Integer> numbersBlocksReserved = reservaSalaRepository.findDistinctBySalaIdSalaAndSalaActivoTrueAndDiaSemana(idSala, enumDia.name())
-                .stream()
-                .map(NumberBlockProjection::getBloqueHorarioNumeroBloque)
-                .toList();
+        BookTImeBlocksRequestDTO bloque = new BookTImeBlocksRequestDTO();
+        bloque.setIdSala(idSala);
+        bloque.setDiaSemana(enumDia);
+        bloque.setNumeroBloque(numeroBloque);
+        return findBlocksAlreadyReserved(List.of(bloque)).isEmpty();
+    }
 
-        if (numbersBlocksReserved.contains(numeroBloque)){
-            return false;
+    /**
+     * Revisa todos los bloques con una sola consulta por todas las salas pedidas: la BD decide.
+     * OcupacionSalaIndex es solo una pista (puede no ver lo que otro nodo borró o reservó hace
+     * poco): lo que la BD encuentre ocupado y el índice no tenía se agrega al índice, y las
+     * salas donde el índice marcaba un bloque que la BD ve libre se releen al confirmarse.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookTImeBlocksRequestDTO> findBlocksAlreadyReserved(List<BookTImeBlocksRequestDTO> bloques){
+        List<BookTImeBlocksRequestDTO> ocupados = new ArrayList<>();
+        Set<Integer> idsSala = new HashSet<>();
+        for (BookTImeBlocksRequestDTO B : bloques) {
+            idsSala.add(B.getIdSala());
+        }
+        if (idsSala.isEmpty()) {
+            return ocupados;
+        }
+
+        Set<Long> reservados = new HashSet<>();
+        for (RoomBlockProjection r : reservaSalaRepository.findOccupiedBlocksByIdSalaIn(idsSala)) {
+            reservados.add(clave(r.getIdSala(), ReservaSala.DiaSemana.valueOf(r.getDiaSemana()), r.getNumeroBloque()));
+        }
+
+        Set<Long> pedidos = new HashSet<>();
+        Set<Integer> salasDesactualizadas = new TreeSet<>();
+        for (BookTImeBlocksRequestDTO B : bloques) {
+            long clave = clave(B.getIdSala(), B.getDiaSemana(), B.getNumeroBloque());
+            boolean repetido = !pedidos.add(clave);
+            boolean reservado = reservados.contains(clave);
+            if (repetido || reservado) {
+                ocupados.add(B);
+            }
+            if (!ocupacionSalaIndex.isCargado()) {
+                continue;
+            }
+            boolean enIndice = ocupacionSalaIndex.ocupado(B.getIdSala(), B.getDiaSemana(), B.getNumeroBloque());
+            if (reservado && !enIndice) {
+                ocupacionSalaIndex.marcar(B.getIdSala(), B.getDiaSemana(), B.getNumeroBloque());
+            } else if (!reservado && enIndice) {
+                salasDesactualizadas.add(B.getIdSala());
+            }
+        }
+        for (Integer idSala : salasDesactualizadas) {
+            ocupacionSalaIndex.recargarAlConfirmar(idSala);
+        }
+        return ocupados;
+    }
+
+    /**
+     * Las salas se bloquean en orden de id, así dos transacciones que piden las mismas salas
+     * nunca se bloquean mutuamente
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void lockRooms(Collection<Integer> idsSala){
+        for (Integer idSala : new TreeSet<>(idsSala)) {
+            reservaSalaRepository.lockSala(idSala);
         }
-        return true;
     }
 
+    /**
+     * El índice único uq_reserva_sala_sala_dia_bloque es la última defensa contra las
+     * reservas dobles: si otra transacción tomó el bloque, el INSERT falla y se responde 409
+     */
     @Transactional
     @Override
     public ReservaSalaEntityResponseDTO save(ReservaSala reservaSala){
-        return covertsDTO(reservaSalaRepository.save(reservaSala));
+        catalogoCursoService.refrescarAsignatura(reservaSala.getSeccion().getAsignatura().getIdAsignatura());
+        if (Boolean.TRUE.equals(reservaSala.getSala().getActivo())) {
+            ocupacionSalaIndex.marcarAlConfirmar(
+                    reservaSala.getSala().getIdSala(),
+                    reservaSala.getDiaSemana(),
+                    reservaSala.getBloqueHorario().getNumeroBloque()
+            );
+        }
+        agendaDocenteIndex.recargarSeccionAlConfirmar(reservaSala.getSeccion().getIdSeccion());
+        resourceVersionService.bump(VersionedResource.ASIGNATURAS);
+        try {
+            return covertsDTO(reservaSalaRepository.save(reservaSala));
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException cve
+                    && UQ_SALA_DIA_BLOQUE.equals(cve.getConstraintName())) {
+                throw new ReservaSalaConflictException(
+                        "El bloque " + reservaSala.getBloqueHorario().getNumeroBloque() +
+                                " del día " + reservaSala.getDiaSemana().name() +
+                                " ya está reservado para la sala " + reservaSala.getSala().getIdSala()
+                );
+            }
+            throw e;
+        }
     }
 
     @Transactional
     @Override
     public void deleteReserveById(Integer idReservaSala){
-        reservaSalaRepository.deleteById(idReservaSala);
+        reservaSalaRepository.findById(idReservaSala).ifPresent(reservaSala -> {
+            catalogoCursoService.refrescarAsignatura(reservaSala.getSeccion().getAsignatura().getIdAsignatura());
+            ocupacionSalaIndex.recargarAlConfirmar(reservaSala.getSala().getIdSala());
+            agendaDocenteIndex.recargarSeccionAlConfirmar(reservaSala.getSeccion().getIdSeccion());
+            reservaSalaRepository.delete(reservaSala);
+        });
+        resourceVersionService.bump(VersionedResource.ASIGNATURAS);
+    }
+
+    /**
+     * Sala, día y número de bloque en un solo long (para los Set de la validación)
+     */
+    private static long clave(Integer idSala, ReservaSala.DiaSemana dia, Integer numeroBloque){
+        return ((long) idSala << 32) | ((long) dia.ordinal() << 24) | numeroBloque;
     }
 
     private ReservaSalaEntityResponseDTO covertsDTO(ReservaSala reservaSala){
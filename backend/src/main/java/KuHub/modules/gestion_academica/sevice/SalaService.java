@@ -1,12 +1,14 @@
 package KuHub.modules.gestion_academica.sevice;
 
 import KuHub.modules.gestion_academica.entity.Sala;
+import KuHub.utils.pagination.KeysetPage;
 
 import java.util.List;
 
 public interface SalaService {
     Sala findById(Integer id);
     List<Sala> findAll();
+    KeysetPage<Sala> findPage(String cursor, Integer size, String sort, Boolean activo);
     List<Sala> findAllActiveRoomsTrue ();
     Boolean existsByCodSala(String codSala);
     Sala save (Sala sala);
@@ -1,39 +1,73 @@
 package KuHub.modules.gestion_academica.sevice;
 
+import KuHub.config.CacheConfig;
+import KuHub.config.version.ResourceVersionService;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.gestion_academica.entity.Sala;
 import KuHub.modules.gestion_academica.exceptions.GestionAcademicaException;
 import KuHub.modules.gestion_academica.repository.SalaRepository;
 import KuHub.utils.StringUtils;
+import KuHub.utils.pagination.KeysetPage;
+import KuHub.utils.pagination.KeysetPaginator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+/**
+ * Las lecturas cacheadas devuelven copias desligadas de la sesión (nunca la entidad
+ * administrada): la misma instancia se comparte entre peticiones, así que quien necesite
+ * modificar una sala la lee del repositorio y quien la asocie a otra entidad usa una referencia.
+ */
 @Service
 public class SalaServiceImp implements SalaService {
 
+    /**
+     * nombre_sala y cod_sala admiten null, por eso el listado paginado solo ordena por id
+     */
+    private static final KeysetPaginator<Sala> PAGINATOR =
+            KeysetPaginator.of(Sala.class, "idSala", Integer.class).build();
+
     @Autowired
     private SalaRepository salaRepository;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private CatalogoCursoService catalogoCursoService;
+
+    @Autowired
+    private OcupacionSalaIndex ocupacionSalaIndex;
+
+    @Cacheable(cacheNames = CacheConfig.SALAS, key = "'id:' + #id")
     @Transactional(readOnly = true)
     @Override
     public Sala findById(Integer id) {
-        return salaRepository.findById(id).orElseThrow(
-                () -> new GestionAcademicaException("La sala con el id: " + id + " no existe")
-        );
+        return copia(buscar(id));
     }
 
+    @Cacheable(cacheNames = CacheConfig.SALAS, key = "'todas'")
     @Transactional(readOnly = true)
     @Override
     public List<Sala> findAll() {
-        return salaRepository.findAll();
+        return salaRepository.findAll().stream().map(SalaServiceImp::copia).toList();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public KeysetPage<Sala> findPage(String cursor, Integer size, String sort, Boolean activo) {
+        return PAGINATOR.fetch(salaRepository, KeysetPaginator.equal("activo", activo), cursor, size, sort);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.SALAS, key = "'activas'")
     @Transactional(readOnly = true)
     @Override
     public List<Sala> findAllActiveRoomsTrue (){
-        return salaRepository.findAllByActivoTrue();
+        return salaRepository.findAllByActivoTrue().stream().map(SalaServiceImp::copia).toList();
     }
 
     @Transactional(readOnly = true)
@@ -43,6 +77,7 @@ public class SalaServiceImp implements SalaService {
     }
 
 
+    @CacheEvict(cacheNames = CacheConfig.SALAS, allEntries = true)
     @Transactional
     @Override
     public Sala save(Sala sala) {
@@ -75,18 +110,34 @@ public class SalaServiceImp implements SalaService {
         sala.setCodSala(parsearCod);
         sala.setActivo(true);
 
+        if (sala.getIdSala() != null) {
+            catalogoCursoService.refrescarPorSala(sala.getIdSala());
+            ocupacionSalaIndex.recargarAlConfirmar(sala.getIdSala());
+        }
+        resourceVersionService.bump(VersionedResource.SALAS);
         return salaRepository.save(sala);
     }
 
     //falta actualizar datos entity...
 
+    @CacheEvict(cacheNames = CacheConfig.SALAS, allEntries = true)
     @Transactional
     @Override
     public void softDelete(Integer id) {
-        Sala sala = findById(id);
+        Sala sala = buscar(id);
         sala.setActivo(false);
         salaRepository.save(sala);
+        ocupacionSalaIndex.recargarAlConfirmar(id);
+        resourceVersionService.bump(VersionedResource.SALAS);
     }
 
+    private Sala buscar(Integer id) {
+        return salaRepository.findById(id).orElseThrow(
+                () -> new GestionAcademicaException("La sala con el id: " + id + " no existe")
+        );
+    }
 
+    private static Sala copia(Sala sala) {
+        return new Sala(sala.getIdSala(), sala.getCodSala(), sala.getNombreSala(), sala.getActivo());
+    }
 }
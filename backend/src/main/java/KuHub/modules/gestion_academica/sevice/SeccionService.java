@@ -4,6 +4,7 @@ import KuHub.modules.gestion_academica.dtos.dtoentity.SeccionEntityResponseDTO;
 import KuHub.modules.gestion_academica.dtos.dtomodel.SectionAnswerUpdateDTO;
 import KuHub.modules.gestion_academica.dtos.dtomodel.SectionCreateDTO;
 import KuHub.modules.gestion_academica.entity.Seccion;
+import KuHub.utils.pagination.KeysetPage;
 
 import java.util.List;
 
@@ -14,7 +15,9 @@ public interface SeccionService {
     Seccion findByIdAndActiveIsTrueEntity(Integer id);
     //SectionAnswerUpdateDTO findBySectionByIdSeccion(Integer idSeccion);
     List<SeccionEntityResponseDTO> findAll();
+    KeysetPage<SeccionEntityResponseDTO> findPage(String cursor, Integer size, String sort, Boolean activo, Integer idAsignatura);
     List<SeccionEntityResponseDTO> findAllByActivoTrue();
+    List<SeccionEntityResponseDTO> findAllActiveByDocente(Integer idUsuario);
     SeccionEntityResponseDTO save(Seccion seccion);
     SectionAnswerUpdateDTO createSection (SectionCreateDTO dto);
     SectionAnswerUpdateDTO updateSection(SectionAnswerUpdateDTO dto);
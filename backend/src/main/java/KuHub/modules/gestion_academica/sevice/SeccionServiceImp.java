@@ -1,20 +1,29 @@
 package KuHub.modules.gestion_academica.sevice;
 
+import KuHub.config.version.ResourceVersionService;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.gestion_academica.dtos.dtoentity.SeccionEntityResponseDTO;
 import KuHub.modules.gestion_academica.dtos.dtomodel.BookTImeBlocksRequestDTO;
 import KuHub.modules.gestion_academica.dtos.dtomodel.SectionAnswerUpdateDTO;
 import KuHub.modules.gestion_academica.dtos.dtomodel.SectionCreateDTO;
 import KuHub.modules.gestion_academica.entity.*;
+import KuHub.modules.gestion_academica.exceptions.AgendaDocenteConflictException;
 import KuHub.modules.gestion_academica.exceptions.GestionAcademicaException;
+import KuHub.modules.gestion_academica.exceptions.ReservaSalaConflictException;
+import KuHub.modules.gestion_academica.repository.BloqueHorarioRepository;
+import KuHub.modules.gestion_academica.repository.SalaRepository;
 import KuHub.modules.gestion_academica.repository.SeccionRepository;
 import KuHub.modules.gestionusuario.entity.Usuario;
 import KuHub.modules.gestionusuario.service.RolService;
 import KuHub.modules.gestionusuario.service.UsuarioService;
 import KuHub.utils.StringUtils;
+import KuHub.utils.pagination.KeysetPage;
+import KuHub.utils.pagination.KeysetPaginator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +34,14 @@ import java.util.stream.Collectors;
 @Service
 public class SeccionServiceImp implements SeccionService{
 
+    /**
+     * Órdenes permitidos en el listado paginado (índices en db/kuhub/002_keyset_indexes.sql)
+     */
+    private static final KeysetPaginator<Seccion> PAGINATOR =
+            KeysetPaginator.of(Seccion.class, "idSeccion", Integer.class)
+                    .sort("nombre", "nombreSeccion", String.class)
+                    .build();
+
     @Autowired
     private SeccionRepository seccionRepository;
 
@@ -37,6 +54,13 @@ public class SeccionServiceImp implements SeccionService{
     @Autowired
     private SalaService salaService;
 
+    /** Sala y bloque cacheados son copias: a la reserva se asocian referencias administradas */
+    @Autowired
+    private SalaRepository salaRepository;
+
+    @Autowired
+    private BloqueHorarioRepository bloqueHorarioRepository;
+
     @Autowired
     private ReservaSalaService reservaSalaService;
 
@@ -49,6 +73,18 @@ public class SeccionServiceImp implements SeccionService{
     @Autowired
     private RolService rolService;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private CatalogoCursoService catalogoCursoService;
+
+    @Autowired
+    private AgendaDocenteService agendaDocenteService;
+
+    @Autowired
+    private AgendaDocenteIndex agendaDocenteIndex;
+
     @Transactional(readOnly = true)
     @Override
     public SeccionEntityResponseDTO findById(Integer id) {
@@ -84,6 +120,16 @@ public class SeccionServiceImp implements SeccionService{
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public KeysetPage<SeccionEntityResponseDTO> findPage(String cursor, Integer size, String sort, Boolean activo, Integer idAsignatura) {
+        Specification<Seccion> filtros = Specification
+                .where(KeysetPaginator.<Seccion>equal("activo", activo))
+                .and(KeysetPaginator.equal("asignatura.idAsignatura", idAsignatura));
+        return PAGINATOR.fetch(seccionRepository, filtros, cursor, size, sort)
+                .map(this::convertirADTO);
+    }
+
     @Transactional
     @Override
     public List<SeccionEntityResponseDTO> findAllByActivoTrue(){
@@ -93,6 +139,15 @@ public class SeccionServiceImp implements SeccionService{
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<SeccionEntityResponseDTO> findAllActiveByDocente(Integer idUsuario){
+        return seccionRepository.findAllActiveByDocente(idUsuario)
+                .stream()
+                .map(this::convertirADTO)
+                .collect(Collectors.toList());
+    }
+
     @Transactional
     @Override
     public SeccionEntityResponseDTO save(Seccion seccion) {
@@ -124,6 +179,8 @@ public class SeccionServiceImp implements SeccionService{
         seccion.setNombreSeccion(parsearNombre);
         seccion.setActivo(true);
         Seccion section = seccionRepository.save(seccion);
+        catalogoCursoService.refrescarAsignatura(section.getAsignatura().getIdAsignatura());
+        resourceVersionService.bump(VersionedResource.ASIGNATURAS);
         return convertirADTO(section);
     }
 
@@ -184,6 +241,27 @@ public class SeccionServiceImp implements SeccionService{
         }
         dtoResponse.setIdDocente(docente.getIdUsuario());
 
+        /**
+         * Validar en una sola pasada que los bloques pedidos en salas existentes estén libres
+         * y que el docente no dicte otra sección a esa hora (en cualquier sala).
+         * Salas y docente quedan bloqueados hasta el commit: otra sección que pida lo mismo
+         * espera y luego ve estas reservas
+         */
+        if (dto.getBloquesHorarios() != null) {
+            List<BookTImeBlocksRequestDTO> bloquesEnSalasExistentes = dto.getBloquesHorarios().stream()
+                    .filter(B -> B.getIdSala() != null)
+                    .toList();
+            reservaSalaService.lockRooms(bloquesEnSalasExistentes.stream().map(BookTImeBlocksRequestDTO::getIdSala).toList());
+            List<BookTImeBlocksRequestDTO> ocupados = reservaSalaService.findBlocksAlreadyReserved(bloquesEnSalasExistentes);
+            if (!ocupados.isEmpty()) {
+                throw new ReservaSalaConflictException(
+                        "El bloque " + ocupados.get(0).getNumeroBloque() +
+                                " ya está reservado para una sala en una seccion"
+                );
+            }
+            validarAgendaDocente(docente, null, dto.getBloquesHorarios());
+        }
+
         /**Crear seccion*/
         Seccion seccion = seccionRepository.save( new Seccion(
                 null,
@@ -249,20 +327,6 @@ public class SeccionServiceImp implements SeccionService{
                 B.setNombreSala(sala.getNombreSala());
                 B.setCodSala(sala.getCodSala());
 
-                /** Validar disponibilidad del bloque */
-                boolean disponible = reservaSalaService.validatedThatTheBlockIsNotReserved(
-                        sala.getIdSala(),
-                        diaSemanaEnum.name(),
-                        B.getNumeroBloque()
-                );
-
-                if (!disponible) {
-                    throw new GestionAcademicaException(
-                            "El bloque " + B.getNumeroBloque() +
-                                    " ya está reservado para una sala en una seccion"
-                    );
-                }
-
                 /** Obtener bloque horario */
                 BloqueHorario bloqueHorario = bloqueHorarioService.findById(B.getNumeroBloque());
 
@@ -270,8 +334,8 @@ public class SeccionServiceImp implements SeccionService{
                 ReservaSala reservaSala = new ReservaSala(
                         null,
                         seccion,
-                        sala,
-                        bloqueHorario,
+                        salaRepository.getReferenceById(sala.getIdSala()),
+                        bloqueHorarioRepository.getReferenceById(bloqueHorario.getIdBloque()),
                         diaSemanaEnum
                 );
 
@@ -297,6 +361,8 @@ public class SeccionServiceImp implements SeccionService{
         /**Asignar valores por defecto*/
         dtoResponse.setEstadoSeccion(Seccion.EstadoSeccion.ACTIVA);
 
+        catalogoCursoService.refrescarAsignatura(dto.getIdAsignatura());
+        resourceVersionService.bump(VersionedResource.ASIGNATURAS);
         return dtoResponse;
     }
 
@@ -359,6 +425,12 @@ public class SeccionServiceImp implements SeccionService{
 
         /**Obtener tabla intermedia DocenteSeccion y actualizar si hay cambios*/
         DocenteSeccion dulce = docenteSeccionService.findByIdSeccionEntity(seccion.getIdSeccion());
+        Integer idDocenteAnterior = dulce.getUsuario().getIdUsuario();
+        boolean cambiaDocente = !idDocenteAnterior.equals(docente.getIdUsuario());
+        if (cambiaDocente) {
+            /** El docente anterior deja de dictar estos bloques */
+            agendaDocenteIndex.recargarDocenteAlConfirmar(idDocenteAnterior);
+        }
 
         if (dulce.getUsuario().getIdUsuario() != dto.getIdDocente()){
             dulce.setUsuario(docente);
@@ -418,6 +490,31 @@ public class SeccionServiceImp implements SeccionService{
                 reservaSalaService.deleteReserveById(reservaAEliminar.getIdReservaSala());
             }
 
+            // Validar en una sola pasada los bloques nuevos en salas existentes (salas bloqueadas hasta el commit)
+            List<BookTImeBlocksRequestDTO> bloquesNuevos = dto.getBloquesHorarios().stream()
+                    .filter(B -> B.getIdSala() != null)
+                    .filter(B -> !reservasActualesMap.containsKey(
+                            B.getIdSala() + "-" + B.getDiaSemana().name() + "-" + B.getNumeroBloque()))
+                    .toList();
+            reservaSalaService.lockRooms(bloquesNuevos.stream().map(BookTImeBlocksRequestDTO::getIdSala).toList());
+            List<BookTImeBlocksRequestDTO> ocupados = reservaSalaService.findBlocksAlreadyReserved(bloquesNuevos);
+            if (!ocupados.isEmpty()) {
+                BookTImeBlocksRequestDTO B = ocupados.get(0);
+                throw new ReservaSalaConflictException(
+                        "El bloque " + B.getNumeroBloque() +
+                                " del día " + B.getDiaSemana().name() +
+                                " ya está reservado para la sala '" + salaService.findById(B.getIdSala()).getNombreSala() + "'"
+                );
+            }
+
+            // En la misma pasada, el docente: todos los bloques si cambió, si no solo los nuevos
+            validarAgendaDocente(docente, seccion.getIdSeccion(), cambiaDocente
+                    ? dto.getBloquesHorarios()
+                    : dto.getBloquesHorarios().stream()
+                            .filter(B -> B.getIdSala() == null || !reservasActualesMap.containsKey(
+                                    B.getIdSala() + "-" + B.getDiaSemana().name() + "-" + B.getNumeroBloque()))
+                            .toList());
+
             // Procesar cada bloque horario del DTO
             for (BookTImeBlocksRequestDTO B : dto.getBloquesHorarios()) {
 
@@ -487,24 +584,9 @@ public class SeccionServiceImp implements SeccionService{
                 B.setNombreSala(sala.getNombreSala());
                 B.setCodSala(sala.getCodSala());
 
-                /** Solo procesar si es una nueva reserva */
+                /** Solo procesar si es una nueva reserva (ya validada arriba) */
                 if (esNuevaReserva) {
 
-                    /** Validar disponibilidad del bloque */
-                    boolean disponible = reservaSalaService.validatedThatTheBlockIsNotReserved(
-                            sala.getIdSala(),
-                            diaSemanaEnum.name(),
-                            B.getNumeroBloque()
-                    );
-
-                    if (!disponible) {
-                        throw new GestionAcademicaException(
-                                "El bloque " + B.getNumeroBloque() +
-                                        " del día " + diaSemanaEnum.name() +
-                                        " ya está reservado para la sala '" + sala.getNombreSala() + "'"
-                        );
-                    }
-
                     /** Obtener bloque horario */
                     BloqueHorario bloqueHorario = bloqueHorarioService.findById(B.getNumeroBloque());
 
@@ -512,16 +594,30 @@ public class SeccionServiceImp implements SeccionService{
                     ReservaSala nuevaReserva = new ReservaSala(
                             null,
                             seccion,
-                            sala,
-                            bloqueHorario,
+                            salaRepository.getReferenceById(sala.getIdSala()),
+                            bloqueHorarioRepository.getReferenceById(bloqueHorario.getIdBloque()),
                             diaSemanaEnum
                     );
 
                     reservaSalaService.save(nuevaReserva);
                 }
             }
+        } else if (cambiaDocente) {
+            /** Sin cambios de bloques, el nuevo docente debe estar libre en los que ya tiene la sección */
+            validarAgendaDocente(docente, seccion.getIdSeccion(),
+                    reservaSalaService.findAllReserveByIdSeccion(seccion.getIdSeccion()).stream()
+                            .map(r -> {
+                                BookTImeBlocksRequestDTO B = new BookTImeBlocksRequestDTO();
+                                B.setIdSala(r.getSala().getIdSala());
+                                B.setDiaSemana(r.getDiaSemana());
+                                B.setNumeroBloque(r.getBloqueHorario().getNumeroBloque());
+                                return B;
+                            })
+                            .toList());
         }
 
+        catalogoCursoService.refrescarAsignatura(seccion.getAsignatura().getIdAsignatura());
+        resourceVersionService.bump(VersionedResource.ASIGNATURAS);
         return dto;
 
     }
@@ -536,6 +632,29 @@ public class SeccionServiceImp implements SeccionService{
         );
         seccion.setActivo(false);
         seccionRepository.save(seccion);
+        agendaDocenteIndex.recargarSeccionAlConfirmar(seccion.getIdSeccion());
+        catalogoCursoService.refrescarAsignatura(seccion.getAsignatura().getIdAsignatura());
+        resourceVersionService.bump(VersionedResource.ASIGNATURAS);
+    }
+
+    /**
+     * Bloquea al docente hasta el commit (después de las salas, siempre en ese orden) y
+     * rechaza los bloques en que ya dicta otra sección
+     */
+    private void validarAgendaDocente(Usuario docente, Integer idSeccion, List<BookTImeBlocksRequestDTO> bloques){
+        if (bloques.isEmpty()) {
+            return;
+        }
+        agendaDocenteService.lockTeacher(docente.getIdUsuario());
+        List<BookTImeBlocksRequestDTO> choques = agendaDocenteService.findBlocksInConflict(docente.getIdUsuario(), idSeccion, bloques);
+        if (!choques.isEmpty()) {
+            BookTImeBlocksRequestDTO B = choques.get(0);
+            throw new AgendaDocenteConflictException(
+                    "El docente " + usuarioService.formatearNombreCompleto(docente) +
+                            " ya dicta otra sección el día " + B.getDiaSemana().name() +
+                            " en el bloque " + B.getNumeroBloque()
+            );
+        }
     }
 
     private SeccionEntityResponseDTO convertirADTO(Seccion seccion){
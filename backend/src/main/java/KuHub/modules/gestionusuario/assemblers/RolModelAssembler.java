@@ -2,23 +2,27 @@ package KuHub.modules.gestionusuario.assemblers;
 
 import KuHub.modules.gestionusuario.controller.RolControllerV2;
 import KuHub.modules.gestionusuario.dtos.RolResponseDTO;
+import KuHub.utils.LinkTemplate;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
 public class RolModelAssembler implements RepresentationModelAssembler<RolResponseDTO, EntityModel<RolResponseDTO>> {
 
+    private static final LinkTemplate OBTENER_POR_ID = LinkTemplate.of(RolControllerV2.class, "obtenerPorId");
+    private static final LinkTemplate OBTENER_TODOS = LinkTemplate.of(RolControllerV2.class, "obtenerTodos");
+    private static final LinkTemplate OBTENER_ACTIVOS = LinkTemplate.of(RolControllerV2.class, "obtenerActivos");
+    private static final LinkTemplate OBTENER_POR_NOMBRE = LinkTemplate.of(RolControllerV2.class, "obtenerPorNombre");
+
     @Override
     public EntityModel<RolResponseDTO> toModel(RolResponseDTO entity) {
         return EntityModel.of(
                 entity,
-                linkTo(methodOn(RolControllerV2.class).obtenerPorId(entity.getIdRol())).withSelfRel(),
-                linkTo(methodOn(RolControllerV2.class).obtenerTodos()).withRel("roles"),
-                linkTo(methodOn(RolControllerV2.class).obtenerActivos()).withRel("roles-activos"),
-                linkTo(methodOn(RolControllerV2.class).obtenerPorNombre(entity.getNombreRol())).withRel("rol-por-nombre")
+                OBTENER_POR_ID.withSelfRel(entity.getIdRol()),
+                OBTENER_TODOS.withRel("roles"),
+                OBTENER_ACTIVOS.withRel("roles-activos"),
+                OBTENER_POR_NOMBRE.withRel("rol-por-nombre", entity.getNombreRol())
         );
     }
 }
\ No newline at end of file
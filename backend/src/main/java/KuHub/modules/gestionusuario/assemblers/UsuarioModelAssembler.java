@@ -2,23 +2,27 @@ package KuHub.modules.gestionusuario.assemblers;
 
 import KuHub.modules.gestionusuario.controller.UsuarioControllerV2;
 import KuHub.modules.gestionusuario.dtos.UsuarioResponseDTO;
+import KuHub.utils.LinkTemplate;
+import KuHub.utils.pagination.KeysetModelAssembler;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
-public class UsuarioModelAssembler implements RepresentationModelAssembler<UsuarioResponseDTO, EntityModel<UsuarioResponseDTO>> {
+public class UsuarioModelAssembler implements KeysetModelAssembler<UsuarioResponseDTO, EntityModel<UsuarioResponseDTO>> {
+
+    private static final LinkTemplate OBTENER_POR_ID = LinkTemplate.of(UsuarioControllerV2.class, "obtenerPorId");
+    private static final LinkTemplate OBTENER_TODOS = LinkTemplate.of(UsuarioControllerV2.class, "obtenerTodos");
+    private static final LinkTemplate OBTENER_ACTIVOS = LinkTemplate.of(UsuarioControllerV2.class, "obtenerActivos");
+    private static final LinkTemplate OBTENER_POR_ROL = LinkTemplate.of(UsuarioControllerV2.class, "obtenerPorRol");
 
     @Override
     public EntityModel<UsuarioResponseDTO> toModel(UsuarioResponseDTO entity) {
         return EntityModel.of(
                 entity,
-                linkTo(methodOn(UsuarioControllerV2.class).obtenerPorId(entity.getIdUsuario())).withSelfRel(),
-                linkTo(methodOn(UsuarioControllerV2.class).obtenerTodos()).withRel("usuarios"),
-                linkTo(methodOn(UsuarioControllerV2.class).obtenerActivos()).withRel("usuarios-activos"),
-                linkTo(methodOn(UsuarioControllerV2.class).obtenerPorRol(entity.getIdRol())).withRel("usuarios-mismo-rol")
+                OBTENER_POR_ID.withSelfRel(entity.getIdUsuario()),
+                OBTENER_TODOS.withRel("usuarios"),
+                OBTENER_ACTIVOS.withRel("usuarios-activos"),
+                OBTENER_POR_ROL.withRel("usuarios-mismo-rol", entity.getIdRol())
         );
     }
 }
\ No newline at end of file
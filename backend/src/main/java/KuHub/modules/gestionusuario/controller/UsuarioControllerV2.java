@@ -1,5 +1,7 @@
 package KuHub.modules.gestionusuario.controller;
 
+import KuHub.config.security.CurrentUser;
+import KuHub.config.security.UsuarioActual;
 import KuHub.modules.gestionusuario.assemblers.UsuarioModelAssembler;
 import KuHub.modules.gestionusuario.dtos.*;
 import KuHub.modules.gestionusuario.service.UsuarioService;
@@ -41,7 +43,7 @@ public class UsuarioControllerV2 {
     @GetMapping
     @Operation(
             summary = "Obtener todos los usuarios",
-            description = "Retorna lista completa de usuarios registrados en el sistema"
+            description = "Retorna los usuarios registrados paginados por cursor (links next/prev), los más recientes primero"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -53,15 +55,20 @@ public class UsuarioControllerV2 {
                     )
             )
     })
-    public ResponseEntity<CollectionModel<EntityModel<UsuarioResponseDTO>>> obtenerTodos() {
-        List<EntityModel<UsuarioResponseDTO>> usuarios = usuarioService.obtenerTodos()
-                .stream()
-                .map(usuarioModelAssembler::toModel)
-                .toList();
+    public ResponseEntity<CollectionModel<EntityModel<UsuarioResponseDTO>>> obtenerTodos(
+            @Parameter(description = "Cursor opaco devuelto en los links next/prev (vacío = primera página)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (1-500, por defecto 50)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Orden: fecha (por defecto, desc), id, email; opcional \",asc\" o \",desc\"")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Filtrar por estado activo")
+            @RequestParam(required = false) Boolean activo,
+            @Parameter(description = "Filtrar por ID de rol")
+            @RequestParam(required = false) Integer idRol) {
 
-        CollectionModel<EntityModel<UsuarioResponseDTO>> collectionModel = CollectionModel.of(
-                usuarios,
-                linkTo(methodOn(UsuarioControllerV2.class).obtenerTodos()).withSelfRel(),
+        CollectionModel<EntityModel<UsuarioResponseDTO>> collectionModel = usuarioModelAssembler.toPagedModel(
+                usuarioService.obtenerPagina(cursor, size, sort, activo, idRol),
                 linkTo(methodOn(UsuarioControllerV2.class).obtenerActivos()).withRel("usuarios-activos"),
                 linkTo(methodOn(UsuarioControllerV2.class).obtenerEstadisticas()).withRel("estadisticas")
         );
@@ -93,12 +100,75 @@ public class UsuarioControllerV2 {
         CollectionModel<EntityModel<UsuarioResponseDTO>> collectionModel = CollectionModel.of(
                 usuarios,
                 linkTo(methodOn(UsuarioControllerV2.class).obtenerActivos()).withSelfRel(),
-                linkTo(methodOn(UsuarioControllerV2.class).obtenerTodos()).withRel("todos-usuarios")
+                linkTo(methodOn(UsuarioControllerV2.class).obtenerTodos(null, null, null, null, null)).withRel("todos-usuarios")
         );
 
         return ResponseEntity.ok(collectionModel);
     }
 
+    @GetMapping("/me")
+    @Operation(
+            summary = "Obtener usuario autenticado",
+            description = "Retorna la identidad del usuario autenticado a partir de los claims del token, sin consultar la base de datos"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Identidad obtenida exitosamente",
+                    content = @Content(
+                            mediaType = MediaTypes.HAL_JSON_VALUE,
+                            schema = @Schema(implementation = UsuarioActual.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Token ausente o sin identidad (volver a iniciar sesión)"
+            )
+    })
+    public ResponseEntity<EntityModel<UsuarioActual>> obtenerActual(
+            @Parameter(hidden = true) @CurrentUser UsuarioActual usuario) {
+
+        EntityModel<UsuarioActual> entityModel = EntityModel.of(
+                usuario,
+                linkTo(methodOn(UsuarioControllerV2.class).obtenerActual(null)).withSelfRel(),
+                linkTo(methodOn(UsuarioControllerV2.class).obtenerPerfilActual(null)).withRel("perfil")
+        );
+
+        return ResponseEntity.ok(entityModel);
+    }
+
+    @GetMapping("/me/perfil")
+    @Operation(
+            summary = "Obtener perfil del usuario autenticado",
+            description = "Retorna el perfil completo del usuario autenticado buscándolo por su ID (tomado del token)"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Perfil obtenido exitosamente",
+                    content = @Content(
+                            mediaType = MediaTypes.HAL_JSON_VALUE,
+                            schema = @Schema(implementation = UsuarioResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Token ausente o sin identidad (volver a iniciar sesión)"
+            )
+    })
+    public ResponseEntity<EntityModel<UsuarioResponseDTO>> obtenerPerfilActual(
+            @Parameter(hidden = true) @CurrentUser UsuarioActual usuario) {
+
+        UsuarioResponseDTO perfil = usuarioService.obtenerPorId(usuario.idUsuario());
+        EntityModel<UsuarioResponseDTO> entityModel = EntityModel.of(
+                perfil,
+                linkTo(methodOn(UsuarioControllerV2.class).obtenerPerfilActual(null)).withSelfRel(),
+                linkTo(methodOn(UsuarioControllerV2.class).obtenerActual(null)).withRel("me")
+        );
+
+        return ResponseEntity.ok(entityModel);
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Obtener usuario por ID",
@@ -184,7 +254,7 @@ public class UsuarioControllerV2 {
         CollectionModel<EntityModel<UsuarioResponseDTO>> collectionModel = CollectionModel.of(
                 usuarios,
                 linkTo(methodOn(UsuarioControllerV2.class).buscar(q)).withSelfRel(),
-                linkTo(methodOn(UsuarioControllerV2.class).obtenerTodos()).withRel("todos-usuarios")
+                linkTo(methodOn(UsuarioControllerV2.class).obtenerTodos(null, null, null, null, null)).withRel("todos-usuarios")
         );
 
         return ResponseEntity.ok(collectionModel);
@@ -217,7 +287,7 @@ public class UsuarioControllerV2 {
         CollectionModel<EntityModel<UsuarioResponseDTO>> collectionModel = CollectionModel.of(
                 usuarios,
                 linkTo(methodOn(UsuarioControllerV2.class).obtenerPorRol(idRol)).withSelfRel(),
-                linkTo(methodOn(UsuarioControllerV2.class).obtenerTodos()).withRel("todos-usuarios")
+                linkTo(methodOn(UsuarioControllerV2.class).obtenerTodos(null, null, null, null, null)).withRel("todos-usuarios")
         );
 
         return ResponseEntity.ok(collectionModel);
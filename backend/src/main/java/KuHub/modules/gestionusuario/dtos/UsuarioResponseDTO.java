@@ -25,7 +25,10 @@ public class UsuarioResponseDTO {
     private String nombreCompleto;
     private String email;
     private String username;
+    /** URL de la foto en el almacén de medios (GET /api/v1/media/usuario/{hash}, con sesión), o null */
     private String fotoPerfil;
+    /** URL de la miniatura de la foto (o de la foto completa si no tiene miniatura), o null */
+    private String fotoPerfilMiniatura;
     private Boolean activo;
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSSSS")
     private LocalDateTime fechaCreacion;
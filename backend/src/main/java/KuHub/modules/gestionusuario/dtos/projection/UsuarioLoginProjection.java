@@ -0,0 +1,25 @@
+package KuHub.modules.gestionusuario.dtos.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección liviana del usuario para el login
+ * Solo trae las columnas necesarias para autenticar y armar la respuesta del /login
+ * (de la foto de perfil solo sus hashes en el almacén de medios, nunca los bytes)
+ */
+public interface UsuarioLoginProjection {
+    Integer getIdUsuario();
+    String getEmail();
+    String getContrasena();
+    Integer getIdRol();
+    String getNombreRol();
+    Boolean getActivo();
+    String getPrimerNombre();
+    String getSegundoNombre();
+    String getApellidoPaterno();
+    String getApellidoMaterno();
+    LocalDateTime getFechaCreacion();
+    String getFotoPerfilHash();
+    String getFotoPerfilTipo();
+    String getFotoPerfilMiniaturaHash();
+}
@@ -1,9 +1,12 @@
 package KuHub.modules.gestionusuario.entity;
 
+import KuHub.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entidad que representa un ROL en el sistema
@@ -11,6 +14,8 @@ import lombok.NoArgsConstructor;
  */
 @Entity
 @Table(name = "rol", schema = "public")
+@Cacheable
+@Cache(region = HibernateCacheConfig.ROL, usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
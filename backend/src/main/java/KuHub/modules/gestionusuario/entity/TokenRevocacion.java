@@ -0,0 +1,29 @@
+package KuHub.modules.gestionusuario.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa la revocación de los tokens JWT de un usuario
+ * Mapea la tabla 'token_revocacion' en PostgreSQL
+ *
+ * Todo token del usuario emitido en o antes de 'revocadoDesde' deja de ser válido
+ */
+@Entity
+@Table(name = "token_revocacion", schema = "public")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocacion {
+
+    @Id
+    @Column(name = "id_usuario")
+    private Integer idUsuario;
+
+    @Column(name = "revocado_desde", nullable = false)
+    private LocalDateTime revocadoDesde;
+}
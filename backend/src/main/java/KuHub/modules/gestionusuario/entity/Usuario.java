@@ -48,8 +48,25 @@ public class Usuario {
     @Column(name = "contrasena", nullable = false, length = 255)
     private String contrasena;
 
-    @Column(name = "foto_perfil")
-    private byte[] fotoPerfil;
+    /**
+     * Foto de perfil en el almacén de medios (GET /api/v1/media/{hash});
+     * la tabla solo guarda el hash y el tipo de contenido
+     */
+    @Column(name = "foto_perfil_hash", length = 64)
+    private String fotoPerfilHash;
+
+    /**
+     * Tipo validado por la cabecera al subirla: image/* solo si es una imagen legible,
+     * así los listados no vuelven a decodificar la foto
+     */
+    @Column(name = "foto_perfil_tipo", length = 100)
+    private String fotoPerfilTipo;
+
+    /**
+     * Miniatura JPEG generada una sola vez al subir la foto
+     */
+    @Column(name = "foto_perfil_miniatura_hash", length = 64)
+    private String fotoPerfilMiniaturaHash;
 
     @Column(name = "activo", nullable = false)
     private Boolean activo = true;
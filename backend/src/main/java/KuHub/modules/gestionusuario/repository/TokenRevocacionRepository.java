@@ -0,0 +1,49 @@
+package KuHub.modules.gestionusuario.repository;
+
+import KuHub.modules.gestionusuario.entity.TokenRevocacion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository para la entidad TokenRevocacion
+ */
+@Repository
+public interface TokenRevocacionRepository extends JpaRepository<TokenRevocacion, Integer> {
+
+    /**
+     * Registra (o adelanta) la revocación de los tokens de un usuario
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "token_revocacion"))
+    @Query(value = """
+        INSERT INTO token_revocacion (id_usuario, revocado_desde)
+        VALUES (:idUsuario, :revocadoDesde)
+        ON CONFLICT (id_usuario)
+        DO UPDATE SET revocado_desde = GREATEST(token_revocacion.revocado_desde, EXCLUDED.revocado_desde)
+        """, nativeQuery = true)
+    void upsert(@Param("idUsuario") Integer idUsuario, @Param("revocadoDesde") LocalDateTime revocadoDesde);
+
+    /**
+     * Revocaciones registradas desde una fecha (sincronización entre nodos)
+     */
+    List<TokenRevocacion> findByRevocadoDesdeGreaterThanEqual(LocalDateTime desde);
+
+    /**
+     * Borra las revocaciones anteriores al límite (ya no queda ningún token vigente que afecten)
+     * @return cantidad de filas borradas
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRevocacion t WHERE t.revocadoDesde < :limite")
+    int deleteByRevocadoDesdeBefore(@Param("limite") LocalDateTime limite);
+}
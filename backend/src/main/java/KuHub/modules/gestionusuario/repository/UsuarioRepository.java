@@ -1,8 +1,10 @@
 package KuHub.modules.gestionusuario.repository;
 
+import KuHub.modules.gestionusuario.dtos.projection.UsuarioLoginProjection;
 import KuHub.modules.gestionusuario.entity.Usuario;
 import KuHub.modules.gestionusuario.entity.Rol;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,7 +17,7 @@ import java.util.List;
  * Repository para la entidad Usuario
  */
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, Integer> {
+public interface UsuarioRepository extends JpaRepository<Usuario, Integer>, JpaSpecificationExecutor<Usuario> {
 
     /**
      * Busca un usuario por email
@@ -27,6 +29,18 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Integer> {
      */
     Optional<Usuario> findByEmailIgnoreCase(String email);
 
+    /**
+     * Carga en una sola consulta los datos necesarios para el login (de la foto, solo los hashes)
+     */
+    @Query("SELECT u.idUsuario AS idUsuario, u.email AS email, u.contrasena AS contrasena, " +
+           "r.idRol AS idRol, r.nombreRol AS nombreRol, u.activo AS activo, " +
+           "u.primerNombre AS primerNombre, u.segundoNombre AS segundoNombre, " +
+           "u.apellidoPaterno AS apellidoPaterno, u.apellidoMaterno AS apellidoMaterno, " +
+           "u.fechaCreacion AS fechaCreacion, u.fotoPerfilHash AS fotoPerfilHash, " +
+           "u.fotoPerfilTipo AS fotoPerfilTipo, u.fotoPerfilMiniaturaHash AS fotoPerfilMiniaturaHash " +
+           "FROM Usuario u JOIN u.rol r WHERE LOWER(u.email) = LOWER(:email)")
+    Optional<UsuarioLoginProjection> findLoginByEmailIgnoreCase(@Param("email") String email);
+
     /**
      * Busca un usuario por username
      */
@@ -1,15 +1,17 @@
 package KuHub.modules.gestionusuario.service;
 
+import KuHub.config.CacheConfig;
 import KuHub.modules.gestionusuario.dtos.RolRequestDTO;
 import KuHub.modules.gestionusuario.dtos.RolResponseDTO;
 import KuHub.modules.gestionusuario.entity.Rol;
 import KuHub.modules.gestionusuario.exceptions.RolNotFoundException;
 import KuHub.modules.gestionusuario.repository.RolRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Implementación del servicio de Roles
@@ -20,24 +22,27 @@ public class RolServiceImpl implements RolService {
     @Autowired
     private RolRepository rolRepository;
 
+    @Cacheable(cacheNames = CacheConfig.ROLES, key = "'todos'")
     @Override
     @Transactional(readOnly = true)
     public List<RolResponseDTO> obtenerTodos() {
         return rolRepository.findAllByOrderByNombreRolAsc()
                 .stream()
                 .map(this::convertirADTO)
-                .collect(Collectors.toList());
+                .toList();
     }
 
+    @Cacheable(cacheNames = CacheConfig.ROLES, key = "'activos'")
     @Override
     @Transactional(readOnly = true)
     public List<RolResponseDTO> obtenerActivos() {
         return rolRepository.findByActivoTrue()
                 .stream()
                 .map(this::convertirADTO)
-                .collect(Collectors.toList());
+                .toList();
     }
 
+    @Cacheable(cacheNames = CacheConfig.ROLES, key = "'dto:' + #idRol")
     @Override
     @Transactional(readOnly = true)
     public RolResponseDTO obtenerPorId(Integer idRol) {
@@ -46,20 +51,34 @@ public class RolServiceImpl implements RolService {
         return convertirADTO(rol);
     }
 
+    /**
+     * Sin @Cacheable: la entidad es administrada y mutable, no se comparte entre peticiones
+     * (la caché de segundo nivel de Hibernate ya evita la consulta)
+     */
     @Override
     @Transactional(readOnly = true)
     public Rol obtenerEntityPorId(Integer idRol){
         return rolRepository.findById(idRol).orElseThrow(() -> new RolNotFoundException(idRol));
     }
 
+    /**
+     * Con nombre null no se consulta la caché (la clave no se puede armar) y se responde como
+     * un rol inexistente
+     */
+    @Cacheable(cacheNames = CacheConfig.ROLES, key = "'nombre:' + #nombreRol.toLowerCase()",
+            condition = "#nombreRol != null")
     @Override
     @Transactional(readOnly = true)
     public RolResponseDTO obtenerPorNombre(String nombreRol) {
+        if (nombreRol == null) {
+            throw new RolNotFoundException("nombre", null);
+        }
         Rol rol = rolRepository.findByNombreRolIgnoreCase(nombreRol)
                 .orElseThrow(() -> new RolNotFoundException("nombre", nombreRol));
         return convertirADTO(rol);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
     @Override
     @Transactional
     public RolResponseDTO crear(RolRequestDTO rolRequestDTO) {
@@ -76,6 +95,7 @@ public class RolServiceImpl implements RolService {
         return convertirADTO(rolGuardado);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
     @Override
     @Transactional
     public RolResponseDTO actualizar(Integer idRol, RolRequestDTO rolRequestDTO) {
@@ -99,6 +119,7 @@ public class RolServiceImpl implements RolService {
         return convertirADTO(rolActualizado);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
     @Override
     @Transactional
     public void desactivar(Integer idRol) {
@@ -108,6 +129,7 @@ public class RolServiceImpl implements RolService {
         rolRepository.save(rol);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
     @Override
     @Transactional
     public void activar(Integer idRol) {
@@ -117,6 +139,7 @@ public class RolServiceImpl implements RolService {
         rolRepository.save(rol);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
     @Override
     @Transactional
     public void eliminar(Integer idRol) {
@@ -0,0 +1,86 @@
+package KuHub.modules.gestionusuario.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro diferido (write-behind) del último acceso de los usuarios
+ *
+ * El login solo anota el acceso en memoria; los accesos se agrupan por usuario
+ * (se conserva el más reciente) y se escriben en un único UPDATE por lotes cada
+ * kuhub.usuario.ultimo-acceso.flush-ms, y una última vez al apagar la aplicación.
+ * Así se evita un save() de la entidad completa (incluida la foto) por cada login.
+ */
+@Component
+public class UltimoAccesoBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(UltimoAccesoBuffer.class);
+
+    private static final String UPDATE_SQL =
+            "UPDATE usuario SET ultimo_acceso = ? WHERE id_usuario = ? " +
+            "AND (ultimo_acceso IS NULL OR ultimo_acceso < ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Integer, LocalDateTime> pendientes = new ConcurrentHashMap<>();
+
+    /**
+     * Anota un acceso; si el usuario ya tenía uno pendiente se conserva el más reciente
+     */
+    public void registrar(Integer idUsuario, LocalDateTime fecha) {
+        pendientes.merge(idUsuario, fecha, (actual, nueva) -> nueva.isAfter(actual) ? nueva : actual);
+    }
+
+    /**
+     * Escribe en la BD todos los accesos pendientes en un solo batch
+     */
+    @Scheduled(fixedDelayString = "${kuhub.usuario.ultimo-acceso.flush-ms:5000}")
+    public void flush() {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> lote = new ArrayList<>();
+        for (Integer idUsuario : List.copyOf(pendientes.keySet())) {
+            LocalDateTime fecha = pendientes.remove(idUsuario);
+            if (fecha != null) {
+                Timestamp ts = Timestamp.valueOf(fecha);
+                lote.add(new Object[]{ts, idUsuario, ts});
+            }
+        }
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, lote);
+        } catch (Exception e) {
+            // Se devuelven al buffer para reintentar en el siguiente ciclo
+            for (Object[] fila : lote) {
+                registrar((Integer) fila[1], ((Timestamp) fila[0]).toLocalDateTime());
+            }
+            log.error("No se pudo actualizar ultimo_acceso de {} usuarios: {}", lote.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Vacía el buffer antes de que se cierre el DataSource
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
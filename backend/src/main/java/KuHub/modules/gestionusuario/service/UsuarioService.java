@@ -2,6 +2,7 @@ package KuHub.modules.gestionusuario.service;
 
 import KuHub.modules.gestionusuario.dtos.*;
 import KuHub.modules.gestionusuario.entity.Usuario;
+import KuHub.utils.pagination.KeysetPage;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -16,6 +17,11 @@ public interface UsuarioService {
      */
     List<UsuarioResponseDTO> obtenerTodos();
 
+    /**
+     * Página de usuarios por keyset (por defecto los más recientes primero)
+     */
+    KeysetPage<UsuarioResponseDTO> obtenerPagina(String cursor, Integer size, String sort, Boolean activo, Integer idRol);
+
     /**
      * Obtiene solo los usuarios activos
      */
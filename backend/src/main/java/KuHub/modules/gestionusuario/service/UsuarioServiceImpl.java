@@ -1,20 +1,33 @@
 package KuHub.modules.gestionusuario.service;
 
+import KuHub.config.security.service.TokenRevocationService;
+import KuHub.config.version.ResourceVersionService;
+import KuHub.config.version.VersionedResource;
+import KuHub.modules.gestion_academica.sevice.CatalogoCursoService;
 import KuHub.modules.gestionusuario.dtos.*;
 import KuHub.modules.gestionusuario.entity.Rol;
 import KuHub.modules.gestionusuario.entity.Usuario;
 import KuHub.modules.gestionusuario.exceptions.*;
 import KuHub.modules.gestionusuario.repository.RolRepository;
 import KuHub.modules.gestionusuario.repository.UsuarioRepository;
-import KuHub.utils.ImagenUtils;
+import KuHub.modules.media.controller.MediaController;
+import KuHub.modules.media.dtos.MediaRef;
+import KuHub.modules.media.service.MediaStorageService;
 import KuHub.utils.StringUtils;
+import KuHub.utils.pagination.KeysetPage;
+import KuHub.utils.pagination.KeysetPaginator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder; // ⚠️ NUEVO IMPORT
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Base64;
@@ -30,6 +43,20 @@ import java.util.stream.Stream;
 @Service
 public class UsuarioServiceImpl implements UsuarioService {
 
+    /**
+     * Órdenes permitidos en el listado paginado (índices en db/kuhub/002_keyset_indexes.sql)
+     */
+    private static final KeysetPaginator<Usuario> PAGINATOR =
+            KeysetPaginator.of(Usuario.class, "idUsuario", Integer.class)
+                    .sort("fecha", "fechaCreacion", LocalDateTime.class, Sort.Direction.DESC)
+                    .sort("email", "email", String.class)
+                    .defaultSort("fecha")
+                    .build();
+
+    private static final long MAX_FOTO_BYTES = 10 * 1024 * 1024;
+
+    private static final int LADO_MINIATURA = 128;
+
     @Autowired
     private UsuarioRepository usuarioRepository;
 
@@ -40,6 +67,20 @@ public class UsuarioServiceImpl implements UsuarioService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    // Revoca los JWT emitidos cuando cambian rol, estado o contraseña
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    // Fotos de perfil: la tabla usuario solo guarda hash y tipo
+    @Autowired
+    private MediaStorageService mediaStorageService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private CatalogoCursoService catalogoCursoService;
+
     @Override
     @Transactional(readOnly = true)
     public List<UsuarioResponseDTO> obtenerTodos() {
@@ -49,6 +90,16 @@ public class UsuarioServiceImpl implements UsuarioService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<UsuarioResponseDTO> obtenerPagina(String cursor, Integer size, String sort, Boolean activo, Integer idRol) {
+        Specification<Usuario> filtros = Specification
+                .where(KeysetPaginator.<Usuario>equal("activo", activo))
+                .and(KeysetPaginator.equal("rol.idRol", idRol));
+        return PAGINATOR.fetch(usuarioRepository, filtros, cursor, size, sort)
+                .map(this::convertirADTO);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<UsuarioResponseDTO> obtenerActivos() {
@@ -192,24 +243,17 @@ public class UsuarioServiceImpl implements UsuarioService {
         String contrasenaHasheada = passwordEncoder.encode(usuarioRequestDTO.getContrasena());
         usuario.setContrasena(contrasenaHasheada);
 
-        // FOTO PERFIL: convertir Base64 a byte[]
+        // FOTO PERFIL: convertir Base64 y guardarla en el almacén de medios
         if (usuarioRequestDTO.getFotoPerfil() != null
                 && !usuarioRequestDTO.getFotoPerfil().isEmpty()) {
 
             try {
-                byte[] fotoBytes = Base64.getDecoder().decode(usuarioRequestDTO.getFotoPerfil());
-
-                // Validar tamaño máximo 10MB
-                if (fotoBytes.length > 10 * 1024 * 1024) {
-                    // Foto demasiado grande → se ignora y se guarda NULL
-                    usuario.setFotoPerfil(null);
-                } else {
-                    usuario.setFotoPerfil(fotoBytes);
-                }
-
-            } catch (IllegalArgumentException e) {
-                // Base64 inválido → se guarda NULL sin afectar la transacción
-                usuario.setFotoPerfil(null);
+                // Se decodifica por bloques directo al almacén (máximo 10MB)
+                asignarFoto(usuario, guardarFotoBase64(usuarioRequestDTO.getFotoPerfil()));
+
+            } catch (IllegalArgumentException | IOException e) {
+                // Base64 inválido, foto demasiado grande o no es imagen → se guarda NULL sin afectar la transacción
+                asignarFoto(usuario, null);
             }
         }
         usuario.setActivo(usuarioRequestDTO.getActivo() != null ? usuarioRequestDTO.getActivo() : true);
@@ -225,10 +269,14 @@ public class UsuarioServiceImpl implements UsuarioService {
         Usuario usuario = usuarioRepository.findById(idUsuario)
                 .orElseThrow(() -> new UsuarioNotFoundException(idUsuario));
 
+        // Si cambia el rol, el estado o la contraseña, los tokens emitidos dejan de ser válidos
+        boolean revocarTokens = false;
+
         // Actualizar rol si se proporciona
         if (usuarioUpdateDTO.getIdRol() != null) {
             Rol rol = rolRepository.findById(usuarioUpdateDTO.getIdRol())
                     .orElseThrow(() -> new RolNotFoundException(usuarioUpdateDTO.getIdRol()));
+            revocarTokens = !rol.getIdRol().equals(usuario.getRol().getIdRol());
             usuario.setRol(rol);
         }
 
@@ -272,29 +320,33 @@ public class UsuarioServiceImpl implements UsuarioService {
         if (usuarioUpdateDTO.getContrasena() != null && !usuarioUpdateDTO.getContrasena().trim().isEmpty()) {
             String contrasenaHasheada = passwordEncoder.encode(usuarioUpdateDTO.getContrasena());
             usuario.setContrasena(contrasenaHasheada);
+            revocarTokens = true;
         }
 
         // Actualizar foto de perfil si se proporciona
         if (usuarioUpdateDTO.getFotoPerfil() != null && !usuarioUpdateDTO.getFotoPerfil().isEmpty()) {
             try {
-                byte[] fotoBytes = Base64.getDecoder().decode(usuarioUpdateDTO.getFotoPerfil());
-
-                if (fotoBytes.length > 10 * 1024 * 1024) {
-                    usuario.setFotoPerfil(null);
-                } else {
-                    usuario.setFotoPerfil(fotoBytes);
-                }
+                asignarFoto(usuario, guardarFotoBase64(usuarioUpdateDTO.getFotoPerfil()));
 
-            } catch (IllegalArgumentException e) {
-                usuario.setFotoPerfil(null);
+            } catch (IllegalArgumentException | IOException e) {
+                asignarFoto(usuario, null);
             }
         }
 
         if (usuarioUpdateDTO.getActivo() != null) {
+            if (usuario.getActivo() && !usuarioUpdateDTO.getActivo()) {
+                revocarTokens = true;
+            }
             usuario.setActivo(usuarioUpdateDTO.getActivo());
         }
 
         Usuario usuarioActualizado = usuarioRepository.save(usuario);
+        if (revocarTokens) {
+            tokenRevocationService.revokeAll(idUsuario);
+        }
+        // El nombre del profesor o docente va dentro del catálogo de asignaturas
+        catalogoCursoService.refrescarPorUsuario(idUsuario);
+        resourceVersionService.bump(VersionedResource.USUARIOS);
         return convertirADTO(usuarioActualizado);
     }
 
@@ -305,6 +357,7 @@ public class UsuarioServiceImpl implements UsuarioService {
                 .orElseThrow(() -> new UsuarioNotFoundException(idUsuario));
         usuario.setActivo(false);
         usuarioRepository.save(usuario);
+        tokenRevocationService.revokeAll(idUsuario);
     }
 
     @Override
@@ -323,6 +376,8 @@ public class UsuarioServiceImpl implements UsuarioService {
             throw new UsuarioNotFoundException(idUsuario);
         }
         usuarioRepository.deleteById(idUsuario);
+        tokenRevocationService.revokeAll(idUsuario);
+        resourceVersionService.bump(VersionedResource.USUARIOS);
     }
 
     @Override
@@ -335,6 +390,7 @@ public class UsuarioServiceImpl implements UsuarioService {
         String contrasenaHasheada = passwordEncoder.encode(nuevaContrasena);
         usuario.setContrasena(contrasenaHasheada);
         usuarioRepository.save(usuario);
+        tokenRevocationService.revokeAll(idUsuario);
     }
 
     @Override
@@ -345,21 +401,14 @@ public class UsuarioServiceImpl implements UsuarioService {
                 .orElseThrow(() -> new UsuarioNotFoundException(idUsuario));
 
         if (foto != null && !foto.isEmpty()) {
-            try {
-                byte[] fotoBytes = foto.getBytes();
-
-                // Validar tamaño máximo 10MB
-                if (fotoBytes.length > 10 * 1024 * 1024) {
-                    throw new IllegalArgumentException("La foto no puede superar 10MB");
-                }
-
-                // Validar que realmente es una imagen (JPG, PNG, etc.)
-                if (!ImagenUtils.esImagenValida(fotoBytes)) {
-                    throw new IllegalArgumentException("El archivo no es una imagen válida (JPG/PNG).");
-                }
-
-                usuario.setFotoPerfil(fotoBytes);
+            // Rechazo temprano por el tamaño declarado; el límite real se aplica mientras se copia
+            if (foto.getSize() > MAX_FOTO_BYTES) {
+                throw new IllegalArgumentException("La foto no puede superar 10MB");
+            }
 
+            // Copia por bloques al almacén validando solo la cabecera (JPG, PNG, etc.)
+            try (InputStream contenido = foto.getInputStream()) {
+                asignarFoto(usuario, mediaStorageService.guardarImagen(contenido, MAX_FOTO_BYTES));
             } catch (IOException e) {
                 throw new RuntimeException("Error al leer el archivo", e);
             }
@@ -419,19 +468,17 @@ public class UsuarioServiceImpl implements UsuarioService {
      */
     @Override
     public UsuarioResponseDTO convertirADTO(Usuario usuario) {
-        String fotoBase64 = null;
-
-        if (usuario.getFotoPerfil() != null && usuario.getFotoPerfil().length > 0) {
-            try {
-                // Validar si es imagen real
-                if (ImagenUtils.esImagenValida(usuario.getFotoPerfil())) {
-                    fotoBase64 = Base64.getEncoder().encodeToString(usuario.getFotoPerfil());
-                }
-                // Si NO es una imagen válida, fotoBase64 queda en null
-            } catch (Exception e) {
-                // Cualquier error → dejamos fotoBase64 como null
-                fotoBase64 = null;
-            }
+        // La foto se entrega como URL del almacén de medios, solo si al guardarla se validó como imagen
+        // (resultado guardado en foto_perfil_tipo: aquí nunca se decodifica la imagen)
+        String fotoUrl = null;
+        String miniaturaUrl = null;
+        if (usuario.getFotoPerfilHash() != null
+                && usuario.getFotoPerfilTipo() != null
+                && usuario.getFotoPerfilTipo().startsWith("image/")) {
+            fotoUrl = MediaController.urlUsuario(usuario.getFotoPerfilHash());
+            miniaturaUrl = usuario.getFotoPerfilMiniaturaHash() != null
+                    ? MediaController.urlUsuario(usuario.getFotoPerfilMiniaturaHash())
+                    : fotoUrl;
         }
 
         return new UsuarioResponseDTO(
@@ -445,13 +492,39 @@ public class UsuarioServiceImpl implements UsuarioService {
                 usuario.getNombreCompleto(),
                 usuario.getEmail(),
                 usuario.getUsername(),
-                fotoBase64,
+                fotoUrl,
+                miniaturaUrl,
                 usuario.getActivo(),
                 usuario.getFechaCreacion(),
                 usuario.getUltimoAcceso()
         );
     }
 
+    /**
+     * Decodifica la foto en Base64 por bloques directo al almacén de medios
+     * @throws IllegalArgumentException si supera 10MB o no es una imagen válida
+     * @throws IOException si el Base64 es inválido
+     */
+    private MediaRef guardarFotoBase64(String fotoBase64) throws IOException {
+        try (InputStream contenido = Base64.getDecoder().wrap(
+                new ByteArrayInputStream(fotoBase64.getBytes(StandardCharsets.ISO_8859_1)))) {
+            return mediaStorageService.guardarImagen(contenido, MAX_FOTO_BYTES);
+        }
+    }
+
+    /**
+     * Asigna (o quita, si es null) la foto de perfil guardada en el almacén de medios
+     * La miniatura se genera aquí, una sola vez por foto
+     */
+    private void asignarFoto(Usuario usuario, MediaRef foto) {
+        MediaRef miniatura = foto != null && foto.esImagen()
+                ? mediaStorageService.guardarMiniatura(foto, LADO_MINIATURA)
+                : null;
+        usuario.setFotoPerfilHash(foto != null ? foto.hash() : null);
+        usuario.setFotoPerfilTipo(foto != null ? foto.contentType() : null);
+        usuario.setFotoPerfilMiniaturaHash(miniatura != null ? miniatura.hash() : null);
+    }
+
     /**
      * ⭐ NUEVO MÉTODO: Convierte nombres ENUM de la BD a formato legible
      *
@@ -2,22 +2,25 @@ package KuHub.modules.inventario.assemblers;
 
 import KuHub.modules.inventario.controller.InventarioControllerV2;
 import KuHub.modules.inventario.entity.Inventario;
+import KuHub.utils.LinkTemplate;
+import KuHub.utils.pagination.KeysetModelAssembler;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
-public class InventarioModelAssembler implements RepresentationModelAssembler<Inventario, EntityModel<Inventario>> {
+public class InventarioModelAssembler implements KeysetModelAssembler<Inventario, EntityModel<Inventario>> {
+
+    private static final LinkTemplate FIND_BY_ID = LinkTemplate.of(InventarioControllerV2.class, "findById");
+    private static final LinkTemplate FIND_ALL = LinkTemplate.of(InventarioControllerV2.class, "findAll");
+    private static final LinkTemplate FIND_INVENTORIES_WITH_PRODUCTS_ACTIVE = LinkTemplate.of(InventarioControllerV2.class, "findInventoriesWithProductsActive");
 
     @Override
     public EntityModel<Inventario> toModel(Inventario entity) {
         return EntityModel.of(
                 entity,
-                linkTo(methodOn(InventarioControllerV2.class).findById(entity.getIdInventario())).withSelfRel(),
-                linkTo(methodOn(InventarioControllerV2.class).findAll()).withRel("inventarios"),
-                linkTo(methodOn(InventarioControllerV2.class).findInventoriesWithProductsActive(true)).withRel("inventarios-activos")
+                FIND_BY_ID.withSelfRel(entity.getIdInventario()),
+                FIND_ALL.withRel("inventarios"),
+                FIND_INVENTORIES_WITH_PRODUCTS_ACTIVE.withRel("inventarios-activos", true)
         );
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package KuHub.modules.inventario.controller;
 
+import KuHub.config.version.ConditionalGet;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.inventario.dtos.InventoryWithProductCreateDTO;
 import KuHub.modules.inventario.dtos.InventoryWithProductResponseAnswerUpdateDTO;
 import KuHub.modules.inventario.entity.Inventario;
@@ -54,6 +56,7 @@ public class InventarioController {
     }
 
     @GetMapping("/find-all-inventories-active/")
+    @ConditionalGet({VersionedResource.INVENTARIO, VersionedResource.PRODUCTOS})
     public ResponseEntity<List<InventoryWithProductResponseAnswerUpdateDTO>> findAllActiveInventoryOrderedByName(){
         return ResponseEntity
                 .status(200)
@@ -1,5 +1,7 @@
 package KuHub.modules.inventario.controller;
 
+import KuHub.config.version.ConditionalGet;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.inventario.assemblers.InventarioModelAssembler;
 import KuHub.modules.inventario.dtos.InventoryWithProductCreateDTO;
 import KuHub.modules.inventario.dtos.InventoryWithProductResponseAnswerUpdateDTO;
@@ -123,7 +125,7 @@ public class InventarioControllerV2 {
         CollectionModel<EntityModel<Inventario>> collectionModel = CollectionModel.of(
                 inventarios,
                 linkTo(methodOn(InventarioControllerV2.class).findAll()).withSelfRel(),
-                linkTo(methodOn(InventarioControllerV2.class).findInventoriesWithProductsActive(true)).withRel("inventarios-activos")
+                linkTo(methodOn(InventarioControllerV2.class).findInventoriesWithProductsActive(true, null, null, null)).withRel("inventarios-activos")
         );
 
         return ResponseEntity.status(HttpStatus.OK).body(collectionModel);
@@ -132,7 +134,7 @@ public class InventarioControllerV2 {
     @GetMapping("/activo/{activo}")
     @Operation(
             summary = "Obtener inventarios por estado de producto",
-            description = "Retorna inventarios cuyo producto asociado tiene un estado activo específico"
+            description = "Retorna inventarios cuyo producto asociado tiene un estado activo específico, paginados por cursor (links next/prev)"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -146,16 +148,16 @@ public class InventarioControllerV2 {
     })
     public ResponseEntity<CollectionModel<EntityModel<Inventario>>> findInventoriesWithProductsActive(
             @Parameter(description = "Estado del producto (true/false)", required = true)
-            @PathVariable Boolean activo) {
-        
-        List<EntityModel<Inventario>> inventarios = inventarioService.findInventoriesWithProductsActive(activo)
-                .stream()
-                .map(inventarioModelAssembler::toModel)
-                .toList();
+            @PathVariable Boolean activo,
+            @Parameter(description = "Cursor opaco devuelto en los links next/prev (vacío = primera página)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (1-500, por defecto 50)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Orden: id, stock; opcional \",asc\" o \",desc\"")
+            @RequestParam(required = false) String sort) {
 
-        CollectionModel<EntityModel<Inventario>> collectionModel = CollectionModel.of(
-                inventarios,
-                linkTo(methodOn(InventarioControllerV2.class).findInventoriesWithProductsActive(activo)).withSelfRel(),
+        CollectionModel<EntityModel<Inventario>> collectionModel = inventarioModelAssembler.toPagedModel(
+                inventarioService.findPageWithProductsActive(activo, cursor, size, sort),
                 linkTo(methodOn(InventarioControllerV2.class).findAll()).withRel("todos-inventarios")
         );
 
@@ -163,6 +165,7 @@ public class InventarioControllerV2 {
     }
 
     @GetMapping("/inventarios-activos-ordenados")
+    @ConditionalGet({VersionedResource.INVENTARIO, VersionedResource.PRODUCTOS})
     @Operation(
             summary = "Obtener inventarios activos ordenados",
             description = "Retorna lista de inventarios activos ordenados por nombre de producto"
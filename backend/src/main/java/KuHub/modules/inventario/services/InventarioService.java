@@ -3,6 +3,7 @@ package KuHub.modules.inventario.services;
 import KuHub.modules.inventario.dtos.InventoryWithProductCreateDTO;
 import KuHub.modules.inventario.dtos.InventoryWithProductResponseAnswerUpdateDTO;
 import KuHub.modules.inventario.entity.Inventario;
+import KuHub.utils.pagination.KeysetPage;
 
 import java.util.List;
 
@@ -10,6 +11,7 @@ public interface InventarioService {
     //InventarioDTO save(InventarioDTO dto);
 
     List<Inventario> findAll();
+    KeysetPage<Inventario> findPageWithProductsActive(Boolean activo, String cursor, Integer size, String sort);
     List<Inventario> findInventoriesWithProductsActive(Boolean activo);
     Inventario findById(Integer id);
     Inventario findByIdInventoryWithProductActive(Integer idInventario,Boolean activo);
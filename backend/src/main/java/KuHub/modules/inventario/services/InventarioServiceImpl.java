@@ -1,5 +1,8 @@
 package KuHub.modules.inventario.services;
 
+import KuHub.config.CacheConfig;
+import KuHub.config.version.ResourceVersionService;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.inventario.dtos.InventoryWithProductCreateDTO;
 import KuHub.modules.inventario.dtos.InventoryWithProductResponseAnswerUpdateDTO;
 import KuHub.modules.inventario.entity.Inventario;
@@ -9,7 +12,10 @@ import KuHub.modules.producto.entity.Producto;
 import KuHub.modules.producto.repository.ProductoRepository;
 import KuHub.modules.producto.service.ProductoService;
 import KuHub.utils.StringUtils;
+import KuHub.utils.pagination.KeysetPage;
+import KuHub.utils.pagination.KeysetPaginator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +24,14 @@ import java.util.List;
 @Service
 public class InventarioServiceImpl implements InventarioService {
 
+    /**
+     * Órdenes permitidos en el listado paginado (índices en db/kuhub/002_keyset_indexes.sql)
+     */
+    private static final KeysetPaginator<Inventario> PAGINATOR =
+            KeysetPaginator.of(Inventario.class, "idInventario", Integer.class)
+                    .sort("stock", "stock", Double.class)
+                    .build();
+
     @Autowired
     private InventarioRepository inventarioRepository;
 
@@ -27,6 +41,9 @@ public class InventarioServiceImpl implements InventarioService {
     @Autowired
     private ProductoRepository productoRepository;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
 
     @Transactional(readOnly = true)
     @Override
@@ -34,6 +51,12 @@ public class InventarioServiceImpl implements InventarioService {
         return inventarioRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public KeysetPage<Inventario> findPageWithProductsActive(Boolean activo, String cursor, Integer size, String sort) {
+        return PAGINATOR.fetch(inventarioRepository, KeysetPaginator.equal("producto.activo", activo), cursor, size, sort);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public List<Inventario> findInventoriesWithProductsActive(Boolean activo){
@@ -82,7 +105,7 @@ public class InventarioServiceImpl implements InventarioService {
         // Crear producto con los atributos obtenidos en el frontend y guardarlo
         Producto newProducto = productoService.save(
                 new Producto(null,null,inventarioRequest.getDescripcionProducto(),inventarioRequest.getNombreProducto(),
-                        inventarioRequest.getNombreCategoria(), inventarioRequest.getUnidadMedida(), true, null));
+                        inventarioRequest.getNombreCategoria(), inventarioRequest.getUnidadMedida(), true, null, null));
 
         //Crear inventario de producto con los atributos obtenidos en el frontend y guardarlo
         Inventario newInventario = inventarioRepository.save(
@@ -91,9 +114,11 @@ public class InventarioServiceImpl implements InventarioService {
         //retornamos el inventario con los ids para comprobar guardado
         inventarioRequest.setIdInventario(newInventario.getIdInventario());
         inventarioRequest.setIdProducto(newProducto.getIdProducto());
+        resourceVersionService.bump(VersionedResource.INVENTARIO);
         return inventarioRequest;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CATALOGOS_PRODUCTO, allEntries = true)
     @Transactional
     @Override
     public InventoryWithProductResponseAnswerUpdateDTO updateInventoryWithProduct(InventoryWithProductResponseAnswerUpdateDTO req){
@@ -136,6 +161,7 @@ public class InventarioServiceImpl implements InventarioService {
         inventario.setStockLimitMin(req.getStockLimitMin());
         inventarioRepository.save(inventario);
 
+        resourceVersionService.bump(VersionedResource.INVENTARIO, VersionedResource.PRODUCTOS);
         return req;
     }
 
@@ -0,0 +1,240 @@
+package KuHub.modules.media.controller;
+
+import KuHub.modules.media.service.MediaAccesoService;
+import KuHub.modules.media.service.MediaStorageService;
+import KuHub.utils.LinkTemplate;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Entrega de archivos del almacén de medios (fotos de productos, recetas y usuarios)
+ *
+ * - ETag fuerte = hash del contenido; If-None-Match devuelve 304 sin leer el archivo.
+ * - Cache-Control inmutable por un año: un hash nunca cambia de contenido.
+ * - Range de un solo tramo (bytes=a-b, a-, -n) con If-Range; varios tramos se ignoran y se envía todo.
+ * - El cuerpo se envía con sendfile de Tomcat (copia cero desde el page cache al socket) y,
+ *   si el conector no lo soporta, con FileChannel.transferTo.
+ *
+ * Fotos de productos y recetas: lectura pública en /{hash}, porque las etiquetas img no envían el JWT.
+ * Fotos de perfil: solo en /usuario/{hash} y con sesión (el frontend las pide con el token y las
+ * muestra como blob); /{hash} responde 404 para ellas aunque el archivo exista. Un hash que ninguna
+ * fila usa tampoco se entrega.
+ */
+@RestController
+@RequestMapping("/api/v1/media")
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "Medios", description = "Imágenes direccionadas por contenido")
+public class MediaController {
+
+    private static final LinkTemplate OBTENER_MEDIA = LinkTemplate.of(MediaController.class, "obtenerMedia");
+    private static final LinkTemplate OBTENER_FOTO_USUARIO = LinkTemplate.of(MediaController.class, "obtenerFotoUsuario");
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    /** Fotos de perfil: solo la caché del navegador de quien la pidió, nunca la de un proxy */
+    private static final String CACHE_CONTROL_PRIVADO = "private, max-age=31536000, immutable";
+
+    /** Atributos de petición con los que Tomcat envía un archivo por sendfile */
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private MediaStorageService mediaStorageService;
+
+    @Autowired
+    private MediaAccesoService mediaAccesoService;
+
+    /**
+     * URL pública de un archivo del almacén, o null si no hay hash
+     */
+    public static String url(String hash) {
+        return hash == null ? null : OBTENER_MEDIA.expand(hash);
+    }
+
+    /**
+     * URL de una foto de perfil (requiere sesión), o null si no hay hash
+     */
+    public static String urlUsuario(String hash) {
+        return hash == null ? null : OBTENER_FOTO_USUARIO.expand(hash);
+    }
+
+    @RequestMapping(path = "/{hash}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    @Operation(
+            summary = "Obtener un archivo",
+            description = "Devuelve la foto de un producto o receta con ese hash SHA-256; admite If-None-Match y Range"
+    )
+    public void obtenerMedia(
+            @Parameter(description = "SHA-256 del contenido (64 caracteres hexadecimales)", required = true)
+            @PathVariable String hash,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        Optional<Path> encontrado = mediaStorageService.buscar(hash);
+        if (encontrado.isEmpty() || !mediaAccesoService.esPublico(hash)) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        enviar(hash, encontrado.get(), CACHE_CONTROL, request, response);
+    }
+
+    @RequestMapping(path = "/usuario/{hash}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    @Operation(
+            summary = "Obtener una foto de perfil",
+            description = "Devuelve la foto de perfil (o miniatura) con ese hash SHA-256; requiere sesión"
+    )
+    public void obtenerFotoUsuario(
+            @Parameter(description = "SHA-256 del contenido (64 caracteres hexadecimales)", required = true)
+            @PathVariable String hash,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        Optional<Path> encontrado = mediaStorageService.buscar(hash);
+        if (encontrado.isEmpty() || !mediaAccesoService.esFotoDeUsuario(hash)) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        enviar(hash, encontrado.get(), CACHE_CONTROL_PRIVADO, request, response);
+    }
+
+    /**
+     * Escribe el archivo con su ETag, respondiendo 304 o un tramo según los encabezados
+     */
+    private void enviar(String hash, Path archivo, String cacheControl,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String etag = "\"" + hash + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (coincideEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long largo = Files.size(archivo);
+        long inicio = 0;
+        long fin = largo - 1;
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.trim().equals(etag))) {
+            long[] tramo = parsearRango(range, largo);
+            if (tramo == null) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + largo);
+                return;
+            }
+            if (tramo.length == 2) {
+                inicio = tramo[0];
+                fin = tramo[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + inicio + "-" + fin + "/" + largo);
+            }
+        }
+
+        long cantidad = fin - inicio + 1;
+        response.setContentType(mediaStorageService.tipoContenido(archivo));
+        response.setContentLengthLong(cantidad);
+
+        if ("HEAD".equals(request.getMethod()) || cantidad <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, archivo.toString());
+            request.setAttribute(SENDFILE_START, inicio);
+            request.setAttribute(SENDFILE_END, fin + 1);
+            return;
+        }
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            WritableByteChannel salida = Channels.newChannel(response.getOutputStream());
+            long enviado = 0;
+            while (enviado < cantidad) {
+                long n = canal.transferTo(inicio + enviado, cantidad - enviado, salida);
+                if (n <= 0) {
+                    break;
+                }
+                enviado += n;
+            }
+        }
+    }
+
+    /**
+     * If-None-Match: "*" o lista de ETags (se acepta la forma débil W/"...")
+     */
+    private static boolean coincideEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals("*") || valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {inicio, fin} del tramo pedido; un arreglo vacío si el encabezado no se puede
+     * usar (se envía el archivo completo); null si el tramo no es satisfacible (416)
+     */
+    private static long[] parsearRango(String range, long largo) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int guion = spec.indexOf('-');
+        if (guion < 0) {
+            return new long[0];
+        }
+        try {
+            String desde = spec.substring(0, guion).trim();
+            String hasta = spec.substring(guion + 1).trim();
+            long inicio;
+            long fin;
+            if (desde.isEmpty()) {
+                // bytes=-n : los últimos n bytes
+                long sufijo = Long.parseLong(hasta);
+                if (sufijo <= 0) {
+                    return null;
+                }
+                inicio = Math.max(0, largo - sufijo);
+                fin = largo - 1;
+            } else {
+                inicio = Long.parseLong(desde);
+                if (!hasta.isEmpty() && Long.parseLong(hasta) < inicio) {
+                    return new long[0];
+                }
+                fin = hasta.isEmpty() ? largo - 1 : Math.min(Long.parseLong(hasta), largo - 1);
+            }
+            if (inicio >= largo) {
+                return null;
+            }
+            return new long[]{inicio, fin};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package KuHub.modules.media.dtos;
+
+/**
+ * Referencia a un archivo del almacén de medios
+ *
+ * @param hash        SHA-256 del contenido en hexadecimal (nombre del archivo en disco)
+ * @param contentType tipo MIME detectado por los magic bytes
+ * @param tamano      tamaño en bytes
+ */
+public record MediaRef(String hash, String contentType, long tamano) {
+
+    public boolean esImagen() {
+        return contentType != null && contentType.startsWith("image/");
+    }
+}
@@ -0,0 +1,21 @@
+package KuHub.modules.media.service;
+
+/**
+ * A qué categoría pertenece un archivo del almacén, según las filas que guardan su hash
+ *
+ * Las fotos de productos y recetas se leen sin sesión; las de perfil solo con un usuario
+ * autenticado. Un mismo contenido puede estar en ambas: basta con que lo use un producto o
+ * una receta para que sea público.
+ */
+public interface MediaAccesoService {
+
+    /**
+     * true si el hash es la foto de algún producto o receta
+     */
+    boolean esPublico(String hash);
+
+    /**
+     * true si el hash es la foto de perfil (o su miniatura) de algún usuario
+     */
+    boolean esFotoDeUsuario(String hash);
+}
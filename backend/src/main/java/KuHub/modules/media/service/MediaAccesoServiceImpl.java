@@ -0,0 +1,31 @@
+package KuHub.modules.media.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Consultas EXISTS sobre las columnas de hash (índices en db/kuhub/009_media_hash_indexes.sql)
+ */
+@Service
+public class MediaAccesoServiceImpl implements MediaAccesoService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean esPublico(String hash) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM producto WHERE foto_producto_hash = ?)
+                    OR EXISTS (SELECT 1 FROM receta WHERE foto_receta_hash = ?)
+                """, Boolean.class, hash, hash));
+    }
+
+    @Override
+    public boolean esFotoDeUsuario(String hash) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM usuario WHERE foto_perfil_hash = ?)
+                    OR EXISTS (SELECT 1 FROM usuario WHERE foto_perfil_miniatura_hash = ?)
+                """, Boolean.class, hash, hash));
+    }
+}
@@ -0,0 +1,121 @@
+package KuHub.modules.media.service;
+
+import KuHub.config.version.ResourceVersionService;
+import KuHub.config.version.VersionedResource;
+import KuHub.modules.gestionusuario.entity.Usuario;
+import KuHub.modules.media.dtos.MediaRef;
+import KuHub.modules.producto.entity.Producto;
+import KuHub.modules.receta.entity.Receta;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Migración única de las fotos guardadas como BYTEA hacia el almacén de medios
+ *
+ * Por cada fila que aún tiene bytes: los guarda en disco, escribe hash y tipo y deja
+ * la columna BYTEA en NULL, de a una fila por vez para no cargar todas las fotos en
+ * memoria. Una vez migrado todo, cada arranque solo hace una consulta vacía por tabla.
+ * Como escribe con JDBC, al terminar cada tabla saca sus entidades de la caché de segundo
+ * nivel de Hibernate (que si no seguiría entregando la fila sin hash).
+ * Se desactiva con kuhub.media.migrate-bytea=false.
+ */
+@Component
+@DependsOn("databaseMigrationRunner")
+public class MediaByteaMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaByteaMigrator.class);
+
+    private static final int LOTE = 100;
+
+    /**
+     * Tabla, columna id, columna BYTEA antigua, columnas nuevas de hash y tipo, la entidad
+     * mapeada a la tabla y el recurso cuya versión cambia (las URLs de las fotos aparecen en
+     * sus catálogos)
+     */
+    private record ColumnaFoto(String tabla, String id, String bytea, String hash, String tipo,
+                               Class<?> entidad, VersionedResource recurso) { }
+
+    private static final List<ColumnaFoto> COLUMNAS = List.of(
+            new ColumnaFoto("producto", "id_producto", "foto_producto", "foto_producto_hash", "foto_producto_tipo",
+                    Producto.class, VersionedResource.PRODUCTOS),
+            new ColumnaFoto("receta", "id_receta", "foto_receta", "foto_receta_hash", "foto_receta_tipo",
+                    Receta.class, VersionedResource.RECETAS),
+            new ColumnaFoto("usuario", "id_usuario", "foto_perfil", "foto_perfil_hash", "foto_perfil_tipo",
+                    Usuario.class, VersionedResource.USUARIOS)
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MediaStorageService mediaStorageService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${kuhub.media.migrate-bytea:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrar() {
+        if (!enabled) {
+            return;
+        }
+        for (ColumnaFoto columna : COLUMNAS) {
+            try {
+                int movidas = migrar(columna);
+                if (movidas > 0) {
+                    log.info("Fotos movidas al almacén de medios desde {}.{}: {}", columna.tabla(), columna.bytea(), movidas);
+                    entityManagerFactory.getCache().evict(columna.entidad());
+                    resourceVersionService.bump(columna.recurso());
+                }
+            } catch (RuntimeException e) {
+                // Una tabla sin la columna antigua (base nueva) no impide migrar las demás;
+                // si falló a mitad, las filas ya movidas tampoco pueden quedar en caché
+                entityManagerFactory.getCache().evict(columna.entidad());
+                log.warn("No se migraron las fotos de {}.{}: {}", columna.tabla(), columna.bytea(), e.getMessage());
+            }
+        }
+    }
+
+    private int migrar(ColumnaFoto c) {
+        String pendientes = String.format(
+                "SELECT %s FROM %s WHERE %s IS NOT NULL ORDER BY %s LIMIT %d",
+                c.id(), c.tabla(), c.bytea(), c.id(), LOTE);
+        String leer = String.format("SELECT %s FROM %s WHERE %s = ?", c.bytea(), c.tabla(), c.id());
+        // Si la fila ya tiene hash (foto nueva subida después) se conserva y solo se limpian los bytes
+        String actualizar = String.format(
+                "UPDATE %s SET %s = COALESCE(%s, ?), %s = CASE WHEN %s IS NULL THEN ? ELSE %s END, %s = NULL WHERE %s = ?",
+                c.tabla(), c.hash(), c.hash(), c.tipo(), c.hash(), c.tipo(), c.bytea(), c.id());
+        String limpiar = String.format("UPDATE %s SET %s = NULL WHERE %s = ?", c.tabla(), c.bytea(), c.id());
+
+        int total = 0;
+        List<Integer> ids;
+        while (!(ids = jdbcTemplate.queryForList(pendientes, Integer.class)).isEmpty()) {
+            for (Integer id : ids) {
+                byte[] contenido = jdbcTemplate.queryForObject(leer, byte[].class, id);
+                if (contenido == null || contenido.length == 0) {
+                    jdbcTemplate.update(limpiar, id);
+                    continue;
+                }
+                MediaRef ref = mediaStorageService.guardar(contenido);
+                jdbcTemplate.update(actualizar, ref.hash(), ref.contentType(), id);
+                total++;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,49 @@
+package KuHub.modules.media.service;
+
+import KuHub.modules.media.dtos.MediaRef;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Almacén de medios direccionado por contenido
+ *
+ * Cada archivo se guarda una sola vez con el SHA-256 de su contenido como nombre;
+ * las entidades solo guardan ese hash y el tipo de contenido. Como un hash nunca
+ * cambia de contenido, los archivos son inmutables y se pueden cachear para siempre.
+ */
+public interface MediaStorageService {
+
+    /**
+     * Guarda el contenido (si ya existe no lo vuelve a escribir)
+     * El tipo queda como imagen solo si su cabecera se puede leer; si no, application/octet-stream
+     */
+    MediaRef guardar(byte[] contenido);
+
+    /**
+     * Guarda una imagen leyendo el stream por bloques hacia un archivo temporal
+     * (nunca se carga completa en memoria) y la valida solo por su cabecera
+     * @param maxBytes se corta la lectura apenas se supera este tamaño
+     * @throws IllegalArgumentException si supera maxBytes o no es una imagen válida
+     * @throws IOException si no se pudo leer el stream
+     */
+    MediaRef guardarImagen(InputStream contenido, long maxBytes) throws IOException;
+
+    /**
+     * Genera y guarda una miniatura JPEG (lado mayor = lado) de una imagen ya guardada
+     * @return la miniatura, o null si el original no es una imagen legible
+     */
+    MediaRef guardarMiniatura(MediaRef imagen, int lado);
+
+    /**
+     * Archivo del hash indicado, o vacío si el hash no es válido o no existe
+     */
+    Optional<Path> buscar(String hash);
+
+    /**
+     * Tipo MIME del archivo guardado (leyendo solo su cabecera)
+     */
+    String tipoContenido(Path archivo);
+}
@@ -0,0 +1,273 @@
+package KuHub.modules.media.service;
+
+import KuHub.modules.media.dtos.MediaRef;
+import KuHub.utils.ImagenUtils;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Almacén en disco: {raíz}/ab/cd/abcd...(64 hex)
+ *
+ * La escritura va primero a un archivo temporal dentro de la raíz (calculando el hash
+ * mientras se copia) y luego se mueve de forma atómica, así un lector nunca ve un
+ * archivo a medio escribir.
+ *
+ * Dentro de una transacción el archivo nuevo queda en el temporal y se mueve a su ruta recién
+ * al confirmarse; si la transacción se revierte el temporal se borra, así una foto que ninguna
+ * fila llegó a referenciar no queda en disco. Un archivo que ya existía nunca se toca: con
+ * contenido repetido otras filas pueden estar usándolo.
+ *
+ * La raíz es local al nodo: con más de un nodo del backend debe ser un volumen compartido
+ * (NFS, EFS, etc.) montado en la misma ruta en todos, o cada nodo vería solo sus propias
+ * fotos. Con kuhub.media.multi-node=true el arranque falla si la raíz no es una ruta
+ * absoluta o si no contiene el archivo de marca .kuhub-compartido, que se crea una vez en el
+ * volumen compartido; así un nodo con el volumen sin montar no escribe en su disco local.
+ */
+@Service
+public class MediaStorageServiceImpl implements MediaStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaStorageServiceImpl.class);
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private static final String TIPO_DESCONOCIDO = "application/octet-stream";
+
+    private static final int BUFFER = 64 * 1024;
+
+    static final String MARCA_COMPARTIDO = ".kuhub-compartido";
+
+    /**
+     * hash → temporal de los archivos escritos en la transacción actual, pendientes de publicar
+     */
+    private static final String PENDIENTES = MediaStorageServiceImpl.class.getName() + ".pendientes";
+
+    @Value("${kuhub.media.root:media}")
+    private String rootPath;
+
+    @Value("${kuhub.media.multi-node:false}")
+    private boolean multiNodo;
+
+    private Path root;
+    private Path tmp;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(rootPath).toAbsolutePath().normalize();
+        if (multiNodo) {
+            verificarCompartido();
+        }
+        tmp = root.resolve(".tmp");
+        Files.createDirectories(tmp);
+        log.info("Almacén de medios en {}", root);
+    }
+
+    /**
+     * Con varios nodos la raíz tiene que ser el volumen compartido: ruta absoluta y con la marca
+     */
+    private void verificarCompartido() {
+        if (!Paths.get(rootPath).isAbsolute()) {
+            throw new IllegalStateException("kuhub.media.multi-node=true exige que kuhub.media.root sea la ruta "
+                    + "absoluta de un volumen compartido por todos los nodos (valor actual: " + rootPath + ")");
+        }
+        if (!Files.isRegularFile(root.resolve(MARCA_COMPARTIDO))) {
+            throw new IllegalStateException("El almacén de medios " + root + " no es el volumen compartido: falta "
+                    + MARCA_COMPARTIDO + " (¿volumen sin montar?). Créelo una vez en el volumen compartido.");
+        }
+    }
+
+    @Override
+    public MediaRef guardar(byte[] contenido) {
+        try {
+            return escribir(new ByteArrayInputStream(contenido), Long.MAX_VALUE, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar el archivo", e);
+        }
+    }
+
+    @Override
+    public MediaRef guardarImagen(InputStream contenido, long maxBytes) throws IOException {
+        return escribir(contenido, maxBytes, true);
+    }
+
+    @Override
+    public MediaRef guardarMiniatura(MediaRef imagen, int lado) {
+        Path archivo = archivo(imagen.hash());
+        try {
+            ImagenUtils.InfoImagen info = ImagenUtils.leerCabecera(archivo);
+            if (info == null) {
+                return null;
+            }
+            return guardar(ImagenUtils.generarMiniatura(archivo, info, lado));
+        } catch (IOException e) {
+            log.warn("No se pudo generar la miniatura de {}: {}", imagen.hash(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Copia el stream a un temporal calculando el SHA-256 al vuelo, valida la cabecera
+     * y lo mueve a su ruta definitiva (si ya existía, solo se descarta el temporal); dentro de
+     * una transacción el movimiento espera al commit
+     */
+    private MediaRef escribir(InputStream contenido, long maxBytes, boolean exigirImagen) throws IOException {
+        Path temporal = Files.createTempFile(tmp, "subida", ".part");
+        boolean diferido = false;
+        try {
+            MessageDigest digest = nuevoDigest();
+            long total = 0;
+            try (OutputStream salida = Files.newOutputStream(temporal)) {
+                byte[] buffer = new byte[BUFFER];
+                int leidos;
+                while ((leidos = contenido.read(buffer)) != -1) {
+                    total += leidos;
+                    if (total > maxBytes) {
+                        throw new IllegalArgumentException(String.format(
+                                "El archivo no puede superar %d MB", maxBytes / (1024 * 1024)));
+                    }
+                    digest.update(buffer, 0, leidos);
+                    salida.write(buffer, 0, leidos);
+                }
+            }
+
+            ImagenUtils.InfoImagen info = total > 0 ? ImagenUtils.leerCabecera(temporal) : null;
+            if (info == null && exigirImagen) {
+                throw new IllegalArgumentException("El archivo no es una imagen válida (JPG/PNG).");
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path destino = ruta(hash);
+            if (!Files.exists(destino)) {
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                    diferido = pendientes().putIfAbsent(hash, temporal) == null;
+                } else {
+                    publicar(temporal, destino);
+                }
+            }
+            return new MediaRef(hash, info != null ? info.tipo() : TIPO_DESCONOCIDO, total);
+        } finally {
+            if (!diferido) {
+                Files.deleteIfExists(temporal);
+            }
+        }
+    }
+
+    /**
+     * Archivos escritos en la transacción actual; el primero registra su publicación al
+     * confirmar y la limpieza de los temporales al terminar (confirmada o revertida)
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Path> pendientes() {
+        Map<String, Path> pendientes = (Map<String, Path>) TransactionSynchronizationManager.getResource(PENDIENTES);
+        if (pendientes == null) {
+            Map<String, Path> nuevos = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(PENDIENTES, nuevos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    nuevos.forEach((hash, temporal) -> {
+                        try {
+                            publicar(temporal, ruta(hash));
+                        } catch (IOException e) {
+                            log.error("No se pudo publicar el archivo {} ya confirmado en la BD", hash, e);
+                        }
+                    });
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDIENTES);
+                    for (Path temporal : nuevos.values()) {
+                        try {
+                            Files.deleteIfExists(temporal);
+                        } catch (IOException e) {
+                            log.warn("No se pudo borrar el temporal {}: {}", temporal, e.getMessage());
+                        }
+                    }
+                }
+            });
+            pendientes = nuevos;
+        }
+        return pendientes;
+    }
+
+    /**
+     * Ruta del contenido de un hash: el temporal si se escribió en la transacción actual y aún
+     * no se publica, si no la definitiva
+     */
+    @SuppressWarnings("unchecked")
+    private Path archivo(String hash) {
+        Map<String, Path> pendientes = (Map<String, Path>) TransactionSynchronizationManager.getResource(PENDIENTES);
+        Path temporal = pendientes != null ? pendientes.get(hash) : null;
+        return temporal != null ? temporal : ruta(hash);
+    }
+
+    private void publicar(Path temporal, Path destino) throws IOException {
+        Files.createDirectories(destino.getParent());
+        mover(temporal, destino);
+    }
+
+    @Override
+    public Optional<Path> buscar(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path archivo = ruta(hash);
+        return Files.isRegularFile(archivo) ? Optional.of(archivo) : Optional.empty();
+    }
+
+    @Override
+    public String tipoContenido(Path archivo) {
+        try (InputStream in = Files.newInputStream(archivo)) {
+            String tipo = ImagenUtils.detectarTipoContenido(in.readNBytes(ImagenUtils.BYTES_CABECERA));
+            return tipo != null ? tipo : TIPO_DESCONOCIDO;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path ruta(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    /**
+     * Si otro hilo ya dejó el mismo archivo el contenido es idéntico, por eso se reemplaza sin problema
+     */
+    private static void mover(Path origen, Path destino) throws IOException {
+        try {
+            Files.move(origen, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(origen, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static MessageDigest nuevoDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,22 +2,25 @@ package KuHub.modules.producto.assemblers;
 
 import KuHub.modules.producto.controller.ProductoControllerV2;
 import KuHub.modules.producto.entity.Producto;
+import KuHub.utils.LinkTemplate;
+import KuHub.utils.pagination.KeysetModelAssembler;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
-public class ProductoModelAssembler implements RepresentationModelAssembler<Producto, EntityModel<Producto>> {
+public class ProductoModelAssembler implements KeysetModelAssembler<Producto, EntityModel<Producto>> {
+
+    private static final LinkTemplate FIND_PRODUCT_BY_ID = LinkTemplate.of(ProductoControllerV2.class, "findProductById");
+    private static final LinkTemplate FIND_ALL_PRODUCTS = LinkTemplate.of(ProductoControllerV2.class, "findAllProducts");
+    private static final LinkTemplate FIND_BY_ACTIVE = LinkTemplate.of(ProductoControllerV2.class, "findByActive");
 
     @Override
     public EntityModel<Producto> toModel(Producto entity) {
         return EntityModel.of(
                 entity,
-                linkTo(methodOn(ProductoControllerV2.class).findProductById(entity.getIdProducto())).withSelfRel(),
-                linkTo(methodOn(ProductoControllerV2.class).findAllProducts()).withRel("productos"),
-                linkTo(methodOn(ProductoControllerV2.class).findByActive(entity.getActivo())).withRel("productos-por-estado")
+                FIND_PRODUCT_BY_ID.withSelfRel(entity.getIdProducto()),
+                FIND_ALL_PRODUCTS.withRel("productos"),
+                FIND_BY_ACTIVE.withRel("productos-por-estado", entity.getActivo())
         );
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package KuHub.modules.producto.controller;
 
+import KuHub.config.version.ConditionalGet;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.producto.dtos.ProductoUpdateRequest;
 import KuHub.modules.producto.entity.Producto;
 import KuHub.modules.producto.exceptions.ProductoException;
@@ -45,6 +47,7 @@ public class ProductoController {
     }
 
     @GetMapping("/find-categoria-name-product-active/")
+    @ConditionalGet(VersionedResource.PRODUCTOS)
     public ResponseEntity<List<String>> findByCategoriaNameProductActive(){
         return ResponseEntity
                 .status(200)
@@ -52,6 +55,7 @@ public class ProductoController {
     }
 
     @GetMapping("/find-unidad-medida-product-active/")
+    @ConditionalGet(VersionedResource.PRODUCTOS)
     public ResponseEntity<List<String>> findByUnidadMedidaProductActive(){
         return ResponseEntity
                 .status(200)
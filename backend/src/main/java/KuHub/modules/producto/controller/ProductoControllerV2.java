@@ -1,5 +1,7 @@
 package KuHub.modules.producto.controller;
 
+import KuHub.config.version.ConditionalGet;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.producto.assemblers.ProductoModelAssembler;
 import KuHub.modules.producto.dtos.ProductoUpdateRequest;
 import KuHub.modules.producto.entity.Producto;
@@ -41,7 +43,7 @@ public class ProductoControllerV2 {
     @GetMapping
     @Operation(
             summary = "Obtener todos los productos",
-            description = "Retorna una lista de todos los productos disponibles en el sistema, independiente de su estado activo"
+            description = "Retorna los productos paginados por cursor (links next/prev), independiente de su estado activo salvo que se filtre"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -53,15 +55,20 @@ public class ProductoControllerV2 {
                     )
             )
     })
-    public ResponseEntity<CollectionModel<EntityModel<Producto>>> findAllProducts() {
-        List<EntityModel<Producto>> productos = productoService.findAll()
-                .stream()
-                .map(productoModelAssembler::toModel)
-                .toList();
+    public ResponseEntity<CollectionModel<EntityModel<Producto>>> findAllProducts(
+            @Parameter(description = "Cursor opaco devuelto en los links next/prev (vacío = primera página)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (1-500, por defecto 50)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Orden: id, nombre, categoria; opcional \",asc\" o \",desc\"")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Filtrar por estado activo")
+            @RequestParam(required = false) Boolean activo,
+            @Parameter(description = "Filtrar por categoría exacta")
+            @RequestParam(required = false) String categoria) {
 
-        CollectionModel<EntityModel<Producto>> collectionModel = CollectionModel.of(
-                productos,
-                linkTo(methodOn(ProductoControllerV2.class).findAllProducts()).withSelfRel(),
+        CollectionModel<EntityModel<Producto>> collectionModel = productoModelAssembler.toPagedModel(
+                productoService.findPage(cursor, size, sort, activo, categoria),
                 linkTo(methodOn(ProductoControllerV2.class).findByActive(true)).withRel("productos-activos"),
                 linkTo(methodOn(ProductoControllerV2.class).findByActive(false)).withRel("productos-inactivos")
         );
@@ -96,7 +103,7 @@ public class ProductoControllerV2 {
         CollectionModel<EntityModel<Producto>> collectionModel = CollectionModel.of(
                 productos,
                 linkTo(methodOn(ProductoControllerV2.class).findByActive(activo)).withSelfRel(),
-                linkTo(methodOn(ProductoControllerV2.class).findAllProducts()).withRel("todos-productos")
+                linkTo(methodOn(ProductoControllerV2.class).findAllProducts(null, null, null, null, null)).withRel("todos-productos")
         );
 
         return ResponseEntity.status(HttpStatus.OK).body(collectionModel);
@@ -132,6 +139,7 @@ public class ProductoControllerV2 {
     }
 
     @GetMapping("/categorias-activas")
+    @ConditionalGet(VersionedResource.PRODUCTOS)
     @Operation(
             summary = "Obtener categorías de productos activos",
             description = "Retorna lista de categorías distintas de productos activos"
@@ -149,6 +157,7 @@ public class ProductoControllerV2 {
     }
 
     @GetMapping("/unidades-medida-activas")
+    @ConditionalGet(VersionedResource.PRODUCTOS)
     @Operation(
             summary = "Obtener unidades de medida de productos activos",
             description = "Retorna lista de unidades de medida distintas de productos activos"
@@ -1,11 +1,16 @@
 package KuHub.modules.producto.entity;
 
+import KuHub.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name ="producto")
+@Cacheable
+@Cache(region = HibernateCacheConfig.PRODUCTO, usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -39,8 +44,14 @@ public class Producto {
     @Column(name="activo",nullable = false)
     private Boolean activo = true;
 
-    @Column(name="foto_producto")
-    private byte[] fotoProducto;
+    /**
+     * Foto en el almacén de medios (GET /api/v1/media/{hash}); la tabla ya no guarda los bytes
+     */
+    @Column(name="foto_producto_hash", length = 64)
+    private String fotoProductoHash;
+
+    @Column(name="foto_producto_tipo", length = 100)
+    private String fotoProductoTipo;
 
     /**-- Tabla producto
      CREATE TABLE producto (
@@ -51,7 +62,9 @@ public class Producto {
      nombre_categoria VARCHAR(100) NOT NULL,
      unidad_medida VARCHAR(50) NOT NULL,
      activo BOOLEAN DEFAULT TRUE, --soft delete
-     foto_producto BYTEA
+     foto_producto BYTEA, -- solo datos antiguos, se migran al almacén de medios al arrancar
+     foto_producto_hash VARCHAR(64),
+     foto_producto_tipo VARCHAR(100)
      );
      */
 }
@@ -0,0 +1,12 @@
+package KuHub.modules.producto.projection;
+
+/**
+ * Datos mínimos de un producto para validar y mostrar ingredientes
+ * (sin la foto ni el resto de columnas de la entidad)
+ */
+public interface ProductoResumenProjection {
+    Integer getIdProducto();
+    String getNombreProducto();
+    String getUnidadMedida();
+    Boolean getActivo();
+}
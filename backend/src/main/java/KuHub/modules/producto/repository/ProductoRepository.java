@@ -1,16 +1,19 @@
 package KuHub.modules.producto.repository;
 
 import KuHub.modules.producto.entity.Producto;
+import KuHub.modules.producto.projection.ProductoResumenProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductoRepository extends JpaRepository<Producto, Integer> {
+public interface ProductoRepository extends JpaRepository<Producto, Integer>, JpaSpecificationExecutor<Producto> {
     //hay un problema de desincronizacion que necesita crear este metodo, para no estar recreando en la bbdd se engatilla aca
     @Query(value = "SELECT setval('producto_id_producto_seq', (SELECT COALESCE(MAX(id_producto), 1) FROM producto))", nativeQuery = true)
     Integer sincronizarSecuencia();
@@ -21,6 +24,19 @@ public interface ProductoRepository extends JpaRepository<Producto, Integer> {
     @Query("SELECT DISTINCT p.unidadMedida FROM Producto p WHERE p.activo = true")
     List<String> findDistinctUnidadMedidaByActivoTrue();
 
+    /**
+     * Resumen de varios productos en una sola consulta (ver ProductoResolver)
+     */
+    @Query(value = """
+        SELECT p.id_producto     AS idProducto,
+               p.nombre_producto AS nombreProducto,
+               p.unidad_medida   AS unidadMedida,
+               p.activo          AS activo
+        FROM producto p
+        WHERE p.id_producto = ANY(CAST(:ids AS integer[]))
+        """, nativeQuery = true)
+    List<ProductoResumenProjection> findResumenByIds(@Param("ids") Integer[] ids);
+
     Optional<Producto> findByNombreProducto(String nombreProducto);
     Optional<Producto> findByIdProductoAndActivoTrue(Integer id_producto);
     Optional<Producto> findByNombreProductoAndActivo(String nombreProducto, Boolean activo);
@@ -0,0 +1,26 @@
+package KuHub.modules.producto.service;
+
+import KuHub.modules.producto.entity.Producto;
+import KuHub.modules.producto.projection.ProductoResumenProjection;
+import KuHub.utils.IntObjectMap;
+
+import java.util.Collection;
+
+/**
+ * Resolución en bloque de productos por id
+ *
+ * Pensado para validar listas de ingredientes: una sola consulta por lote en vez de
+ * una por producto, y dentro de una transacción cada id se consulta una sola vez.
+ */
+public interface ProductoResolver {
+
+    /**
+     * @return idProducto → producto, solo con los ids que existen (activos o no)
+     */
+    IntObjectMap<ProductoResumenProjection> resolve(Collection<Integer> ids);
+
+    /**
+     * Referencia (proxy sin consulta) para asociar un producto ya validado a otra entidad
+     */
+    Producto getReference(Integer id);
+}
@@ -0,0 +1,90 @@
+package KuHub.modules.producto.service;
+
+import KuHub.modules.producto.entity.Producto;
+import KuHub.modules.producto.projection.ProductoResumenProjection;
+import KuHub.modules.producto.repository.ProductoRepository;
+import KuHub.utils.IntObjectMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Service
+public class ProductoResolverImpl implements ProductoResolver {
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    /**
+     * Busca primero en la memoria de la transacción actual y consulta el resto
+     * con un único WHERE id_producto = ANY(...). Los ids inexistentes también se
+     * recuerdan para no volver a consultarlos. Sin transacción activa no hay memoria.
+     */
+    @Override
+    public IntObjectMap<ProductoResumenProjection> resolve(Collection<Integer> ids) {
+        IntObjectMap<Optional<ProductoResumenProjection>> memo = transactionMemo();
+        IntObjectMap<ProductoResumenProjection> result = new IntObjectMap<>(ids.size());
+
+        int[] pendientes = new int[ids.size()];
+        int cantPendientes = 0;
+        for (Integer id : ids) {
+            if (id == null) {
+                continue;
+            }
+            Optional<ProductoResumenProjection> conocido = memo.get(id);
+            if (conocido == null) {
+                pendientes[cantPendientes++] = id;
+            } else {
+                conocido.ifPresent(p -> result.put(id, p));
+            }
+        }
+        if (cantPendientes == 0) {
+            return result;
+        }
+
+        Integer[] consulta = new Integer[cantPendientes];
+        for (int i = 0; i < cantPendientes; i++) {
+            consulta[i] = pendientes[i];
+        }
+        for (ProductoResumenProjection p : productoRepository.findResumenByIds(consulta)) {
+            memo.put(p.getIdProducto(), Optional.of(p));
+            result.put(p.getIdProducto(), p);
+        }
+        for (int i = 0; i < cantPendientes; i++) {
+            if (!memo.containsKey(pendientes[i])) {
+                memo.put(pendientes[i], Optional.empty());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Producto getReference(Integer id) {
+        return productoRepository.getReferenceById(id);
+    }
+
+    /**
+     * Memoria ligada a la transacción actual; se libera al terminar la transacción
+     */
+    @SuppressWarnings("unchecked")
+    private IntObjectMap<Optional<ProductoResumenProjection>> transactionMemo() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new IntObjectMap<>();
+        }
+        Object memo = TransactionSynchronizationManager.getResource(this);
+        if (memo == null) {
+            memo = new IntObjectMap<Optional<ProductoResumenProjection>>();
+            TransactionSynchronizationManager.bindResource(this, memo);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ProductoResolverImpl.this);
+                }
+            });
+        }
+        return (IntObjectMap<Optional<ProductoResumenProjection>>) memo;
+    }
+}
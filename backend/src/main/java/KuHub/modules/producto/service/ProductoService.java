@@ -3,12 +3,14 @@ package KuHub.modules.producto.service;
 
 import KuHub.modules.producto.dtos.ProductoUpdateRequest;
 import KuHub.modules.producto.entity.Producto;
+import KuHub.utils.pagination.KeysetPage;
 
 import java.util.List;
 
 public interface ProductoService {
 
     List<Producto> findAll();
+    KeysetPage<Producto> findPage(String cursor, Integer size, String sort, Boolean activo, String categoria);
     List<Producto> findByActivo(Boolean activo);
 
     Boolean existProductByName (String nombreProducto);
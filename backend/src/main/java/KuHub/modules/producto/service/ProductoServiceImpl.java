@@ -1,5 +1,8 @@
 package KuHub.modules.producto.service;
 
+import KuHub.config.CacheConfig;
+import KuHub.config.version.ResourceVersionService;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.producto.dtos.ProductoUpdateRequest;
 import KuHub.modules.producto.entity.Producto;
 import KuHub.modules.producto.exceptions.ProductoException;
@@ -7,7 +10,12 @@ import KuHub.modules.producto.exceptions.ProductoExistenteException;
 import KuHub.modules.producto.exceptions.ProductoNotFoundException;
 import KuHub.modules.producto.repository.ProductoRepository;
 import KuHub.utils.StringUtils;
+import KuHub.utils.pagination.KeysetPage;
+import KuHub.utils.pagination.KeysetPaginator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,10 +24,21 @@ import java.util.List;
 @Service
 public class ProductoServiceImpl implements ProductoService{
 
+    /**
+     * Órdenes permitidos en el listado paginado (índices en db/kuhub/002_keyset_indexes.sql)
+     */
+    private static final KeysetPaginator<Producto> PAGINATOR =
+            KeysetPaginator.of(Producto.class, "idProducto", Integer.class)
+                    .sort("nombre", "nombreProducto", String.class)
+                    .sort("categoria", "nombreCategoria", String.class)
+                    .build();
 
     @Autowired
     private ProductoRepository productoRepository;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
 
     @Transactional(readOnly = true)
     @Override
@@ -27,6 +46,15 @@ public class ProductoServiceImpl implements ProductoService{
         return productoRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public KeysetPage<Producto> findPage(String cursor, Integer size, String sort, Boolean activo, String categoria) {
+        Specification<Producto> filtros = Specification
+                .where(KeysetPaginator.<Producto>equal("activo", activo))
+                .and(KeysetPaginator.equal("nombreCategoria", categoria));
+        return PAGINATOR.fetch(productoRepository, filtros, cursor, size, sort);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public List<Producto> findByActivo(Boolean activo){
@@ -57,12 +85,14 @@ public class ProductoServiceImpl implements ProductoService{
         );
     }
 
+    @Cacheable(cacheNames = CacheConfig.CATALOGOS_PRODUCTO, key = "'categorias'")
     @Transactional(readOnly = true)
     @Override
     public List<String> findDistinctCategoriaAndActivoTrue(){
         return productoRepository.findDistinctCategoriaByActivoTrue();
     }
 
+    @Cacheable(cacheNames = CacheConfig.CATALOGOS_PRODUCTO, key = "'unidades'")
     @Transactional(readOnly = true)
     @Override
     public List<String> findDistinctUnidadMedidaByActivoTrue(){
@@ -84,6 +114,7 @@ public class ProductoServiceImpl implements ProductoService{
     }
 
 
+    @CacheEvict(cacheNames = CacheConfig.CATALOGOS_PRODUCTO, allEntries = true)
     @Transactional
     @Override
     public Producto save (Producto producto) {
@@ -110,9 +141,11 @@ public class ProductoServiceImpl implements ProductoService{
         //activo con true
         producto.setActivo(true);
 
+        resourceVersionService.bump(VersionedResource.PRODUCTOS);
         return productoRepository.save(producto);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CATALOGOS_PRODUCTO, allEntries = true)
     @Transactional
     @Override
     public Producto updateByName(String nombreProductoActual , ProductoUpdateRequest productoRequest) {
@@ -131,9 +164,11 @@ public class ProductoServiceImpl implements ProductoService{
 
         P.setNombreProducto(nombrePNuevo);
         P.setUnidadMedida(productoRequest.getUnidadMedida());
+        resourceVersionService.bump(VersionedResource.PRODUCTOS);
         return productoRepository.save(P);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CATALOGOS_PRODUCTO, allEntries = true)
     @Transactional
     @Override
     public Producto updateById(Integer id, ProductoUpdateRequest productoRequest){
@@ -150,10 +185,12 @@ public class ProductoServiceImpl implements ProductoService{
 
         P.setNombreProducto(nombrePNuevo);
         P.setUnidadMedida(productoRequest.getUnidadMedida());
+        resourceVersionService.bump(VersionedResource.PRODUCTOS);
         return productoRepository.save(P);
     }
 
     // Eliminacion logica de producto por nombre
+    @CacheEvict(cacheNames = CacheConfig.CATALOGOS_PRODUCTO, allEntries = true)
     @Transactional
     @Override
     public void deleteByName(String nombreProducto) {
@@ -169,8 +206,10 @@ public class ProductoServiceImpl implements ProductoService{
         //eliminar de manera logica
         producto.setActivo(false);
         productoRepository.save(producto);
+        resourceVersionService.bump(VersionedResource.PRODUCTOS);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CATALOGOS_PRODUCTO, allEntries = true)
     @Transactional
     @Override
     public void deleteById(Integer id)  {
@@ -180,6 +219,7 @@ public class ProductoServiceImpl implements ProductoService{
         //eliminar de maneira logica
         producto.setActivo(false);
         productoRepository.save(producto);
+        resourceVersionService.bump(VersionedResource.PRODUCTOS);
     }
 
 }
@@ -1,5 +1,7 @@
 package KuHub.modules.receta.controller;
 
+import KuHub.config.version.ConditionalGet;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.receta.dtos.RecipeWithDetailsAnswerUpdateDTO;
 import KuHub.modules.receta.dtos.RecipeWithDetailsCreateDTO;
 import KuHub.modules.receta.entity.Receta;
@@ -58,6 +60,7 @@ public class RecetaController {
     }
 
     @GetMapping("/find-all-recipe-with-details-active/")
+    @ConditionalGet({VersionedResource.RECETAS, VersionedResource.PRODUCTOS})
     public ResponseEntity<List<RecipeWithDetailsAnswerUpdateDTO>> findAllRecipeWithDetailsActive(){
         try{
             return ResponseEntity
@@ -155,6 +158,16 @@ public class RecetaController {
         }
     }
 
+    /**
+     * Repara las secuencias de receta y detalle_receta (solo ADMINISTRADOR)
+     * Útil tras cargas manuales de datos; en funcionamiento normal no hace falta
+     */
+    @PostMapping("/sync-sequences/")
+    public ResponseEntity<Void> syncSequences() {
+        recetaService.syncSeqReceta();
+        return ResponseEntity.noContent().build();
+    }
+
     /**
     @DeleteMapping("/delete-recipe/{id}")
     public ResponseEntity<Void> deleteRecipe(@PathVariable Integer id) {
@@ -15,12 +15,16 @@ import lombok.*;
 @ToString
 public class DetalleReceta {
 
+    /**
+     * Optimizador pooled-lo: un nextval alcanza para 50 detalles, que se insertan en un
+     * solo batch JDBC (hibernate.jdbc.batch_size + reWriteBatchedInserts)
+     */
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "detalle_receta_seq")
     @SequenceGenerator(
             name = "detalle_receta_seq",
             sequenceName = "detalle_receta_id_detalle_receta_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @Column(name = "id_detalle_receta", nullable = false)
     private Integer idDetalleReceta;
@@ -12,12 +12,16 @@ import lombok.*;
 @ToString
 public class Receta {
 
+    /**
+     * Optimizador pooled-lo (hibernate.id.optimizer.pooled.preferred): cada nextval reserva
+     * un bloque de 50 ids, por eso la secuencia tiene INCREMENT BY 50 (db/kuhub/003_pooled_lo_sequences.sql)
+     */
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "receta_seq")
     @SequenceGenerator(
             name = "receta_seq",
             sequenceName = "receta_id_receta_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @Column(name = "id_receta", nullable = false)
     private Integer idReceta;
@@ -43,14 +47,14 @@ public class Receta {
     )
     private EstadoRecetaType estadoReceta;
 
-    @Lob
-    @Column(
-            name = "foto_receta",
-            columnDefinition = "BYTEA",
-            insertable = false,
-            updatable = false
-    )
-    private byte[] fotoReceta;
+    /**
+     * Foto en el almacén de medios (GET /api/v1/media/{hash}); la tabla ya no guarda los bytes
+     */
+    @Column(name = "foto_receta_hash", length = 64)
+    private String fotoRecetaHash;
+
+    @Column(name = "foto_receta_tipo", length = 100)
+    private String fotoRecetaTipo;
 
 
 
@@ -0,0 +1,18 @@
+package KuHub.modules.receta.projection;
+
+/**
+ * Fila plana receta + ingrediente del catálogo de recetas activas
+ * Las columnas del ingrediente son null si la receta no tiene detalles
+ */
+public interface RecetaCatalogoRowProjection {
+    Integer getIdReceta();
+    String getNombreReceta();
+    String getDescripcionReceta();
+    String getInstrucciones();
+    String getEstadoReceta();
+    Integer getIdProducto();
+    String getNombreProducto();
+    String getUnidadMedida();
+    Double getCantProducto();
+    Boolean getActivoProducto();
+}
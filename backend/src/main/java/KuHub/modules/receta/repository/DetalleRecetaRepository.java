@@ -4,9 +4,12 @@ import KuHub.modules.receta.entity.DetalleReceta;
 import KuHub.modules.receta.entity.Receta;
 import KuHub.modules.receta.projection.DetalleRecetaIdProductoProjection;
 import feign.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -32,12 +35,18 @@ public interface DetalleRecetaRepository extends JpaRepository<DetalleReceta, In
      * - Establece el valor interno de la secuencia para que el próximo `nextval()`
      *   continúe desde ese número.
      *
-     * Esto garantiza que los nuevos registros usen IDs válidos, consecutivos y no
+     * Esto garantiza que los nuevos registros usen IDs válidos y no
      * colisionen con los datos ya existentes.
+     *
+     * Igual que RecetaRepository.syncSeqReceta: compatible con pooled-lo, solo avanza
+     * la secuencia y ya no se ejecuta por cada INSERT.
      */
-
     @Query(
-            value = "SELECT setval('detalle_receta_id_detalle_receta_seq', (SELECT COALESCE(MAX(id_detalle_receta), 1) FROM detalle_receta))",
+            value = """
+                SELECT setval('detalle_receta_id_detalle_receta_seq', t.siguiente, false)
+                FROM (SELECT COALESCE(MAX(id_detalle_receta), 0) + 1 AS siguiente FROM detalle_receta) t
+                WHERE t.siguiente > (SELECT last_value FROM detalle_receta_id_detalle_receta_seq)
+                """,
             nativeQuery = true
     )
     Integer syncSeqDetalleReceta();
@@ -117,4 +126,75 @@ public interface DetalleRecetaRepository extends JpaRepository<DetalleReceta, In
     void deleteByRecetaAndProductoIds(@Param("idReceta") Integer idReceta,
                                       @Param("idsProducto") List<Integer> idsProducto);
 
+    /**
+     * Inserta o actualiza en una sola sentencia todos los ingredientes deseados de una receta.
+     *
+     * ¿Qué hace exactamente?
+     * - Recibe el conjunto deseado como dos arreglos paralelos (productos y cantidades)
+     *   y los convierte en filas con unnest.
+     * - Los productos que ya están en la receta chocan con la restricción única
+     *   (id_receta, id_producto) y solo se actualiza su cantidad si cambió.
+     * - Los productos nuevos toman su id de bloques de la secuencia, igual que el
+     *   optimizador pooled-lo de Hibernate: un nextval por cada 50 filas nuevas
+     *   (50 = allocationSize de DetalleReceta e INCREMENT BY de la secuencia).
+     *
+     * Los arreglos no deben tener productos repetidos.
+     * @return cantidad de filas insertadas o actualizadas
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "detalle_receta"))
+    @Query(value = """
+        WITH deseados AS (
+            SELECT u.id_producto,
+                   u.cant_producto,
+                   d.id_detalle_receta AS id_existente,
+                   CASE WHEN d.id_detalle_receta IS NULL
+                        THEN row_number() OVER (PARTITION BY d.id_detalle_receta IS NULL ORDER BY u.ord)
+                   END AS n_nuevo
+            FROM unnest(CAST(:idsProducto AS integer[]), CAST(:cantidades AS double precision[]))
+                 WITH ORDINALITY AS u(id_producto, cant_producto, ord)
+            LEFT JOIN detalle_receta d
+                   ON d.id_receta = :idReceta AND d.id_producto = u.id_producto
+        ),
+        bloques AS (
+            SELECT row_number() OVER () AS k,
+                   nextval('detalle_receta_id_detalle_receta_seq') AS lo
+            FROM generate_series(1, (SELECT (COUNT(*) + 49) / 50 FROM deseados WHERE id_existente IS NULL))
+        )
+        INSERT INTO detalle_receta (id_detalle_receta, id_receta, id_producto, cant_producto)
+        SELECT COALESCE(d.id_existente, b.lo + (d.n_nuevo - 1) % 50),
+               :idReceta,
+               d.id_producto,
+               d.cant_producto
+        FROM deseados d
+        LEFT JOIN bloques b ON b.k = (d.n_nuevo - 1) / 50 + 1
+        ON CONFLICT (id_receta, id_producto)
+        DO UPDATE SET cant_producto = EXCLUDED.cant_producto
+        WHERE detalle_receta.cant_producto IS DISTINCT FROM EXCLUDED.cant_producto
+        """, nativeQuery = true)
+    int upsertDetalles(@Param("idReceta") Integer idReceta,
+                       @Param("idsProducto") Integer[] idsProducto,
+                       @Param("cantidades") Double[] cantidades);
+
+    /**
+     * Elimina en una sola sentencia los ingredientes de la receta que ya no están en el
+     * conjunto deseado.
+     *
+     * Solo afecta detalles de productos activos: los de productos inactivos no se
+     * muestran ni se editan, y se conservan como antes.
+     * @return cantidad de detalles eliminados
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "detalle_receta"))
+    @Query(value = """
+        DELETE FROM detalle_receta d
+        USING producto p
+        WHERE d.id_receta = :idReceta
+          AND p.id_producto = d.id_producto
+          AND p.activo = TRUE
+          AND d.id_producto <> ALL(CAST(:idsProducto AS integer[]))
+        """, nativeQuery = true)
+    int deleteDetallesNotIn(@Param("idReceta") Integer idReceta,
+                            @Param("idsProducto") Integer[] idsProducto);
+
 }
@@ -1,12 +1,17 @@
 package KuHub.modules.receta.repository;
 
 import KuHub.modules.receta.entity.Receta;
+import KuHub.modules.receta.projection.RecetaCatalogoRowProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RecetaRepository extends JpaRepository<Receta,Integer> {
@@ -27,11 +32,22 @@ public interface RecetaRepository extends JpaRepository<Receta,Integer> {
      * - Obtiene MAX(id_receta) de la tabla `receta`.
      * - Establece la secuencia para que el próximo `nextval()` continúe desde ese valor.
      *
-     * Esto asegura que los próximos registros generen IDs únicos y consecutivos,
+     * Esto asegura que los próximos registros generen IDs únicos,
      * evitando conflictos con los datos ya existentes.
+     *
+     * Con pooled-lo el valor devuelto por nextval es el primer id del bloque, por eso se
+     * deja en MAX + 1 (is_called = false). Solo avanza la secuencia, nunca la retrocede,
+     * para no pisar bloques ya reservados por otros nodos. Devuelve null si no hizo falta.
+     *
+     * Ya no se llama antes de cada INSERT: se ejecuta al arrancar (db/kuhub/003_pooled_lo_sequences.sql)
+     * o a pedido de un administrador (POST /api/v1/receta/sync-sequences/).
      */
     @Query(
-            value = "SELECT setval('receta_id_receta_seq', (SELECT COALESCE(MAX(id_receta), 1) FROM receta))",
+            value = """
+                SELECT setval('receta_id_receta_seq', t.siguiente, false)
+                FROM (SELECT COALESCE(MAX(id_receta), 0) + 1 AS siguiente FROM receta) t
+                WHERE t.siguiente > (SELECT last_value FROM receta_id_receta_seq)
+                """,
             nativeQuery = true
     )
     Integer syncSeqReceta();
@@ -44,6 +60,37 @@ public interface RecetaRepository extends JpaRepository<Receta,Integer> {
 
     List<Receta> findAllByActivoRecetaTrue();
 
+    /**
+     * Catálogo de recetas activas con sus ingredientes en una sola consulta
+     *
+     * Una fila por ingrediente (o una sola fila con columnas de producto null si la receta
+     * no tiene detalles), ordenadas por receta para poder agruparlas al recorrer el stream.
+     * Solo lee las columnas que muestra el catálogo: nunca carga entidades Producto ni sus fotos.
+     * El stream debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = """
+        SELECT r.id_receta                 AS idReceta,
+               r.nombre_receta             AS nombreReceta,
+               r.descripcion_receta        AS descripcionReceta,
+               r.instrucciones             AS instrucciones,
+               CAST(r.estado_receta AS text) AS estadoReceta,
+               p.id_producto               AS idProducto,
+               p.nombre_producto           AS nombreProducto,
+               p.unidad_medida             AS unidadMedida,
+               d.cant_producto             AS cantProducto,
+               p.activo                    AS activoProducto
+        FROM receta r
+        LEFT JOIN detalle_receta d ON d.id_receta = r.id_receta
+        LEFT JOIN producto p ON p.id_producto = d.id_producto
+        WHERE r.activo = TRUE
+        ORDER BY r.id_receta, d.id_detalle_receta
+        """, nativeQuery = true)
+    Stream<RecetaCatalogoRowProjection> streamCatalogoActivo();
+
 
 
 
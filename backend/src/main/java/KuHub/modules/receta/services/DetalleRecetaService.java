@@ -6,6 +6,7 @@ import KuHub.modules.receta.projection.DetalleRecetaIdProductoProjection;
 import feign.Param;
 
 import java.util.List;
+import java.util.Map;
 
 public interface DetalleRecetaService {
 
@@ -21,6 +22,8 @@ public interface DetalleRecetaService {
 
     DetalleReceta save(DetalleReceta detalleReceta);
 
+    List<DetalleReceta> saveAll(List<DetalleReceta> detalles);
+
     void updateQuantityByIdRecetaAndIdProducto(
             @Param("idReceta") Integer idReceta,
             @Param("idProducto") Integer idProducto,
@@ -30,6 +33,8 @@ public interface DetalleRecetaService {
     void deleteByRecetaAndProductoIds(@Param("idReceta") Integer idReceta,
                                       @Param("idsProducto") List<Integer> idsProducto);
 
+    void syncDetails(Integer idReceta, Map<Integer, Double> cantidadPorProducto);
+
     void deleteById(Integer id);
 
 }
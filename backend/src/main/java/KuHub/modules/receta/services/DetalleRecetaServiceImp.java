@@ -1,4 +1,6 @@
 package KuHub.modules.receta.services;
+import KuHub.config.version.ResourceVersionService;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.receta.entity.DetalleReceta;
 import KuHub.modules.receta.entity.Receta;
 import KuHub.modules.receta.exceptions.RecetaException;
@@ -9,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class DetalleRecetaServiceImp implements DetalleRecetaService{
@@ -16,11 +19,14 @@ public class DetalleRecetaServiceImp implements DetalleRecetaService{
     @Autowired
     private DetalleRecetaRepository detalleRecetaRepository;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     @Transactional
     @Override
     public void syncSeqDetalleReceta(){
         Integer nuevoValor = detalleRecetaRepository.syncSeqDetalleReceta();
-        System.out.println("Secuencia sincronizada. Nuevo valor: " + nuevoValor);
+        System.out.println("Secuencia sincronizada. Nuevo valor: " + (nuevoValor != null ? nuevoValor : "sin cambios"));
     }
 
     @Transactional(readOnly = true)
@@ -61,14 +67,25 @@ public class DetalleRecetaServiceImp implements DetalleRecetaService{
     @Transactional
     @Override
     public DetalleReceta save (DetalleReceta dr){
-        syncSeqDetalleReceta();
+        resourceVersionService.bump(VersionedResource.RECETAS);
         return detalleRecetaRepository.save(dr);
     }
 
+    /**
+     * Guarda varios detalles en un solo batch JDBC (un nextval cada 50 filas)
+     */
+    @Transactional
+    @Override
+    public List<DetalleReceta> saveAll(List<DetalleReceta> detalles){
+        resourceVersionService.bump(VersionedResource.RECETAS);
+        return detalleRecetaRepository.saveAll(detalles);
+    }
+
     @Transactional
     @Override
     public void updateQuantityByIdRecetaAndIdProducto(Integer idReceta, Integer idProducto, Double cantidad){
         detalleRecetaRepository.updateQuantityByIdRecetaAndIdProducto(idReceta,idProducto,cantidad );
+        resourceVersionService.bump(VersionedResource.RECETAS);
 
     }
 
@@ -76,6 +93,30 @@ public class DetalleRecetaServiceImp implements DetalleRecetaService{
     @Override
     public void deleteByRecetaAndProductoIds(Integer idReceta, List<Integer> idsProducto){
         detalleRecetaRepository.deleteByRecetaAndProductoIds(idReceta,idsProducto);
+        resourceVersionService.bump(VersionedResource.RECETAS);
+    }
+
+    /**
+     * Deja los ingredientes (activos) de la receta iguales al conjunto recibido
+     * con un upsert y un delete, sin importar cuántos productos cambien
+     * @param cantidadPorProducto idProducto → cantidad deseada
+     */
+    @Transactional
+    @Override
+    public void syncDetails(Integer idReceta, Map<Integer, Double> cantidadPorProducto){
+        Integer[] idsProducto = new Integer[cantidadPorProducto.size()];
+        Double[] cantidades = new Double[cantidadPorProducto.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Double> entry : cantidadPorProducto.entrySet()) {
+            idsProducto[i] = entry.getKey();
+            cantidades[i] = entry.getValue();
+            i++;
+        }
+        if (idsProducto.length > 0) {
+            detalleRecetaRepository.upsertDetalles(idReceta, idsProducto, cantidades);
+        }
+        detalleRecetaRepository.deleteDetallesNotIn(idReceta, idsProducto);
+        resourceVersionService.bump(VersionedResource.RECETAS);
     }
 
     @Transactional
@@ -85,6 +126,7 @@ public class DetalleRecetaServiceImp implements DetalleRecetaService{
             throw new RecetaException("No existe detalle receta con id " + id);
         }
         detalleRecetaRepository.deleteById(id);
+        resourceVersionService.bump(VersionedResource.RECETAS);
     }
 
 }
@@ -1,8 +1,10 @@
 package KuHub.modules.receta.services;
 
-import KuHub.modules.producto.entity.Producto;
+import KuHub.config.version.ResourceVersionService;
+import KuHub.config.version.VersionedResource;
 import KuHub.modules.producto.exceptions.ProductoNotFoundException;
-import KuHub.modules.producto.service.ProductoService;
+import KuHub.modules.producto.projection.ProductoResumenProjection;
+import KuHub.modules.producto.service.ProductoResolver;
 import KuHub.modules.receta.dtos.RecipeItemDTO;
 import KuHub.modules.receta.dtos.RecipeWithDetailsAnswerUpdateDTO;
 import KuHub.modules.receta.dtos.RecipeWithDetailsCreateDTO;
@@ -10,7 +12,9 @@ import KuHub.modules.receta.entity.DetalleReceta;
 import KuHub.modules.receta.entity.Receta;
 import KuHub.modules.receta.exceptions.RecetaException;
 import KuHub.modules.receta.projection.DetalleRecetaIdProductoProjection;
+import KuHub.modules.receta.projection.RecetaCatalogoRowProjection;
 import KuHub.modules.receta.repository.RecetaRepository;
+import KuHub.utils.IntObjectMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +24,7 @@ import org.springframework.util.StringUtils;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class RecetaServiceImp implements RecetaService{
@@ -28,19 +33,27 @@ public class RecetaServiceImp implements RecetaService{
     private RecetaRepository recetaRepository;
 
     @Autowired
-    private ProductoService productoService;
+    private ProductoResolver productoResolver;
 
     @Autowired
     private DetalleRecetaService detalleRecetaService;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     private static final Logger log = LoggerFactory.getLogger(RecetaServiceImp.class);
 
 
+    /**
+     * Repara las secuencias de receta y detalle_receta (comando de administrador)
+     * Ya no se invoca antes de cada INSERT; al arrancar lo hace db/kuhub/003_pooled_lo_sequences.sql
+     */
     @Transactional
     @Override
     public void syncSeqReceta() {
         Integer nuevoValor = recetaRepository.syncSeqReceta();
-        System.out.println("Secencia sincronizada. Valor:" + nuevoValor);
+        System.out.println("Secencia sincronizada. Valor:" + (nuevoValor != null ? nuevoValor : "sin cambios"));
+        detalleRecetaService.syncSeqDetalleReceta();
     }
 
     @Transactional(readOnly = true)
@@ -104,9 +117,11 @@ public class RecetaServiceImp implements RecetaService{
     }
 
     /**
-     * Obtiene todas las recetas junto con sus detalles de productos,
-     * agrupando eficientemente los detalles por receta para evitar
-     * una relación cruzada O(n × m).
+     * Obtiene todas las recetas activas junto con sus detalles de productos.
+     *
+     * Usa una sola consulta (receta LEFT JOIN detalle_receta LEFT JOIN producto) proyectada
+     * a columnas planas y ordenada por receta; las filas se recorren como stream y se
+     * agrupan por receta consecutiva, sin cargar entidades ni las fotos de los productos.
      *
      * No futuro se puede crear una condicionalidad para que filtre sea por True/False or All
      */
@@ -114,52 +129,41 @@ public class RecetaServiceImp implements RecetaService{
     @Override
     public List<RecipeWithDetailsAnswerUpdateDTO> findAllRecipeWithDetailsActive() {
 
-        /** Obtiene solo las recetas activas */
-        List<Receta> recetas = findAllByActivoRecetaTrue();
-
-        /** Obtiene todos los detalles de receta desde la BD */
-        List<DetalleReceta> detalles = detalleRecetaService.findAll();
-
-        /**
-         * Agrupa los detalles por el ID de su receta para acceso rápido.
-         * Esto reduce la complejidad a O(n + m).
-         */
-        Map<Integer, List<DetalleReceta>> detallesPorReceta = detalles.stream()
-                .collect(Collectors.groupingBy(d -> d.getReceta().getIdReceta()));
-
         /** Lista final que se devolverá al caller */
         List<RecipeWithDetailsAnswerUpdateDTO> dtos = new ArrayList<>();
 
-        /** Recorre todas las recetas */
-        for (Receta r : recetas) {
-
-            /**
-             * Obtiene solo los detalles que pertenecen a esta receta.
-             * Si no tiene detalles, devuelve una lista vacía.
-             */
-            List<RecipeItemDTO> items = detallesPorReceta
-                    .getOrDefault(r.getIdReceta(), Collections.emptyList())
-                    .stream()
-                    .map(d -> new RecipeItemDTO(
-                            d.getProducto().getIdProducto(),
-                            d.getProducto().getNombreProducto(),
-                            d.getProducto().getUnidadMedida(),
-                            d.getCantProducto(),
-                            d.getProducto().getActivo()
-                    ))
-                    .collect(Collectors.toList());
+        try (Stream<RecetaCatalogoRowProjection> filas = recetaRepository.streamCatalogoActivo()) {
+            RecipeWithDetailsAnswerUpdateDTO actual = null;
+
+            for (Iterator<RecetaCatalogoRowProjection> it = filas.iterator(); it.hasNext(); ) {
+                RecetaCatalogoRowProjection fila = it.next();
+
+                /** Las filas vienen ordenadas por receta: un id distinto abre la siguiente receta */
+                if (actual == null || !actual.getIdReceta().equals(fila.getIdReceta())) {
+                    actual = new RecipeWithDetailsAnswerUpdateDTO(
+                            fila.getIdReceta(),
+                            fila.getNombreReceta(),
+                            fila.getDescripcionReceta(),
+                            new ArrayList<>(),
+                            fila.getInstrucciones(),
+                            Receta.EstadoRecetaType.valueOf(fila.getEstadoReceta()),
+                            false,
+                            false
+                    );
+                    dtos.add(actual);
+                }
 
-            /** Construye el DTO final de receta con detalles */
-            dtos.add(new RecipeWithDetailsAnswerUpdateDTO(
-                    r.getIdReceta(),
-                    r.getNombreReceta(),
-                    r.getDescripcionReceta(),
-                    items,
-                    r.getInstruccionesReceta(),
-                    r.getEstadoReceta(),
-                    false,
-                    false
-            ));
+                /** Receta sin detalles: una sola fila con las columnas del producto en null */
+                if (fila.getIdProducto() != null) {
+                    actual.getListaItems().add(new RecipeItemDTO(
+                            fila.getIdProducto(),
+                            fila.getNombreProducto(),
+                            fila.getUnidadMedida(),
+                            fila.getCantProducto(),
+                            fila.getActivoProducto()
+                    ));
+                }
+            }
         }
 
         /** Log del total de recetas procesadas */
@@ -183,7 +187,6 @@ public class RecetaServiceImp implements RecetaService{
     @Transactional
     @Override
     public Receta save (Receta receta){
-        syncSeqReceta();
         //Validar que el nombre de la receta no existe para seguir las validaciones
         String capNombreReceta = StringUtils.capitalize(receta.getNombreReceta());
         if (recetaRepository.existsByNombreRecetaAndActivoRecetaTrue(capNombreReceta)) {
@@ -193,6 +196,7 @@ public class RecetaServiceImp implements RecetaService{
         receta.setNombreReceta(capNombreReceta);
         receta.setActivoReceta(true);
         receta.setEstadoReceta(Receta.EstadoRecetaType.ACTIVO);
+        resourceVersionService.bump(VersionedResource.RECETAS);
         return recetaRepository.save(receta);
     }
 
@@ -205,33 +209,32 @@ public class RecetaServiceImp implements RecetaService{
             throw new RecetaException("La lista de items de receta no puede estar vacia");
         }
 
-        //VALIDACIONES CREA EL MAPA PARA GUARDAR LOS PRODUCTOS PARA EVITAR LLAMADAS A LA BBDD
-        List<Map.Entry<RecipeItemDTO, Producto>> itemsValidosConProducto = new ArrayList<>();
+        //VALIDACIONES: TODOS LOS PRODUCTOS DE LA LISTA EN UNA SOLA CONSULTA
+        IntObjectMap<ProductoResumenProjection> productos = productoResolver.resolve(
+                dto.getListaItems().stream().map(RecipeItemDTO::getIdProducto).toList()
+        );
+        List<RecipeItemDTO> itemsValidos = new ArrayList<>();
         List<String> errores = new ArrayList<>();
 
         //INICIAR CICLO DE VALIDACIONES DETALLE RECETA
         for (RecipeItemDTO DR : dto.getListaItems()) {
             //Obtener producto si existe el id
-            try {
-                Producto producto = productoService.findById(DR.getIdProducto());
-
-                //Validar si la candidad del producto de la receta no es negativa
-                if (DR.getCantUnidadMedida() < 0) {
-                    // CAPTURAR ERRORES Y AÑADIRLOS A LA LISTA
-                    errores.add("La cantidad del producto '" + producto.getNombreProducto() + "' no puede ser negativa.");
-                    continue;
-                }
-                itemsValidosConProducto.add(new AbstractMap.SimpleEntry<>(DR, producto));
+            ProductoResumenProjection producto = DR.getIdProducto() == null ? null : productos.get(DR.getIdProducto());
+            if (producto == null) {
+                throw new ProductoNotFoundException(DR.getIdProducto());
+            }
 
-            } catch (RecetaException e) {
+            //Validar si la candidad del producto de la receta no es negativa
+            if (DR.getCantUnidadMedida() < 0) {
                 // CAPTURAR ERRORES Y AÑADIRLOS A LA LISTA
-                errores.add("El producto con ID " + DR.getIdProducto() + " no fue encontrado.");
+                errores.add("La cantidad del producto '" + producto.getNombreProducto() + "' no puede ser negativa.");
+                continue;
             }
+            itemsValidos.add(DR);
         }
 
         //INICIO GUARDADOS FILTRADOS POR VALIDACIONES
         //GUARDAR RECETA
-        syncSeqReceta();
         Receta recetaGuardada = save(new Receta(
                 null,                       // idReceta (autogenerado)
                 dto.getNombreReceta(),              // nombreReceta
@@ -239,21 +242,21 @@ public class RecetaServiceImp implements RecetaService{
                 dto.getInstrucciones(),             // instruccionesReceta
                 true,                               // activoReceta
                 Receta.EstadoRecetaType.ACTIVO,     // estadoReceta
-                null                                // fotoReceta (nula por ahora)
+                null,                               // fotoRecetaHash (nula por ahora)
+                null                                // fotoRecetaTipo
         ));
-        //GUARDAR LOS DETALLES
-
-        for (Map.Entry<RecipeItemDTO, Producto> entry : itemsValidosConProducto) {
-            RecipeItemDTO DR = entry.getKey();
-            Producto producto = entry.getValue();
-
-            detalleRecetaService.save(new DetalleReceta(
+        //GUARDAR LOS DETALLES (un solo batch JDBC)
+        List<DetalleReceta> detalles = new ArrayList<>(itemsValidos.size());
+        for (RecipeItemDTO DR : itemsValidos) {
+            detalles.add(new DetalleReceta(
                     null,
                     recetaGuardada,
-                    producto,
+                    productoResolver.getReference(DR.getIdProducto()),
                     DR.getCantUnidadMedida()
             ));
         }
+        detalleRecetaService.saveAll(detalles);
+        resourceVersionService.bump(VersionedResource.RECETAS);
         return dto ;
     }
 
@@ -272,14 +275,15 @@ public class RecetaServiceImp implements RecetaService{
      *    - Filtra productos inactivos del DTO recibido para prevenir errores
      *    - Detecta cambios reales comparando productos nuevos, eliminados o con cantidades modificadas
      *    - Si no hay cambios reales, evita operaciones innecesarias en base de datos
-     *    - Si hay cambios, ejecuta operaciones específicas: INSERT (nuevos), UPDATE (cantidades) y DELETE (eliminados)
+     *    - Si hay cambios, sincroniza el conjunto completo en dos sentencias: un upsert
+     *      (unnest + INSERT ... ON CONFLICT DO UPDATE) y un DELETE de los productos que ya no están
      * 5. Guarda la receta solo si hubo modificaciones en sus datos básicos
      * 6. Retorna el DTO actualizado con los cambios aplicados
      *
      * Optimizaciones implementadas:
      * - Uso de proyecciones para cargar solo datos necesarios
      * - Validación temprana para evitar procesamiento innecesario
-     * - Operaciones batch para updates y deletes
+     * - Sincronización por conjuntos: cantidad de sentencias constante sin importar el tamaño de la receta
      * - Filtrado preventivo de productos inactivos
      * - Detección de cambios reales antes de ejecutar operaciones en BD
      *
@@ -355,10 +359,15 @@ public class RecetaServiceImp implements RecetaService{
                             DetalleRecetaIdProductoProjection::getCantProducto
                     ));
 
-            /** Paso 3.3: Filtrado preventivo de productos inactivos o inexistentes del DTO */
+            /** Paso 3.3: Filtrado preventivo de productos inactivos o inexistentes del DTO (una sola consulta) */
+            IntObjectMap<ProductoResumenProjection> productos = productoResolver.resolve(
+                    dto.getListaItems().stream().map(RecipeItemDTO::getIdProducto).toList()
+            );
             List<RecipeItemDTO> itemsFiltrados = dto.getListaItems().stream()
                     .filter(item -> {
-                        Producto p = productoService.findById(item.getIdProducto());
+                        ProductoResumenProjection p = item.getIdProducto() == null
+                                ? null
+                                : productos.get(item.getIdProducto());
 
                         /** Validación de existencia del producto */
                         if (p == null) {
@@ -428,73 +437,31 @@ public class RecetaServiceImp implements RecetaService{
                 if (dto.isCambioReceta()) {
                     recetaRepository.save(receta);
                     log.info("💾 Receta ID {} guardada (solo cambios en receta)", receta.getIdReceta());
+                    resourceVersionService.bump(VersionedResource.RECETAS);
                 }
                 return dto;
             }
 
-            /** Paso 5: Ejecución de operaciones en base de datos - INSERT para nuevos productos */
-            for (RecipeItemDTO item : dto.getListaItems()) {
-
-                if (!oldIds.contains(item.getIdProducto())) {
-
-                    log.info("➕ INSERT detalle: producto {} (cantidad {})",
-                            item.getIdProducto(),
-                            item.getCantUnidadMedida()
-                    );
-
-                    /** Carga del producto ya validado como activo en filtrado previo */
-                    Producto prod = productoService.findByIdProductoAndActivoTrue(
-                            item.getIdProducto()
-                    );
-
-                    /** Creación y persistencia de nuevo detalle de receta */
-                    DetalleReceta nuevo = new DetalleReceta();
-                    nuevo.setReceta(receta);
-                    nuevo.setProducto(prod);
-                    nuevo.setCantProducto(item.getCantUnidadMedida());
-
-                    detalleRecetaService.save(nuevo);
-                }
-            }
-
-            /** Paso 6: UPDATE para productos existentes con cantidades modificadas */
+            /**
+             * Paso 5: Sincronización por conjuntos del detalle completo
+             * INSERT de nuevos + UPDATE de cantidades en un solo upsert, y un único DELETE
+             * de los productos que ya no están. Si un producto viene repetido gana la última cantidad.
+             */
+            Map<Integer, Double> deseados = new LinkedHashMap<>();
             for (RecipeItemDTO item : dto.getListaItems()) {
-                Double oldCant = oldMap.get(item.getIdProducto());
-                if (oldCant != null && !oldCant.equals(item.getCantUnidadMedida())) {
-                    log.info("✏️ UPDATE cantidad producto {}: {} → {}",
-                            item.getIdProducto(),
-                            oldCant,
-                            item.getCantUnidadMedida()
-                    );
-
-                    /** Actualización directa de cantidad sin cargar entidad completa */
-                    detalleRecetaService.updateQuantityByIdRecetaAndIdProducto(
-                            receta.getIdReceta(),
-                            item.getIdProducto(),
-                            item.getCantUnidadMedida()
-                    );
-                }
+                deseados.put(item.getIdProducto(), item.getCantUnidadMedida());
             }
+            log.info("🔁 Sincronizando {} detalles de receta {}", deseados.size(), receta.getIdReceta());
+            detalleRecetaService.syncDetails(receta.getIdReceta(), deseados);
 
-            /** Paso 7: DELETE para productos removidos de la receta */
-            for (Integer idOld : oldIds) {
-                if (!newIds.contains(idOld)) {
-                    log.info("🗑️ DELETE detalle producto {}", idOld);
-
-                    /** Eliminación en batch de detalles por IDs */
-                    detalleRecetaService.deleteByRecetaAndProductoIds(
-                            receta.getIdReceta(),
-                            List.of(idOld)
-                    );
-                }
-            }
-
-            /** Paso 8: Persistencia final de la receta si hubo cambios en sus datos básicos */
+            /** Paso 6: Persistencia final de la receta si hubo cambios en sus datos básicos */
             if (dto.isCambioReceta()) {
                 recetaRepository.save(receta);
                 log.info("💾 Receta ID {} guardada (cambios en receta + detalles)", receta.getIdReceta());
             }
 
+            resourceVersionService.bump(VersionedResource.RECETAS);
+
             /** Retorno del DTO actualizado con todos los cambios aplicados */
             log.info("✅ Actualización completa para receta ID {}", receta.getIdReceta());
             return dto;
@@ -522,6 +489,7 @@ public class RecetaServiceImp implements RecetaService{
 
         log.info("✔ Receta {} marcada como inactiva", idReceta);
         log.info("🏁 Proceso finalizado. No se eliminan detalles por política del sistema.");
+        resourceVersionService.bump(VersionedResource.RECETAS);
     }
 
     @Transactional
@@ -535,6 +503,7 @@ public class RecetaServiceImp implements RecetaService{
             receta.setEstadoReceta(Receta.EstadoRecetaType.ACTIVO);
         }
         recetaRepository.save(receta);
+        resourceVersionService.bump(VersionedResource.RECETAS);
     }
 
     @Transactional
@@ -544,6 +513,7 @@ public class RecetaServiceImp implements RecetaService{
             throw new RecetaException("No existe receta con id " + id);
         }
         recetaRepository.deleteById(id);
+        resourceVersionService.bump(VersionedResource.RECETAS);
     }
 
 
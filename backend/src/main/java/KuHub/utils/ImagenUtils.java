@@ -1,20 +1,195 @@
 package KuHub.utils;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
 
 public class ImagenUtils {
 
+    /**
+     * Bytes de cabecera suficientes para detectarTipoContenido()
+     */
+    public static final int BYTES_CABECERA = 12;
+
+    /**
+     * Límite de píxeles aceptado (protege de imágenes pequeñas en bytes pero enormes al decodificar)
+     */
+    public static final long MAX_PIXELES = 40_000_000L;
+
+    /**
+     * Tipo y dimensiones de una imagen, leídos solo de su cabecera
+     */
+    public record InfoImagen(String tipo, int ancho, int alto) { }
+
     /**
      * Valida que los bytes correspondan a una imagen real (JPG, PNG, etc.)
+     * Solo lee la cabecera: formato por magic bytes y dimensiones por los metadatos del ImageReader
      */
     public static boolean esImagenValida(byte[] fotoBytes) {
         try {
-            BufferedImage imagen = ImageIO.read(new ByteArrayInputStream(fotoBytes));
-            return imagen != null;
-        } catch (Exception e) {
+            return fotoBytes != null && leerCabecera(new ByteArrayInputStream(fotoBytes)) != null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @see #leerCabecera(InputStream)
+     */
+    public static InfoImagen leerCabecera(Path archivo) throws IOException {
+        String tipo;
+        try (InputStream in = Files.newInputStream(archivo)) {
+            tipo = detectarTipoContenido(in.readNBytes(BYTES_CABECERA));
+        }
+        if (tipo == null) {
+            return null;
+        }
+        try (ImageInputStream iis = new FileImageInputStream(archivo.toFile())) {
+            return leerDimensiones(iis, tipo);
+        }
+    }
+
+    /**
+     * Lee tipo y dimensiones sin decodificar los píxeles
+     * @return null si no es JPEG/PNG/GIF/WEBP legible, si sus dimensiones no son válidas
+     * o si supera MAX_PIXELES
+     */
+    public static InfoImagen leerCabecera(InputStream in) throws IOException {
+        if (!in.markSupported()) {
+            in = new BufferedInputStream(in);
+        }
+        in.mark(BYTES_CABECERA);
+        String tipo = detectarTipoContenido(in.readNBytes(BYTES_CABECERA));
+        in.reset();
+        if (tipo == null) {
+            return null;
+        }
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(in)) {
+            return leerDimensiones(iis, tipo);
+        }
+    }
+
+    private static InfoImagen leerDimensiones(ImageInputStream iis, String tipo) {
+        ImageReader reader = lectorPara(tipo);
+        if (reader == null) {
+            return null;
+        }
+        try {
+            reader.setInput(iis, true, true);
+            int ancho = reader.getWidth(0);
+            int alto = reader.getHeight(0);
+            if (ancho <= 0 || alto <= 0 || (long) ancho * alto > MAX_PIXELES) {
+                return null;
+            }
+            return new InfoImagen(tipo, ancho, alto);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * Genera una miniatura JPEG cuyo lado mayor mide como máximo {@code lado} píxeles
+     *
+     * Decodifica con submuestreo (solo lee 1 de cada n píxeles), así una foto grande no
+     * ocupa en memoria su tamaño completo. Se llama una sola vez al subir la foto.
+     */
+    public static byte[] generarMiniatura(Path archivo, InfoImagen info, int lado) throws IOException {
+        BufferedImage fuente;
+        try (ImageInputStream iis = new FileImageInputStream(archivo.toFile())) {
+            ImageReader reader = lectorPara(info.tipo());
+            if (reader == null) {
+                throw new IOException("Formato de imagen no soportado: " + info.tipo());
+            }
+            try {
+                reader.setInput(iis, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int paso = Math.max(1, Math.max(info.ancho(), info.alto()) / (lado * 2));
+                param.setSourceSubsampling(paso, paso, 0, 0);
+                fuente = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        double escala = Math.min(1.0, (double) lado / Math.max(fuente.getWidth(), fuente.getHeight()));
+        int ancho = Math.max(1, (int) Math.round(fuente.getWidth() * escala));
+        int alto = Math.max(1, (int) Math.round(fuente.getHeight() * escala));
+
+        BufferedImage miniatura = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = miniatura.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, ancho, alto);
+            g.drawImage(fuente, 0, 0, ancho, alto, null);
+        } finally {
+            g.dispose();
+        }
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ImageIO.write(miniatura, "jpg", salida);
+        return salida.toByteArray();
+    }
+
+    /**
+     * Tipo MIME según los "magic bytes" del inicio del archivo (JPEG, PNG, GIF, WEBP)
+     * @param cabecera primeros bytes del archivo (al menos BYTES_CABECERA para WEBP)
+     * @return el tipo MIME, o null si no es un formato de imagen reconocido
+     */
+    public static String detectarTipoContenido(byte[] cabecera) {
+        if (cabecera == null) {
+            return null;
+        }
+        if (empiezaCon(cabecera, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (empiezaCon(cabecera, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (empiezaCon(cabecera, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (empiezaCon(cabecera, 'R', 'I', 'F', 'F') && cabecera.length >= 12
+                && cabecera[8] == 'W' && cabecera[9] == 'E' && cabecera[10] == 'B' && cabecera[11] == 'P') {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    /**
+     * Primer ImageReader registrado para el tipo MIME (WEBP solo si hay un plugin instalado)
+     */
+    private static ImageReader lectorPara(String tipo) {
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByMIMEType(tipo);
+        return readers.hasNext() ? readers.next() : null;
+    }
+
+    private static boolean empiezaCon(byte[] datos, int... firma) {
+        if (datos.length < firma.length) {
             return false;
         }
+        for (int i = 0; i < firma.length; i++) {
+            if ((datos[i] & 0xFF) != firma[i]) {
+                return false;
+            }
+        }
+        return true;
     }
-}
\ No newline at end of file
+}
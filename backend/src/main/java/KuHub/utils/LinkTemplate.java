@@ -0,0 +1,187 @@
+package KuHub.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plantilla de URI de un método de controlador, resuelta una sola vez
+ *
+ * linkTo(methodOn(...)) crea un proxy y recorre anotaciones por reflexión en cada
+ * llamada; en un listado eso se repite por cada elemento y por cada link. Aquí la
+ * ruta (@RequestMapping de la clase + del método) se resuelve la primera vez y queda
+ * partida en literales y variables; generar un link es solo concatenar strings.
+ *
+ * La base (esquema, host, puerto y context path) se calcula una vez por petición,
+ * igual que la usaría WebMvcLinkBuilder.
+ *
+ * Uso en un assembler:
+ * private static final LinkTemplate SELF = LinkTemplate.of(ProductoControllerV2.class, "findProductById");
+ * SELF.withSelfRel(entity.getIdProducto())
+ */
+public final class LinkTemplate {
+
+    private static final Map<String, LinkTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{([^}:]+)(?::[^}]*)?}");
+
+    private static final String BASE_ATTRIBUTE = LinkTemplate.class.getName() + ".BASE";
+
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    private final String path;
+    /** Literales intercalados con las variables: literals.length == cantidad de variables + 1 */
+    private final String[] literals;
+
+    private LinkTemplate(String path, String[] literals) {
+        this.path = path;
+        this.literals = literals;
+    }
+
+    /**
+     * Obtiene (o resuelve y guarda) la plantilla del método indicado
+     * El nombre debe identificar un único método del controlador
+     */
+    public static LinkTemplate of(Class<?> controller, String methodName) {
+        return CACHE.computeIfAbsent(controller.getName() + "#" + methodName,
+                key -> resolve(controller, methodName));
+    }
+
+    /**
+     * Link con la relación dada; los argumentos son las variables de la ruta, en orden
+     * (los @RequestParam opcionales del método no forman parte de la plantilla)
+     */
+    public Link withRel(String rel, Object... arguments) {
+        return Link.of(expand(arguments), rel);
+    }
+
+    public Link withSelfRel(Object... arguments) {
+        return Link.of(expand(arguments), IanaLinkRelations.SELF);
+    }
+
+    /**
+     * URI absoluta con las variables reemplazadas (codificadas como segmento de ruta)
+     */
+    public String expand(Object... arguments) {
+        if (arguments.length != literals.length - 1) {
+            throw new IllegalArgumentException(String.format(
+                    "La ruta %s espera %d argumentos y recibió %d", path, literals.length - 1, arguments.length));
+        }
+        StringBuilder uri = new StringBuilder(currentBase()).append(literals[0]);
+        for (int i = 0; i < arguments.length; i++) {
+            Object value = arguments[i];
+            if (value == null) {
+                throw new IllegalArgumentException("Variable de ruta nula en " + path);
+            }
+            uri.append(UriUtils.encodePathSegment(value.toString(), StandardCharsets.UTF_8))
+                    .append(literals[i + 1]);
+        }
+        return uri.toString();
+    }
+
+    /**
+     * Base de la petición actual, guardada como atributo de la petición
+     */
+    private static String currentBase() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return "";
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object base = request.getAttribute(BASE_ATTRIBUTE);
+        if (base == null) {
+            base = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            request.setAttribute(BASE_ATTRIBUTE, base);
+        }
+        return (String) base;
+    }
+
+    private static LinkTemplate resolve(Class<?> controller, String methodName) {
+        List<Method> candidates = Arrays.stream(controller.getMethods())
+                .filter(m -> m.getName().equals(methodName))
+                .filter(m -> AnnotatedElementUtils.hasAnnotation(m, RequestMapping.class))
+                .toList();
+        if (candidates.size() != 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Se esperaba un único método mapeado '%s' en %s y hay %d",
+                    methodName, controller.getSimpleName(), candidates.size()));
+        }
+        Method method = candidates.get(0);
+
+        String path = join(mappingPath(AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class)),
+                mappingPath(AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class)));
+
+        List<String> literals = new ArrayList<>();
+        Matcher matcher = VARIABLE.matcher(path);
+        int last = 0;
+        while (matcher.find()) {
+            requirePathVariable(method, matcher.group(1), path);
+            literals.add(path.substring(last, matcher.start()));
+            last = matcher.end();
+        }
+        literals.add(path.substring(last));
+
+        return new LinkTemplate(path, literals.toArray(String[]::new));
+    }
+
+    private static void requirePathVariable(Method method, String variable, String path) {
+        for (int i = 0; i < method.getParameterCount(); i++) {
+            MethodParameter parameter = new MethodParameter(method, i);
+            PathVariable annotation = parameter.getParameterAnnotation(PathVariable.class);
+            if (annotation == null) {
+                continue;
+            }
+            String name = !annotation.name().isEmpty() ? annotation.name() : annotation.value();
+            if (name.isEmpty()) {
+                parameter.initParameterNameDiscovery(PARAMETER_NAMES);
+                name = parameter.getParameterName();
+            }
+            if (variable.equals(name)) {
+                return;
+            }
+        }
+        throw new IllegalArgumentException(String.format(
+                "La variable {%s} de %s no corresponde a ningún @PathVariable de %s", variable, path, method.getName()));
+    }
+
+    private static String mappingPath(RequestMapping mapping) {
+        if (mapping == null || mapping.path().length == 0) {
+            return "";
+        }
+        return mapping.path()[0];
+    }
+
+    private static String join(String base, String path) {
+        if (base.isEmpty()) {
+            return path.startsWith("/") ? path : "/" + path;
+        }
+        if (path.isEmpty()) {
+            return base;
+        }
+        if (base.endsWith("/") && path.startsWith("/")) {
+            return base + path.substring(1);
+        }
+        return base.endsWith("/") || path.startsWith("/") ? base + path : base + "/" + path;
+    }
+}
@@ -0,0 +1,67 @@
+package KuHub.utils.pagination;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cursor opaco de paginación por keyset
+ *
+ * Guarda el orden con el que se generó, la dirección (hacia adelante o hacia atrás)
+ * y los valores de las columnas de orden del elemento frontera. Se serializa como
+ * "1;orden;F|B;prop=valor;..." (valores URL-encoded) y luego en Base64 URL-safe;
+ * el cliente solo debe devolverlo tal cual en ?cursor=.
+ *
+ * @param sort     clave del orden (ej: "nombre,asc") con el que se generó
+ * @param backward true si el cursor pide la página anterior
+ * @param keys     propiedad → valor (como texto) del elemento frontera
+ */
+public record KeysetCursor(String sort, boolean backward, Map<String, String> keys) {
+
+    private static final String VERSION = "1";
+
+    public String encode() {
+        StringBuilder raw = new StringBuilder(VERSION)
+                .append(';').append(escape(sort))
+                .append(';').append(backward ? 'B' : 'F');
+        for (Map.Entry<String, String> key : keys.entrySet()) {
+            raw.append(';').append(escape(key.getKey())).append('=').append(escape(key.getValue()));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException si el cursor no fue generado por esta API
+     */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(";", -1);
+            if (parts.length < 3 || !VERSION.equals(parts[0]) || !("F".equals(parts[2]) || "B".equals(parts[2]))) {
+                throw new IllegalArgumentException("Cursor de paginación inválido");
+            }
+            Map<String, String> keys = new LinkedHashMap<>();
+            for (int i = 3; i < parts.length; i++) {
+                int eq = parts[i].indexOf('=');
+                if (eq <= 0) {
+                    throw new IllegalArgumentException("Cursor de paginación inválido");
+                }
+                keys.put(unescape(parts[i].substring(0, eq)), unescape(parts[i].substring(eq + 1)));
+            }
+            return new KeysetCursor(unescape(parts[1]), "B".equals(parts[2]), keys);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido", e);
+        }
+    }
+
+    private static String escape(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String unescape(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
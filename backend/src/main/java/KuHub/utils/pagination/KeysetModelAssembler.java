@@ -0,0 +1,45 @@
+package KuHub.utils.pagination;
+
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Assembler con soporte para páginas por keyset
+ *
+ * Agrega los links HAL self, next y prev a partir de la URI de la petición actual,
+ * reemplazando solo el parámetro cursor (se conservan size, sort y filtros).
+ */
+public interface KeysetModelAssembler<T, D extends RepresentationModel<?>> extends RepresentationModelAssembler<T, D> {
+
+    default CollectionModel<D> toPagedModel(KeysetPage<T> page, Link... links) {
+        List<D> content = page.content().stream().map(this::toModel).toList();
+        CollectionModel<D> model = CollectionModel.of(content);
+
+        model.add(Link.of(currentUri(null), IanaLinkRelations.SELF));
+        if (page.hasNext()) {
+            model.add(Link.of(currentUri(page.nextCursor()), IanaLinkRelations.NEXT));
+        }
+        if (page.hasPrev()) {
+            model.add(Link.of(currentUri(page.prevCursor()), IanaLinkRelations.PREV));
+        }
+        model.add(links);
+        return model;
+    }
+
+    /**
+     * URI de la petición actual; si cursor no es null reemplaza el parámetro cursor
+     */
+    private static String currentUri(String cursor) {
+        ServletUriComponentsBuilder builder = ServletUriComponentsBuilder.fromCurrentRequest();
+        if (cursor != null) {
+            builder.replaceQueryParam("cursor", cursor);
+        }
+        return builder.build().toUriString();
+    }
+}
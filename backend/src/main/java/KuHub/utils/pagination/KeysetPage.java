@@ -0,0 +1,31 @@
+package KuHub.utils.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página obtenida por keyset
+ *
+ * @param content    elementos de la página, en el orden solicitado
+ * @param nextCursor cursor de la página siguiente, o null si es la última
+ * @param prevCursor cursor de la página anterior, o null si es la primera
+ * @param size       tamaño de página aplicado
+ */
+public record KeysetPage<T>(List<T> content, String nextCursor, String prevCursor, int size) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrev() {
+        return prevCursor != null;
+    }
+
+    /**
+     * Convierte los elementos (ej: entidad → DTO) conservando los cursores
+     */
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new KeysetPage<>(mapped, nextCursor, prevCursor, size);
+    }
+}
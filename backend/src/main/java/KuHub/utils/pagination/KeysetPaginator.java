@@ -0,0 +1,227 @@
+package KuHub.utils.pagination;
+
+import jakarta.persistence.criteria.Path;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Paginación por keyset (seek) para un listado
+ *
+ * Cada listado declara una vez, como constante, su columna id y los órdenes que
+ * acepta (lista blanca). La consulta nunca usa OFFSET: Spring Data agrega el
+ * predicado "(orden, id) > (valores del cursor)" y lee size + 1 filas, por lo que
+ * el costo de cualquier página es el mismo si existe un índice sobre (orden, id).
+ *
+ * Uso:
+ * private static final KeysetPaginator<Producto> PAGINATOR = KeysetPaginator.of(Producto.class, "idProducto", Integer.class)
+ *         .sort("nombre", "nombreProducto", String.class)
+ *         .build();
+ * PAGINATOR.fetch(productoRepository, spec, cursor, size, sort);
+ */
+public final class KeysetPaginator<T> {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    private static final ConversionService CONVERSION = DefaultConversionService.getSharedInstance();
+
+    /**
+     * Orden permitido: propiedad de la entidad, tipo de sus valores y dirección por defecto
+     */
+    private record SortField(String property, Class<?> type, Sort.Direction direction) { }
+
+    private final String idProperty;
+    private final Class<?> idType;
+    private final Map<String, SortField> sorts;
+    private final String defaultSort;
+
+    private KeysetPaginator(String idProperty, Class<?> idType, Map<String, SortField> sorts, String defaultSort) {
+        this.idProperty = idProperty;
+        this.idType = idType;
+        this.sorts = sorts;
+        this.defaultSort = defaultSort;
+    }
+
+    /**
+     * @param idProperty propiedad única usada como desempate (normalmente la PK)
+     */
+    public static <T> Builder<T> of(Class<T> entity, String idProperty, Class<?> idType) {
+        return new Builder<>(idProperty, idType);
+    }
+
+    /**
+     * Filtro de igualdad sobre una propiedad (admite rutas "producto.activo");
+     * devuelve null si el valor es null para poder encadenar filtros opcionales
+     */
+    public static <T> Specification<T> equal(String propertyPath, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<?> path = root;
+            for (String part : propertyPath.split("\\.")) {
+                path = path.get(part);
+            }
+            return cb.equal(path, value);
+        };
+    }
+
+    /**
+     * Ejecuta la consulta de la página solicitada
+     * @param filters  filtros ya combinados (puede ser null)
+     * @param cursor   cursor recibido del cliente (null = primera página)
+     * @param size     tamaño solicitado (null = DEFAULT_SIZE, máximo MAX_SIZE)
+     * @param sort     "campo" o "campo,asc|desc" de la lista blanca (null = orden por defecto)
+     */
+    public KeysetPage<T> fetch(JpaSpecificationExecutor<T> repository, Specification<T> filters,
+                               String cursor, Integer size, String sort) {
+        int pageSize = resolveSize(size);
+        String sortKey = resolveSortKey(sort);
+        SortField field = sorts.get(sortKey.substring(0, sortKey.indexOf(',')));
+        Sort.Direction direction = Sort.Direction.fromString(sortKey.substring(sortKey.indexOf(',') + 1));
+
+        Sort order = field.property().equals(idProperty)
+                ? Sort.by(direction, idProperty)
+                : Sort.by(direction, field.property()).and(Sort.by(direction, idProperty));
+
+        KeysetCursor decoded = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        if (decoded != null && !decoded.sort().equals(sortKey)) {
+            throw new IllegalArgumentException("El cursor no corresponde al orden solicitado: " + sortKey);
+        }
+        ScrollPosition position = decoded == null
+                ? ScrollPosition.keyset()
+                : toPosition(decoded, field);
+
+        Specification<T> spec = filters == null ? Specification.where(null) : filters;
+        Window<T> window = repository.findBy(spec, q -> q.sortBy(order).limit(pageSize).scroll(position));
+
+        List<T> content = window.getContent();
+        if (content.isEmpty()) {
+            return new KeysetPage<>(content, null, null, pageSize);
+        }
+
+        boolean backward = decoded != null && decoded.backward();
+        // window.hasNext() indica si quedan filas en la dirección en que se leyó
+        boolean hasNext = backward || window.hasNext();
+        boolean hasPrev = backward ? window.hasNext() : decoded != null;
+
+        String next = hasNext ? cursorAt(window, content.size() - 1, sortKey, false) : null;
+        String prev = hasPrev ? cursorAt(window, 0, sortKey, true) : null;
+        return new KeysetPage<>(content, next, prev, pageSize);
+    }
+
+    private int resolveSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException(String.format("size debe estar entre 1 y %d", MAX_SIZE));
+        }
+        return size;
+    }
+
+    /**
+     * Normaliza el parámetro sort a "campo,dirección" validándolo contra la lista blanca
+     */
+    private String resolveSortKey(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return defaultSort;
+        }
+        String[] parts = sort.split(",");
+        SortField field = sorts.get(parts[0].trim());
+        if (field == null || parts.length > 2) {
+            throw new IllegalArgumentException(String.format(
+                    "Orden no permitido '%s'; valores aceptados: %s", sort, sorts.keySet()));
+        }
+        Sort.Direction direction = field.direction();
+        if (parts.length == 2) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                    .orElseThrow(() -> new IllegalArgumentException("Dirección de orden inválida: " + parts[1]));
+        }
+        return parts[0].trim() + "," + direction.name().toLowerCase();
+    }
+
+    private ScrollPosition toPosition(KeysetCursor cursor, SortField field) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(field.property(), convert(cursor.keys(), field.property(), field.type()));
+        keys.put(idProperty, convert(cursor.keys(), idProperty, idType));
+        return cursor.backward() ? ScrollPosition.backward(keys) : ScrollPosition.forward(keys);
+    }
+
+    private static Object convert(Map<String, String> keys, String property, Class<?> type) {
+        String value = keys.get(property);
+        if (value == null) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+        try {
+            // LocalDateTime se serializa con toString() (ISO) y el ConversionService no lo parsea
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            return CONVERSION.convert(value, type);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido", e);
+        }
+    }
+
+    private String cursorAt(Window<T> window, int index, String sortKey, boolean backward) {
+        KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(index);
+        Map<String, String> keys = new LinkedHashMap<>();
+        position.getKeys().forEach((property, value) -> keys.put(property, String.valueOf(value)));
+        return new KeysetCursor(sortKey, backward, keys).encode();
+    }
+
+    public static final class Builder<T> {
+
+        private final String idProperty;
+        private final Class<?> idType;
+        private final Map<String, SortField> sorts = new LinkedHashMap<>();
+        private String defaultSort;
+
+        private Builder(String idProperty, Class<?> idType) {
+            this.idProperty = idProperty;
+            this.idType = idType;
+            sorts.put("id", new SortField(idProperty, idType, Sort.Direction.ASC));
+            defaultSort = "id,asc";
+        }
+
+        /**
+         * Agrega un orden permitido (ascendente por defecto); la propiedad no debe admitir null
+         */
+        public Builder<T> sort(String name, String property, Class<?> type) {
+            return sort(name, property, type, Sort.Direction.ASC);
+        }
+
+        public Builder<T> sort(String name, String property, Class<?> type, Sort.Direction direction) {
+            sorts.put(name, new SortField(property, type, direction));
+            return this;
+        }
+
+        /**
+         * Orden usado cuando el cliente no envía sort (por defecto "id")
+         */
+        public Builder<T> defaultSort(String name) {
+            SortField field = sorts.get(name);
+            if (field == null) {
+                throw new IllegalArgumentException("Orden no declarado: " + name);
+            }
+            defaultSort = name + "," + field.direction().name().toLowerCase();
+            return this;
+        }
+
+        public KeysetPaginator<T> build() {
+            return new KeysetPaginator<>(idProperty, idType, Map.copyOf(sorts), defaultSort);
+        }
+    }
+}
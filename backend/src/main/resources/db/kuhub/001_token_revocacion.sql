@@ -0,0 +1,9 @@
+-- Revocación de tokens JWT por usuario
+-- Todo token de id_usuario emitido (iatMs, en milisegundos) en o antes de revocado_desde se considera revocado
+CREATE TABLE IF NOT EXISTS token_revocacion (
+    id_usuario     INTEGER   PRIMARY KEY,
+    revocado_desde TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_token_revocacion_revocado_desde
+    ON token_revocacion (revocado_desde);
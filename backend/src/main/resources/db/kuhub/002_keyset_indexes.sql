@@ -0,0 +1,15 @@
+-- Índices para la paginación por keyset de los listados V2
+-- Cada orden permitido se busca como (columna, id) > (valores del cursor)
+
+CREATE INDEX IF NOT EXISTS idx_producto_nombre_id ON producto (nombre_producto, id_producto);
+CREATE INDEX IF NOT EXISTS idx_producto_categoria_id ON producto (nombre_categoria, id_producto);
+CREATE INDEX IF NOT EXISTS idx_producto_activo_id ON producto (activo, id_producto);
+
+CREATE INDEX IF NOT EXISTS idx_inventario_stock_id ON inventario (stock, id_inventario);
+
+CREATE INDEX IF NOT EXISTS idx_usuario_fecha_creacion_id ON usuario (fecha_creacion DESC, id_usuario DESC);
+CREATE INDEX IF NOT EXISTS idx_usuario_email_id ON usuario (email, id_usuario);
+CREATE INDEX IF NOT EXISTS idx_usuario_rol_id ON usuario (id_rol, id_usuario);
+
+CREATE INDEX IF NOT EXISTS idx_seccion_nombre_id ON seccion (nombre_seccion, id_seccion);
+CREATE INDEX IF NOT EXISTS idx_seccion_asignatura_id ON seccion (id_asignatura, id_seccion);
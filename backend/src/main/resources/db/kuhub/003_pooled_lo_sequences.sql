@@ -0,0 +1,14 @@
+-- Secuencias de receta y detalle_receta para el optimizador pooled-lo de Hibernate
+-- (allocationSize = 50): cada nextval reserva un bloque de 50 ids
+ALTER SEQUENCE receta_id_receta_seq INCREMENT BY 50;
+ALTER SEQUENCE detalle_receta_id_detalle_receta_seq INCREMENT BY 50;
+
+-- Reparación al arrancar: deja el próximo nextval en MAX(id) + 1 si la secuencia quedó atrás
+-- (cargas manuales, COPY, restauraciones). Nunca retrocede la secuencia.
+SELECT setval('receta_id_receta_seq', t.siguiente, false)
+FROM (SELECT COALESCE(MAX(id_receta), 0) + 1 AS siguiente FROM receta) t
+WHERE t.siguiente > (SELECT last_value FROM receta_id_receta_seq);
+
+SELECT setval('detalle_receta_id_detalle_receta_seq', t.siguiente, false)
+FROM (SELECT COALESCE(MAX(id_detalle_receta), 0) + 1 AS siguiente FROM detalle_receta) t
+WHERE t.siguiente > (SELECT last_value FROM detalle_receta_id_detalle_receta_seq);
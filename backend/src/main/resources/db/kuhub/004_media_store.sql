@@ -0,0 +1,12 @@
+-- Almacén de medios: las tablas guardan solo el hash SHA-256 y el tipo de contenido de cada foto
+-- Los bytes que aún estén en las columnas BYTEA los mueve al disco MediaByteaMigrator al arrancar
+-- y luego deja esas columnas en NULL
+
+ALTER TABLE producto ADD COLUMN IF NOT EXISTS foto_producto_hash VARCHAR(64);
+ALTER TABLE producto ADD COLUMN IF NOT EXISTS foto_producto_tipo VARCHAR(100);
+
+ALTER TABLE receta ADD COLUMN IF NOT EXISTS foto_receta_hash VARCHAR(64);
+ALTER TABLE receta ADD COLUMN IF NOT EXISTS foto_receta_tipo VARCHAR(100);
+
+ALTER TABLE usuario ADD COLUMN IF NOT EXISTS foto_perfil_hash VARCHAR(64);
+ALTER TABLE usuario ADD COLUMN IF NOT EXISTS foto_perfil_tipo VARCHAR(100);
@@ -0,0 +1,2 @@
+-- Miniatura de la foto de perfil, generada una sola vez al subirla (ver UsuarioServiceImpl.asignarFoto)
+ALTER TABLE usuario ADD COLUMN IF NOT EXISTS foto_perfil_miniatura_hash VARCHAR(64);
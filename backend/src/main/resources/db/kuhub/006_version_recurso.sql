@@ -0,0 +1,6 @@
+-- Versión de cada catálogo (ETags de las consultas condicionales)
+-- Las filas las crea ResourceVersionService, una por valor de VersionedResource
+CREATE TABLE IF NOT EXISTS version_recurso (
+    recurso VARCHAR(40) PRIMARY KEY,
+    version BIGINT      NOT NULL
+);
@@ -0,0 +1,7 @@
+-- Catálogo de asignaturas activas ya armado como JSON, una fila por asignatura
+-- Lo mantiene CatalogoCursoService: refresca solo las asignaturas tocadas por cada escritura
+CREATE TABLE IF NOT EXISTS catalogo_curso (
+    id_asignatura INTEGER   PRIMARY KEY REFERENCES asignatura (id_asignatura) ON DELETE CASCADE,
+    documento     JSON      NOT NULL,
+    actualizado   TIMESTAMP NOT NULL DEFAULT now()
+);
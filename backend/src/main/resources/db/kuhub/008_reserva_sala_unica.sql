@@ -0,0 +1,30 @@
+-- Una sala no puede reservarse dos veces para el mismo día y bloque
+-- Si ya existen reservas dobles el arranque se detiene listando sus ids: no se borra nada,
+-- cada caso se resuelve a mano (qué sección se queda con la sala) y se vuelve a iniciar.
+-- Una vez creado el índice la revisión no se repite.
+DO '
+DECLARE
+    duplicadas text;
+BEGIN
+    IF to_regclass(''uq_reserva_sala_sala_dia_bloque'') IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    SELECT string_agg(grupo, ''; '') INTO duplicadas
+    FROM (
+        SELECT format(''sala %s, %s, bloque %s: id_reserva_sala %s'',
+                      id_sala, dia_semana, id_bloque,
+                      string_agg(id_reserva_sala::text, '','' ORDER BY id_reserva_sala)) AS grupo
+        FROM reserva_sala
+        GROUP BY id_sala, dia_semana, id_bloque
+        HAVING count(*) > 1
+        ORDER BY id_sala, dia_semana, id_bloque
+    ) conflictos;
+
+    IF duplicadas IS NOT NULL THEN
+        RAISE EXCEPTION ''reserva_sala tiene reservas dobles, resuélvalas antes de crear uq_reserva_sala_sala_dia_bloque: %'', duplicadas;
+    END IF;
+END';
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_reserva_sala_sala_dia_bloque
+    ON reserva_sala (id_sala, dia_semana, id_bloque);
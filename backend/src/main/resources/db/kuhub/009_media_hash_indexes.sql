@@ -0,0 +1,7 @@
+-- MediaController busca cada hash pedido en las filas que lo usan para decidir si la foto es
+-- pública (productos y recetas) o de perfil (solo con sesión)
+
+CREATE INDEX IF NOT EXISTS idx_producto_foto_producto_hash ON producto (foto_producto_hash);
+CREATE INDEX IF NOT EXISTS idx_receta_foto_receta_hash ON receta (foto_receta_hash);
+CREATE INDEX IF NOT EXISTS idx_usuario_foto_perfil_hash ON usuario (foto_perfil_hash);
+CREATE INDEX IF NOT EXISTS idx_usuario_foto_perfil_miniatura_hash ON usuario (foto_perfil_miniatura_hash);
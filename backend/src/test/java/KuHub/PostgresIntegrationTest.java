@@ -0,0 +1,86 @@
+package KuHub;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+
+/**
+ * Base de las pruebas que necesitan PostgreSQL real (bloqueos, índices únicos, SQL nativo)
+ *
+ * Levanta un contenedor postgres:16 compartido por todas las clases; sin Docker las pruebas
+ * se omiten. El esquema principal vive fuera del repositorio, así que aquí lo crea Hibernate
+ * desde las entidades (ddl-auto=create) y después se aplican los scripts de db/kuhub igual
+ * que en producción. El orden de producción (scripts antes de Hibernate, sobre un esquema ya
+ * existente) lo cubre SecuenciasPooledLoArranqueTest.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "spring.datasource.hikari.maximum-pool-size=80",
+        "kuhub.media.root=target/media-test"
+})
+@Import(PostgresIntegrationTest.EsquemaAntesDeMigraciones.class)
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withInitScript("db/esquema_previo.sql")
+            .withCommand("postgres", "-c", "max_connections=200");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        if (!POSTGRES.isRunning()) {
+            POSTGRES.start();
+        }
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class EsquemaAntesDeMigraciones {
+
+        @Bean
+        static BeanFactoryPostProcessor migracionesDespuesDeHibernate() {
+            return new MigracionesDespuesDeHibernate();
+        }
+    }
+
+    /**
+     * Los scripts de db/kuhub alteran tablas del esquema principal: en las pruebas se aplican
+     * una vez que Hibernate las creó, al revés que en producción. Corre después del
+     * EntityManagerFactoryDependsOnPostProcessor de DatabaseMigrationRunner para invertir su
+     * dependencia sin formar un ciclo
+     */
+    static class MigracionesDespuesDeHibernate implements BeanFactoryPostProcessor, Ordered {
+
+        @Override
+        public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+            BeanDefinition emf = beanFactory.getBeanDefinition("entityManagerFactory");
+            String[] dependencias = emf.getDependsOn() == null ? new String[0] : emf.getDependsOn();
+            emf.setDependsOn(Arrays.stream(dependencias)
+                    .filter(dependencia -> !dependencia.equals("databaseMigrationRunner"))
+                    .toArray(String[]::new));
+            beanFactory.getBeanDefinition("databaseMigrationRunner").setDependsOn("entityManagerFactory");
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package KuHub.config;
+
+import KuHub.PostgresIntegrationTest;
+import KuHub.modules.gestion_academica.entity.Asignatura;
+import KuHub.modules.gestion_academica.entity.BloqueHorario;
+import KuHub.modules.gestion_academica.entity.Sala;
+import KuHub.modules.gestion_academica.repository.AsignaturaRepository;
+import KuHub.modules.gestion_academica.repository.BloqueHorarioRepository;
+import KuHub.modules.gestion_academica.repository.SalaRepository;
+import KuHub.modules.gestionusuario.entity.Rol;
+import KuHub.modules.gestionusuario.repository.RolRepository;
+import KuHub.modules.media.service.MediaByteaMigrator;
+import KuHub.modules.producto.entity.Producto;
+import KuHub.modules.producto.repository.ProductoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Caché de segundo nivel: una entidad leída dos veces sale de la región en la segunda, una
+ * actualización hecha con los repositorios se ve en la lectura siguiente y las estadísticas
+ * de cada región se publican como métricas
+ */
+class HibernateCacheCoherenceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SalaRepository salaRepository;
+
+    @Autowired
+    private RolRepository rolRepository;
+
+    @Autowired
+    private AsignaturaRepository asignaturaRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private BloqueHorarioRepository bloqueHorarioRepository;
+
+    @Autowired
+    private MediaByteaMigrator mediaByteaMigrator;
+
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void limpiar() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        jdbcTemplate.execute("TRUNCATE reserva_sala, docente_seccion, seccion, asignatura, sala, bloque_horario, usuario, rol, producto RESTART IDENTITY CASCADE");
+        // TRUNCATE no pasa por Hibernate: las regiones podrían conservar filas de otra prueba con el mismo id
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    void salaActualizadaSeVeEnLaLecturaSiguiente() {
+        Integer id = salaRepository.save(new Sala(null, "C-101", "Cocina 1", true)).getIdSala();
+        leerDosVecesDesdeLaRegion(HibernateCacheConfig.SALA, () -> salaRepository.findById(id).orElseThrow());
+
+        Sala sala = salaRepository.findById(id).orElseThrow();
+        sala.setNombreSala("Cocina renovada");
+        salaRepository.save(sala);
+
+        assertEquals("Cocina renovada", salaRepository.findById(id).orElseThrow().getNombreSala());
+    }
+
+    @Test
+    void rolActualizadoSeVeEnLaLecturaSiguiente() {
+        Integer id = rolRepository.save(new Rol(null, "DOCENTE", true)).getIdRol();
+        leerDosVecesDesdeLaRegion(HibernateCacheConfig.ROL, () -> rolRepository.findById(id).orElseThrow());
+
+        Rol rol = rolRepository.findById(id).orElseThrow();
+        rol.setActivo(false);
+        rolRepository.save(rol);
+
+        assertFalse(rolRepository.findById(id).orElseThrow().getActivo());
+    }
+
+    @Test
+    void asignaturaActualizadaSeVeEnLaLecturaSiguiente() {
+        Asignatura nueva = new Asignatura();
+        nueva.setCodAsignatura("GAS-101");
+        nueva.setNombreAsignatura("Gastronomía");
+        nueva.setActivo(true);
+        Integer id = asignaturaRepository.save(nueva).getIdAsignatura();
+        leerDosVecesDesdeLaRegion(HibernateCacheConfig.ASIGNATURA, () -> asignaturaRepository.findById(id).orElseThrow());
+
+        Asignatura asignatura = asignaturaRepository.findById(id).orElseThrow();
+        asignatura.setNombreAsignatura("Gastronomía I");
+        asignaturaRepository.save(asignatura);
+
+        assertEquals("Gastronomía I", asignaturaRepository.findById(id).orElseThrow().getNombreAsignatura());
+    }
+
+    @Test
+    void productoActualizadoSeVeEnLaLecturaSiguiente() {
+        Integer id = productoRepository.save(
+                new Producto(null, "P1", null, "Harina", "Abarrotes", "KG", true, null, null)).getIdProducto();
+        leerDosVecesDesdeLaRegion(HibernateCacheConfig.PRODUCTO, () -> productoRepository.findById(id).orElseThrow());
+
+        Producto producto = productoRepository.findById(id).orElseThrow();
+        producto.setUnidadMedida("GR");
+        productoRepository.save(producto);
+
+        Producto leido = productoRepository.findById(id).orElseThrow();
+        assertEquals("GR", leido.getUnidadMedida());
+        // READ_WRITE reemplaza la entrada al confirmar: la lectura siguiente no vuelve a la BD
+        assertTrue(sessionFactory.getCache().containsEntity(Producto.class, id));
+    }
+
+    @Test
+    void productoMigradoPorJdbcSeVeEnLaLecturaSiguiente() {
+        // Columna BYTEA de las bases antiguas; el esquema de prueba ya nace sin ella
+        jdbcTemplate.execute("ALTER TABLE producto ADD COLUMN IF NOT EXISTS foto_producto BYTEA");
+        Integer id = productoRepository.save(
+                new Producto(null, "P2", null, "Azúcar", "Abarrotes", "KG", true, null, null)).getIdProducto();
+        leerDosVecesDesdeLaRegion(HibernateCacheConfig.PRODUCTO, () -> productoRepository.findById(id).orElseThrow());
+        jdbcTemplate.update("UPDATE producto SET foto_producto = ? WHERE id_producto = ?",
+                new byte[]{1, 2, 3}, id);
+
+        mediaByteaMigrator.migrar();
+
+        assertNotNull(productoRepository.findById(id).orElseThrow().getFotoProductoHash());
+    }
+
+    @Test
+    void bloqueHorarioDeSoloLecturaSeSirveDesdeLaRegion() {
+        Integer id = jdbcTemplate.queryForObject("""
+                INSERT INTO bloque_horario (numero_bloque, hora_inicio, hora_fin)
+                VALUES (1, '08:00', '09:00') RETURNING id_bloque
+                """, Integer.class);
+
+        leerDosVecesDesdeLaRegion(HibernateCacheConfig.BLOQUE_HORARIO,
+                () -> bloqueHorarioRepository.findById(id).orElseThrow());
+        assertTrue(sessionFactory.getCache().containsEntity(BloqueHorario.class, id));
+    }
+
+    @Test
+    void lasEstadisticasDeCadaRegionSePublicanComoMetricas() {
+        Integer id = salaRepository.save(new Sala(null, "C-102", "Cocina 2", true)).getIdSala();
+        salaRepository.findById(id);
+        salaRepository.findById(id);
+
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", HibernateCacheConfig.SALA, "result", "hit")
+                .functionCounter());
+        assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", HibernateCacheConfig.SALA, "result", "hit")
+                .functionCounter().count() >= 1);
+    }
+
+    /**
+     * Cada llamada al repositorio abre su propia sesión: la primera lectura puede llenar la
+     * región y la segunda tiene que acertar en ella sin consultar la BD
+     */
+    private void leerDosVecesDesdeLaRegion(String region, Runnable lectura) {
+        sessionFactory.getCache().evictAllRegions();
+        Statistics statistics = sessionFactory.getStatistics();
+        CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+        long aciertos = regionStatistics.getHitCount();
+        long carga = statistics.getEntityLoadCount();
+
+        lectura.run();
+        lectura.run();
+
+        assertEquals(aciertos + 1, regionStatistics.getHitCount());
+        assertEquals(carga + 1, statistics.getEntityLoadCount());
+    }
+}
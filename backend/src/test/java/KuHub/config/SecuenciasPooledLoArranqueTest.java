@@ -0,0 +1,98 @@
+package KuHub.config;
+
+import KuHub.BackendMonoliticoApplication;
+import KuHub.PostgresIntegrationTest;
+import KuHub.modules.receta.entity.Receta;
+import KuHub.modules.receta.repository.RecetaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Arranque como en producción (ddl-auto=none, esquema existente) contra secuencias de receta y
+ * detalle_receta todavía con INCREMENT BY 1
+ *
+ * El contexto de PostgresIntegrationTest solo deja creado el esquema; cada prueba levanta la
+ * aplicación real aparte, sin el orden invertido de las pruebas, sobre la misma BD.
+ */
+class SecuenciasPooledLoArranqueTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @BeforeEach
+    void secuenciasSinMigrar() {
+        jdbcTemplate.execute("ALTER SEQUENCE receta_id_receta_seq INCREMENT BY 1");
+        jdbcTemplate.execute("ALTER SEQUENCE detalle_receta_id_detalle_receta_seq INCREMENT BY 1");
+    }
+
+    @Test
+    void lasMigracionesCorrenAntesDeQueHibernateValideLasSecuencias() {
+        try (ConfigurableApplicationContext app = arrancar(true)) {
+            assertEquals(50, incremento("receta_id_receta_seq"));
+            assertEquals(50, incremento("detalle_receta_id_detalle_receta_seq"));
+            guardarDosRecetas(app);
+        }
+    }
+
+    @Test
+    void sinMigracionesArrancaConElIncrementoDeLaBd() {
+        try (ConfigurableApplicationContext app = arrancar(false)) {
+            assertEquals(1, incremento("receta_id_receta_seq"));
+            guardarDosRecetas(app);
+        }
+    }
+
+    private ConfigurableApplicationContext arrancar(boolean migraciones) {
+        // Como argumentos: las propiedades por defecto del builder pierden contra application.properties
+        return new SpringApplicationBuilder(BackendMonoliticoApplication.class).run(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--server.port=0",
+                "--kuhub.media.root=target/media-test",
+                "--kuhub.db.migrations.enabled=" + migraciones);
+    }
+
+    private void guardarDosRecetas(ConfigurableApplicationContext app) {
+        RecetaRepository recetaRepository = app.getBean(RecetaRepository.class);
+        Integer primera = recetaRepository.save(receta("Arranque A")).getIdReceta();
+        Integer segunda = recetaRepository.save(receta("Arranque B")).getIdReceta();
+
+        assertNotEquals(primera, segunda);
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM receta WHERE id_receta IN (?, ?)", Integer.class, primera, segunda));
+    }
+
+    private int incremento(String secuencia) {
+        return jdbcTemplate.queryForObject(
+                "SELECT increment_by FROM pg_sequences WHERE sequencename = ?", Integer.class, secuencia);
+    }
+
+    private static Receta receta(String nombre) {
+        Receta receta = new Receta();
+        receta.setNombreReceta(nombre);
+        receta.setActivoReceta(true);
+        receta.setEstadoReceta(Receta.EstadoRecetaType.ACTIVO);
+        return receta;
+    }
+}
@@ -0,0 +1,165 @@
+package KuHub.config.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
+
+import java.util.List;
+
+/**
+ * La cadena de requestMatchers (MvcRequestMatcher) que reemplazó RouteAuthorizationManager,
+ * sobre un contexto MVC mínimo; la usan la prueba de equivalencia y RouteAuthorizationBenchmark
+ */
+final class CadenaAnterior implements AutoCloseable {
+
+    private static final String[] BODEGA = {"ADMINISTRADOR", "ENCARGADO_BODEGA"};
+    private static final String[] DOCENTES = {"DOCENTE", "PROFESOR_A_CARGO"};
+    private static final String[] ADMINISTRACION = {"ADMINISTRADOR", "CO_ADMINISTRADOR"};
+
+    static final List<String> PATHS = List.of(
+            "/", "/login", "/login/",
+            "/swagger-ui/index.html", "/swagger-ui.html", "/v3/api-docs", "/v3/api-docs/swagger-config",
+            "/v3/api-docs.yaml", "/swagger-resources", "/webjars/a/b.js", "/configuration/ui",
+            "/api/v1/roles", "/api/v1/roles/", "/api/v1/roles/3", "/api/v2/roles/3", "/api/v3/roles/3",
+            "/api/v1/usuarios", "/api/v1/usuarios/", "/api/v1/usuarios/5", "/api/v2/usuarios/5/foto",
+            "/api/v1/usuarios/me", "/api/v1/usuarios/me/", "/api/v1/usuarios/me/perfil",
+            "/api/v1/producto", "/api/v1/producto/7", "/api/v2/productos/", "/api/v1/productos/7/foto",
+            "/api/v1/inventario", "/api/v1/inventario/", "/api/v1/inventario/9",
+            "/api/v1/media/abc", "/api/v1/media/abc/def", "/api/v1/media/usuario/abc",
+            "/api/v1/seccion/my-schedule/", "/api/v1/seccion/my-schedule", "/api/v2/seccion/solve-timetable/",
+            "/api/v1/receta/sync-sequences/", "/api/v1/receta/", "/api/v1/otro/1",
+            // Escapes y variantes que el contenedor entrega sin decodificar en getRequestURI()
+            "/api/v1/us%75arios/5", "/api/v1/%75suarios/", "/api/v1/usuarios%2F5", "/api/v%31/usuarios/5",
+            "/api/v1/usuarios/me%2Fperfil", "/api/v1/r%6Fles/3", "/api/v1/inventari%6F/9",
+            "/api/v1/seccion/solve%2Dtimetable/", "/api/v1/usuarios;jsessionid=x/5",
+            "/api/v1/usuarios/5;a=b", "/api;x=1/v1/usuarios/5", "/api/v1//usuarios/5",
+            "/api/v1/usuarios//", "//api/v1/usuarios/5"
+    );
+
+    @Configuration
+    @EnableWebMvc
+    static class Mvc {
+
+        /**
+         * Todas las rutas tienen un handler, como en la aplicación: así MvcRequestMatcher
+         * compara contra el path ya parseado por RequestMappingHandlerMapping
+         */
+        @RestController
+        static class Todo {
+            @RequestMapping("/**")
+            void todo() { }
+        }
+    }
+
+    private final AnnotationConfigWebApplicationContext context;
+    private final HandlerMappingIntrospector introspector;
+    private final AuthorizationManager<HttpServletRequest> manager;
+
+    CadenaAnterior() {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.register(Mvc.class, Mvc.Todo.class);
+        context.refresh();
+        introspector = context.getBean(HandlerMappingIntrospector.class);
+        manager = cadena(new MvcRequestMatcher.Builder(introspector));
+    }
+
+    AuthorizationManager<HttpServletRequest> manager() {
+        return manager;
+    }
+
+    /**
+     * Introspector de MVC; en la aplicación su filtro de caché resuelve el handler una vez por petición
+     */
+    HandlerMappingIntrospector introspector() {
+        return introspector;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    static MockHttpServletRequest request(HttpMethod method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method.name(), path);
+        request.setServletPath("");
+        return request;
+    }
+
+    /**
+     * Las reglas tal como estaban en la cadena de requestMatchers de SpringSecurityConfig
+     * (mismo orden; gana la primera que coincide)
+     */
+    private static AuthorizationManager<HttpServletRequest> cadena(MvcRequestMatcher.Builder mvc) {
+        AuthorizationManager<RequestAuthorizationContext> permitAll = (a, c) -> new AuthorizationDecision(true);
+        AuthorizationManager<RequestAuthorizationContext> authenticated = AuthenticatedAuthorizationManager.authenticated();
+        AuthorizationManager<RequestAuthorizationContext> admin = AuthorityAuthorizationManager.hasRole("ADMINISTRADOR");
+        AuthorizationManager<RequestAuthorizationContext> bodega = AuthorityAuthorizationManager.hasAnyRole(BODEGA);
+
+        return RequestMatcherDelegatingAuthorizationManager.builder()
+                .add(mvc.pattern(HttpMethod.POST, "/login"), permitAll)
+                .add(mvc.pattern(HttpMethod.OPTIONS, "/**"), permitAll)
+                .add(mvc.pattern("/swagger-ui/**"), permitAll)
+                .add(mvc.pattern("/swagger-ui.html"), permitAll)
+                .add(mvc.pattern("/v3/api-docs/**"), permitAll)
+                .add(mvc.pattern("/v3/api-docs.yaml"), permitAll)
+                .add(mvc.pattern("/swagger-resources/**"), permitAll)
+                .add(mvc.pattern("/swagger-resources"), permitAll)
+                .add(mvc.pattern("/configuration/ui"), permitAll)
+                .add(mvc.pattern("/configuration/security"), permitAll)
+                .add(mvc.pattern("/webjars/**"), permitAll)
+                .add(mvc.pattern("/api-docs/**"), permitAll)
+                .add(mvc.pattern(HttpMethod.GET, "/api/v1/roles"), permitAll)
+                .add(mvc.pattern(HttpMethod.GET, "/api/v1/roles/**"), permitAll)
+                .add(mvc.pattern(HttpMethod.GET, "/api/v2/roles"), permitAll)
+                .add(mvc.pattern(HttpMethod.GET, "/api/v2/roles/**"), permitAll)
+                .add(mvc.pattern(HttpMethod.POST, "/api/v*/roles"), admin)
+                .add(mvc.pattern(HttpMethod.PUT, "/api/v*/roles/**"), admin)
+                .add(mvc.pattern(HttpMethod.DELETE, "/api/v*/roles/**"), admin)
+                .add(mvc.pattern(HttpMethod.PATCH, "/api/v*/roles/**"), admin)
+                .add(mvc.pattern(HttpMethod.GET, "/api/v*/usuarios/me"), authenticated)
+                .add(mvc.pattern(HttpMethod.GET, "/api/v*/usuarios/me/**"), authenticated)
+                .add(mvc.pattern(HttpMethod.GET, "/api/v*/usuarios"), admin)
+                .add(mvc.pattern(HttpMethod.GET, "/api/v*/usuarios/**"), admin)
+                .add(mvc.pattern(HttpMethod.POST, "/api/v*/usuarios"), permitAll)
+                .add(mvc.pattern(HttpMethod.PUT, "/api/v*/usuarios/**"), admin)
+                .add(mvc.pattern(HttpMethod.DELETE, "/api/v*/usuarios/**"), admin)
+                .add(mvc.pattern(HttpMethod.PATCH, "/api/v*/usuarios/**"), admin)
+                .add(mvc.pattern(HttpMethod.GET, "/api/v*/producto/**"), permitAll)
+                .add(mvc.pattern(HttpMethod.GET, "/api/v*/productos/**"), permitAll)
+                .add(mvc.pattern(HttpMethod.POST, "/api/v*/producto"), bodega)
+                .add(mvc.pattern(HttpMethod.POST, "/api/v*/productos"), bodega)
+                .add(mvc.pattern(HttpMethod.PUT, "/api/v*/producto/**"), bodega)
+                .add(mvc.pattern(HttpMethod.PUT, "/api/v*/productos/**"), bodega)
+                .add(mvc.pattern(HttpMethod.DELETE, "/api/v*/producto/**"), admin)
+                .add(mvc.pattern(HttpMethod.DELETE, "/api/v*/productos/**"), admin)
+                .add(mvc.pattern(HttpMethod.GET, "/api/v*/inventario/**"), permitAll)
+                .add(mvc.pattern(HttpMethod.POST, "/api/v*/inventario/**"), bodega)
+                .add(mvc.pattern(HttpMethod.PUT, "/api/v*/inventario/**"), bodega)
+                .add(mvc.pattern(HttpMethod.DELETE, "/api/v*/inventario/**"), admin)
+                .add(mvc.pattern(HttpMethod.GET, "/api/v*/media/usuario/*"), authenticated)
+                .add(mvc.pattern(HttpMethod.HEAD, "/api/v*/media/usuario/*"), authenticated)
+                .add(mvc.pattern(HttpMethod.GET, "/api/v*/media/*"), permitAll)
+                .add(mvc.pattern(HttpMethod.HEAD, "/api/v*/media/*"), permitAll)
+                .add(mvc.pattern(HttpMethod.GET, "/api/v*/seccion/my-schedule/"), AuthorityAuthorizationManager.hasAnyRole(DOCENTES))
+                .add(mvc.pattern(HttpMethod.POST, "/api/v*/seccion/solve-timetable/"), AuthorityAuthorizationManager.hasAnyRole(ADMINISTRACION))
+                .add(mvc.pattern(HttpMethod.POST, "/api/v*/receta/sync-sequences/"), admin)
+                .add(AnyRequestMatcher.INSTANCE, authenticated)
+                .build();
+    }
+}
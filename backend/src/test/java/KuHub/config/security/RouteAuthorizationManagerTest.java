@@ -0,0 +1,105 @@
+package KuHub.config.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static KuHub.config.security.CadenaAnterior.PATHS;
+import static KuHub.config.security.CadenaAnterior.request;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Equivalencia entre el trie de RouteAuthorizationManager y la cadena de requestMatchers
+ * (MvcRequestMatcher) que reemplazó: mismas decisiones para cada método × path × rol,
+ * incluidos paths con escapes "%", parámetros de matriz y barras dobles
+ */
+class RouteAuthorizationManagerTest {
+
+    private static final Map<String, Authentication> PRINCIPALES = Map.of(
+            "anónimo", new AnonymousAuthenticationToken("key", "anonymousUser",
+                    AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")),
+            "ADMINISTRADOR", usuario("ADMINISTRADOR"),
+            "CO_ADMINISTRADOR", usuario("CO_ADMINISTRADOR"),
+            "ENCARGADO_BODEGA", usuario("ENCARGADO_BODEGA"),
+            "DOCENTE", usuario("DOCENTE"),
+            "PROFESOR_A_CARGO", usuario("PROFESOR_A_CARGO")
+    );
+
+    private static CadenaAnterior anterior;
+    private static AuthorizationManager<HttpServletRequest> cadena;
+    private static RouteAuthorizationManager trie;
+
+    @BeforeAll
+    static void armar() {
+        anterior = new CadenaAnterior();
+        cadena = anterior.manager();
+        trie = new SpringSecurityConfig().routeAuthorizationManager();
+    }
+
+    @AfterAll
+    static void cerrar() {
+        anterior.close();
+    }
+
+    @Test
+    void mismasDecisionesQueLaCadenaDeRequestMatchers() {
+        List<String> diferencias = new ArrayList<>();
+        int casos = 0;
+        for (HttpMethod method : HttpMethod.values()) {
+            for (String path : PATHS) {
+                for (Map.Entry<String, Authentication> principal : PRINCIPALES.entrySet()) {
+                    boolean esperado = decidir(cadena, method, path, principal.getValue());
+                    boolean obtenido = decidir(trie, method, path, principal.getValue());
+                    casos++;
+                    if (esperado != obtenido) {
+                        diferencias.add(method + " " + path + " " + principal.getKey()
+                                + ": cadena=" + esperado + " trie=" + obtenido);
+                    }
+                }
+            }
+        }
+        assertThat(casos).isGreaterThan(1000);
+        assertThat(diferencias).isEmpty();
+    }
+
+    @Test
+    void pathsConEscapesNoSaltanLasReglasDeRol() {
+        Authentication docente = PRINCIPALES.get("DOCENTE");
+        assertThat(decidir(trie, HttpMethod.DELETE, "/api/v1/us%75arios/5", docente)).isFalse();
+        assertThat(decidir(trie, HttpMethod.GET, "/api/v1/%75suarios/", docente)).isFalse();
+        assertThat(decidir(trie, HttpMethod.PUT, "/api/v1/usuarios;x=y/5", docente)).isFalse();
+        assertThat(decidir(trie, HttpMethod.DELETE, "/api/v1/us%75arios/5", PRINCIPALES.get("ADMINISTRADOR"))).isTrue();
+    }
+
+    private static boolean decidir(AuthorizationManager<HttpServletRequest> manager,
+                                   HttpMethod method, String path, Authentication authentication) {
+        AuthorizationResult decision = manager.authorize(() -> authentication, request(method, path));
+        return decision != null && decision.isGranted();
+    }
+
+    private static boolean decidir(RouteAuthorizationManager manager,
+                                   HttpMethod method, String path, Authentication authentication) {
+        MockHttpServletRequest request = request(method, path);
+        AuthorizationResult decision = manager.authorize(() -> authentication, new RequestAuthorizationContext(request));
+        return decision != null && decision.isGranted();
+    }
+
+    private static Authentication usuario(String rol) {
+        return UsernamePasswordAuthenticationToken.authenticated("usuario", null,
+                AuthorityUtils.createAuthorityList("ROLE_" + rol));
+    }
+}
@@ -0,0 +1,108 @@
+package KuHub.config.security.service;
+
+import KuHub.modules.gestionusuario.entity.TokenRevocacion;
+import KuHub.modules.gestionusuario.repository.TokenRevocacionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static KuHub.config.security.TokenJwtConfig.TOKEN_LIFETIME_MS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Regla de revocación en milisegundos, relectura con margen de las revocaciones de otros nodos
+ * y limpieza de las revocaciones vencidas
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    private static final LocalDateTime REVOCADO_DESDE = LocalDateTime.of(2026, 3, 2, 10, 15, 30, 500_000_000);
+
+    @Mock
+    private TokenRevocacionRepository tokenRevocacionRepository;
+
+    @InjectMocks
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void configurar() {
+        ReflectionTestUtils.setField(tokenRevocationService, "expectedEntries", 1000);
+        ReflectionTestUtils.setField(tokenRevocationService, "exactCacheSize", 100);
+        ReflectionTestUtils.setField(tokenRevocationService, "refreshOverlapMs", 60_000L);
+    }
+
+    @Test
+    void tokenEmitidoElMismoSegundoPeroDespuesDeLaRevocacionSigueValiendo() {
+        when(tokenRevocacionRepository.findAll()).thenReturn(List.of(new TokenRevocacion(7, REVOCADO_DESDE)));
+        when(tokenRevocacionRepository.findById(7)).thenReturn(Optional.of(new TokenRevocacion(7, REVOCADO_DESDE)));
+        tokenRevocationService.load();
+
+        long revocado = millis(REVOCADO_DESDE);
+        assertThat(tokenRevocationService.isRevoked(7, revocado - 400)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(7, revocado)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(7, revocado + 1)).isFalse();
+        assertThat(tokenRevocationService.isRevoked(8, revocado - 400)).isFalse();
+    }
+
+    @Test
+    void refreshIncorporaRevocacionesConfirmadasTardeEnOtroNodo() {
+        when(tokenRevocacionRepository.findAll()).thenReturn(List.of(new TokenRevocacion(7, REVOCADO_DESDE)));
+        tokenRevocationService.load();
+
+        // Otro nodo fijó revocado_desde 5 s antes de la última leída, pero confirmó después
+        LocalDateTime tardia = REVOCADO_DESDE.minusSeconds(5);
+        when(tokenRevocacionRepository.findByRevocadoDesdeGreaterThanEqual(any())).thenAnswer(invocation -> {
+            LocalDateTime desde = invocation.getArgument(0);
+            return tardia.isBefore(desde) ? List.of() : List.of(new TokenRevocacion(9, tardia));
+        });
+        tokenRevocationService.refresh();
+
+        assertThat(tokenRevocationService.isRevoked(9, millis(tardia) - 1)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(9, millis(tardia) + 1)).isFalse();
+    }
+
+    @Test
+    void purgeBorraLasRevocacionesVencidasYRearmaElFiltro() {
+        LocalDateTime vencida = LocalDateTime.now().minusHours(3);
+        when(tokenRevocacionRepository.findAll())
+                .thenReturn(List.of(new TokenRevocacion(7, vencida)))
+                .thenReturn(List.of());
+        when(tokenRevocacionRepository.findById(7)).thenReturn(Optional.of(new TokenRevocacion(7, vencida)));
+        tokenRevocationService.load();
+        assertThat(tokenRevocationService.isRevoked(7, millis(vencida) - 1)).isTrue();
+
+        when(tokenRevocacionRepository.deleteByRevocadoDesdeBefore(any())).thenReturn(1);
+        LocalDateTime antes = LocalDateTime.now();
+        tokenRevocationService.purge();
+
+        // Límite = vigencia del token + margen entre nodos hacia atrás
+        ArgumentCaptor<LocalDateTime> limite = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(tokenRevocacionRepository).deleteByRevocadoDesdeBefore(limite.capture());
+        assertThat(limite.getValue()).isBetween(
+                antes.minus(TOKEN_LIFETIME_MS + 60_000L, ChronoUnit.MILLIS),
+                LocalDateTime.now().minus(TOKEN_LIFETIME_MS + 60_000L, ChronoUnit.MILLIS));
+
+        // Ni el filtro nuevo ni el mapa exacto conservan al usuario: no vuelve a consultar la BD
+        assertThat(tokenRevocationService.isRevoked(7, millis(vencida) - 1)).isFalse();
+        verify(tokenRevocacionRepository, times(1)).findById(7);
+    }
+
+    private static long millis(LocalDateTime fecha) {
+        return fecha.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
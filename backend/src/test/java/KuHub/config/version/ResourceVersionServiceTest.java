@@ -0,0 +1,79 @@
+package KuHub.config.version;
+
+import KuHub.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResourceVersionServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void unaTransaccionAbiertaNoBloqueaElBumpDeOtra() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        long inicial = version();
+        CountDownLatch anotado = new CountDownLatch(1);
+        CountDownLatch soltar = new CountDownLatch(1);
+
+        CompletableFuture<Void> larga = CompletableFuture.runAsync(() -> tx.executeWithoutResult(status -> {
+            resourceVersionService.bump(VersionedResource.SALAS);
+            anotado.countDown();
+            esperar(soltar);
+        }));
+        assertTrue(anotado.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> corta = CompletableFuture.runAsync(() -> tx.executeWithoutResult(status -> {
+            resourceVersionService.bump(VersionedResource.SALAS);
+            resourceVersionService.bump(VersionedResource.SALAS);
+        }));
+        corta.get(10, TimeUnit.SECONDS);
+        assertEquals(inicial + 1, version());
+        assertEquals(inicial + 1, resourceVersionService.current(VersionedResource.SALAS));
+
+        soltar.countDown();
+        larga.get(10, TimeUnit.SECONDS);
+        assertEquals(inicial + 2, version());
+    }
+
+    @Test
+    void unaTransaccionRevertidaNoCambiaLaVersion() {
+        long inicial = version();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            resourceVersionService.bump(VersionedResource.SALAS);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(inicial, version());
+    }
+
+    private long version() {
+        return jdbcTemplate.queryForObject(
+                "SELECT version FROM version_recurso WHERE recurso = ?", Long.class, VersionedResource.SALAS.name());
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package KuHub.modules.gestion_academica.sevice;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HorarioSolverTest {
+
+    private static final long PRESUPUESTO_NANOS = 2_000_000_000L;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void respetaLaOcupacionFijaDeSalasYDocentes() {
+        // 1 día × 3 bloques, 2 salas; la sala 0 está tomada en los bloques 1 y 2 y el docente en el 0
+        int[] fijoSala = {0, 1, 1, 0, 0, 0};
+        int[] fijoDocente = {1, 0, 0};
+        HorarioSolver solver = new HorarioSolver(1, 3, 2, new int[]{2}, new int[]{0}, 1, fijoSala, fijoDocente);
+
+        HorarioSolver.Plan plan = solver.resolver(executor, 2, PRESUPUESTO_NANOS, 7);
+
+        assertEquals(0, plan.puntaje());
+        assertArrayEquals(new int[]{1, 1}, plan.sala());
+        assertEquals(3, plan.slot()[0] + plan.slot()[1]);
+    }
+
+    @Test
+    void unaReservaFijaInevitableCuentaComoChoque() {
+        HorarioSolver solver = new HorarioSolver(1, 1, 1, new int[]{1}, new int[]{0}, 1, new int[]{1}, new int[]{1});
+
+        HorarioSolver.Plan plan = solver.resolver(executor, 1, 50_000_000L, 7);
+
+        assertEquals(1, plan.choquesSala());
+        assertEquals(1, plan.choquesDocente());
+        assertEquals(0, plan.choquesSeccion());
+    }
+
+    @Test
+    void elDesgloseDelPuntajeCoincideConElPlanEnUnaInstanciaDe300Secciones() {
+        int dias = 5, bloquesPorDia = 12, salas = 25, secciones = 300, docentes = 100;
+        Random random = new Random(1);
+        int[] demanda = new int[secciones];
+        int[] docenteDe = new int[secciones];
+        for (int s = 0; s < secciones; s++) {
+            demanda[s] = 2 + random.nextInt(3);
+            docenteDe[s] = s % 10 == 0 ? -1 : random.nextInt(docentes);
+        }
+        HorarioSolver solver = new HorarioSolver(dias, bloquesPorDia, salas, demanda, docenteDe, docentes);
+
+        HorarioSolver.Plan plan = solver.resolver(executor, 2, 300_000_000L, 42);
+
+        // Recuento desde cero a partir de las asignaciones del plan
+        int slots = dias * bloquesPorDia;
+        int[] seccionDe = solver.seccionDe();
+        int[] ocupacionSala = new int[salas * slots];
+        int[] ocupacionDocente = new int[docentes * slots];
+        int[][] ocupacionSeccion = new int[secciones][slots];
+        int choquesSala = 0, choquesDocente = 0, choquesSeccion = 0;
+        Set<Long> salasPorSeccion = new HashSet<>();
+        for (int e = 0; e < seccionDe.length; e++) {
+            int s = seccionDe[e], t = plan.slot()[e], sala = plan.sala()[e];
+            if (++ocupacionSala[sala * slots + t] > 1) {
+                choquesSala++;
+            }
+            if (docenteDe[s] >= 0 && ++ocupacionDocente[docenteDe[s] * slots + t] > 1) {
+                choquesDocente++;
+            }
+            if (++ocupacionSeccion[s][t] > 1) {
+                choquesSeccion++;
+            }
+            salasPorSeccion.add((long) s * salas + sala);
+        }
+        int aislados = 0;
+        for (int s = 0; s < secciones; s++) {
+            for (int t = 0; demanda[s] > 1 && t < slots; t++) {
+                int b = t % bloquesPorDia;
+                boolean acompanado = (b > 0 && ocupacionSeccion[s][t - 1] > 0)
+                        || (b < bloquesPorDia - 1 && ocupacionSeccion[s][t + 1] > 0);
+                if (!acompanado) {
+                    aislados += ocupacionSeccion[s][t];
+                }
+            }
+        }
+
+        assertEquals(choquesSala, plan.choquesSala());
+        assertEquals(choquesDocente, plan.choquesDocente());
+        assertEquals(choquesSeccion, plan.choquesSeccion());
+        assertEquals(salasPorSeccion.size() - secciones, plan.cambiosDeSala());
+        assertEquals(aislados, plan.bloquesAislados());
+    }
+}
@@ -0,0 +1,62 @@
+package KuHub.modules.gestion_academica.sevice;
+
+import KuHub.config.version.ResourceVersionService;
+import KuHub.modules.gestion_academica.entity.Sala;
+import KuHub.modules.gestion_academica.repository.SalaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SalaServiceImpTest {
+
+    @Mock
+    private SalaRepository salaRepository;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    @Mock
+    private OcupacionSalaIndex ocupacionSalaIndex;
+
+    @InjectMocks
+    private SalaServiceImp salaService;
+
+    @Test
+    void lasLecturasCacheablesDevuelvenCopias() {
+        Sala administrada = new Sala(1, "A-101", "Cocina 1", true);
+        when(salaRepository.findById(1)).thenReturn(Optional.of(administrada));
+        when(salaRepository.findAllByActivoTrue()).thenReturn(List.of(administrada));
+
+        Sala leida = salaService.findById(1);
+        Sala activa = salaService.findAllActiveRoomsTrue().get(0);
+
+        assertNotSame(administrada, leida);
+        assertNotSame(administrada, activa);
+        assertEquals("Cocina 1", leida.getNombreSala());
+        assertEquals(1, activa.getIdSala());
+    }
+
+    @Test
+    void softDeleteModificaLaEntidadDelRepositorioYNoUnaCopia() {
+        Sala administrada = new Sala(1, "A-101", "Cocina 1", true);
+        when(salaRepository.findById(1)).thenReturn(Optional.of(administrada));
+        Sala cacheada = salaService.findById(1);
+
+        salaService.softDelete(1);
+
+        assertFalse(administrada.getActivo());
+        assertTrue(cacheada.getActivo());
+    }
+}
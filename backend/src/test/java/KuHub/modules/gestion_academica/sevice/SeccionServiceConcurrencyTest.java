@@ -0,0 +1,159 @@
+package KuHub.modules.gestion_academica.sevice;
+
+import KuHub.PostgresIntegrationTest;
+import KuHub.modules.gestion_academica.dtos.dtomodel.BookTImeBlocksRequestDTO;
+import KuHub.modules.gestion_academica.dtos.dtomodel.SectionCreateDTO;
+import KuHub.modules.gestion_academica.entity.ReservaSala;
+import KuHub.modules.gestion_academica.exceptions.AgendaDocenteConflictException;
+import KuHub.modules.gestion_academica.exceptions.ReservaSalaConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 64 escritores crean secciones en paralelo sobre pocas salas, bloques y docentes: ninguna
+ * sala ni docente puede terminar con dos secciones en el mismo día y bloque, y cada
+ * rechazo debe ser un conflicto (409), no un error de la BD
+ */
+class SeccionServiceConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int ESCRITORES = 64;
+    private static final int SALAS = 4;
+    private static final int BLOQUES = 3;
+    private static final int DOCENTES = 3;
+
+    @Autowired
+    private SeccionService seccionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int idAsignatura;
+    private final List<Integer> idsSala = new ArrayList<>();
+    private final List<Integer> idsDocente = new ArrayList<>();
+
+    @BeforeEach
+    void datos() {
+        jdbcTemplate.execute("TRUNCATE reserva_sala, docente_seccion, seccion, asignatura, sala, bloque_horario, usuario, rol RESTART IDENTITY CASCADE");
+
+        int idRol = jdbcTemplate.queryForObject(
+                "INSERT INTO rol (nombre_rol, activo) VALUES ('DOCENTE', true) RETURNING id_rol", Integer.class);
+        for (int d = 0; d < DOCENTES; d++) {
+            idsDocente.add(jdbcTemplate.queryForObject("""
+                    INSERT INTO usuario (id_rol, p_nombre, app_paterno, email, contrasena, activo, fecha_creacion)
+                    VALUES (?, 'Docente', ?, ?, 'x', true, now()) RETURNING id_usuario
+                    """, Integer.class, idRol, "N" + d, "docente" + d + "@kuhub.test"));
+        }
+        idAsignatura = jdbcTemplate.queryForObject("""
+                INSERT INTO asignatura (cod_asignatura, nombre_asignatura, activo)
+                VALUES ('CON-101', 'Concurrencia', true) RETURNING id_asignatura
+                """, Integer.class);
+        for (int s = 0; s < SALAS; s++) {
+            idsSala.add(jdbcTemplate.queryForObject(
+                    "INSERT INTO sala (cod_sala, nombre_sala, activo) VALUES (?, ?, true) RETURNING id_sala",
+                    Integer.class, "S" + s, "Sala " + s));
+        }
+        for (int b = 1; b <= BLOQUES; b++) {
+            jdbcTemplate.update("""
+                    INSERT INTO bloque_horario (numero_bloque, hora_inicio, hora_fin)
+                    VALUES (?, make_time(7 + ?, 0, 0), make_time(8 + ?, 0, 0))
+                    """, b, b, b);
+        }
+    }
+
+    @Test
+    void escritoresConcurrentesNoDuplicanSalaNiDocente() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(ESCRITORES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < ESCRITORES; i++) {
+                SectionCreateDTO dto = seccion(i);
+                resultados.add(pool.submit(() -> {
+                    largada.await();
+                    try {
+                        seccionService.createSection(dto);
+                        return true;
+                    } catch (ReservaSalaConflictException | AgendaDocenteConflictException e) {
+                        return false;
+                    }
+                }));
+            }
+            largada.countDown();
+
+            int creadas = 0;
+            for (Future<Boolean> resultado : resultados) {
+                // Cualquier otra excepción (ej: violación del índice único sin traducir) falla aquí
+                if (resultado.get(60, TimeUnit.SECONDS)) {
+                    creadas++;
+                }
+            }
+
+            assertThat(creadas).isPositive();
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM seccion", Integer.class)).isEqualTo(creadas);
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM reserva_sala", Integer.class)).isEqualTo(2 * creadas);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<Map<String, Object>> salasDobles = jdbcTemplate.queryForList("""
+                SELECT id_sala, dia_semana, id_bloque, count(*) AS reservas
+                FROM reserva_sala
+                GROUP BY id_sala, dia_semana, id_bloque
+                HAVING count(*) > 1
+                """);
+        assertThat(salasDobles).isEmpty();
+
+        List<Map<String, Object>> docentesDobles = jdbcTemplate.queryForList("""
+                SELECT ds.id_usuario, rs.dia_semana, rs.id_bloque, count(*) AS reservas
+                FROM docente_seccion ds
+                JOIN reserva_sala rs ON rs.id_seccion = ds.id_seccion
+                GROUP BY ds.id_usuario, rs.dia_semana, rs.id_bloque
+                HAVING count(*) > 1
+                """);
+        assertThat(docentesDobles).isEmpty();
+    }
+
+    /**
+     * Escritor i: dos bloques seguidos del lunes en la sala i % SALAS, dictados por el docente i % DOCENTES
+     */
+    private SectionCreateDTO seccion(int i) {
+        int idSala = idsSala.get(i % SALAS);
+        int primerBloque = i % BLOQUES + 1;
+        int segundoBloque = (i + 1) % BLOQUES + 1;
+
+        SectionCreateDTO dto = new SectionCreateDTO();
+        dto.setIdAsignatura(idAsignatura);
+        dto.setNombreSeccion("Sección " + i);
+        dto.setIdUsuarioDocente(idsDocente.get(i % DOCENTES));
+        dto.setCapacidadMaxInscritos(30);
+        dto.setCantInscritos(0);
+        dto.setCrearSala(false);
+        dto.setBloquesHorarios(new ArrayList<>(List.of(
+                bloque(idSala, primerBloque),
+                bloque(idSala, segundoBloque))));
+        return dto;
+    }
+
+    private static BookTImeBlocksRequestDTO bloque(int idSala, int numeroBloque) {
+        BookTImeBlocksRequestDTO bloque = new BookTImeBlocksRequestDTO();
+        bloque.setIdSala(idSala);
+        bloque.setNumeroBloque(numeroBloque);
+        bloque.setDiaSemana(ReservaSala.DiaSemana.LUNES);
+        bloque.setHoraInicio(String.format("%02d:00", 7 + numeroBloque));
+        bloque.setHoraFin(String.format("%02d:00", 8 + numeroBloque));
+        return bloque;
+    }
+}
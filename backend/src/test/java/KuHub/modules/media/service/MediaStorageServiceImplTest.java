@@ -0,0 +1,123 @@
+package KuHub.modules.media.service;
+
+import KuHub.modules.media.dtos.MediaRef;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MediaStorageServiceImplTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void multiNodoFallaSiLaRaizNoTieneLaMarca() {
+        Path raiz = dir.resolve("sin-montar");
+        MediaStorageServiceImpl service = servicio(raiz.toString(), true);
+
+        assertThrows(IllegalStateException.class, service::init);
+        assertFalse(Files.exists(raiz.resolve(".tmp")));
+    }
+
+    @Test
+    void multiNodoFallaConRutaRelativa() {
+        assertThrows(IllegalStateException.class, servicio("media", true)::init);
+    }
+
+    @Test
+    void multiNodoArrancaSobreElVolumenCompartido() throws Exception {
+        Files.createFile(dir.resolve(MediaStorageServiceImpl.MARCA_COMPARTIDO));
+        MediaStorageServiceImpl service = servicio(dir.toString(), true);
+
+        assertDoesNotThrow(service::init);
+        assertTrue(Files.isDirectory(dir.resolve(".tmp")));
+    }
+
+    @Test
+    void unNodoNoExigeLaMarca() {
+        assertDoesNotThrow(servicio(dir.resolve("local").toString(), false)::init);
+    }
+
+    @Test
+    void fueraDeTransaccionElArchivoQuedaDeInmediato() throws Exception {
+        MediaStorageServiceImpl service = servicio(dir.toString(), false);
+        service.init();
+
+        MediaRef ref = service.guardar("contenido".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(service.buscar(ref.hash()).isPresent());
+        assertEquals(0, temporales());
+    }
+
+    @Test
+    void dentroDeTransaccionElArchivoSePublicaAlConfirmar() throws Exception {
+        MediaStorageServiceImpl service = servicio(dir.toString(), false);
+        service.init();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            MediaRef ref = service.guardar("confirmado".getBytes(StandardCharsets.UTF_8));
+            assertFalse(service.buscar(ref.hash()).isPresent());
+
+            terminar(true);
+            assertTrue(service.buscar(ref.hash()).isPresent());
+            assertEquals(0, temporales());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void dentroDeTransaccionRevertidaNoQuedaNingunArchivo() throws Exception {
+        MediaStorageServiceImpl service = servicio(dir.toString(), false);
+        service.init();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            MediaRef ref = service.guardar("revertido".getBytes(StandardCharsets.UTF_8));
+
+            terminar(false);
+            assertFalse(service.buscar(ref.hash()).isPresent());
+            assertEquals(0, temporales());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void terminar(boolean confirmada) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (confirmada) {
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        }
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, confirmada
+                ? TransactionSynchronization.STATUS_COMMITTED
+                : TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    private long temporales() throws Exception {
+        try (var archivos = Files.list(dir.resolve(".tmp"))) {
+            return archivos.count();
+        }
+    }
+
+    private static MediaStorageServiceImpl servicio(String raiz, boolean multiNodo) {
+        MediaStorageServiceImpl service = new MediaStorageServiceImpl();
+        ReflectionTestUtils.setField(service, "rootPath", raiz);
+        ReflectionTestUtils.setField(service, "multiNodo", multiNodo);
+        return service;
+    }
+}
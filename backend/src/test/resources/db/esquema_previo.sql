@@ -0,0 +1,5 @@
+-- Tipos y extensiones del esquema principal que Hibernate no crea por sí solo (ddl-auto=create en las pruebas)
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+CREATE TYPE estado_receta_type AS ENUM ('ACTIVO', 'INACTIVO');
+CREATE CAST (varchar AS estado_receta_type) WITH INOUT AS IMPLICIT;
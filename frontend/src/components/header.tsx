@@ -2,6 +2,7 @@ import React from 'react';
 import { Avatar, Button, Dropdown, DropdownTrigger, DropdownMenu, DropdownItem } from '@heroui/react';
 import { Icon } from '@iconify/react';
 import { useAuth } from '../contexts/auth-context';
+import { useImagenPrivada } from '../hooks/useImagenPrivada';
 import { useThemeContext } from '../contexts/theme-context';
 import { useHistory } from 'react-router-dom';
 
@@ -22,6 +23,7 @@ interface HeaderProps {
  */
 const Header: React.FC<HeaderProps> = ({ toggleSidebar }) => {
   const { user, logout } = useAuth();
+  const fotoPerfil = useImagenPrivada(user?.fotoPerfilMiniatura || user?.fotoPerfil);
   const { theme, toggleTheme } = useThemeContext();
   const history = useHistory();
 
@@ -92,7 +94,7 @@ const Header: React.FC<HeaderProps> = ({ toggleSidebar }) => {
                   <Avatar
                     name={user.nombre}
                     size="sm"
-                    src={user.avatar || undefined}
+                    src={fotoPerfil}
                   />
                   <span className="hidden md:inline text-sm font-medium">
                     {user.nombre}
@@ -132,7 +132,8 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({ children
             rol: usuarioActual.rol,
             fechaCreacion: usuarioActual.fechaCreacion,
             ultimoAcceso: usuarioActual.ultimoAcceso || new Date().toISOString(),
-            ...(usuarioActual.fotoPerfil && { fotoPerfil: usuarioActual.fotoPerfil })
+            ...(usuarioActual.fotoPerfil && { fotoPerfil: usuarioActual.fotoPerfil }),
+            ...(usuarioActual.fotoPerfilMiniatura && { fotoPerfilMiniatura: usuarioActual.fotoPerfilMiniatura })
           };
 
           setUser(userData);
@@ -216,7 +217,8 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({ children
         rol: sesion.usuario.rol,
         fechaCreacion: sesion.usuario.fechaCreacion,
         ultimoAcceso: sesion.usuario.ultimoAcceso || new Date().toISOString(),
-        ...(sesion.usuario.fotoPerfil && { fotoPerfil: sesion.usuario.fotoPerfil })
+        ...(sesion.usuario.fotoPerfil && { fotoPerfil: sesion.usuario.fotoPerfil }),
+        ...(sesion.usuario.fotoPerfilMiniatura && { fotoPerfilMiniatura: sesion.usuario.fotoPerfilMiniatura })
       };
 
       setUser(userData);
@@ -0,0 +1,50 @@
+/**
+ * HOOK PARA MOSTRAR FOTOS DE PERFIL
+ * Las fotos de perfil (/media/usuario/{hash}) solo se entregan con sesión y un <img> no envía
+ * el token: se descargan con axios (que agrega el Authorization) y se muestran como blob.
+ * Cualquier otra URL (data:, fotos públicas) se devuelve tal cual.
+ */
+
+import React from 'react';
+import api from '../config/Axios';
+
+const esFotoPrivada = (url: string) => url.includes('/media/usuario/');
+
+/**
+ * Devuelve una URL que se puede usar en src, o undefined mientras carga o si no hay foto
+ */
+export const useImagenPrivada = (url?: string | null): string | undefined => {
+  const [blobUrl, setBlobUrl] = React.useState<string>();
+
+  React.useEffect(() => {
+    setBlobUrl(undefined);
+    if (!url || !esFotoPrivada(url)) {
+      return;
+    }
+
+    let cancelado = false;
+    let creada: string | undefined;
+    api.get<Blob>(url, { responseType: 'blob' })
+      .then((response) => {
+        if (!cancelado) {
+          creada = URL.createObjectURL(response.data);
+          setBlobUrl(creada);
+        }
+      })
+      .catch(() => {
+        // Sin foto se muestran las iniciales
+      });
+
+    return () => {
+      cancelado = true;
+      if (creada) {
+        URL.revokeObjectURL(creada);
+      }
+    };
+  }, [url]);
+
+  if (!url) {
+    return undefined;
+  }
+  return esFotoPrivada(url) ? blobUrl : url;
+};
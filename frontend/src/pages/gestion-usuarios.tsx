@@ -18,6 +18,7 @@ import {
 } from '../services/usuario-service';
 import { useAuth } from '../contexts/auth-context';
 import { useToast, useConfirm } from '../hooks/useToast';
+import { useImagenPrivada } from '../hooks/useImagenPrivada';
 import { logger } from '../utils/logger';
 
 const ROLES: RolUsuario[] = [
@@ -33,6 +34,14 @@ const ROLES: RolUsuario[] = [
 
 
 
+/**
+ * Avatar de una fila de la tabla: la foto de perfil se pide con el token
+ */
+const AvatarUsuario: React.FC<{ usuario: IUsuario }> = ({ usuario }) => {
+  const foto = useImagenPrivada(usuario.fotoPerfilMiniatura || usuario.fotoPerfil);
+  return <Avatar src={foto} name={usuario.nombreCompleto} size="sm" />;
+};
+
 const GestionUsuariosPage: React.FC = () => {
   const toast = useToast();
   const confirm = useConfirm();
@@ -58,6 +67,7 @@ const GestionUsuariosPage: React.FC = () => {
   });
   const [selectedRolForm, setSelectedRolForm] = useState<Selection>(new Set(['Profesor']));
   const [archivoFoto, setArchivoFoto] = useState<File | null>(null);
+  const fotoEditando = useImagenPrivada(formData.fotoPerfil);
   const [isSubmitting, setIsSubmitting] = useState(false);
 
   // Verificar permisos
@@ -159,7 +169,8 @@ const GestionUsuariosPage: React.FC = () => {
           nombreCompleto: dataConFoto.nombreCompleto,
           correo: dataConFoto.correo,
           rol: dataConFoto.rol,
-          fotoPerfil: dataConFoto.fotoPerfil
+          // Sin archivo nuevo fotoPerfil es la URL de la foto actual: no se reenvía
+          fotoPerfil: archivoFoto ? dataConFoto.fotoPerfil : undefined
         };
         
         if (formData.contrasena) {
@@ -348,11 +359,7 @@ const GestionUsuariosPage: React.FC = () => {
                   <TableRow key={usuario.id}>
                     <TableCell>
                       <div className="flex items-center gap-3">
-                        <Avatar
-                          src={usuario.fotoPerfil}
-                          name={usuario.nombreCompleto}
-                          size="sm"
-                        />
+                        <AvatarUsuario usuario={usuario} />
                         <div>
                           <p className="font-medium">{usuario.nombreCompleto}</p>
                           {(usuario.id === usuarioActual?.id || usuario.nombreCompleto === usuarioActual?.nombre) && (
@@ -513,7 +520,7 @@ const GestionUsuariosPage: React.FC = () => {
                   {(formData.fotoPerfil || archivoFoto) && (
                     <div className="flex justify-center">
                       <Avatar
-                        src={archivoFoto ? URL.createObjectURL(archivoFoto) : formData.fotoPerfil}
+                        src={archivoFoto ? URL.createObjectURL(archivoFoto) : fotoEditando}
                         name={formData.nombreCompleto}
                         size="lg"
                       />
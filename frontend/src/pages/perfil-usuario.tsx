@@ -13,6 +13,7 @@ import {
 import { Icon } from '@iconify/react';
 import { motion } from 'framer-motion';
 import { useAuth } from '../contexts/auth-context';
+import { useImagenPrivada } from '../hooks/useImagenPrivada';
 import { cambiarPasswordService, actualizarFotoPerfilService } from '../services/auth-service';
 import { ICambioPassword } from '../types/user.types';
 
@@ -101,6 +102,7 @@ const PerfilUsuarioPage: React.FC = () => {
 const InformacionPersonal: React.FC<{ user: any }> = ({ user }) => {
   const [isLoading, setIsLoading] = React.useState<boolean>(false);
   const [avatarUrl, setAvatarUrl] = React.useState<string | undefined>(user?.fotoPerfil);
+  const avatarSrc = useImagenPrivada(avatarUrl);
   const fileInputRef = React.useRef<HTMLInputElement>(null);
 
   /**
@@ -143,7 +145,7 @@ const InformacionPersonal: React.FC<{ user: any }> = ({ user }) => {
       <div className="flex flex-col items-center">
         <div className="relative">
           <Avatar
-            src={avatarUrl}
+            src={avatarSrc}
             name={user?.nombre || "Usuario"}
             className="w-24 h-24 text-large"
           />
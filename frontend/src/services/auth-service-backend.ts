@@ -31,6 +31,7 @@ export const iniciarSesionService = async (correo: string, contrasena: string):
       contrasena: '', // No guardar la contraseña
       rol: usuario.nombreRol,
       fotoPerfil: usuario.fotoPerfil,
+      fotoPerfilMiniatura: usuario.fotoPerfilMiniatura,
       activo: usuario.activo,
       fechaCreacion: usuario.fechaCreacion,
       ultimoAcceso: usuario.ultimoAcceso
@@ -167,7 +168,8 @@ export const actualizarFotoPerfilService = async (archivo: File): Promise<string
     });
 
     // Actualizar en la sesión local
-    const usuarioActualizado = { ...usuarioActual, fotoPerfil: base64String };
+    // La miniatura anterior ya no corresponde: el avatar usa la foto nueva hasta el próximo login
+    const usuarioActualizado = { ...usuarioActual, fotoPerfil: base64String, fotoPerfilMiniatura: undefined };
     actualizarUsuarioEnSesionService(usuarioActualizado);
 
     console.log('✅ Foto de perfil actualizada correctamente');
@@ -202,6 +202,7 @@ function convertirUsuarioBackendAFrontend(usuarioBackend: any): IUsuario {
     contrasena: '', // No devolver contraseña
     rol: usuarioBackend.nombreRol,
     fotoPerfil: usuarioBackend.fotoPerfil,
+    fotoPerfilMiniatura: usuarioBackend.fotoPerfilMiniatura,
     activo: usuarioBackend.activo,
     fechaCreacion: usuarioBackend.fechaCreacion,
     ultimoAcceso: usuarioBackend.ultimoAcceso
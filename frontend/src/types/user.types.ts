@@ -16,6 +16,7 @@ export interface IUser {
   email: string;
   rol: string;
   fotoPerfil?: string;
+  fotoPerfilMiniatura?: string;
   fechaCreacion: string;
   ultimoAcceso: string;
 }
@@ -18,7 +18,8 @@ export interface IUsuario {
   correo: string;
   contrasena: string; // En producción esto debería estar hasheado
   rol: RolUsuario;
-  fotoPerfil?: string; // URL o base64 de la imagen
+  fotoPerfil?: string; // URL del almacén de medios o base64 de la imagen
+  fotoPerfilMiniatura?: string; // URL de la miniatura (avatar)
   activo: boolean;
   fechaCreacion: string;
   ultimoAcceso?: string;